@@ -24,6 +24,7 @@ import java.util.function.Function;
 
 import org.jbpm.usertask.jpa.mapper.UserTaskInstanceEntityMapper;
 import org.jbpm.usertask.jpa.model.UserTaskInstanceEntity;
+import org.jbpm.usertask.jpa.model.UserTaskInstanceSummary;
 import org.jbpm.usertask.jpa.repository.UserTaskInstanceRepository;
 import org.kie.kogito.auth.IdentityProvider;
 import org.kie.kogito.usertask.UserTaskInstance;
@@ -61,6 +62,22 @@ public class JPAUserTaskInstances implements UserTaskInstances {
                 .toList();
     }
 
+    @Override
+    public List<UserTaskInstance> findByIdentity(IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        return userTaskInstanceRepository.findByIdentity(identityProvider, states, offset, limit)
+                .stream()
+                .map(userTaskInstanceEntityMapper::mapTaskEntityToInstance)
+                .map(reconnectUserTaskInstance)
+                .toList();
+    }
+
+    /**
+     * Page of the user tasks visible to the identity, reading only the columns of the user task table
+     */
+    public List<UserTaskInstanceSummary> findSummariesByIdentity(IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        return userTaskInstanceRepository.findSummariesByIdentity(identityProvider, states, offset, limit);
+    }
+
     @Override
     public boolean exists(String userTaskInstanceId) {
         return userTaskInstanceRepository.findById(userTaskInstanceId).isPresent();
@@ -41,17 +41,33 @@ import jakarta.persistence.Table;
 
 @Entity
 @NamedQuery(name = UserTaskInstanceEntity.GET_INSTANCES_BY_IDENTITY,
-        query = "select userTask from UserTaskInstanceEntity userTask " +
-                "left join userTask.adminGroups adminGroups " +
-                "left join userTask.potentialGroups potentialGroups " +
-                "where userTask.actualOwner = :userId " +
-                "or :userId member of userTask.adminUsers " +
-                "or adminGroups in (:roles) " +
-                "or (:userId member of userTask.potentialUsers and :userId not member of userTask.excludedUsers) " +
-                "or potentialGroups in (:roles)")
+        query = "select userTask from UserTaskInstanceEntity userTask where " + UserTaskInstanceEntity.IDENTITY_FILTER + " order by userTask.id")
+@NamedQuery(name = UserTaskInstanceEntity.GET_INSTANCES_BY_IDENTITY_AND_STATES,
+        query = "select userTask from UserTaskInstanceEntity userTask where " + UserTaskInstanceEntity.IDENTITY_FILTER
+                + " and userTask.status in (:states) order by userTask.id")
+@NamedQuery(name = UserTaskInstanceEntity.GET_SUMMARIES_BY_IDENTITY,
+        query = "select " + UserTaskInstanceEntity.SUMMARY_PROJECTION + " from UserTaskInstanceEntity userTask where " + UserTaskInstanceEntity.IDENTITY_FILTER
+                + " order by userTask.id")
+@NamedQuery(name = UserTaskInstanceEntity.GET_SUMMARIES_BY_IDENTITY_AND_STATES,
+        query = "select " + UserTaskInstanceEntity.SUMMARY_PROJECTION + " from UserTaskInstanceEntity userTask where " + UserTaskInstanceEntity.IDENTITY_FILTER
+                + " and userTask.status in (:states) order by userTask.id")
 @Table(name = "jbpm_user_tasks")
 public class UserTaskInstanceEntity {
     public static final String GET_INSTANCES_BY_IDENTITY = "UserTaskInstanceEntity.GetInstanceByIdentity";
+    public static final String GET_INSTANCES_BY_IDENTITY_AND_STATES = "UserTaskInstanceEntity.GetInstanceByIdentityAndStates";
+    public static final String GET_SUMMARIES_BY_IDENTITY = "UserTaskInstanceEntity.GetSummariesByIdentity";
+    public static final String GET_SUMMARIES_BY_IDENTITY_AND_STATES = "UserTaskInstanceEntity.GetSummariesByIdentityAndStates";
+
+    // every assignment is looked up by user or group in its own table, so the indexes on the assignment tables are used and no row is duplicated
+    static final String IDENTITY_FILTER = "(userTask.actualOwner = :userId " +
+            "or userTask.id in (select adminTask.id from UserTaskInstanceEntity adminTask join adminTask.adminUsers adminUser where adminUser = :userId) " +
+            "or userTask.id in (select adminTask.id from UserTaskInstanceEntity adminTask join adminTask.adminGroups adminGroup where adminGroup in (:roles)) " +
+            "or (userTask.id in (select potentialTask.id from UserTaskInstanceEntity potentialTask join potentialTask.potentialUsers potentialUser where potentialUser = :userId) " +
+            "and userTask.id not in (select excludedTask.id from UserTaskInstanceEntity excludedTask join excludedTask.excludedUsers excludedUser where excludedUser = :userId)) " +
+            "or userTask.id in (select potentialTask.id from UserTaskInstanceEntity potentialTask join potentialTask.potentialGroups potentialGroup where potentialGroup in (:roles)))";
+
+    static final String SUMMARY_PROJECTION = "new org.jbpm.usertask.jpa.model.UserTaskInstanceSummary(userTask.id, userTask.userTaskId, userTask.taskName, " +
+            "userTask.taskDescription, userTask.taskPriority, userTask.status, userTask.terminationType, userTask.actualOwner, userTask.externalReferenceId)";
 
     @Id
     private String id;
@@ -19,14 +19,19 @@
 
 package org.jbpm.usertask.jpa.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.jbpm.usertask.jpa.model.UserTaskInstanceEntity;
+import org.jbpm.usertask.jpa.model.UserTaskInstanceSummary;
 import org.kie.kogito.auth.IdentityProvider;
 
 import jakarta.persistence.TypedQuery;
 
 import static org.jbpm.usertask.jpa.model.UserTaskInstanceEntity.GET_INSTANCES_BY_IDENTITY;
+import static org.jbpm.usertask.jpa.model.UserTaskInstanceEntity.GET_INSTANCES_BY_IDENTITY_AND_STATES;
+import static org.jbpm.usertask.jpa.model.UserTaskInstanceEntity.GET_SUMMARIES_BY_IDENTITY;
+import static org.jbpm.usertask.jpa.model.UserTaskInstanceEntity.GET_SUMMARIES_BY_IDENTITY_AND_STATES;
 
 public class UserTaskInstanceRepository extends BaseRepository<UserTaskInstanceEntity, String> {
 
@@ -35,12 +40,37 @@ public class UserTaskInstanceRepository extends BaseRepository<UserTaskInstanceE
     }
 
     public List<UserTaskInstanceEntity> findByIdentity(IdentityProvider identityProvider) {
-        TypedQuery<UserTaskInstanceEntity> query = getEntityManager().createNamedQuery(GET_INSTANCES_BY_IDENTITY, UserTaskInstanceEntity.class);
+        return findByIdentity(identityProvider, null, 0, Integer.MAX_VALUE);
+    }
+
+    public List<UserTaskInstanceEntity> findByIdentity(IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        return findPage(hasStates(states) ? GET_INSTANCES_BY_IDENTITY_AND_STATES : GET_INSTANCES_BY_IDENTITY, UserTaskInstanceEntity.class, identityProvider, states, offset, limit);
+    }
+
+    public List<UserTaskInstanceSummary> findSummariesByIdentity(IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        return findPage(hasStates(states) ? GET_SUMMARIES_BY_IDENTITY_AND_STATES : GET_SUMMARIES_BY_IDENTITY, UserTaskInstanceSummary.class, identityProvider, states, offset, limit);
+    }
+
+    private <T> List<T> findPage(String queryName, Class<T> resultClass, IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        TypedQuery<T> query = getEntityManager().createNamedQuery(queryName, resultClass);
         query.setParameter("userId", identityProvider.getName());
         query.setParameter("roles", identityProvider.getRoles());
+        if (hasStates(states)) {
+            query.setParameter("states", states);
+        }
+        if (offset > 0) {
+            query.setFirstResult(offset);
+        }
+        if (limit < Integer.MAX_VALUE) {
+            query.setMaxResults(limit);
+        }
         return query.getResultList();
     }
 
+    private static boolean hasStates(Collection<String> states) {
+        return states != null && !states.isEmpty();
+    }
+
     @Override
     public Class<UserTaskInstanceEntity> getEntityClass() {
         return UserTaskInstanceEntity.class;
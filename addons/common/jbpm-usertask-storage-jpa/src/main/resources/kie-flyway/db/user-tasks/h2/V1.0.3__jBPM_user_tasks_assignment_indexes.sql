@@ -0,0 +1,27 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+create index ix_jbpm_user_tasks_actual_owner on jbpm_user_tasks(actual_owner);
+create index ix_jbpm_user_tasks_status on jbpm_user_tasks(status);
+
+create index ix_jbpm_user_tasks_potential_users_uid on jbpm_user_tasks_potential_users(user_id, task_id);
+create index ix_jbpm_user_tasks_potential_groups_gid on jbpm_user_tasks_potential_groups(group_id, task_id);
+create index ix_jbpm_user_tasks_admin_users_uid on jbpm_user_tasks_admin_users(user_id, task_id);
+create index ix_jbpm_user_tasks_admin_groups_gid on jbpm_user_tasks_admin_groups(group_id, task_id);
+create index ix_jbpm_user_tasks_excluded_users_uid on jbpm_user_tasks_excluded_users(user_id, task_id);
@@ -21,6 +21,7 @@ package org.jbpm.usertask.jpa;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.assertj.core.api.Assertions;
@@ -42,6 +43,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -156,6 +158,21 @@ public class JPAUserTaskInstancesTest {
         verify(reconnectUserTaskInstance, never()).apply(any());
     }
 
+    @Test
+    public void testFindByIdentityPage() {
+        List<UserTaskInstanceEntity> result = List.of(TestUtils.createUserTaskInstanceEntity());
+
+        when(userTaskInstanceRepository.findByIdentity(any(), eq(Set.of("Ready")), eq(10), eq(5))).thenReturn(result);
+
+        List<UserTaskInstance> instances = jpaUserTaskInstances.findByIdentity(IdentityProviders.of("user", "group"), Set.of("Ready"), 10, 5);
+
+        Assertions.assertThat(instances)
+                .hasSize(1);
+
+        verify(userTaskInstanceEntityMapper, times(1)).mapTaskEntityToInstance(any());
+        verify(reconnectUserTaskInstance, times(1)).apply(any());
+    }
+
     @Test
     public void testSuccessfulCreate() {
         when(userTaskInstanceRepository.findById(any())).thenReturn(Optional.empty());
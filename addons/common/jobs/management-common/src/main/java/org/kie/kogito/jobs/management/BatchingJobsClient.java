@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.management;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the jobs scheduled and cancelled within a unit of work when the unit of work ends, and discards them if it is aborted.
+ * <p>
+ * Operations on the same job within a unit of work are coalesced: scheduling a job again replaces the previous request and cancelling a job
+ * drops its pending creation. Operations that fail or cannot be delivered are kept in a local outbox and retried with exponential backoff,
+ * unless a later operation on the same job supersedes them or the failure is a {@link JobOperationRejectedException}. Without a {@link UnitOfWorkManager} operations are sent right away.
+ */
+public class BatchingJobsClient implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    public static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingJobsClient.class);
+
+    private static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Delivers a single operation to the Jobs Service, completing once it has been accepted.
+     */
+    public interface Sender {
+        CompletionStage<Void> send(JobOperation operation);
+    }
+
+    private final Sender sender;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    private final Map<UnitOfWork, JobsBatch> batches = new ConcurrentHashMap<>();
+    private final Map<String, JobOperation> outbox = new ConcurrentHashMap<>();
+
+    public BatchingJobsClient(Sender sender, UnitOfWorkManager unitOfWorkManager) {
+        this(sender, unitOfWorkManager, DEFAULT_MAX_ATTEMPTS, DEFAULT_BACKOFF);
+    }
+
+    /**
+     * @param unitOfWorkManager null to send every operation right away
+     * @param maxAttempts times an operation is sent before giving up on it
+     * @param backoff delay before the first retry, doubled on every following one
+     */
+    public BatchingJobsClient(Sender sender, UnitOfWorkManager unitOfWorkManager, int maxAttempts, Duration backoff) {
+        this.sender = sender;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoff.toMillis();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kogito-jobs-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void schedule(Job job) {
+        add(JobOperation.schedule(job));
+    }
+
+    public void cancel(String id) {
+        add(JobOperation.cancel(id));
+    }
+
+    /**
+     * @return number of operations waiting to be retried
+     */
+    public int pending() {
+        return outbox.size();
+    }
+
+    private void add(JobOperation operation) {
+        UnitOfWork unitOfWork = unitOfWorkManager == null ? null : unitOfWorkManager.currentUnitOfWork();
+        if (unitOfWork == null) {
+            send(operation, 1);
+            return;
+        }
+        while (true) {
+            JobsBatch batch = batches.computeIfAbsent(unitOfWork, JobsBatch::new);
+            if (batch.add(operation)) {
+                if (batch.intercepted.compareAndSet(false, true)) {
+                    unitOfWork.intercept(batch);
+                }
+                return;
+            }
+            // the batch was already sent, as pass through units of work do on intercept
+            batches.remove(unitOfWork, batch);
+        }
+    }
+
+    private void send(JobOperation operation, int attempt) {
+        send(operation, attempt, null);
+    }
+
+    /**
+     * @param next sent once the operation is done, given up or dropped for a newer failed operation on the same job, unless a newer
+     *        operation replaced it while waiting for a retry
+     */
+    private void send(JobOperation operation, int attempt, JobOperation next) {
+        if (attempt == 1) {
+            // a newer operation on the same job replaces the one waiting for a retry
+            outbox.remove(operation.getId());
+        }
+        CompletionStage<Void> result;
+        try {
+            result = sender.send(operation);
+        } catch (RuntimeException e) {
+            retry(operation, attempt, next, e);
+            return;
+        }
+        result.whenComplete((ignored, error) -> {
+            if (error == null) {
+                outbox.remove(operation.getId(), operation);
+                LOGGER.debug("Jobs service operation {} done", operation);
+                sendNext(next);
+            } else {
+                retry(operation, attempt, next, error);
+            }
+        });
+    }
+
+    private void sendNext(JobOperation next) {
+        if (next != null) {
+            send(next, 1);
+        }
+    }
+
+    private void retry(JobOperation operation, int attempt, JobOperation next, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof JobOperationRejectedException) {
+            outbox.remove(operation.getId(), operation);
+            LOGGER.error("Jobs service rejected operation {}, not retrying it", operation, error);
+            sendNext(next);
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            outbox.remove(operation.getId(), operation);
+            LOGGER.error("Giving up jobs service operation {} after {} attempts", operation, attempt, error);
+            sendNext(next);
+            return;
+        }
+        // never replace a newer operation on the same job that failed in the meantime
+        if (attempt == 1) {
+            if (outbox.putIfAbsent(operation.getId(), operation) != null) {
+                sendNext(next);
+                return;
+            }
+        } else if (outbox.get(operation.getId()) != operation) {
+            return;
+        }
+        long delay = Math.min(backoffMs << Math.min(attempt - 1, 30), MAX_BACKOFF_MS);
+        LOGGER.warn("Jobs service operation {} failed, retrying in {} ms", operation, delay, error);
+        try {
+            retryScheduler.schedule(() -> {
+                if (outbox.get(operation.getId()) == operation) {
+                    send(operation, attempt + 1, next);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            LOGGER.error("Cannot retry jobs service operation {}", operation, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        retryScheduler.shutdownNow();
+        if (!outbox.isEmpty()) {
+            LOGGER.warn("Discarding {} jobs service operations waiting for a retry", outbox.size());
+        }
+    }
+
+    private class JobsBatch implements WorkUnit<JobsBatch> {
+
+        private final UnitOfWork unitOfWork;
+        private final AtomicBoolean intercepted = new AtomicBoolean();
+        private final Map<String, JobOperation> cancellations = new LinkedHashMap<>();
+        private final Map<String, JobOperation> schedules = new LinkedHashMap<>();
+        private boolean closed;
+
+        JobsBatch(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        synchronized boolean add(JobOperation operation) {
+            if (closed) {
+                return false;
+            }
+            if (operation.isCancel()) {
+                // no need to create a job that is cancelled within the same unit of work, the cancellation is still sent in case it already existed
+                schedules.remove(operation.getId());
+                cancellations.put(operation.getId(), operation);
+            } else {
+                schedules.put(operation.getId(), operation);
+            }
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            batches.remove(unitOfWork, this);
+        }
+
+        @Override
+        public JobsBatch data() {
+            return this;
+        }
+
+        @Override
+        public void perform() {
+            close();
+            LOGGER.debug("Sending {} cancellations and {} new jobs to the jobs service", cancellations.size(), schedules.size());
+            // a job cancelled and scheduled again is only created once the old one has been removed
+            for (JobOperation cancellation : cancellations.values()) {
+                send(cancellation, 1, schedules.remove(cancellation.getId()));
+            }
+            schedules.values().forEach(operation -> send(operation, 1));
+        }
+
+        @Override
+        public void abort() {
+            close();
+        }
+
+        @Override
+        public Integer priority() {
+            return WorkUnit.LOW_PRIORITY;
+        }
+    }
+}
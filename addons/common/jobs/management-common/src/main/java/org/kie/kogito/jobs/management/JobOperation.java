@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.management;
+
+import java.util.Objects;
+
+import org.kie.kogito.jobs.service.api.Job;
+
+/**
+ * A request sent to the Jobs Service: either the creation of a job or the cancellation of the job with the given id.
+ */
+public final class JobOperation {
+
+    private final String id;
+    private final Job job;
+
+    private JobOperation(String id, Job job) {
+        this.id = Objects.requireNonNull(id);
+        this.job = job;
+    }
+
+    public static JobOperation schedule(Job job) {
+        return new JobOperation(job.getId(), job);
+    }
+
+    public static JobOperation cancel(String id) {
+        return new JobOperation(id, null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the job to create, null for a cancellation
+     */
+    public Job getJob() {
+        return job;
+    }
+
+    public boolean isCancel() {
+        return job == null;
+    }
+
+    @Override
+    public String toString() {
+        return (isCancel() ? "cancel " : "schedule ") + id;
+    }
+}
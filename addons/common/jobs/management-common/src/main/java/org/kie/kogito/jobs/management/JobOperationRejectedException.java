@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.management;
+
+import org.kie.kogito.jobs.JobsServiceException;
+
+/**
+ * Signals that the Jobs Service refused an operation, as it does with a 4xx response. Sending the operation again would be refused too,
+ * so {@link BatchingJobsClient} gives up on it right away instead of retrying it.
+ */
+public class JobOperationRejectedException extends JobsServiceException {
+
+    public JobOperationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.management;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class BatchingJobsClientTest {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final Map<String, CompletableFuture<Void>> results = new ConcurrentHashMap<>();
+    private TestUnitOfWork unitOfWork;
+    private BatchingJobsClient client;
+
+    @BeforeEach
+    void setUp() {
+        unitOfWork = new TestUnitOfWork();
+        client = new BatchingJobsClient(this::send, new TestUnitOfWorkManager(), 3, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    private CompletionStage<Void> send(JobOperation operation) {
+        String name = operation.toString();
+        sent.add(name);
+        return results.getOrDefault(name, CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void testOperationsAreSentWhenUnitOfWorkEnds() {
+        client.schedule(job("1"));
+        client.schedule(job("2"));
+        client.cancel("3");
+        assertThat(sent).isEmpty();
+        assertThat(unitOfWork.work).hasSize(1);
+
+        unitOfWork.end();
+        assertThat(sent).containsExactly("cancel 3", "schedule 1", "schedule 2");
+    }
+
+    @Test
+    void testOperationsOnSameJobAreCoalesced() {
+        client.schedule(job("1"));
+        client.schedule(job("1"));
+        client.schedule(job("2"));
+        client.cancel("2");
+        unitOfWork.end();
+        assertThat(sent).containsExactly("cancel 2", "schedule 1");
+    }
+
+    @Test
+    void testOperationsAreDiscardedOnAbort() {
+        client.schedule(job("1"));
+        unitOfWork.abort();
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void testRescheduleWaitsForCancellation() {
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        results.put("cancel 1", cancelled);
+        client.cancel("1");
+        client.schedule(job("1"));
+        unitOfWork.end();
+        assertThat(sent).containsExactly("cancel 1");
+        cancelled.complete(null);
+        assertThat(sent).containsExactly("cancel 1", "schedule 1");
+    }
+
+    @Test
+    void testFailedOperationIsRetried() {
+        results.put("schedule 1", CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        client.schedule(job("1"));
+        unitOfWork.end();
+        assertThat(client.pending()).isEqualTo(1);
+        results.remove("schedule 1");
+        await().atMost(Duration.ofSeconds(5)).until(() -> client.pending() == 0);
+        assertThat(sent).containsExactly("schedule 1", "schedule 1");
+    }
+
+    @Test
+    void testRetriesAreLimited() {
+        results.put("schedule 1", CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        client.schedule(job("1"));
+        unitOfWork.end();
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.size() == 3 && client.pending() == 0);
+    }
+
+    @Test
+    void testRejectedOperationIsNotRetried() {
+        results.put("schedule 1", CompletableFuture.failedFuture(new JobOperationRejectedException("bad request")));
+        client.schedule(job("1"));
+        unitOfWork.end();
+        assertThat(client.pending()).isZero();
+        assertThat(sent).containsExactly("schedule 1");
+    }
+
+    @Test
+    void testRescheduleIsSentWhenRejectedCancellationIsGivenUp() {
+        results.put("cancel 1", CompletableFuture.failedFuture(new JobOperationRejectedException("bad request")));
+        client.cancel("1");
+        client.schedule(job("1"));
+        unitOfWork.end();
+        assertThat(sent).containsExactly("cancel 1", "schedule 1");
+    }
+
+    @Test
+    void testRescheduleIsSentWhenCancellationIsDroppedForNewerRetry() {
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        results.put("cancel 1", cancelled);
+        results.put("schedule 1", CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        try (BatchingJobsClient slowRetries = new BatchingJobsClient(this::send, new TestUnitOfWorkManager(), 3, Duration.ofMinutes(1))) {
+            slowRetries.cancel("1");
+            slowRetries.schedule(job("1"));
+            unitOfWork.end();
+            unitOfWork = new TestUnitOfWork();
+            slowRetries.schedule(job("1"));
+            unitOfWork.end();
+            assertThat(slowRetries.pending()).isEqualTo(1);
+
+            results.remove("schedule 1");
+            cancelled.completeExceptionally(new IllegalStateException("unavailable"));
+            assertThat(sent).containsExactly("cancel 1", "schedule 1", "schedule 1");
+            assertThat(slowRetries.pending()).isZero();
+        }
+    }
+
+    @Test
+    void testNewerOperationReplacesRetry() {
+        results.put("schedule 1", CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        try (BatchingJobsClient slowRetries = new BatchingJobsClient(this::send, new TestUnitOfWorkManager(), 3, Duration.ofMinutes(1))) {
+            slowRetries.schedule(job("1"));
+            unitOfWork.end();
+            assertThat(slowRetries.pending()).isEqualTo(1);
+            unitOfWork = new TestUnitOfWork();
+            slowRetries.cancel("1");
+            unitOfWork.end();
+            assertThat(slowRetries.pending()).isZero();
+            assertThat(sent).containsExactly("schedule 1", "cancel 1");
+        }
+    }
+
+    @Test
+    void testOlderFailureDoesNotReplaceNewerRetry() {
+        CompletableFuture<Void> scheduled = new CompletableFuture<>();
+        results.put("schedule 1", scheduled);
+        results.put("cancel 1", CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        try (BatchingJobsClient patient = new BatchingJobsClient(this::send, new TestUnitOfWorkManager(), 100, Duration.ofMillis(10))) {
+            patient.schedule(job("1"));
+            unitOfWork.end();
+            unitOfWork = new TestUnitOfWork();
+            patient.cancel("1");
+            unitOfWork.end();
+            scheduled.completeExceptionally(new IllegalStateException("unavailable"));
+            results.remove("cancel 1");
+            await().atMost(Duration.ofSeconds(5)).until(() -> patient.pending() == 0);
+            assertThat(sent).filteredOn("schedule 1"::equals).hasSize(1);
+            assertThat(sent).last().isEqualTo("cancel 1");
+        }
+    }
+
+    @Test
+    void testWithoutUnitOfWorkManagerOperationsAreSentRightAway() {
+        try (BatchingJobsClient direct = new BatchingJobsClient(this::send, null)) {
+            direct.schedule(job("1"));
+            assertThat(sent).containsExactly("schedule 1");
+        }
+    }
+
+    private static Job job(String id) {
+        return Job.builder().id(id).build();
+    }
+
+    private class TestUnitOfWorkManager implements UnitOfWorkManager {
+
+        @Override
+        public UnitOfWork currentUnitOfWork() {
+            return unitOfWork;
+        }
+
+        @Override
+        public UnitOfWork newUnitOfWork() {
+            return new TestUnitOfWork();
+        }
+
+        @Override
+        public EventManager eventManager() {
+            return null;
+        }
+
+        @Override
+        public void register(UnitOfWorkEventListener listener) {
+        }
+    }
+
+    private static class TestUnitOfWork implements UnitOfWork {
+
+        private final List<WorkUnit<?>> work = new ArrayList<>();
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void end() {
+            work.forEach(WorkUnit::perform);
+        }
+
+        @Override
+        public void abort() {
+            work.forEach(WorkUnit::abort);
+        }
+
+        @Override
+        public void intercept(WorkUnit work) {
+            this.work.add(work);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.system.metrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.event.EventExecutorServiceFactory;
+import org.kie.kogito.event.StripedExecutorService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Exposes the state of every stripe of the keyed executors that process incoming events, tagged by channel and stripe. Meters are
+ * registered as the executors are created, so this can be invoked before the event consumers are started.
+ */
+public class EventExecutorMetrics {
+
+    private static final String QUEUE_DEPTH_NAME = "kogito_event_executor_queue_depth";
+
+    private static final String QUEUE_DEPTH_HELP = "Events waiting to be processed by a stripe of the keyed executor of a channel.";
+
+    private static final String LATENCY_NAME = "kogito_event_executor_latency";
+
+    private static final String LATENCY_HELP = "Time from reception to processing of the events by a stripe of the keyed executor of a channel.";
+
+    private static final String CHANNEL_TAG = "channel";
+
+    private static final String STRIPE_TAG = "stripe";
+
+    private EventExecutorMetrics() {
+    }
+
+    public static void register(EventExecutorServiceFactory factory, MeterRegistry registry) {
+        factory.addExecutorServiceListener((channel, executor) -> register(channel, executor, registry));
+    }
+
+    private static void register(String channel, ExecutorService executorService, MeterRegistry registry) {
+        if (!(executorService instanceof StripedExecutorService executor)) {
+            return;
+        }
+        Timer[] latencies = new Timer[executor.stripes()];
+        for (int i = 0; i < latencies.length; i++) {
+            int stripe = i;
+            Tags tags = Tags.of(CHANNEL_TAG, channel, STRIPE_TAG, Integer.toString(stripe));
+            Gauge.builder(QUEUE_DEPTH_NAME, executor, e -> e.queueDepth(stripe))
+                    .description(QUEUE_DEPTH_HELP)
+                    .tags(tags)
+                    .register(registry);
+            // the timer maximum only covers a recent time window, unlike the one kept by the executor
+            latencies[i] = Timer.builder(LATENCY_NAME)
+                    .description(LATENCY_HELP)
+                    .tags(tags)
+                    .register(registry);
+        }
+        executor.setLatencyListener((stripe, latencyNanos) -> latencies[stripe].record(latencyNanos, TimeUnit.NANOSECONDS));
+    }
+}
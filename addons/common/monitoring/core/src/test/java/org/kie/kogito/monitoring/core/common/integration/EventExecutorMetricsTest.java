@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventExecutorServiceFactory;
+import org.kie.kogito.event.StripedExecutorService;
+import org.kie.kogito.monitoring.core.common.system.metrics.EventExecutorMetrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventExecutorMetricsTest {
+
+    @Test
+    public void testMetersOfExecutorsCreatedAfterRegistration() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        List<BiConsumer<String, ExecutorService>> listeners = new ArrayList<>();
+        EventExecutorServiceFactory factory = new EventExecutorServiceFactory() {
+            @Override
+            public ExecutorService getExecutorService(String channelName) {
+                ExecutorService executor = new StripedExecutorService(2, "test-metrics");
+                listeners.forEach(listener -> listener.accept(channelName, executor));
+                return executor;
+            }
+
+            @Override
+            public void addExecutorServiceListener(BiConsumer<String, ExecutorService> listener) {
+                listeners.add(listener);
+            }
+        };
+        EventExecutorMetrics.register(factory, registry);
+        assertThat(registry.find("kogito_event_executor_queue_depth").gauges()).isEmpty();
+
+        StripedExecutorService executor = (StripedExecutorService) factory.getExecutorService("channel");
+        assertThat(registry.find("kogito_event_executor_queue_depth").tag("channel", "channel").gauges()).hasSize(2);
+        assertThat(registry.find("kogito_event_executor_latency").tag("channel", "channel").timers()).hasSize(2);
+        try {
+            CompletableFuture<Void> blocker = new CompletableFuture<>();
+            CountDownLatch started = new CountDownLatch(1);
+            executor.execute("key", () -> {
+                started.countDown();
+                blocker.join();
+            });
+            executor.execute("key", () -> {
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(registry.find("kogito_event_executor_queue_depth").tag("channel", "channel").gauges())
+                    .extracting(Gauge::value)
+                    .containsExactlyInAnyOrder(0.0, 1.0);
+
+            blocker.complete(null);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.find("kogito_event_executor_queue_depth").tag("channel", "channel").gauges())
+                .extracting(Gauge::value)
+                .containsOnly(0.0);
+        Timer busy = registry.find("kogito_event_executor_latency").tag("channel", "channel").timers().stream()
+                .filter(timer -> timer.count() > 0)
+                .findFirst()
+                .orElseThrow();
+        assertThat(busy.count()).isEqualTo(2);
+        assertThat(busy.max(TimeUnit.SECONDS)).isPositive();
+    }
+}
@@ -19,20 +19,51 @@
 package org.kie.kogito.persistence.filesystem;
 
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
 
-public abstract class AbstractProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class AbstractProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
+
+    private static final String LOG_SUFFIX = "-log";
 
     private final String path;
+    private final boolean segmentLog;
+    private final int segmentSize;
+    private final boolean sync;
+    private final Map<String, SegmentLog> logs = new ConcurrentHashMap<>();
 
     public AbstractProcessInstancesFactory(String path) {
+        this(path, false, SegmentLog.DEFAULT_SEGMENT_SIZE, true);
+    }
+
+    /**
+     * @param segmentLog if true, process instances are stored in a {@link SegmentLog} per process rather than in a file per instance
+     * @param segmentSize size in bytes of the log segment files
+     * @param sync if true, log writes wait until they are flushed to disk
+     */
+    public AbstractProcessInstancesFactory(String path, boolean segmentLog, int segmentSize, boolean sync) {
         this.path = path;
+        this.segmentLog = segmentLog;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
     }
 
-    public FileSystemProcessInstances createProcessInstances(Process<?> process) {
+    public MutableProcessInstances createProcessInstances(Process<?> process) {
+        if (segmentLog) {
+            // the log of a process is shared, it must be opened once
+            return new SegmentLogProcessInstances(process,
+                    logs.computeIfAbsent(process.id(), id -> new SegmentLog(Paths.get(path, id + LOG_SUFFIX), segmentSize, sync)));
+        }
         return new FileSystemProcessInstances(process, Paths.get(path));
     }
 
+    @Override
+    public void close() {
+        logs.values().forEach(SegmentLog::close);
+        logs.clear();
+    }
 }
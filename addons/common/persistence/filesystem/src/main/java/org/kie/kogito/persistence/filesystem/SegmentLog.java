@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append only key value log stored in memory mapped segment files of a directory.
+ * <p>
+ * Every write appends a record to the active segment, a new segment is started when the active one is full. An in memory index
+ * keeps the location of the latest record of every key, it is rebuilt on startup by scanning the segments in order, stopping
+ * at the first incomplete or corrupted record of each one. Sealed segments whose live records are less than half of their size
+ * are compacted in background, copying their live records to the active segment and deleting them.
+ * <p>
+ * When sync is enabled, writes return once their records are flushed to disk. Concurrent writers share the flushes: the writer
+ * that flushes the segment makes durable every record appended so far, so the others do not need to flush again.
+ */
+public class SegmentLog implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentLog.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // record size, crc, type and key length, followed by the key and the value
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Byte.BYTES;
+    private static final int CRC_OFFSET = Integer.BYTES;
+    private static final int TYPE_OFFSET = CRC_OFFSET + Integer.BYTES;
+    private static final int KEY_LENGTH_OFFSET = TYPE_OFFSET + Byte.BYTES;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+    private static final long COMPACTION_INTERVAL_SECONDS = 60;
+
+    private static class Segment {
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private long liveBytes;
+
+        private Segment(long id, Path path, int capacity) throws IOException {
+            this.id = id;
+            this.path = path;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // the mapping remains valid once the channel is closed
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+        }
+
+        private boolean fits(int size) {
+            return position + size <= buffer.capacity();
+        }
+
+        private boolean isCompactable() {
+            return position > 0 && liveBytes < position * COMPACTION_THRESHOLD;
+        }
+
+        private byte type(int offset) {
+            return buffer.get(offset + TYPE_OFFSET);
+        }
+
+        private String key(int offset) {
+            byte[] key = new byte[buffer.getInt(offset + KEY_LENGTH_OFFSET)];
+            buffer.get(offset + HEADER_SIZE, key);
+            return new String(key, UTF_8);
+        }
+
+        private byte[] value(int offset, int size) {
+            int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+            byte[] value = new byte[size - HEADER_SIZE - keyLength];
+            buffer.get(offset + HEADER_SIZE + keyLength, value);
+            return value;
+        }
+
+        /**
+         * Returns the size of the valid record starting at offset, or zero if there is no valid record there
+         */
+        private int recordSize(int offset) {
+            if (offset + HEADER_SIZE > buffer.capacity()) {
+                return 0;
+            }
+            int size = buffer.getInt(offset);
+            if (size < HEADER_SIZE || offset + size > buffer.capacity()) {
+                return 0;
+            }
+            int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+            if (keyLength < 0 || HEADER_SIZE + keyLength > size) {
+                return 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(offset + TYPE_OFFSET, size - TYPE_OFFSET));
+            return (int) crc.getValue() == buffer.getInt(offset + CRC_OFFSET) ? size : 0;
+        }
+    }
+
+    private record Location(Segment segment, int offset, int size) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final ScheduledExecutorService compactor;
+
+    // segments, index, active segment and appended are guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private Segment active;
+    private long appended;
+
+    // synced is guarded by syncLock
+    private final Object syncLock = new Object();
+    private long synced;
+
+    /**
+     * @param directory where the segment files are stored, existing segments are loaded
+     * @param segmentSize size in bytes of each segment file, bigger records are written to a segment of their own
+     * @param sync if true, writes wait until their records are flushed to disk
+     */
+    public SegmentLog(Path directory, int segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList()) {
+                    Segment segment = new Segment(segmentId(file), file, (int) Files.size(file));
+                    recover(segment);
+                    segments.put(segment.id, segment);
+                }
+            }
+            active = segments.isEmpty() ? newSegment(1, segmentSize) : segments.lastEntry().getValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open log in " + directory, e);
+        }
+        LOGGER.debug("Opened log in {} with {} segments and {} keys", directory, segments.size(), index.size());
+        compactor = Executors.newSingleThreadScheduledExecutor(new KogitoThreadPoolFactory("kogito-log-compaction"));
+        compactor.scheduleWithFixedDelay(this::compact, COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Segment newSegment(long id, int capacity) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX)), capacity);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void recover(Segment segment) {
+        int offset = 0;
+        int size;
+        while ((size = segment.recordSize(offset)) > 0) {
+            String key = segment.key(offset);
+            if (segment.type(offset) == PUT) {
+                index(key, new Location(segment, offset, size));
+            } else {
+                index(key, null);
+            }
+            offset += size;
+        }
+        if (offset + Integer.BYTES <= segment.buffer.capacity() && segment.buffer.getInt(offset) != 0) {
+            LOGGER.warn("Ignoring incomplete or corrupted record at offset {} of log segment {}", offset, segment.path);
+        }
+        segment.position = offset;
+    }
+
+    private void index(String key, Location location) {
+        Location previous = location == null ? index.remove(key) : index.put(key, location);
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.size;
+        }
+        if (location != null) {
+            location.segment.liveBytes += location.size;
+        }
+    }
+
+    public Optional<byte[]> get(String key) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location == null ? Optional.empty() : Optional.of(location.segment.value(location.offset, location.size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return snapshot of the keys stored when invoked
+     */
+    public Collection<String> keys() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(index.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String key, byte[] value) {
+        write(Collections.singletonMap(key, value));
+    }
+
+    public void delete(String key) {
+        write(Collections.singletonMap(key, null));
+    }
+
+    /**
+     * Appends all the records, waiting for a single flush if sync is enabled.
+     *
+     * @param records values by key, a null value deletes the key
+     */
+    public void write(Map<String, byte[]> records) {
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, byte[]> record : records.entrySet()) {
+                if (record.getValue() != null) {
+                    append(PUT, record.getKey(), record.getValue());
+                } else if (index.containsKey(record.getKey())) {
+                    append(DELETE, record.getKey(), null);
+                }
+            }
+            sequence = ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write to log in " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (sync) {
+            flush(sequence);
+        }
+    }
+
+    private void append(byte type, String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        int size = HEADER_SIZE + keyBytes.length + (value == null ? 0 : value.length);
+        ByteBuffer record = ByteBuffer.allocate(size);
+        record.putInt(size).putInt(0).put(type).putInt(keyBytes.length).put(keyBytes);
+        if (value != null) {
+            record.put(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), TYPE_OFFSET, size - TYPE_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+        if (!active.fits(size)) {
+            roll(size);
+        }
+        int offset = active.position;
+        active.buffer.put(offset, record.array());
+        active.position += size;
+        index(key, type == PUT ? new Location(active, offset, size) : null);
+    }
+
+    private void roll(int size) throws IOException {
+        // the records of the previous segment are not flushed by the writers waiting for them anymore
+        if (sync) {
+            force(active);
+        }
+        active = newSegment(active.id + 1, Math.max(segmentSize, size));
+        compactor.execute(this::compact);
+    }
+
+    /**
+     * Flushes every record appended so far, unless another writer already did it after the given write sequence was appended
+     */
+    private void flush(long sequence) {
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            long target;
+            Segment segment;
+            lock.readLock().lock();
+            try {
+                target = appended;
+                segment = active;
+            } finally {
+                lock.readLock().unlock();
+            }
+            // appends go on while flushing, the records appended after target are flushed by the next writer
+            force(segment);
+            synced = target;
+        }
+    }
+
+    /**
+     * Compacts the sealed segments with a low ratio of live records. It is periodically invoked in background,
+     * and every time a new segment is started.
+     */
+    public void compact() {
+        List<Segment> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                if (segment != active && segment.isCompactable()) {
+                    candidates.add(segment);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (Segment segment : candidates) {
+            try {
+                compact(segment);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Unable to compact log segment {}", segment.path, e);
+            }
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        Collection<Segment> copies;
+        lock.writeLock().lock();
+        try {
+            if (segments.get(segment.id) != segment) {
+                // already compacted
+                return;
+            }
+            // a deletion must be kept while an older segment might contain a previous value of the key
+            boolean older = segments.firstKey() < segment.id;
+            long firstCopy = active.id;
+            int offset = 0;
+            while (offset < segment.position) {
+                int size = segment.buffer.getInt(offset);
+                String key = segment.key(offset);
+                Location location = index.get(key);
+                if (segment.type(offset) == PUT) {
+                    if (location != null && location.segment == segment && location.offset == offset) {
+                        append(PUT, key, segment.value(offset, size));
+                    }
+                } else if (older && location == null) {
+                    append(DELETE, key, null);
+                }
+                offset += size;
+            }
+            segments.remove(segment.id);
+            // copies fill the active segment and the ones started when it gets full
+            copies = new ArrayList<>(segments.subMap(firstCopy, true, active.id, true).values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // copied records must be durable before removing the segment, no matter if writes are synced
+        for (Segment copy : copies) {
+            force(copy);
+        }
+        Files.deleteIfExists(segment.path);
+        LOGGER.debug("Compacted log segment {}", segment.path);
+    }
+
+    private void force(Segment segment) {
+        force(segment.path, segment.buffer);
+    }
+
+    /**
+     * Flushes the content of a segment file to disk.
+     */
+    protected void force(Path file, MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        try {
+            compactor.awaitTermination(COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                force(segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
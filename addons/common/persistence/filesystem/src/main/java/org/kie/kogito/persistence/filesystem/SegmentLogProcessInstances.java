@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+
+/**
+ * Stores the process instances of a process as records of a {@link SegmentLog}, rather than as a file per instance
+ */
+@SuppressWarnings({ "rawtypes" })
+public class SegmentLogProcessInstances implements MutableProcessInstances {
+
+    private final Process<?> process;
+    private final SegmentLog log;
+    private final ProcessInstanceMarshallerService marshaller;
+
+    public SegmentLogProcessInstances(Process<?> process, SegmentLog log) {
+        this(process, log, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build());
+    }
+
+    public SegmentLogProcessInstances(Process<?> process, SegmentLog log, ProcessInstanceMarshallerService marshaller) {
+        this.process = process;
+        this.log = log;
+        this.marshaller = marshaller;
+    }
+
+    @Override
+    public Optional findById(String id, ProcessInstanceReadMode mode) {
+        return log.get(id).map(data -> marshaller.unmarshallProcessInstance(data, process, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        // instances removed while streaming are skipped
+        return log.keys().stream()
+                .map(log::get)
+                .flatMap(Optional::stream)
+                .map(marshaller.createUnmarshallFunction(process, mode));
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return log.contains(id);
+    }
+
+    @Override
+    public void create(String id, ProcessInstance instance) {
+        if (isActive(instance)) {
+            if (log.contains(id)) {
+                throw new ProcessInstanceDuplicatedException(id);
+            }
+            log.put(id, marshall(instance));
+        }
+    }
+
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        if (isActive(instance) && log.contains(id)) {
+            log.put(id, marshall(instance));
+            disconnect(id, instance);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        log.delete(id);
+    }
+
+    @Override
+    public Optional<ProcessInstancesBatch> newBatch() {
+        return Optional.of(new SegmentLogProcessInstancesBatch(this));
+    }
+
+    /**
+     * Writes all the records with a single flush
+     */
+    void write(Map<String, byte[]> records) {
+        log.write(records);
+    }
+
+    byte[] marshall(ProcessInstance<?> instance) {
+        return marshaller.marshallProcessInstance(instance);
+    }
+
+    void disconnect(String id, ProcessInstance instance) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> log.get(id)
+                .orElseThrow(() -> new IllegalStateException("Process instance with id " + id + " has been removed"))));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancesBatch;
+
+/**
+ * Batch of operations for {@link SegmentLogProcessInstances}. Operations on the same instance are merged,
+ * so each instance is marshalled once, and all of them are appended to the log with a single flush.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+class SegmentLogProcessInstancesBatch implements ProcessInstancesBatch {
+
+    private final SegmentLogProcessInstances instances;
+    // a null instance means the instance is removed
+    private final Map<String, ProcessInstance> pending = new LinkedHashMap<>();
+    private final Set<String> updated = new HashSet<>();
+
+    SegmentLogProcessInstancesBatch(SegmentLogProcessInstances instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance instance) {
+        if (instances.isActive(instance)) {
+            if (exists(id)) {
+                throw new ProcessInstanceDuplicatedException(id);
+            }
+            pending.put(id, instance);
+        }
+    }
+
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        if (instances.isActive(instance) && exists(id)) {
+            pending.put(id, instance);
+            updated.add(id);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        pending.put(id, null);
+        updated.remove(id);
+    }
+
+    private boolean exists(String id) {
+        return pending.containsKey(id) ? pending.get(id) != null : instances.exists(id);
+    }
+
+    @Override
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            for (Map.Entry<String, ProcessInstance> entry : pending.entrySet()) {
+                records.put(entry.getKey(), entry.getValue() == null ? null : instances.marshall(entry.getValue()));
+            }
+            instances.write(records);
+            for (String id : updated) {
+                instances.disconnect(id, pending.get(id));
+            }
+        } finally {
+            pending.clear();
+            updated.clear();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.persistence.filesystem;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.drools.io.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.persistence.filesystem.AbstractProcessInstancesFactory;
+import org.kie.kogito.persistence.filesystem.SegmentLog;
+import org.kie.kogito.persistence.filesystem.SegmentLogProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
+import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertEmpty;
+
+class SegmentLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void testPutGetDelete() {
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            log.put("one", bytes("first"));
+            log.put("two", bytes("second"));
+            log.put("one", bytes("third"));
+            log.delete("two");
+            log.delete("missing");
+
+            assertThat(log.get("one")).hasValueSatisfying(value -> assertThat(value).isEqualTo(bytes("third")));
+            assertThat(log.get("two")).isEmpty();
+            assertThat(log.contains("two")).isFalse();
+            assertThat(log.keys()).containsExactly("one");
+        }
+    }
+
+    @Test
+    void testRecoverAfterReopen() {
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            for (int i = 0; i < 100; i++) {
+                log.put("key" + i, bytes("value" + i));
+            }
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            records.put("key0", null);
+            records.put("key1", bytes("updated"));
+            log.write(records);
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(log.keys()).hasSize(99).doesNotContain("key0");
+            assertThat(log.get("key1")).hasValueSatisfying(value -> assertThat(value).isEqualTo(bytes("updated")));
+            assertThat(log.get("key99")).hasValueSatisfying(value -> assertThat(value).isEqualTo(bytes("value99")));
+            log.put("key100", bytes("value100"));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(log.keys()).hasSize(100);
+        }
+    }
+
+    @Test
+    void testRecordBiggerThanSegment() {
+        byte[] big = new byte[SEGMENT_SIZE * 3];
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            log.put("big", big);
+            log.put("small", bytes("small"));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            assertThat(log.get("big")).hasValueSatisfying(value -> assertThat(value).isEqualTo(big));
+            assertThat(log.get("small")).isPresent();
+        }
+    }
+
+    @Test
+    void testCorruptedRecordIsIgnored() throws IOException {
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            log.put("one", bytes("first"));
+            log.put("two", bytes("second"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            // flips the last byte of the value of the second record
+            long offset = file.length();
+            byte[] content = new byte[(int) offset];
+            file.readFully(content);
+            int end = new String(content, UTF_8).indexOf("second") + "second".length() - 1;
+            file.seek(end);
+            file.write(content[end] + 1);
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(log.keys()).containsExactly("one");
+            // the corrupted record is overwritten by the next write
+            log.put("three", bytes("third"));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(log.keys()).containsExactlyInAnyOrder("one", "three");
+        }
+    }
+
+    @Test
+    void testCompaction() throws IOException {
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            log.put("kept", bytes("kept"));
+            log.put("removed", bytes("removed"));
+            // overwrites the same keys until several segments are sealed
+            for (int i = 0; i < 200; i++) {
+                log.put("key" + (i % 5), bytes("value" + i));
+            }
+            log.delete("removed");
+
+            log.compact();
+
+            assertThat(segments()).hasSizeLessThanOrEqualTo(2);
+            assertThat(log.get("kept")).hasValueSatisfying(value -> assertThat(value).isEqualTo(bytes("kept")));
+            assertThat(log.get("key4")).hasValueSatisfying(value -> assertThat(value).isEqualTo(bytes("value199")));
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(log.keys()).containsExactlyInAnyOrder("kept", "key0", "key1", "key2", "key3", "key4");
+            assertThat(log.get("removed")).isEmpty();
+        }
+    }
+
+    @Test
+    void testCompactionAcrossSegments() throws IOException {
+        List<Path> forced = Collections.synchronizedList(new ArrayList<>());
+        byte[] value = new byte[100];
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false) {
+            @Override
+            protected void force(Path file, MappedByteBuffer buffer) {
+                forced.add(file);
+                super.force(file, buffer);
+            }
+        }) {
+            // fills five segments with eight records each
+            for (int i = 0; i < 40; i++) {
+                log.put(String.format("key%02d", i), value);
+            }
+            // leaves three live records in each of the first four segments, their copies do not fit in one segment
+            for (int i = 0; i < 32; i++) {
+                if (i % 8 >= 3) {
+                    log.delete(String.format("key%02d", i));
+                }
+            }
+
+            log.compact();
+
+            List<Path> remaining = segments();
+            assertThat(remaining).hasSizeGreaterThan(2);
+            // every segment written after the untouched fifth one holds copies, that must be durable without sync
+            assertThat(forced).containsAll(remaining.subList(1, remaining.size()));
+            assertThat(log.keys()).hasSize(20);
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE, false)) {
+            assertThat(log.keys()).hasSize(20).contains("key00", "key26", "key39").doesNotContain("key03");
+        }
+    }
+
+    @Test
+    void testConcurrentWrites() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE * 16, true)) {
+            List<Future<?>> futures = Stream.iterate(0, i -> i + 1).limit(8)
+                    .<Future<?>> map(thread -> executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            log.write(Collections.singletonMap(thread + "-" + i, bytes("value" + i)));
+                        }
+                    })).toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertThat(log.keys()).hasSize(800);
+        } finally {
+            executor.shutdown();
+        }
+        try (SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE * 16, true)) {
+            assertThat(log.keys()).hasSize(800);
+        }
+    }
+
+    @Test
+    void testProcessInstances() {
+        StaticProcessConfig config = new StaticProcessConfig();
+        ((DefaultWorkItemHandlerConfig) config.workItemHandlers()).register("Human Task", new DefaultKogitoWorkItemHandler());
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        SecurityPolicy securityPolicy = SecurityPolicy.of("john", emptyList());
+        try (AbstractProcessInstancesFactory factory = new AbstractProcessInstancesFactory(directory.toString(), true, SEGMENT_SIZE, true) {
+        }) {
+            process.setProcessInstancesFactory(factory);
+            process.configure();
+            assertThat(process.instances()).isInstanceOf(SegmentLogProcessInstances.class);
+
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            UnitOfWorkManager uowManager = process.getApplication().unitOfWorkManager();
+            UnitOfWork uow = uowManager.newUnitOfWork();
+            uow.start();
+            processInstance.start();
+            uow.end();
+
+            assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+            assertThat(process.instances().exists(processInstance.id())).isTrue();
+            assertThat(process.instances().findById(processInstance.id())).isPresent();
+
+            WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+            uow = uowManager.newUnitOfWork();
+            uow.start();
+            processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+            uow.end();
+
+            assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+            assertEmpty(process.instances());
+        }
+    }
+}
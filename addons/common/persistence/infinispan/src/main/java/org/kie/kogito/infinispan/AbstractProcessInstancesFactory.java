@@ -18,7 +18,13 @@
  */
 package org.kie.kogito.infinispan;
 
+import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.ProtoStreamMarshaller;
+import org.infinispan.protostream.GeneratedSchema;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.query.remote.client.ProtobufMetadataManagerConstants;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
 
@@ -27,16 +33,40 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final RemoteCacheManager cacheManager;
     private final Boolean lock;
     private final String template;
+    private final boolean indexed;
 
     public AbstractProcessInstancesFactory(RemoteCacheManager cacheManager, Boolean lock, String template) {
+        this(cacheManager, lock, template, false);
+    }
+
+    /**
+     * @param indexed if true, process instances are stored along with indexed metadata, so queries are evaluated by the server
+     */
+    public AbstractProcessInstancesFactory(RemoteCacheManager cacheManager, Boolean lock, String template, boolean indexed) {
         this.cacheManager = cacheManager;
         this.lock = lock;
         this.template = template;
+        this.indexed = indexed;
+        if (indexed && cacheManager != null) {
+            registerSchema(cacheManager, new ProcessInstanceEntrySchemaImpl());
+        }
+    }
+
+    private static void registerSchema(RemoteCacheManager cacheManager, GeneratedSchema schema) {
+        Marshaller marshaller = cacheManager.getMarshaller();
+        if (!(marshaller instanceof ProtoStreamMarshaller)) {
+            throw new IllegalStateException("Indexed process instances require a protostream marshaller, but " + marshaller + " is configured");
+        }
+        SerializationContext context = ((ProtoStreamMarshaller) marshaller).getSerializationContext();
+        schema.registerSchema(context);
+        schema.registerMarshallers(context);
+        RemoteCache<String, String> metadata = cacheManager.getCache(ProtobufMetadataManagerConstants.PROTOBUF_METADATA_CACHE_NAME);
+        metadata.put(schema.getProtoFileName(), schema.getProtoFile());
     }
 
     @Override
     public CacheProcessInstances createProcessInstances(Process<?> process) {
-        return new CacheProcessInstances(process, cacheManager, template, lock);
+        return new CacheProcessInstances(process, cacheManager, template, lock, indexed);
     }
 
 }
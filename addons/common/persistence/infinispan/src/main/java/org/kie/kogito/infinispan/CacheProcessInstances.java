@@ -18,11 +18,20 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -30,6 +39,8 @@ import org.infinispan.client.hotrod.DefaultTemplate;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.api.query.Query;
+import org.infinispan.commons.configuration.StringConfiguration;
 import org.infinispan.commons.util.CloseableIterator;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.internal.utils.ConversionUtils;
@@ -38,27 +49,45 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
-    private final RemoteCache<String, byte[]> cache;
+    static final String INDEXED_CACHE_CONFIGURATION = "<local-cache name=\"%s\"><encoding media-type=\"application/x-protostream\"/>" +
+            "<indexing enabled=\"true\" storage=\"local-heap\"><indexed-entities><indexed-entity>%s</indexed-entity></indexed-entities></indexing></local-cache>";
+    private static final int PAGE_SIZE = 1000;
+
+    private final RemoteCache<String, Object> cache;
     private final ProcessInstanceMarshallerService marshaller;
     private final org.kie.kogito.process.Process<?> process;
     private final boolean lock;
+    private final boolean indexed;
 
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock) {
+        this(process, cacheManager, templateName, lock, false);
+    }
+
+    /**
+     * @param indexed if true, instances are stored as {@link ProcessInstanceEntry}, so queries are evaluated by the server.
+     *        The {@link ProcessInstanceEntrySchema} must be registered in the client and the server.
+     */
+    public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock, boolean indexed) {
         this.process = process;
         String cacheName = process.id() + "_store";
-        if (ConversionUtils.isEmpty(templateName)) {
-            this.cache = cacheManager.administration().getOrCreateCache(cacheName, DefaultTemplate.LOCAL);
-        } else {
+        if (!ConversionUtils.isEmpty(templateName)) {
             this.cache = cacheManager.administration().getOrCreateCache(cacheName, templateName);
+        } else if (indexed) {
+            this.cache = cacheManager.administration().getOrCreateCache(cacheName,
+                    new StringConfiguration(String.format(INDEXED_CACHE_CONFIGURATION, cacheName, ProcessInstanceEntry.ENTITY)));
+        } else {
+            this.cache = cacheManager.administration().getOrCreateCache(cacheName, DefaultTemplate.LOCAL);
         }
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
         this.lock = lock;
+        this.indexed = indexed;
     }
 
     @Override
@@ -67,7 +96,7 @@ public class CacheProcessInstances implements MutableProcessInstances {
     }
 
     private Optional<? extends ProcessInstance> findInternal(String id, ProcessInstanceReadMode mode) {
-        byte[] data = cache.get(id);
+        byte[] data = payload(cache.get(id));
         return data == null ? Optional.empty() : Optional.of(marshaller.unmarshallProcessInstance(data, process, mode));
     }
 
@@ -75,22 +104,160 @@ public class CacheProcessInstances implements MutableProcessInstances {
         return Optional.ofNullable(cache.getWithMetadata(id)).map(record -> unmarshall(record, mode));
     }
 
+    @Override
+    public Optional<? extends ProcessInstance> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        if (!indexed) {
+            return MutableProcessInstances.super.findByBusinessKey(businessKey, mode);
+        }
+        Query<Object[]> query = cache.query("SELECT id FROM " + ProcessInstanceEntry.ENTITY + " WHERE businessKey = :businessKey");
+        query.setParameter("businessKey", businessKey);
+        query.maxResults(1);
+        return query.execute().list().stream().findFirst().flatMap(row -> findById((String) row[0], mode));
+    }
+
     @Override
     public Stream<? extends ProcessInstance> stream(ProcessInstanceReadMode mode) {
         if (lock) {
             CloseableIterator<Entry<Object, MetadataValue<Object>>> iterator = cache.retrieveEntriesWithMetadata(null, 1000);
             return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).map(v -> unmarshall(v.getValue(), mode)).onClose(iterator::close);
         } else {
-            return cache.values().parallelStream().map(marshaller.createUnmarshallFunction(process, mode));
+            return cache.values().parallelStream().map(this::payload).map(marshaller.createUnmarshallFunction(process, mode));
+        }
+    }
+
+    /**
+     * When indexing is enabled, the query is evaluated by the server and only the matching instances are transferred, a page at a time.
+     * With optimistic locking, the server returns the ids of the matching instances, which are then read along with their version.
+     */
+    @Override
+    public Stream<? extends ProcessInstance> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        if (!indexed || hasWildcards(query.businessKeyPrefix())) {
+            return MutableProcessInstances.super.find(query, mode);
+        }
+        if (lock) {
+            return StreamSupport.stream(new QuerySpliterator<Object[]>(query, "SELECT id ", row -> (String) row[0]), false)
+                    .map(row -> findWithLock((String) row[0], mode))
+                    .flatMap(Optional::stream);
+        }
+        return StreamSupport.stream(new QuerySpliterator<ProcessInstanceEntry>(query, "", ProcessInstanceEntry::getId), false)
+                .map(ProcessInstanceEntry::getPayload)
+                .map(marshaller.createUnmarshallFunction(process, mode));
+    }
+
+    private static boolean hasWildcards(String businessKeyPrefix) {
+        return businessKeyPrefix != null && (businessKeyPrefix.indexOf('%') >= 0 || businessKeyPrefix.indexOf('_') >= 0);
+    }
+
+    /**
+     * @return Ickle query for the given filters, ordered by id
+     */
+    static String ickle(String select, ProcessInstanceQuery query, boolean after) {
+        List<String> conditions = new ArrayList<>();
+        if (!query.states().isEmpty()) {
+            conditions.add("state IN (" + query.states().stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")");
+        }
+        if (query.businessKeyPrefix() != null) {
+            conditions.add("businessKey LIKE :businessKey");
+        }
+        if (query.startedAfter() != null) {
+            conditions.add("startDate > :startedAfter");
+        }
+        if (after) {
+            conditions.add("id > :afterId");
+        }
+        StringBuilder ickle = new StringBuilder(select).append("FROM ").append(ProcessInstanceEntry.ENTITY);
+        if (!conditions.isEmpty()) {
+            ickle.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return ickle.append(" ORDER BY id").toString();
+    }
+
+    /**
+     * Retrieves the results of a query a page at a time. Every page but the first one starts after the last id of the previous page,
+     * so pages are consistent even if instances are created or removed meanwhile.
+     */
+    private class QuerySpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+
+        private final ProcessInstanceQuery query;
+        private final String select;
+        private final Function<R, String> idOf;
+        private String afterId;
+        private int offset;
+        private long remaining;
+        private boolean last;
+        private Iterator<R> page = Collections.emptyIterator();
+
+        private QuerySpliterator(ProcessInstanceQuery query, String select, Function<R, String> idOf) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.query = query;
+            this.select = select;
+            this.idOf = idOf;
+            this.afterId = query.afterId();
+            this.offset = query.offset();
+            this.remaining = query.limit();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (!page.hasNext() && !fetch()) {
+                return false;
+            }
+            R result = page.next();
+            afterId = idOf.apply(result);
+            action.accept(result);
+            return true;
+        }
+
+        private boolean fetch() {
+            if (last || remaining <= 0) {
+                return false;
+            }
+            int size = (int) Math.min(PAGE_SIZE, remaining);
+            Query<R> page = cache.query(ickle(select, query, afterId != null));
+            parameters().forEach(page::setParameter);
+            page.startOffset(offset);
+            page.maxResults(size);
+            List<R> results = page.execute().list();
+            last = results.size() < size;
+            remaining -= results.size();
+            offset = 0;
+            this.page = results.iterator();
+            return this.page.hasNext();
+        }
+
+        private Map<String, Object> parameters() {
+            Map<String, Object> parameters = new HashMap<>();
+            if (query.businessKeyPrefix() != null) {
+                parameters.put("businessKey", query.businessKeyPrefix() + "%");
+            }
+            if (query.startedAfter() != null) {
+                parameters.put("startedAfter", query.startedAfter().getTime());
+            }
+            if (afterId != null) {
+                parameters.put("afterId", afterId);
+            }
+            return parameters;
         }
     }
 
     private <T> ProcessInstance<?> unmarshall(MetadataValue<T> versionedCache, ProcessInstanceReadMode mode) {
-        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance((byte[]) versionedCache.getValue(), process, mode);
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(payload(versionedCache.getValue()), process, mode);
         ((AbstractProcessInstance) instance).setVersion(versionedCache.getVersion());
         return instance;
     }
 
+    private byte[] payload(Object value) {
+        return value instanceof ProcessInstanceEntry ? ((ProcessInstanceEntry) value).getPayload() : (byte[]) value;
+    }
+
+    private Object value(ProcessInstance<?> instance, byte[] data) {
+        if (!indexed) {
+            return data;
+        }
+        return new ProcessInstanceEntry(instance.id(), process.version(), instance.status(), instance.businessKey(),
+                instance.startDate() == null ? null : instance.startDate().getTime(), data);
+    }
+
     @Override
     public void update(String id, ProcessInstance instance) {
         try {
@@ -113,9 +280,9 @@ public class CacheProcessInstances implements MutableProcessInstances {
     @SuppressWarnings("unchecked")
     protected void updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
         if (isActive(instance)) {
-            byte[] data = marshaller.marshallProcessInstance(instance);
+            Object data = value(instance, marshaller.marshallProcessInstance(instance));
             if (checkDuplicates) {
-                byte[] existing = cache.putIfAbsent(id, data);
+                Object existing = cache.putIfAbsent(id, data);
                 if (existing != null) {
                     throw new ProcessInstanceDuplicatedException(id);
                 } else if (this.lock) {
@@ -144,15 +311,15 @@ public class CacheProcessInstances implements MutableProcessInstances {
 
     private void reloadWithLock(String id, ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
-            MetadataValue<byte[]> versionedCache = cache.getWithMetadata(id);
+            MetadataValue<Object> versionedCache = cache.getWithMetadata(id);
             ((AbstractProcessInstance) instance).setVersion(versionedCache.getVersion());
-            return versionedCache.getValue();
+            return payload(versionedCache.getValue());
         };
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
     private void reload(String id, ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> cache.get(id);
+        Supplier<byte[]> supplier = () -> payload(cache.get(id));
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.infinispan;
+
+import org.infinispan.api.annotations.indexing.Basic;
+import org.infinispan.api.annotations.indexing.Indexed;
+import org.infinispan.api.annotations.indexing.Keyword;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+
+/**
+ * Process instance stored by {@link CacheProcessInstances} when indexing is enabled. Besides the marshalled instance,
+ * it contains the fields the server needs to filter and sort process instances, so only the matching payloads are transferred.
+ */
+@Indexed
+public class ProcessInstanceEntry {
+
+    static final String ENTITY = ProcessInstanceEntrySchema.PACKAGE + ".ProcessInstanceEntry";
+
+    private final String id;
+    private final String processVersion;
+    private final int state;
+    private final String businessKey;
+    private final Long startDate;
+    private final byte[] payload;
+
+    @ProtoFactory
+    public ProcessInstanceEntry(String id, String processVersion, int state, String businessKey, Long startDate, byte[] payload) {
+        this.id = id;
+        this.processVersion = processVersion;
+        this.state = state;
+        this.businessKey = businessKey;
+        this.startDate = startDate;
+        this.payload = payload;
+    }
+
+    @ProtoField(number = 1)
+    @Keyword(sortable = true)
+    public String getId() {
+        return id;
+    }
+
+    @ProtoField(number = 2)
+    @Keyword
+    public String getProcessVersion() {
+        return processVersion;
+    }
+
+    @ProtoField(number = 3, defaultValue = "0")
+    @Basic
+    public int getState() {
+        return state;
+    }
+
+    @ProtoField(number = 4)
+    @Keyword
+    public String getBusinessKey() {
+        return businessKey;
+    }
+
+    /**
+     * @return start date in milliseconds since epoch
+     */
+    @ProtoField(number = 5)
+    @Basic(sortable = true)
+    public Long getStartDate() {
+        return startDate;
+    }
+
+    @ProtoField(number = 6)
+    public byte[] getPayload() {
+        return payload;
+    }
+}
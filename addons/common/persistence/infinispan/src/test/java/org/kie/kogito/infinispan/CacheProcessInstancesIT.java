@@ -20,6 +20,7 @@ package org.kie.kogito.infinispan;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.drools.io.ClassPathResource;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -34,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.api.definition.process.Node;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -176,11 +178,44 @@ class CacheProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testIndexedFind() {
+        StaticProcessConfig config = new StaticProcessConfig();
+        ((DefaultWorkItemHandlerConfig) config.workItemHandlers()).register("Human Task", new DefaultKogitoWorkItemHandler());
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, true));
+        process.configure();
+        for (String businessKey : new String[] { "order-1", "order-2", "invoice-1" }) {
+            process.createInstance(businessKey, BpmnVariables.create(Collections.singletonMap("test", businessKey))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("invoice-1")).hasValueSatisfying(pi -> assertThat(pi.businessKey()).isEqualTo("invoice-1"));
+        assertThat(instances.findByBusinessKey("invoice-2")).isEmpty();
+
+        List<String> orders = instances.find(ProcessInstanceQuery.builder().state(STATE_ACTIVE).businessKeyPrefix("order-").build(), ProcessInstanceReadMode.READ_ONLY)
+                .map(ProcessInstance::businessKey).collect(Collectors.toList());
+        assertThat(orders).containsExactlyInAnyOrder("order-1", "order-2");
+        assertThat(instances.find(ProcessInstanceQuery.builder().state(STATE_COMPLETED).build(), ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        List<ProcessInstance<BpmnVariables>> firstPage = instances.find(ProcessInstanceQuery.builder().limit(2).build(), ProcessInstanceReadMode.READ_ONLY).collect(Collectors.toList());
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).id()).isLessThan(firstPage.get(1).id());
+        List<ProcessInstance<BpmnVariables>> secondPage = instances.find(ProcessInstanceQuery.builder().after(firstPage.get(1).id()).limit(2).build(), ProcessInstanceReadMode.READ_ONLY)
+                .collect(Collectors.toList());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).id()).isGreaterThan(firstPage.get(1).id());
+    }
+
     private class CacheProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         CacheProcessInstancesFactory(RemoteCacheManager cacheManager) {
             super(cacheManager, false, null);
         }
 
+        CacheProcessInstancesFactory(RemoteCacheManager cacheManager, boolean indexed) {
+            super(cacheManager, false, null, indexed);
+        }
+
     }
 }
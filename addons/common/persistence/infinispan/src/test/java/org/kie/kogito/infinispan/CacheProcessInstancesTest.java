@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.infinispan;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstanceQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheProcessInstancesTest {
+
+    @Test
+    void testIckleWithoutFilters() {
+        assertThat(CacheProcessInstances.ickle("", ProcessInstanceQuery.builder().build(), false))
+                .isEqualTo("FROM kogito.persistence.ProcessInstanceEntry ORDER BY id");
+    }
+
+    @Test
+    void testIckleWithFilters() {
+        ProcessInstanceQuery query = ProcessInstanceQuery.builder().state(1, 5).businessKeyPrefix("order-").startedAfter(new Date()).after("abc").build();
+        assertThat(CacheProcessInstances.ickle("SELECT id ", query, true))
+                .isEqualTo("SELECT id FROM kogito.persistence.ProcessInstanceEntry WHERE state IN (1, 5) AND businessKey LIKE :businessKey AND startDate > :startedAfter AND id > :afterId ORDER BY id");
+    }
+}
@@ -27,18 +27,32 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     private final DataSource dataSource;
     private final Boolean lock;
+    private final int maxDeltas;
+    private final String compression;
+    private final int compressionThreshold;
 
     protected AbstractProcessInstancesFactory() {
         this(null, false);
     }
 
     public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock) {
+        this(dataSource, lock, 0);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, int maxDeltas) {
+        this(dataSource, lock, maxDeltas, "none", 0);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, int maxDeltas, String compression, int compressionThreshold) {
         this.dataSource = dataSource;
         this.lock = lock;
+        this.maxDeltas = maxDeltas;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, lock);
+        return new JDBCProcessInstances(process, dataSource, lock, maxDeltas, compression, compressionThreshold);
     }
 }
@@ -22,8 +22,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -34,10 +45,19 @@ import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.process.ProcessInstanceQuery;
+
 public class GenericRepository extends Repository {
 
+    private static final String ID = "id";
     private static final String PAYLOAD = "payload";
     private static final String VERSION = "version";
+    private static final String DELTA_BASE = "delta_base";
+    private static final String DELTA_SEQUENCE = "delta_sequence";
+    private static final String PROCESS_INSTANCE_ID = "process_instance_id";
+    private static final String SEQUENCE = "sequence";
+    // number of records read ahead when streaming, so the deltas of all of them are loaded with a single query
+    private static final int DELTAS_FETCH_SIZE = 100;
 
     private final DataSource dataSource;
 
@@ -46,7 +66,7 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey) {
+    void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey, int state, Date startDate) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(INSERT)) {
             String processInstanceId = id.toString();
@@ -55,6 +75,8 @@ public class GenericRepository extends Repository {
             statement.setString(3, processId);
             statement.setString(4, processVersion);
             statement.setLong(5, 0L);
+            statement.setInt(6, state);
+            statement.setTimestamp(7, timestamp(startDate));
             statement.executeUpdate();
             if (businessKey != null) {
                 try (PreparedStatement businessKeyStmt = connection.prepareStatement(INSERT_BUSINESS_KEY)) {
@@ -69,14 +91,15 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void updateInternal(String processId, String processVersion, UUID id, byte[] payload) {
+    void updateInternal(String processId, String processVersion, UUID id, byte[] payload, int state) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion))) {
             statement.setBytes(1, payload);
-            statement.setString(2, processId);
-            statement.setString(3, id.toString());
+            statement.setInt(2, state);
+            statement.setString(3, processId);
+            statement.setString(4, id.toString());
             if (processVersion != null) {
-                statement.setString(4, processVersion);
+                statement.setString(5, processVersion);
             }
             statement.executeUpdate();
         } catch (Exception e) {
@@ -85,16 +108,17 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version) {
+    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, int state, long version) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion))) {
             statement.setBytes(1, payload);
             statement.setLong(2, version + 1);
-            statement.setString(3, processId);
-            statement.setString(4, id.toString());
-            statement.setLong(5, version);
+            statement.setInt(3, state);
+            statement.setString(4, processId);
+            statement.setString(5, id.toString());
+            statement.setLong(6, version);
             if (processVersion != null) {
-                statement.setString(6, processVersion);
+                statement.setString(7, processVersion);
             }
             int count = statement.executeUpdate();
             return count == 1;
@@ -119,8 +143,280 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    Collection<UUID> batchInternal(String processId, String processVersion, Collection<BatchRecord> inserts, Collection<BatchRecord> updates, Collection<UUID> deletes, boolean lock) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!deletes.isEmpty()) {
+                deleteBatch(connection, processId, processVersion, deletes);
+            }
+            if (!inserts.isEmpty()) {
+                insertBatch(connection, processId, processVersion, inserts);
+            }
+            return updates.isEmpty() ? List.of() : updateBatch(connection, processId, processVersion, updates, lock);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error writing batch of %d inserts, %d updates and %d deletes for processId: %s processVersion: %s", inserts.size(), updates.size(), deletes.size(),
+                    processId, processVersion);
+        }
+    }
+
+    private void deleteBatch(Connection connection, String processId, String processVersion, Collection<UUID> deletes) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(DELETE, processVersion))) {
+            for (UUID id : deletes) {
+                statement.setString(1, processId);
+                statement.setString(2, id.toString());
+                if (processVersion != null) {
+                    statement.setString(3, processVersion);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertBatch(Connection connection, String processId, String processVersion, Collection<BatchRecord> inserts) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT);
+                PreparedStatement businessKeyStmt = connection.prepareStatement(INSERT_BUSINESS_KEY)) {
+            boolean hasBusinessKeys = false;
+            for (BatchRecord insert : inserts) {
+                String processInstanceId = insert.getId().toString();
+                statement.setString(1, processInstanceId);
+                statement.setBytes(2, insert.getPayload());
+                statement.setString(3, processId);
+                statement.setString(4, processVersion);
+                statement.setLong(5, 0L);
+                statement.setInt(6, insert.getState());
+                statement.setTimestamp(7, timestamp(insert.getStartDate()));
+                statement.addBatch();
+                if (insert.getBusinessKey() != null) {
+                    businessKeyStmt.setString(1, insert.getBusinessKey());
+                    businessKeyStmt.setString(2, processInstanceId);
+                    businessKeyStmt.addBatch();
+                    hasBusinessKeys = true;
+                }
+            }
+            statement.executeBatch();
+            if (hasBusinessKeys) {
+                businessKeyStmt.executeBatch();
+            }
+        }
+    }
+
+    private List<UUID> updateBatch(Connection connection, String processId, String processVersion, Collection<BatchRecord> updates, boolean lock) throws SQLException {
+        List<UUID> ids = new ArrayList<>(updates.size());
+        try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(lock ? UPDATE_WITH_LOCK : UPDATE, processVersion))) {
+            for (BatchRecord update : updates) {
+                int index = 1;
+                statement.setBytes(index++, update.getPayload());
+                if (lock) {
+                    statement.setLong(index++, update.getVersion() + 1);
+                }
+                statement.setInt(index++, update.getState());
+                statement.setString(index++, processId);
+                statement.setString(index++, update.getId().toString());
+                if (lock) {
+                    statement.setLong(index++, update.getVersion());
+                }
+                if (processVersion != null) {
+                    statement.setString(index, processVersion);
+                }
+                statement.addBatch();
+                ids.add(update.getId());
+            }
+            int[] counts = statement.executeBatch();
+            if (!lock) {
+                return List.of();
+            }
+            List<UUID> failed = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                // some drivers do not report row counts for batched statements, those rows cannot be checked
+                if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO) {
+                    failed.add(ids.get(i));
+                }
+            }
+            return failed;
+        }
+    }
+
+    @Override
+    boolean appendDelta(String processId, String processVersion, UUID id, byte[] delta, int state, Long version, int maxDeltas) {
+        try (Connection connection = dataSource.getConnection()) {
+            // the version must not be bumped without its delta
+            return inTransaction(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(version != null ? APPEND_DELTA_WITH_LOCK : APPEND_DELTA, processVersion))) {
+                    setAppendDeltaParameters(statement, processId, processVersion, id, state, version, maxDeltas);
+                    if (statement.executeUpdate() != 1) {
+                        return false;
+                    }
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_DELTA)) {
+                    insert.setBytes(1, delta);
+                    insert.setString(2, id.toString());
+                    insert.executeUpdate();
+                }
+                return true;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error appending delta to process instance %s", id);
+        }
+    }
+
+    @Override
+    Collection<UUID> appendDeltaBatch(String processId, String processVersion, Collection<BatchRecord> deltas, boolean lock, int maxDeltas) {
+        List<BatchRecord> records = new ArrayList<>(deltas);
+        try (Connection connection = dataSource.getConnection()) {
+            // the versions must not be bumped without their deltas
+            return inTransaction(connection, () -> {
+                int[] counts;
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(lock ? APPEND_DELTA_WITH_LOCK : APPEND_DELTA, processVersion))) {
+                    for (BatchRecord delta : records) {
+                        setAppendDeltaParameters(statement, processId, processVersion, delta.getId(), delta.getState(), lock ? delta.getVersion() : null, maxDeltas);
+                        statement.addBatch();
+                    }
+                    Savepoint savepoint = connection.setSavepoint();
+                    counts = statement.executeBatch();
+                    if (Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                        // a delta must only be inserted for a row that was updated, so drivers not reporting
+                        // counts for batched statements get the rows updated one at a time instead
+                        connection.rollback(savepoint);
+                        for (int i = 0; i < counts.length; i++) {
+                            BatchRecord delta = records.get(i);
+                            setAppendDeltaParameters(statement, processId, processVersion, delta.getId(), delta.getState(), lock ? delta.getVersion() : null, maxDeltas);
+                            counts[i] = statement.executeUpdate();
+                        }
+                    }
+                }
+                List<UUID> rejected = new ArrayList<>();
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_DELTA)) {
+                    for (int i = 0; i < counts.length; i++) {
+                        BatchRecord delta = records.get(i);
+                        if (counts[i] == 1) {
+                            insert.setBytes(1, delta.getPayload());
+                            insert.setString(2, delta.getId().toString());
+                            insert.addBatch();
+                        } else {
+                            rejected.add(delta.getId());
+                        }
+                    }
+                    if (rejected.size() < counts.length) {
+                        insert.executeBatch();
+                    }
+                }
+                return rejected;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error appending %d deltas for processId: %s processVersion: %s", deltas.size(), processId, processVersion);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SQLWork<T> {
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Executes the work in a local transaction, unless the connection already takes part in one.
+     */
+    private static <T> T inTransaction(Connection connection, SQLWork<T> work) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            return work.execute();
+        }
+        connection.setAutoCommit(false);
+        try {
+            T result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void setAppendDeltaParameters(PreparedStatement statement, String processId, String processVersion, UUID id, int state, Long version, int maxDeltas)
+            throws SQLException {
+        int index = 1;
+        if (version != null) {
+            statement.setLong(index++, version + 1);
+        }
+        statement.setInt(index++, state);
+        statement.setString(index++, processId);
+        statement.setString(index++, id.toString());
+        statement.setInt(index++, maxDeltas);
+        if (version != null) {
+            statement.setLong(index++, version);
+        }
+        if (processVersion != null) {
+            statement.setString(index, processVersion);
+        }
+    }
+
+    @Override
+    List<byte[]> findDeltas(UUID id, int after, int upTo) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_DELTAS)) {
+            statement.setString(1, id.toString());
+            statement.setInt(2, after);
+            statement.setInt(3, upTo);
+            List<byte[]> deltas = new ArrayList<>(upTo - after);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    deltas.add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return deltas;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding deltas of process instance %s", id);
+        }
+    }
+
+    /**
+     * Loads, with a single query, the deltas of the given records appended after their snapshot.
+     */
+    private static void loadDeltas(Connection connection, Collection<Record> records) throws SQLException {
+        Map<String, Record> withDeltas = new HashMap<>();
+        for (Record record : records) {
+            if (record.hasDeltas()) {
+                record.setDeltas(new ArrayList<>(record.getDeltaSequence() - record.getDeltaBase()));
+                withDeltas.put(record.getId().toString(), record);
+            }
+        }
+        if (withDeltas.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(String.format(FIND_DELTAS_IN, String.join(",", Collections.nCopies(withDeltas.size(), "?"))))) {
+            int index = 1;
+            for (String id : withDeltas.keySet()) {
+                statement.setString(index++, id);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Record record = withDeltas.get(resultSet.getString(PROCESS_INSTANCE_ID).trim());
+                    int sequence = resultSet.getInt(SEQUENCE);
+                    if (record != null && sequence > record.getDeltaBase() && sequence <= record.getDeltaSequence()) {
+                        record.getDeltas().add(resultSet.getBytes(PAYLOAD));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    void deleteDeltas(Collection<UUID> ids) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE_DELTAS)) {
+            for (UUID id : ids) {
+                statement.setString(1, id.toString());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error deleting deltas of process instances %s", ids);
+        }
+    }
+
     private Record from(ResultSet rs) throws SQLException {
-        return new Record(rs.getBytes(PAYLOAD), rs.getLong(VERSION));
+        return new Record(UUID.fromString(rs.getString(ID).trim()), rs.getBytes(PAYLOAD), rs.getLong(VERSION), rs.getInt(DELTA_BASE), rs.getInt(DELTA_SEQUENCE));
     }
 
     @Override
@@ -132,14 +428,37 @@ public class GenericRepository extends Repository {
             if (processVersion != null) {
                 statement.setString(3, processVersion);
             }
+            Record record;
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return Optional.of(from(resultSet));
+                if (!resultSet.next()) {
+                    return Optional.empty();
                 }
+                record = from(resultSet);
             }
+            loadDeltas(connection, List.of(record));
+            return Optional.of(record);
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding process instance %s", id);
         }
+    }
+
+    @Override
+    Optional<Long> findVersion(String processId, String processVersion, UUID id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(FIND_VERSION, processVersion))) {
+            statement.setString(1, processId);
+            statement.setString(2, id.toString());
+            if (processVersion != null) {
+                statement.setString(3, processVersion);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return Optional.of(resultSet.getLong(VERSION));
+                }
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding version of process instance %s", id);
+        }
         return Optional.empty();
     }
 
@@ -152,9 +471,15 @@ public class GenericRepository extends Repository {
             if (processVersion != null) {
                 statement.setString(3, processVersion);
             }
+            Record record;
             try (ResultSet resultSet = statement.executeQuery()) {
-                return resultSet.next() ? Optional.of(from(resultSet)) : Optional.empty();
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                record = from(resultSet);
             }
+            loadDeltas(connection, List.of(record));
+            return Optional.of(record);
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding process instance. Business key: %s, Process Id: %s, Process version: %s", businessKey, processId, processVersion);
         }
@@ -198,27 +523,102 @@ public class GenericRepository extends Repository {
 
     @Override
     Stream<Record> findAllInternal(String processId, String processVersion) {
+        return findAllInternal(processId, processVersion, FIND_ALL);
+    }
+
+    private Stream<Record> findAllInternal(String processId, String processVersion, String sql) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(processId);
+        if (processVersion != null) {
+            parameters.add(processVersion);
+        }
+        return stream(sqlIncludingVersion(sql, processVersion), parameters, processId);
+    }
+
+    @Override
+    Stream<Record> findInternal(String processId, String processVersion, ProcessInstanceQuery query) {
+        StringBuilder sql = new StringBuilder(sqlIncludingVersion(FIND_PAGE, processVersion));
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(processId);
+        if (processVersion != null) {
+            parameters.add(processVersion);
+        }
+        if (!query.states().isEmpty()) {
+            sql.append(' ').append(String.format(STATE_IN, String.join(",", Collections.nCopies(query.states().size(), "?"))));
+            parameters.addAll(query.states());
+        }
+        if (query.businessKeyPrefix() != null) {
+            sql.append(' ').append(BUSINESS_KEY_STARTS_WITH);
+            parameters.add(escapeLike(query.businessKeyPrefix()) + "%");
+        }
+        if (query.startedAfter() != null) {
+            sql.append(' ').append(STARTED_AFTER);
+            parameters.add(timestamp(query.startedAfter()));
+        }
+        if (query.afterId() != null) {
+            sql.append(' ').append(ID_AFTER);
+            parameters.add(query.afterId());
+        }
+        sql.append(' ').append(ORDER_BY_ID_PAGE);
+        parameters.add(query.offset());
+        parameters.add(query.limit());
+        return stream(sql.toString(), parameters, processId);
+    }
+
+    @Override
+    Stream<Record> findWithoutMetadata(String processId, String processVersion) {
+        return findAllInternal(processId, processVersion, FIND_WITHOUT_METADATA);
+    }
+
+    @Override
+    void fillMetadata(Collection<BatchRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FILL_METADATA)) {
+            for (BatchRecord record : records) {
+                statement.setInt(1, record.getState());
+                statement.setTimestamp(2, timestamp(record.getStartDate()));
+                statement.setString(3, record.getId().toString());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error filling state and start date of %d process instances", records.size());
+        }
+    }
+
+    private Stream<Record> stream(String sql, List<Object> parameters, String processId) {
         CloseableWrapper close = new CloseableWrapper();
         try {
             Connection connection = close.nest(dataSource.getConnection());
-            PreparedStatement statement = close.nest(connection.prepareStatement(sqlIncludingVersion(FIND_ALL, processVersion)));
-            statement.setString(1, processId);
-            if (processVersion != null) {
-                statement.setString(2, processVersion);
+            PreparedStatement statement = close.nest(connection.prepareStatement(sql));
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
             }
             ResultSet resultSet = close.nest(statement.executeQuery());
             return StreamSupport.stream(new Spliterators.AbstractSpliterator<Record>(
                     Long.MAX_VALUE, Spliterator.ORDERED) {
+                private final Deque<Record> fetched = new ArrayDeque<>();
+
                 @Override
                 public boolean tryAdvance(Consumer<? super Record> action) {
                     try {
-                        boolean hasNext = resultSet.next();
-                        if (hasNext) {
-                            action.accept(from(resultSet));
+                        if (fetched.isEmpty()) {
+                            while (fetched.size() < DELTAS_FETCH_SIZE && resultSet.next()) {
+                                fetched.add(from(resultSet));
+                            }
+                            loadDeltas(connection, fetched);
+                        }
+                        Record next = fetched.poll();
+                        if (next == null) {
+                            return false;
                         }
-                        return hasNext;
+                        action.accept(next);
+                        return true;
                     } catch (SQLException e) {
-                        throw uncheckedException(e, "Error finding all process instances, for processId %s", processId);
+                        throw uncheckedException(e, "Error finding process instances, for processId %s", processId);
                     }
                 }
             }, false).onClose(close);
@@ -228,10 +628,18 @@ public class GenericRepository extends Repository {
             } catch (Exception ex) {
                 e.addSuppressed(ex);
             }
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", processId);
+            throw uncheckedException(e, "Error finding process instances, for processId %s", processId);
         }
     }
 
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
     private static String sqlIncludingVersion(String statement, String processVersion) {
         return statement + " " + (processVersion == null ? PROCESS_VERSION_IS_NULL : PROCESS_VERSION_EQUALS_TO);
     }
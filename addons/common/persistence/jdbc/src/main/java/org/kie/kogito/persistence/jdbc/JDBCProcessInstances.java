@@ -18,8 +18,11 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
@@ -29,7 +32,9 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,11 +47,34 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean lock;
     private final Repository repository;
+    private final int maxDeltas;
+    private volatile boolean metadataFilled;
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock) {
+        this(process, dataSource, lock, 0);
+    }
+
+    /**
+     * @param maxDeltas number of deltas appended to an instance before its snapshot is rewritten, 0 to always write complete instances
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, int maxDeltas) {
+        this(process, dataSource, lock, maxDeltas, "none", 0);
+    }
+
+    /**
+     * @param compression name of the codec used to compress payloads, see {@link ProcessInstanceMarshallerService.Builder#withCompression(String, int)}
+     * @param compressionThreshold minimum payload size in bytes to be compressed
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, int maxDeltas, String compression, int compressionThreshold) {
         this.process = process;
         this.lock = lock;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build();
+        this.maxDeltas = maxDeltas;
+        ProcessInstanceMarshallerService.Builder builder = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
+                .withCompression(compression, compressionThreshold);
+        if (maxDeltas > 0) {
+            builder.withVariableChangeTracking();
+        }
+        this.marshaller = builder.build();
         this.repository = new GenericRepository(dataSource);
     }
 
@@ -60,7 +88,8 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     public void create(String id, ProcessInstance instance) {
         LOGGER.debug("Creating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance)) {
-            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.businessKey());
+            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.businessKey(), instance.status(),
+                    instance.startDate());
         } else {
             LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, instance.status());
         }
@@ -72,13 +101,21 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         LOGGER.debug("Updating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         try {
             if (isActive(instance)) {
+                if (appendDelta(id, instance)) {
+                    return;
+                }
                 if (lock) {
-                    boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+                    boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.status(),
+                            instance.version());
                     if (!isUpdated) {
                         throw new ProcessInstanceOptimisticLockingException(id);
                     }
                 } else {
-                    repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+                    repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.status());
+                }
+                if (deltas()) {
+                    // the snapshot now includes every delta, compact the log
+                    repository.deleteDeltas(List.of(UUID.fromString(id)));
                 }
             } else {
                 LOGGER.warn("Process instance id: {}, state: {} is not active, skipping update", id, instance.status());
@@ -88,6 +125,15 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private boolean appendDelta(String id, ProcessInstance<?> instance) {
+        if (!deltas()) {
+            return false;
+        }
+        Optional<byte[]> delta = marshallDelta(instance);
+        return delta.isPresent()
+                && repository.appendDelta(process.id(), process.version(), UUID.fromString(id), delta.get(), instance.status(), lock ? instance.version() : null, maxDeltas);
+    }
+
     @Override
     public long migrateAll(String targetProcessId, String targetProcessVersion) {
         return repository.migrate(process.id(), process.version(), targetProcessId, targetProcessVersion);
@@ -111,6 +157,11 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return repository.findByIdInternal(process.id(), process.version(), UUID.fromString(id)).map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public OptionalLong findVersion(String id) {
+        return repository.findVersion(process.id(), process.version(), UUID.fromString(id)).map(OptionalLong::of).orElseGet(OptionalLong::empty);
+    }
+
     @Override
     public Optional<ProcessInstance<?>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
         LOGGER.debug("Find process instance using business Key : {}", businessKey);
@@ -124,8 +175,40 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                 .map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<?>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        LOGGER.debug("Find process instances using query: {}, mode: {}", query, mode);
+        if (!metadataFilled && (!query.states().isEmpty() || query.startedAfter() != null)) {
+            fillMetadata();
+        }
+        return repository.findInternal(process.id(), process.version(), query)
+                .map(r -> unmarshall(r, mode));
+    }
+
+    /**
+     * Instances stored before the state and start date columns were added have them null until they are updated. They are read once
+     * and their columns filled before the first query filtering on them, so those instances are not skipped.
+     */
+    private synchronized void fillMetadata() {
+        if (metadataFilled) {
+            return;
+        }
+        List<Repository.BatchRecord> records;
+        try (Stream<Repository.Record> stored = repository.findWithoutMetadata(process.id(), process.version())) {
+            records = stored.map(r -> {
+                ProcessInstance<?> instance = unmarshall(r, ProcessInstanceReadMode.READ_ONLY);
+                return new Repository.BatchRecord(r.getId(), null, null, r.getVersion(), instance.status(), instance.startDate());
+            }).collect(Collectors.toList());
+        }
+        repository.fillMetadata(records);
+        if (!records.isEmpty()) {
+            LOGGER.info("Filled state and start date of {} process instances of {} stored by a previous version", records.size(), process.id());
+        }
+        metadataFilled = true;
+    }
+
     private ProcessInstance<?> unmarshall(Repository.Record record, ProcessInstanceReadMode mode) {
-        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(record.getPayload(), process, mode);
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(payload(record), process, mode);
         ((AbstractProcessInstance<?>) instance).setVersion(record.getVersion());
         return instance;
     }
@@ -135,11 +218,51 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
-    private void disconnect(ProcessInstance<?> instance) {
+    @Override
+    public Optional<ProcessInstancesBatch> newBatch() {
+        return Optional.of(new JDBCProcessInstancesBatch(this));
+    }
+
+    private byte[] payload(Repository.Record record) {
+        if (!record.hasDeltas()) {
+            return record.getPayload();
+        }
+        List<byte[]> deltas = record.getDeltas();
+        if (deltas == null) {
+            deltas = repository.findDeltas(record.getId(), record.getDeltaBase(), record.getDeltaSequence());
+        }
+        return marshaller.mergeProcessInstanceDeltas(record.getPayload(), deltas);
+    }
+
+    byte[] marshall(ProcessInstance<?> instance) {
+        return marshaller.marshallProcessInstance(instance);
+    }
+
+    Optional<byte[]> marshallDelta(ProcessInstance<?> instance) {
+        return marshaller.marshallProcessInstanceDelta(instance);
+    }
+
+    boolean deltas() {
+        return maxDeltas > 0;
+    }
+
+    int maxDeltas() {
+        return maxDeltas;
+    }
+
+    Process<?> process() {
+        return process;
+    }
+
+    Repository repository() {
+        return repository;
+    }
+
+    void disconnect(ProcessInstance<?> instance) {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> {
             Repository.Record r = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(instance.id())).orElseThrow();
             ((AbstractProcessInstance<?>) instance).setVersion(r.getVersion());
-            return r.getPayload();
+            return payload(r);
         }));
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batch of operations for {@link JDBCProcessInstances}. Operations on the same instance are merged,
+ * so each instance is written at most once, and the instances are marshalled when the batch is flushed.
+ */
+class JDBCProcessInstancesBatch implements ProcessInstancesBatch<Object> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstancesBatch.class);
+
+    private enum Operation {
+        CREATE,
+        UPDATE,
+        REMOVE
+    }
+
+    private static class Pending {
+        private Operation operation;
+        private ProcessInstance<Object> instance;
+        // whether the instance has been updated, so it must be disconnected once written
+        private boolean updated;
+
+        private Pending(Operation operation, ProcessInstance<Object> instance) {
+            this.operation = operation;
+            this.instance = instance;
+        }
+    }
+
+    private final JDBCProcessInstances instances;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+
+    JDBCProcessInstancesBatch(JDBCProcessInstances instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<Object> instance) {
+        Pending current = pending.get(id);
+        if (current != null && current.operation == Operation.REMOVE) {
+            // the instance must be deleted before it can be inserted again
+            flush();
+        }
+        pending.put(id, new Pending(Operation.CREATE, instance));
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<Object> instance) {
+        Pending current = pending.get(id);
+        if (current == null) {
+            current = new Pending(Operation.UPDATE, instance);
+            pending.put(id, current);
+        } else if (current.operation != Operation.REMOVE) {
+            // a created instance is inserted with its latest state
+            current.instance = instance;
+        }
+        current.updated = true;
+    }
+
+    @Override
+    public void remove(String id) {
+        Pending current = pending.get(id);
+        if (current != null && current.operation == Operation.CREATE) {
+            pending.remove(id);
+        } else {
+            pending.put(id, new Pending(Operation.REMOVE, null));
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Repository.BatchRecord> inserts = new ArrayList<>();
+        List<Repository.BatchRecord> updates = new ArrayList<>();
+        Map<UUID, ProcessInstance<Object>> deltaInstances = new LinkedHashMap<>();
+        List<Repository.BatchRecord> deltas = new ArrayList<>();
+        List<UUID> deletes = new ArrayList<>();
+        List<ProcessInstance<Object>> updated = new ArrayList<>();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            String id = entry.getKey();
+            Pending operation = entry.getValue();
+            switch (operation.operation) {
+                case CREATE:
+                    if (instances.isActive(operation.instance)) {
+                        inserts.add(new Repository.BatchRecord(UUID.fromString(id), instances.marshall(operation.instance), operation.instance.businessKey(), 0L,
+                                operation.instance.status(), operation.instance.startDate()));
+                    } else {
+                        LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, operation.instance.status());
+                    }
+                    if (operation.updated) {
+                        updated.add(operation.instance);
+                    }
+                    break;
+                case UPDATE:
+                    if (instances.isActive(operation.instance)) {
+                        Optional<byte[]> delta = instances.deltas() ? instances.marshallDelta(operation.instance) : Optional.empty();
+                        if (delta.isPresent()) {
+                            deltas.add(new Repository.BatchRecord(UUID.fromString(id), delta.get(), null, operation.instance.version(), operation.instance.status(), null));
+                            deltaInstances.put(UUID.fromString(id), operation.instance);
+                        } else {
+                            updates.add(new Repository.BatchRecord(UUID.fromString(id), instances.marshall(operation.instance), null, operation.instance.version(),
+                                    operation.instance.status(), null));
+                        }
+                    } else {
+                        LOGGER.warn("Process instance id: {}, state: {} is not active, skipping update", id, operation.instance.status());
+                    }
+                    updated.add(operation.instance);
+                    break;
+                case REMOVE:
+                    deletes.add(UUID.fromString(id));
+                    break;
+            }
+        }
+        pending.clear();
+        LOGGER.debug("Writing batch of {} inserts, {} updates, {} deltas and {} deletes", inserts.size(), updates.size(), deltas.size(), deletes.size());
+        try {
+            if (!deltas.isEmpty()) {
+                // deltas rejected because the log is full (or the version does not match) are written as complete instances
+                for (UUID id : instances.repository().appendDeltaBatch(instances.process().id(), instances.process().version(), deltas, instances.lock(), instances.maxDeltas())) {
+                    ProcessInstance<Object> instance = deltaInstances.get(id);
+                    updates.add(new Repository.BatchRecord(id, instances.marshall(instance), null, instance.version(), instance.status(), null));
+                }
+            }
+            checkLocked(instances.repository().batchInternal(instances.process().id(), instances.process().version(), inserts, updates, deletes, instances.lock()));
+            if (instances.deltas() && !updates.isEmpty()) {
+                // rewritten snapshots include every delta, compact their logs
+                instances.repository().deleteDeltas(updates.stream().map(Repository.BatchRecord::getId).collect(Collectors.toList()));
+            }
+        } finally {
+            updated.forEach(instances::disconnect);
+        }
+    }
+
+    private static void checkLocked(Collection<UUID> failed) {
+        if (!failed.isEmpty()) {
+            ProcessInstanceOptimisticLockingException exception = null;
+            for (UUID id : failed) {
+                ProcessInstanceOptimisticLockingException rowException = new ProcessInstanceOptimisticLockingException(id.toString());
+                if (exception == null) {
+                    exception = rowException;
+                } else {
+                    exception.addSuppressed(rowException);
+                }
+            }
+            throw exception;
+        }
+    }
+}
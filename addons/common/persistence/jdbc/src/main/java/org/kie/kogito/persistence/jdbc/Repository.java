@@ -18,28 +18,60 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+import org.kie.kogito.process.ProcessInstanceQuery;
+
 abstract class Repository {
 
-    static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version, state, start_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
     static final String INSERT_BUSINESS_KEY = "INSERT INTO business_key_mapping (business_key,process_instance_id) VALUES (?,?)";
-    static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = ?";
-    static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = ? and id = ?";
-    static final String FIND_BY_BUSINESS_KEY = "SELECT payload, version FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
-    static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE process_id = ? and id = ?";
-    static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE process_id = ? and id = ? and version = ?";
+    static final String FIND_ALL = "SELECT id, payload, version, delta_base, delta_sequence FROM process_instances WHERE process_id = ?";
+    static final String FIND_BY_ID = "SELECT id, payload, version, delta_base, delta_sequence FROM process_instances WHERE process_id = ? and id = ?";
+    static final String FIND_VERSION = "SELECT version FROM process_instances WHERE process_id = ? and id = ?";
+    static final String FIND_BY_BUSINESS_KEY =
+            "SELECT id, payload, version, delta_base, delta_sequence FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
+    static final String UPDATE = "UPDATE process_instances SET payload = ?, state = ?, delta_base = delta_sequence WHERE process_id = ? and id = ?";
+    static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ?, state = ?, delta_base = delta_sequence WHERE process_id = ? and id = ? and version = ?";
+    static final String APPEND_DELTA = "UPDATE process_instances SET state = ?, delta_sequence = delta_sequence + 1 WHERE process_id = ? and id = ? and delta_sequence - delta_base < ?";
+    static final String APPEND_DELTA_WITH_LOCK =
+            "UPDATE process_instances SET version = ?, state = ?, delta_sequence = delta_sequence + 1 WHERE process_id = ? and id = ? and delta_sequence - delta_base < ? and version = ?";
+    static final String INSERT_DELTA = "INSERT INTO process_instance_deltas (process_instance_id, sequence, payload) SELECT id, delta_sequence, ? FROM process_instances WHERE id = ?";
+    static final String FIND_DELTAS = "SELECT payload FROM process_instance_deltas WHERE process_instance_id = ? and sequence > ? and sequence <= ? ORDER BY sequence";
+    static final String FIND_DELTAS_IN = "SELECT process_instance_id, sequence, payload FROM process_instance_deltas WHERE process_instance_id IN (%s) ORDER BY process_instance_id, sequence";
+    static final String DELETE_DELTAS = "DELETE FROM process_instance_deltas WHERE process_instance_id = ?";
     static final String DELETE = "DELETE FROM process_instances WHERE process_id = ? and id = ?";
     static final String PROCESS_VERSION_EQUALS_TO = "and process_version = ?";
     static final String PROCESS_VERSION_IS_NULL = "and process_version is null";
     static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? ";
     static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE id = ANY (?) and process_id = ? ";
+    static final String FIND_PAGE =
+            "SELECT id, payload, version, delta_base, delta_sequence FROM process_instances LEFT JOIN business_key_mapping ON id = process_instance_id WHERE process_id = ?";
+    static final String STATE_IN = "and state in (%s)";
+    static final String BUSINESS_KEY_STARTS_WITH = "and business_key like ? escape '!'";
+    static final String STARTED_AFTER = "and start_date > ?";
+    static final String ID_AFTER = "and id > ?";
+    static final String ORDER_BY_ID_PAGE = "order by id offset ? rows fetch next ? rows only";
+    static final String FIND_WITHOUT_METADATA =
+            "SELECT id, payload, version, delta_base, delta_sequence FROM process_instances WHERE process_id = ? and (state is null or start_date is null)";
+    static final String FILL_METADATA = "UPDATE process_instances SET state = COALESCE(state, ?), start_date = COALESCE(start_date, ?) WHERE id = ?";
 
     static class Record {
+        private final UUID id;
         private final byte[] payload;
         private final long version;
+        private final int deltaBase;
+        private final int deltaSequence;
+        private List<byte[]> deltas;
+
+        public UUID getId() {
+            return id;
+        }
 
         public byte[] getPayload() {
             return payload;
@@ -49,26 +81,144 @@ abstract class Repository {
             return version;
         }
 
-        public Record(byte[] payload, long version) {
+        public int getDeltaBase() {
+            return deltaBase;
+        }
+
+        public int getDeltaSequence() {
+            return deltaSequence;
+        }
+
+        /**
+         * @return whether deltas were appended after the snapshot held in the payload
+         */
+        public boolean hasDeltas() {
+            return deltaSequence > deltaBase;
+        }
+
+        /**
+         * @return the payload of the deltas appended after the snapshot, oldest first, or null if they were not loaded with the record
+         */
+        public List<byte[]> getDeltas() {
+            return deltas;
+        }
+
+        void setDeltas(List<byte[]> deltas) {
+            this.deltas = deltas;
+        }
+
+        public Record(UUID id, byte[] payload, long version, int deltaBase, int deltaSequence) {
+            this.id = id;
+            this.payload = payload;
+            this.version = version;
+            this.deltaBase = deltaBase;
+            this.deltaSequence = deltaSequence;
+        }
+    }
+
+    static class BatchRecord {
+        private final UUID id;
+        private final byte[] payload;
+        private final String businessKey;
+        private final long version;
+        private final int state;
+        private final Date startDate;
+
+        public BatchRecord(UUID id, byte[] payload, String businessKey, long version, int state, Date startDate) {
+            this.id = id;
             this.payload = payload;
+            this.businessKey = businessKey;
             this.version = version;
+            this.state = state;
+            this.startDate = startDate;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public String getBusinessKey() {
+            return businessKey;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getState() {
+            return state;
+        }
+
+        public Date getStartDate() {
+            return startDate;
         }
     }
 
-    abstract void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey);
+    abstract void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey, int state, Date startDate);
 
-    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload);
+    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload, int state);
 
-    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version);
+    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, int state, long version);
 
     abstract boolean deleteInternal(String processId, String processVersion, UUID id);
 
+    /**
+     * Writes the given inserts, updates and deletes using a single connection and JDBC batching.
+     *
+     * @return ids of the instances whose update was rejected by the optimistic lock, empty when lock is false
+     */
+    abstract Collection<UUID> batchInternal(String processId, String processVersion, Collection<BatchRecord> inserts, Collection<BatchRecord> updates, Collection<UUID> deletes,
+            boolean lock);
+
+    /**
+     * Appends a delta to the log of the instance, unless the log already holds <code>maxDeltas</code> entries.
+     *
+     * @param version expected version of the instance, <code>null</code> when optimistic locking is disabled
+     * @return false when the delta was not appended, either because the log is full or the version did not match
+     */
+    abstract boolean appendDelta(String processId, String processVersion, UUID id, byte[] delta, int state, Long version, int maxDeltas);
+
+    /**
+     * Batched version of {@link #appendDelta(String, String, UUID, byte[], int, Long, int)}, the version is taken from each record when lock is true.
+     *
+     * @return ids of the instances whose delta was not appended
+     */
+    abstract Collection<UUID> appendDeltaBatch(String processId, String processVersion, Collection<BatchRecord> deltas, boolean lock, int maxDeltas);
+
+    /**
+     * @return the payload of the deltas with sequence in (<code>after</code>, <code>upTo</code>], oldest first
+     */
+    abstract List<byte[]> findDeltas(UUID id, int after, int upTo);
+
+    /**
+     * Removes the delta log of the given instances, called once their snapshot has been rewritten.
+     */
+    abstract void deleteDeltas(Collection<UUID> ids);
+
     abstract Optional<Record> findByIdInternal(String processId, String processVersion, UUID id);
 
+    abstract Optional<Long> findVersion(String processId, String processVersion, UUID id);
+
     abstract Optional<Record> findByBusinessKey(String processId, String processVersion, String businessKey);
 
     abstract Stream<Record> findAllInternal(String processId, String processVersion);
 
+    abstract Stream<Record> findInternal(String processId, String processVersion, ProcessInstanceQuery query);
+
+    /**
+     * @return instances stored before the state and start date columns were added, which have not been updated since
+     */
+    abstract Stream<Record> findWithoutMetadata(String processId, String processVersion);
+
+    /**
+     * Sets the state and start date of the given instances, keeping the values already stored.
+     */
+    abstract void fillMetadata(Collection<BatchRecord> records);
+
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.services.jobs.impl.JobDescriptionCodec;
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobStore} backed by the embedded_jobs table.
+ * <p>
+ * Every node sharing the table gets its own owner id; a node executes a job only while it holds an unexpired lease on it,
+ * so jobs are fired once even if all nodes have them scheduled, and jobs of a dead node are fired once its leases expire.
+ */
+public class JDBCJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCJobStore.class);
+
+    static final String INSERT = "INSERT INTO embedded_jobs (id, payload, fire_time, owner, lease_expiration) VALUES (?, ?, ?, NULL, NULL)";
+    static final String UPDATE = "UPDATE embedded_jobs SET payload = ?, fire_time = ?, owner = NULL, lease_expiration = NULL WHERE id = ?";
+    static final String DELETE = "DELETE FROM embedded_jobs WHERE id = ?";
+    static final String FIND_ALL = "SELECT payload FROM embedded_jobs ORDER BY fire_time";
+    static final String LEASE = "UPDATE embedded_jobs SET owner = ?, lease_expiration = ? WHERE id = ? AND (owner IS NULL OR owner = ? OR lease_expiration < ?)";
+
+    private final DataSource dataSource;
+    private final String owner;
+    private final Duration leaseDuration;
+    private final Duration refreshInterval;
+
+    public JDBCJobStore(DataSource dataSource, Duration leaseDuration, Duration refreshInterval) {
+        this.dataSource = dataSource;
+        this.owner = UUID.randomUUID().toString();
+        this.leaseDuration = leaseDuration;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public void save(JobDescription job) {
+        String payload = JobDescriptionCodec.encode(job);
+        Timestamp fireTime = Timestamp.from(job.expirationTime().get().toInstant());
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setString(1, payload);
+                statement.setTimestamp(2, fireTime);
+                statement.setString(3, job.id());
+                if (statement.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setString(1, job.id());
+                statement.setString(2, payload);
+                statement.setTimestamp(3, fireTime);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error saving job %s", job.id());
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error removing job %s", id);
+        }
+    }
+
+    @Override
+    public List<JobDescription> loadAll() {
+        List<JobDescription> jobs = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_ALL);
+                ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String payload = resultSet.getString(1);
+                try {
+                    jobs.add(JobDescriptionCodec.decode(payload));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Ignoring stored job that cannot be read: {}", payload, e);
+                }
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error loading jobs");
+        }
+        return jobs;
+    }
+
+    @Override
+    public boolean lease(String id) {
+        Instant now = Instant.now();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(LEASE)) {
+            statement.setString(1, owner);
+            statement.setTimestamp(2, Timestamp.from(now.plus(leaseDuration)));
+            statement.setString(3, id);
+            statement.setString(4, owner);
+            statement.setTimestamp(5, Timestamp.from(now));
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error leasing job %s", id);
+        }
+    }
+
+    @Override
+    public Duration refreshInterval() {
+        return refreshInterval;
+    }
+
+    private static RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+        return new RuntimeException(String.format(message, param), ex);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.outbox;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.process.ProcessInstanceDataEvent;
+import org.kie.kogito.event.serializer.KogitoSerializationModule;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.services.outbox.EventOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link EventOutbox} backed by the event_outbox table.
+ * <p>
+ * When a transaction is active, events are inserted using its connection, the same one that writes the process instances, so they are
+ * committed, or rolled back, together. Without one, as when a unit of work is not run within a managed transaction, they are committed
+ * on their own and a warning is logged once. Draining locks the oldest rows until they are published and deleted; on databases
+ * supporting <code>SKIP LOCKED</code>, or <code>READPAST</code>, rows locked by another node are skipped, so several nodes can relay the
+ * outbox concurrently.
+ */
+public class JDBCEventOutbox implements EventOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCEventOutbox.class);
+
+    static final String PROCESS_CATEGORY = "process";
+    static final String USER_TASK_CATEGORY = "usertask";
+
+    static final String INSERT = "INSERT INTO event_outbox (event_id, category, payload, created) VALUES (?, ?, ?, ?)";
+    static final String DELETE = "DELETE FROM event_outbox WHERE sequence = ?";
+
+    /**
+     * Query locking the oldest rows of the outbox, for each family of databases.
+     */
+    enum Dialect {
+        SKIP_LOCKED_LIMIT("SELECT sequence, category, payload FROM event_outbox ORDER BY sequence LIMIT ? FOR UPDATE SKIP LOCKED", true),
+        LIMIT("SELECT sequence, category, payload FROM event_outbox ORDER BY sequence LIMIT ? FOR UPDATE", true),
+        // Oracle does not allow row limiting clauses in FOR UPDATE queries, the rows fetched are bounded by the statement instead
+        ORACLE("SELECT sequence, category, payload FROM event_outbox ORDER BY sequence FOR UPDATE SKIP LOCKED", false),
+        SQL_SERVER("SELECT TOP (?) sequence, category, payload FROM event_outbox WITH (UPDLOCK, ROWLOCK, READPAST) ORDER BY sequence", true),
+        ANSI("SELECT sequence, category, payload FROM event_outbox ORDER BY sequence FETCH FIRST ? ROWS ONLY FOR UPDATE", true);
+
+        final String findOldest;
+        final boolean limitParameter;
+
+        Dialect(String findOldest, boolean limitParameter) {
+            this.findOldest = findOldest;
+            this.limitParameter = limitParameter;
+        }
+
+        static Dialect of(String productName, int majorVersion, int minorVersion) {
+            String product = productName.toLowerCase();
+            if (product.contains("postgresql")) {
+                return SKIP_LOCKED_LIMIT;
+            } else if (product.contains("mariadb")) {
+                return majorVersion > 10 || (majorVersion == 10 && minorVersion >= 6) ? SKIP_LOCKED_LIMIT : LIMIT;
+            } else if (product.contains("mysql")) {
+                return majorVersion >= 8 ? SKIP_LOCKED_LIMIT : LIMIT;
+            } else if (product.contains("oracle")) {
+                return ORACLE;
+            } else if (product.contains("microsoft sql server")) {
+                return SQL_SERVER;
+            }
+            return ANSI;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean warnedAutoCommit = new AtomicBoolean();
+    private volatile Dialect dialect;
+
+    public JDBCEventOutbox(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.objectMapper = ObjectMapperFactory.get().copy().registerModule(new KogitoSerializationModule());
+    }
+
+    @Override
+    public void store(Collection<DataEvent<?>> events) {
+        Timestamp created = Timestamp.from(Instant.now());
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            if (connection.getAutoCommit() && warnedAutoCommit.compareAndSet(false, true)) {
+                LOGGER.warn("Events are stored in the outbox outside of a transaction, they are not committed atomically with the process instances");
+            }
+            for (DataEvent<?> event : events) {
+                statement.setString(1, event.getId());
+                statement.setString(2, category(event));
+                statement.setBytes(3, objectMapper.writeValueAsBytes(event));
+                statement.setTimestamp(4, created);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException | IOException e) {
+            throw uncheckedException(e, "Error storing %d events in the outbox", events.size());
+        }
+    }
+
+    @Override
+    public int drain(int max, Consumer<Collection<DataEvent<?>>> consumer) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<Long> sequences = new ArrayList<>(max);
+                List<DataEvent<?>> events = new ArrayList<>(max);
+                Dialect dialect = dialect(connection);
+                try (PreparedStatement statement = connection.prepareStatement(dialect.findOldest)) {
+                    if (dialect.limitParameter) {
+                        statement.setInt(1, max);
+                    } else {
+                        statement.setMaxRows(max);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            long sequence = resultSet.getLong(1);
+                            sequences.add(sequence);
+                            try {
+                                events.add(decode(resultSet.getString(2), resultSet.getBytes(3)));
+                            } catch (IOException | IllegalArgumentException e) {
+                                LOGGER.warn("Discarding outbox event {} that cannot be read", sequence, e);
+                            }
+                        }
+                    }
+                }
+                if (!events.isEmpty()) {
+                    consumer.accept(events);
+                }
+                delete(connection, sequences);
+                connection.commit();
+                return sequences.size();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error draining events from the outbox");
+        }
+    }
+
+    private static void delete(Connection connection, List<Long> sequences) throws SQLException {
+        if (sequences.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (Long sequence : sequences) {
+                statement.setLong(1, sequence);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private Dialect dialect(Connection connection) throws SQLException {
+        if (dialect == null) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            dialect = Dialect.of(metaData.getDatabaseProductName(), metaData.getDatabaseMajorVersion(), metaData.getDatabaseMinorVersion());
+        }
+        return dialect;
+    }
+
+    static String category(DataEvent<?> event) {
+        if (event instanceof ProcessInstanceDataEvent) {
+            return PROCESS_CATEGORY;
+        } else if (event instanceof UserTaskInstanceDataEvent) {
+            return USER_TASK_CATEGORY;
+        }
+        throw new IllegalArgumentException("Event type " + event.getType() + " cannot be stored in the outbox");
+    }
+
+    private DataEvent<?> decode(String category, byte[] payload) throws IOException {
+        switch (category) {
+            case PROCESS_CATEGORY:
+                return objectMapper.readValue(payload, ProcessInstanceDataEvent.class);
+            case USER_TASK_CATEGORY:
+                return objectMapper.readValue(payload, UserTaskInstanceDataEvent.class);
+            default:
+                throw new IllegalArgumentException("Unknown outbox event category " + category);
+        }
+    }
+
+    private static RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+        return new RuntimeException(String.format(message, param), ex);
+    }
+}
@@ -0,0 +1,32 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+ALTER TABLE process_instances ADD delta_sequence INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE process_instances ADD delta_base INTEGER DEFAULT 0 NOT NULL;
+
+CREATE TABLE process_instance_deltas (
+     process_instance_id character(36) NOT NULL,
+     sequence INTEGER NOT NULL,
+     payload bytea NOT NULL,
+     PRIMARY KEY (process_instance_id, sequence),
+     CONSTRAINT fk_process_instance_deltas
+     FOREIGN KEY (process_instance_id)
+     REFERENCES process_instances(id)
+     ON DELETE CASCADE
+);
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+import org.kie.kogito.services.jobs.impl.JobDescriptionCodec;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JDBCJobStoreTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofSeconds(30);
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final PreparedStatement insert = mock(PreparedStatement.class);
+    private final JDBCJobStore store = new JDBCJobStore(dataSource, LEASE_DURATION, Duration.ofSeconds(10));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(any())).thenReturn(statement);
+        when(connection.prepareStatement(JDBCJobStore.INSERT)).thenReturn(insert);
+    }
+
+    @Test
+    void testSaveUpdatesExistingJob() throws SQLException {
+        JobDescription job = userTaskJob("job");
+        when(statement.executeUpdate()).thenReturn(1);
+
+        store.save(job);
+
+        verify(connection).prepareStatement(JDBCJobStore.UPDATE);
+        verify(statement).setString(1, JobDescriptionCodec.encode(job));
+        verify(statement).setTimestamp(2, Timestamp.from(job.expirationTime().get().toInstant()));
+        verify(statement).setString(3, "job");
+        verify(connection, never()).prepareStatement(JDBCJobStore.INSERT);
+    }
+
+    @Test
+    void testSaveInsertsNewJob() throws SQLException {
+        JobDescription job = userTaskJob("job");
+        when(statement.executeUpdate()).thenReturn(0);
+
+        store.save(job);
+
+        verify(insert).setString(1, "job");
+        verify(insert).setString(2, JobDescriptionCodec.encode(job));
+        verify(insert).setTimestamp(3, Timestamp.from(job.expirationTime().get().toInstant()));
+        verify(insert).executeUpdate();
+    }
+
+    @Test
+    void testLoadAllSkipsUnreadableJobs() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(1)).thenReturn("not a job", JobDescriptionCodec.encode(userTaskJob("job")));
+
+        List<JobDescription> jobs = store.loadAll();
+
+        verify(connection).prepareStatement(JDBCJobStore.FIND_ALL);
+        assertThat(jobs).extracting(JobDescription::id).containsExactly("job");
+    }
+
+    @Test
+    void testLease() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1, 0);
+        Instant before = Instant.now();
+
+        assertThat(store.lease("job")).isTrue();
+        assertThat(store.lease("job")).isFalse();
+
+        verify(connection, times(2)).prepareStatement(JDBCJobStore.LEASE);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(statement, times(2)).setString(eq(1), owner.capture());
+        // the node renews its own lease, so the owner it sets is the one it matches
+        verify(statement, times(2)).setString(3, "job");
+        verify(statement, times(2)).setString(4, owner.getValue());
+        ArgumentCaptor<Timestamp> expiration = ArgumentCaptor.forClass(Timestamp.class);
+        verify(statement, times(2)).setTimestamp(eq(2), expiration.capture());
+        assertThat(expiration.getValue().toInstant()).isAfterOrEqualTo(before.plus(LEASE_DURATION));
+    }
+
+    @Test
+    void testErrorsAreWrapped() throws SQLException {
+        SQLException cause = new SQLException("connection refused");
+        when(dataSource.getConnection()).thenThrow(cause);
+
+        assertThatThrownBy(() -> store.remove("job")).isInstanceOf(RuntimeException.class).hasMessage("Error removing job job").hasCause(cause);
+    }
+
+    private static JobDescription userTaskJob(String id) {
+        return new UserTaskInstanceJobDescription(id, ExactExpirationTime.of(ZonedDateTime.now().plusMinutes(5)), 5, "userTask");
+    }
+}
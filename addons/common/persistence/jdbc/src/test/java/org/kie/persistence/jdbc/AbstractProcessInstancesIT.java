@@ -19,9 +19,14 @@
 package org.kie.persistence.jdbc;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -33,10 +38,14 @@ import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.internal.process.workitem.Policy;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
@@ -53,6 +62,7 @@ import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertEmpty;
 import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertOne;
 import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.getFirst;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -123,6 +133,127 @@ abstract class AbstractProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testBatchUpdateAndRemove() {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(singletonMap("test", "first")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(singletonMap("test", "second")));
+        second.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        ProcessInstancesBatch batch = processInstances.newBatch().orElseThrow();
+        batch.update(first.id(), processInstances.findById(first.id()).orElseThrow());
+        batch.remove(second.id());
+        batch.flush();
+
+        assertOne(process.instances());
+        assertThat(processInstances.exists(first.id())).isTrue();
+        assertThat(processInstances.exists(second.id())).isFalse();
+    }
+
+    @Test
+    void testBatchCreateAndUpdate() {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> started = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        started.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        ProcessInstance<?> instance = spy(processInstances.findById(started.id()).orElseThrow());
+        processInstances.remove(started.id());
+
+        ProcessInstancesBatch batch = processInstances.newBatch().orElseThrow();
+        batch.create(instance.id(), instance);
+        batch.update(instance.id(), instance);
+        batch.flush();
+
+        assertThat(processInstances.exists(instance.id())).isTrue();
+        // updated instances are disconnected, even if they were created in the same unit of work
+        verify((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(any());
+    }
+
+    @Test
+    void testFindPage() {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        for (String businessKey : new String[] { "order-1", "order-2", "invoice-1" }) {
+            process.createInstance(businessKey, BpmnVariables.create(singletonMap("test", businessKey))).start();
+        }
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        List<String> orders = processInstances.find(ProcessInstanceQuery.builder().state(STATE_ACTIVE).businessKeyPrefix("order-").build(), ProcessInstanceReadMode.READ_ONLY)
+                .map(ProcessInstance::businessKey).collect(Collectors.toList());
+        assertThat(orders).containsExactlyInAnyOrder("order-1", "order-2");
+
+        List<ProcessInstance<?>> firstPage = processInstances.find(ProcessInstanceQuery.builder().limit(2).build(), ProcessInstanceReadMode.READ_ONLY).collect(Collectors.toList());
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).id()).isLessThan(firstPage.get(1).id());
+        List<ProcessInstance<?>> secondPage = processInstances.find(ProcessInstanceQuery.builder().after(firstPage.get(1).id()).limit(2).build(), ProcessInstanceReadMode.READ_ONLY)
+                .collect(Collectors.toList());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).id()).isGreaterThan(firstPage.get(1).id());
+    }
+
+    @Test
+    void testFindFillsStateAndStartDateOfPreviousInstances() throws Exception {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+        // as left by the migration adding the columns
+        try (Connection connection = getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("UPDATE process_instances SET state = null, start_date = null WHERE id = ?")) {
+            statement.setString(1, processInstance.id());
+            statement.executeUpdate();
+        }
+
+        assertThat(process.instances().find(ProcessInstanceQuery.builder().state(STATE_ACTIVE).startedAfter(new Date(0)).build(), ProcessInstanceReadMode.READ_ONLY)
+                .map(ProcessInstance::id)).containsExactly(processInstance.id());
+    }
+
+    @Test
+    void testDeltaUpdates() throws Exception {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), 2);
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "v0")));
+        processInstance.start();
+
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "v1")));
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "v2")));
+        assertThat(countDeltas(processInstance.id())).isEqualTo(2);
+        assertThat(process.instances().findById(processInstance.id()).orElseThrow().variables().toMap()).containsEntry("test", "v2");
+
+        // the log is full, the snapshot is rewritten
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "v3")));
+        assertThat(countDeltas(processInstance.id())).isZero();
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "v4")));
+        assertThat(countDeltas(processInstance.id())).isEqualTo(1);
+
+        ProcessInstance<BpmnVariables> found = process.instances().findById(processInstance.id()).orElseThrow();
+        assertThat(found.variables().toMap()).containsEntry("test", "v4");
+        assertThat(found.workItems()).hasSize(1);
+
+        // deltas of streamed instances are loaded together
+        ProcessInstance<BpmnVariables> other = process.createInstance(BpmnVariables.create(singletonMap("test", "w0")));
+        other.start();
+        other.updateVariables(BpmnVariables.create(singletonMap("test", "w1")));
+        try (Stream<ProcessInstance<BpmnVariables>> stream = process.instances().stream()) {
+            assertThat(stream.map(instance -> instance.variables().toMap().get("test"))).containsExactlyInAnyOrder("v4", "w1");
+        }
+    }
+
+    private int countDeltas(String processInstanceId) throws Exception {
+        try (Connection connection = getDataSource().getConnection();
+                ResultSet resultSet = connection.createStatement()
+                        .executeQuery("SELECT count(*) FROM process_instance_deltas d JOIN process_instances p ON p.id = d.process_instance_id WHERE p.id = '" + processInstanceId
+                                + "' and d.sequence > p.delta_base")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
     @Test
     void testMultipleProcesses() {
         var factory = new TestProcessInstancesFactory(getDataSource(), lock());
@@ -18,10 +18,13 @@
  */
 package org.kie.kogito.mongodb;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -37,11 +40,13 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.ClientSession;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
@@ -49,11 +54,20 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.UpdateResult;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID_INDEX;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_MARSHALLED_START_DATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_START_DATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_START_DATE_INDEX;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE_INDEX;
 
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
@@ -88,6 +102,28 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        List<Bson> filters = new ArrayList<>();
+        if (!query.states().isEmpty()) {
+            filters.add(Filters.in(PROCESS_INSTANCE_STATE, query.states()));
+        }
+        if (query.businessKeyPrefix() != null) {
+            filters.add(Filters.regex(PROCESS_INSTANCE_BUSINESS_KEY, "^" + Pattern.quote(query.businessKeyPrefix())));
+        }
+        if (query.startedAfter() != null) {
+            filters.add(Filters.gt(PROCESS_INSTANCE_START_DATE, query.startedAfter()));
+        }
+        if (query.afterId() != null) {
+            filters.add(Filters.gt(PROCESS_INSTANCE_ID, query.afterId()));
+        }
+        Bson filter = filters.isEmpty() ? new Document() : Filters.and(filters);
+        ClientSession clientSession = transactionManager.getClientSession();
+        FindIterable<Document> found = clientSession == null ? collection.find(filter) : collection.find(clientSession, filter);
+        MongoCursor<Document> docs = found.sort(Sorts.ascending(PROCESS_INSTANCE_ID)).skip(query.offset()).limit(query.limit()).iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
         ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(document.toJson().getBytes(), process, mode);
         setVersion(instance, document.getLong(VERSION));
@@ -110,6 +146,8 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         ClientSession clientSession = transactionManager.getClientSession();
         Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
+        // stored aside the marshalled instance, which keeps the start date as a string, so it can be queried as a date
+        doc.put(PROCESS_INSTANCE_START_DATE, instance.startDate());
         if (checkDuplicates) {
             createInternal(id, clientSession, doc);
         } else {
@@ -194,6 +232,15 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         //Index creation (if the index already exists it is a no-op)
         collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ID),
                 new IndexOptions().unique(true).name(PROCESS_INSTANCE_ID_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_STATE, PROCESS_INSTANCE_ID),
+                new IndexOptions().name(PROCESS_INSTANCE_STATE_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_BUSINESS_KEY),
+                new IndexOptions().name(PROCESS_INSTANCE_BUSINESS_KEY_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_START_DATE),
+                new IndexOptions().name(PROCESS_INSTANCE_START_DATE_INDEX).background(true));
+        // documents stored by previous versions only have the marshalled start date, milliseconds as a string, convert it so they can be queried
+        collection.updateMany(Filters.and(Filters.exists(PROCESS_INSTANCE_START_DATE, false), Filters.exists(PROCESS_INSTANCE_MARSHALLED_START_DATE)),
+                List.of(Updates.set(PROCESS_INSTANCE_START_DATE, new Document("$toDate", new Document("$toLong", "$" + PROCESS_INSTANCE_MARSHALLED_START_DATE)))));
         return collection;
     }
 }
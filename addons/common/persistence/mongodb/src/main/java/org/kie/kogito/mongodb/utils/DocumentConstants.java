@@ -25,6 +25,13 @@ public class DocumentConstants {
     public static final String DOCUMENT_ID = "_id";
     public static final String PROCESS_INSTANCE_ID = "id";
     public static final String PROCESS_INSTANCE_ID_INDEX = "index_process_instance_id";
+    public static final String PROCESS_INSTANCE_STATE = "state";
+    public static final String PROCESS_INSTANCE_STATE_INDEX = "index_process_instance_state";
+    public static final String PROCESS_INSTANCE_BUSINESS_KEY = "businessKey";
+    public static final String PROCESS_INSTANCE_BUSINESS_KEY_INDEX = "index_process_instance_business_key";
+    public static final String PROCESS_INSTANCE_START_DATE = "startDateTime";
+    public static final String PROCESS_INSTANCE_MARSHALLED_START_DATE = "startDate";
+    public static final String PROCESS_INSTANCE_START_DATE_INDEX = "index_process_instance_start_date";
     public static final String STRATEGIES = "strategies";
     public static final String NAME = "name";
     public static final String PROCESS_INSTANCE = "processInstance";
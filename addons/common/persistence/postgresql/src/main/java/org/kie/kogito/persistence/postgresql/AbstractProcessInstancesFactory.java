@@ -28,16 +28,30 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final Long queryTimeout;
     private final PgPool client;
     private final Boolean lock;
+    private final Boolean eventLoopBlocking;
+    private final String compression;
+    private final int compressionThreshold;
 
     // Constructor for DI
     protected AbstractProcessInstancesFactory() {
-        this(null, 10000L, false);
+        this(null, 10000L, false, false);
     }
 
     public AbstractProcessInstancesFactory(PgPool client, Long queryTimeout, Boolean lock) {
+        this(client, queryTimeout, lock, false);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Long queryTimeout, Boolean lock, Boolean eventLoopBlocking) {
+        this(client, queryTimeout, lock, eventLoopBlocking, "none", 0);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Long queryTimeout, Boolean lock, Boolean eventLoopBlocking, String compression, int compressionThreshold) {
         this.client = client;
         this.queryTimeout = queryTimeout;
         this.lock = lock;
+        this.eventLoopBlocking = eventLoopBlocking;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     public PgPool client() {
@@ -50,6 +64,6 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     @Override
     public PostgresqlProcessInstances createProcessInstances(Process<?> process) {
-        return new PostgresqlProcessInstances(process, client(), queryTimeout, lock());
+        return new PostgresqlProcessInstances(process, client(), queryTimeout, lock(), eventLoopBlocking, compression, compressionThreshold);
     }
 }
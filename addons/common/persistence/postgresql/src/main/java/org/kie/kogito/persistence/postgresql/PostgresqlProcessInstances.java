@@ -18,9 +18,16 @@
  */
 package org.kie.kogito.persistence.postgresql;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -28,13 +35,15 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
-import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.pgclient.PgPool;
@@ -44,33 +53,60 @@ import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 
 @SuppressWarnings({ "rawtypes" })
-public class PostgresqlProcessInstances implements MutableProcessInstances {
+public class PostgresqlProcessInstances implements ReactiveMutableProcessInstances {
 
     private static final String VERSION = "version";
     private static final String PAYLOAD = "payload";
 
     private static final String IS_NULL = "is null";
-    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES ($1, $2, $3, $4, $5)";
-    private static final String UPDATE = "UPDATE process_instances SET payload = $1 WHERE process_id = $2 and id = $3 and process_version ";
+    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version, state, start_date) VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    private static final String UPDATE = "UPDATE process_instances SET payload = $1, state = $2 WHERE process_id = $3 and id = $4 and process_version ";
     private static final String DELETE = "DELETE FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
+    private static final String FIND_VERSION = "SELECT version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = $1 and process_version ";
-    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2 WHERE process_id = $3 and id = $4 and version = $5 and process_version ";
+    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2, state = $3 WHERE process_id = $4 and id = $5 and version = $6 and process_version ";
     private static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and process_version ";
     private static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and id = ANY ($4) and process_version ";
+    private static final String INSERT_BUSINESS_KEY = "INSERT INTO business_key_mapping (business_key, process_instance_id) VALUES ($1, $2)";
+    private static final String DELETE_BUSINESS_KEY =
+            "DELETE FROM business_key_mapping WHERE process_instance_id IN (SELECT id FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
+    private static final String FIND_WITHOUT_METADATA = "SELECT payload, version FROM process_instances WHERE process_id = $1 and (state is null or start_date is null) and process_version ";
+    private static final String FILL_METADATA = "UPDATE process_instances SET state = COALESCE(state, $1), start_date = COALESCE(start_date, $2) WHERE id = $3";
+    private static final String FIND_PAGE = "SELECT payload, version FROM process_instances LEFT JOIN business_key_mapping ON id = process_instance_id WHERE process_id = $1 and process_version ";
 
     private final Process<?> process;
     private final PgPool client;
     private final ProcessInstanceMarshallerService marshaller;
     private final Long queryTimeoutMillis;
     private final boolean lock;
+    private final boolean eventLoopBlocking;
+    private volatile boolean metadataFilled;
 
     public PostgresqlProcessInstances(Process<?> process, PgPool client, Long queryTimeoutMillis, boolean lock) {
+        this(process, client, queryTimeoutMillis, lock, false);
+    }
+
+    /**
+     * @param eventLoopBlocking whether the blocking methods can be invoked from a Vert.x event loop thread.
+     *        When false, callers running on the event loop must use the asynchronous methods.
+     */
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, Long queryTimeoutMillis, boolean lock, boolean eventLoopBlocking) {
+        this(process, client, queryTimeoutMillis, lock, eventLoopBlocking, "none", 0);
+    }
+
+    /**
+     * @param compression name of the codec used to compress payloads, see {@link ProcessInstanceMarshallerService.Builder#withCompression(String, int)}
+     * @param compressionThreshold minimum payload size in bytes to be compressed
+     */
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, Long queryTimeoutMillis, boolean lock, boolean eventLoopBlocking, String compression, int compressionThreshold) {
         this.process = process;
         this.client = client;
         this.queryTimeoutMillis = queryTimeoutMillis;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build();
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
+                .withCompression(compression, compressionThreshold).build();
         this.lock = lock;
+        this.eventLoopBlocking = eventLoopBlocking;
     }
 
     @Override
@@ -78,37 +114,60 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
         return findById(id).isPresent();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
+        await(createInternal(id, instance), "Error inserting process instance %s", id);
+    }
+
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        return createInternal(id, instance).toCompletionStage();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Future<Void> createInternal(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return Future.succeededFuture();
         }
-        insertInternal(id, marshaller.marshallProcessInstance(instance));
+        return insertInternal(id, marshaller.marshallProcessInstance(instance), instance.businessKey(), instance.status(), instance.startDate()).mapEmpty();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void update(String id, ProcessInstance instance) {
+        await(updateInternal(id, instance), "Error updating process instance %s", id);
+    }
+
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        return updateInternal(id, instance).toCompletionStage();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Future<Void> updateInternal(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return Future.succeededFuture();
         }
+        Future<Boolean> future;
         try {
-            if (lock) {
-                updateWithLock(id, marshaller.marshallProcessInstance(instance), instance.version());
-            } else {
-                updateInternal(id, marshaller.marshallProcessInstance(instance));
-            }
-        } finally {
+            future = lock ? updateWithLock(id, marshaller.marshallProcessInstance(instance), instance.status(), instance.version())
+                    : updateInternal(id, marshaller.marshallProcessInstance(instance), instance.status());
+        } catch (RuntimeException e) {
             disconnect(instance);
+            throw e;
         }
+        return future.<Void> mapEmpty().onComplete(r -> disconnect(instance));
     }
 
     @Override
     public void remove(String id) {
-        deleteInternal(id);
+        await(deleteInternal(id), "Error deleting process instance %s", id);
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return deleteInternal(id).<Void> mapEmpty().toCompletionStage();
     }
 
     @Override
@@ -116,18 +175,106 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
         return findByIdInternal(id).map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        // unmarshalling is not done in the event loop thread completing the query
+        return findByIdFuture(id).toCompletionStage().thenApplyAsync(row -> row.map(r -> (ProcessInstance) unmarshall(r, mode)));
+    }
+
+    @Override
+    public OptionalLong findVersion(String id) {
+        Future<Optional<Row>> version = client.preparedQuery(FIND_VERSION + (process.version() == null ? IS_NULL : "= $3"))
+                .execute(tuple(process.id(), id))
+                .map(rows -> Optional.ofNullable(rows).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next));
+        return await(version, "Error finding version of process instance %s", id).map(r -> OptionalLong.of(r.getLong(VERSION))).orElseGet(OptionalLong::empty);
+    }
+
     @Override
     public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
-        try {
-            return getResultFromFuture(client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL : "= $2")).execute(tuple(process.id())))
-                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
-                    .map(row -> unmarshall(row, mode));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        } catch (ExecutionException | TimeoutException e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
+        return await(findAllInternal(mode), "Error finding all process instances, for processId %s", process.id());
+    }
+
+    @Override
+    public CompletionStage<Stream<ProcessInstance>> streamAsync(ProcessInstanceReadMode mode) {
+        return findAllInternal(mode).toCompletionStage();
+    }
+
+    private Future<Stream<ProcessInstance>> findAllInternal(ProcessInstanceReadMode mode) {
+        return client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL : "= $2")).execute(tuple(process.id()))
+                .map(r -> StreamSupport.stream(r.spliterator(), false).map(row -> unmarshall(row, mode)));
+    }
+
+    @Override
+    public Stream<ProcessInstance> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return await(findPage(query, mode), "Error finding process instances using %s, for processId %s", query, process.id());
+    }
+
+    @Override
+    public CompletionStage<Stream<ProcessInstance>> findAsync(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return findPage(query, mode).toCompletionStage();
+    }
+
+    private Future<Stream<ProcessInstance>> findPage(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        if (!metadataFilled && (!query.states().isEmpty() || query.startedAfter() != null)) {
+            return fillMetadata().compose(filled -> findPageInternal(query, mode));
+        }
+        return findPageInternal(query, mode);
+    }
+
+    /**
+     * Instances stored before the state and start date columns were added have them null until they are updated. They are read once
+     * and their columns filled before the first query filtering on them, so those instances are not skipped.
+     */
+    private Future<Void> fillMetadata() {
+        return client.preparedQuery(FIND_WITHOUT_METADATA + (process.version() == null ? IS_NULL : "= $2")).execute(tuple(process.id()))
+                .compose(rows -> {
+                    List<Tuple> batch = new ArrayList<>();
+                    for (Row row : rows) {
+                        ProcessInstance<?> instance = unmarshall(row, ProcessInstanceReadMode.READ_ONLY);
+                        batch.add(Tuple.of(instance.status(), localDateTime(instance.startDate()), instance.id()));
+                    }
+                    return batch.isEmpty() ? Future.succeededFuture() : client.preparedQuery(FILL_METADATA).executeBatch(batch).mapEmpty();
+                })
+                .onSuccess(filled -> metadataFilled = true)
+                .mapEmpty();
+    }
+
+    private Future<Stream<ProcessInstance>> findPageInternal(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        Tuple tuple = Tuple.tuple().addValue(process.id());
+        StringBuilder sql = new StringBuilder(FIND_PAGE);
+        if (process.version() == null) {
+            sql.append(IS_NULL);
+        } else {
+            tuple.addValue(process.version());
+            sql.append("= $").append(tuple.size());
+        }
+        if (!query.states().isEmpty()) {
+            tuple.addValue(query.states().toArray(new Integer[0]));
+            sql.append(" and state = ANY ($").append(tuple.size()).append(')');
+        }
+        if (query.businessKeyPrefix() != null) {
+            tuple.addValue(query.businessKeyPrefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+            sql.append(" and business_key like $").append(tuple.size()).append(" escape '!'");
+        }
+        if (query.startedAfter() != null) {
+            tuple.addValue(localDateTime(query.startedAfter()));
+            sql.append(" and start_date > $").append(tuple.size());
         }
+        if (query.afterId() != null) {
+            tuple.addValue(query.afterId());
+            sql.append(" and id > $").append(tuple.size());
+        }
+        tuple.addValue((long) query.offset());
+        sql.append(" order by id offset $").append(tuple.size());
+        tuple.addValue((long) query.limit());
+        sql.append(" rows fetch next $").append(tuple.size()).append(" rows only");
+        return client.preparedQuery(sql.toString()).execute(tuple)
+                .map(r -> StreamSupport.stream(r.spliterator(), false).map(row -> unmarshall(row, mode)));
+    }
+
+    private static LocalDateTime localDateTime(Date date) {
+        // same semantics as the JDBC persistence, which stores timestamps in the default time zone
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
     }
 
     private ProcessInstance<?> unmarshall(Row r, ProcessInstanceReadMode mode) {
@@ -148,17 +295,14 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
         }).orElseThrow()));
     }
 
-    private boolean insertInternal(String id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(INSERT)
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
+    private Future<Boolean> insertInternal(String id, byte[] payload, String businessKey, int state, Date startDate) {
+        Tuple row = Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L, state, localDateTime(startDate));
+        if (businessKey == null) {
+            return executed(client.preparedQuery(INSERT).execute(row));
         }
+        // the mapping is what queries filtering by business key join with, so it is written within the same transaction
+        return client.withTransaction(connection -> executed(connection.preparedQuery(INSERT).execute(row))
+                .compose(inserted -> connection.preparedQuery(INSERT_BUSINESS_KEY).execute(Tuple.of(businessKey, id)).map(inserted)));
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
@@ -167,100 +311,76 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
 
     @Override
     public long migrateAll(String targetProcessId, String targetProcessVersion) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_BULK + IS_NULL);
-            } else {
-                rows = client.preparedQuery(MIGRATE_BULK + "= $4");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id()));
-            return getResultFromFuture(future).map(RowSet::rowCount).orElse(0);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error migration process instance %s %s", process.id(), process.version());
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s %s", process.id(), process.version());
+        PreparedQuery<RowSet<Row>> rows = null;
+        if (process.version() == null) {
+            rows = client.preparedQuery(MIGRATE_BULK + IS_NULL);
+        } else {
+            rows = client.preparedQuery(MIGRATE_BULK + "= $4");
         }
+        Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id()));
+        return await(future.map(RowSet::rowCount), "Error migration process instance %s %s", process.id(), process.version());
     }
 
     @Override
     public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + IS_NULL);
+        PreparedQuery<RowSet<Row>> rows = null;
+        if (process.version() == null) {
+            rows = client.preparedQuery(MIGRATE_INSTANCE + IS_NULL);
 
-            } else {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + "= $5");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id(), processIds));
-            getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
+        } else {
+            rows = client.preparedQuery(MIGRATE_INSTANCE + "= $5");
         }
+        Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id(), processIds));
+        await(executed(future), "Error migrating process instance %s", Arrays.toString(processIds));
     }
 
-    private boolean updateInternal(String id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $4"))
-                            .execute(tuple(Buffer.buffer(payload), process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
+    private Future<Boolean> updateInternal(String id, byte[] payload, int state) {
+        return executed(client.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $5"))
+                .execute(tuple(Buffer.buffer(payload), state, process.id(), id)));
     }
 
-    private boolean deleteInternal(String id) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(DELETE + (process.version() == null ? IS_NULL : "= $3"))
-                    .execute(tuple(process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private Future<Boolean> deleteInternal(String id) {
+        String version = process.version() == null ? IS_NULL : "= $3";
+        return client.withTransaction(connection -> connection.preparedQuery(DELETE_BUSINESS_KEY + version + ")").execute(tuple(process.id(), id))
+                .compose(mappings -> executed(connection.preparedQuery(DELETE + version).execute(tuple(process.id(), id)))));
     }
 
-    private Boolean getExecutedResult(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return getResultFromFuture(future).map(RowSet::rowCount).map(count -> count == 1).orElse(false);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private static Future<Boolean> executed(Future<RowSet<Row>> future) {
+        return future.map(rows -> rows != null && rows.rowCount() == 1);
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    /**
+     * Waits for the given future, bounded by the query timeout. Unwraps runtime exceptions raised by the
+     * future, such as {@link ProcessInstanceOptimisticLockingException}, and wraps any other failure.
+     */
+    private <R> R await(Future<R> future, String message, Object... param) {
+        if (!eventLoopBlocking && Context.isOnEventLoopThread()) {
+            throw new IllegalStateException(String.format("Blocking access to process instances of %s from an event loop thread is not allowed, " +
+                    "use the asynchronous methods or enable kogito.persistence.event.loop.blocking", process.id()));
+        }
         try {
-            return Optional.ofNullable(future.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
+            return future.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, message, param);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessInstanceOptimisticLockingException) {
+                throw (ProcessInstanceOptimisticLockingException) e.getCause();
+            }
+            throw uncheckedException(e, message, param);
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, message, param);
         }
     }
 
     private Optional<Row> findByIdInternal(String id) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
-                            .execute(tuple(process.id(), id));
-            return getResultFromFuture(future).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        }
+        return await(findByIdFuture(id), "Error finding process instance %s", id);
+    }
+
+    private Future<Optional<Row>> findByIdFuture(String id) {
+        return client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
+                .execute(tuple(process.id(), id))
+                .map(rows -> Optional.ofNullable(rows).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next));
     }
 
     private Tuple tuple(Object... parameters) {
@@ -271,22 +391,9 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
         return tuple;
     }
 
-    private boolean updateWithLock(String id, byte[] payload, long version) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"))
-                    .execute(tuple(Buffer.buffer(payload), version + 1, process.id(), id, version));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw new ProcessInstanceOptimisticLockingException(id);
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ProcessInstanceOptimisticLockingException e) {
-            throw e;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
+    private Future<Boolean> updateWithLock(String id, byte[] payload, int state, long version) {
+        return executed(client.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $7"))
+                .execute(tuple(Buffer.buffer(payload), version + 1, state, process.id(), id, version)))
+                .compose(updated -> updated ? Future.succeededFuture(true) : Future.failedFuture(new ProcessInstanceOptimisticLockingException(id)));
     }
 }
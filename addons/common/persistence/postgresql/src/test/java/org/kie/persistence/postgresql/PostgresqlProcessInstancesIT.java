@@ -19,7 +19,11 @@
 package org.kie.persistence.postgresql;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.drools.io.ClassPathResource;
 import org.junit.jupiter.api.AfterAll;
@@ -32,6 +36,7 @@ import org.kie.kogito.persistence.postgresql.AbstractProcessInstancesFactory;
 import org.kie.kogito.persistence.postgresql.PostgresqlProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
@@ -152,6 +157,66 @@ class PostgresqlProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testAsyncFlow() throws Exception {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        PostgresqlProcessInstances processInstances = (PostgresqlProcessInstances) process.instances();
+        Optional<ProcessInstance> found = processInstances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(found).isPresent();
+        assertThat(found.get().status()).isEqualTo(STATE_ACTIVE);
+        assertThat(processInstances.streamAsync(ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get(10, TimeUnit.SECONDS)).hasSize(1);
+
+        processInstances.removeAsync(processInstance.id()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEmpty(process.instances());
+    }
+
+    @Test
+    void testFind() throws Exception {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        Date beforeStart = new Date(System.currentTimeMillis() - 1000);
+        for (String businessKey : new String[] { "pg-order-1", "pg-order-2", "pg-invoice-1" }) {
+            process.createInstance(businessKey, BpmnVariables.create(singletonMap("test", businessKey))).start();
+        }
+        PostgresqlProcessInstances processInstances = (PostgresqlProcessInstances) process.instances();
+
+        assertThat(processInstances.find(ProcessInstanceQuery.builder().state(STATE_ACTIVE).businessKeyPrefix("pg-order-").startedAfter(beforeStart).build(),
+                ProcessInstanceReadMode.READ_ONLY).map(ProcessInstance::businessKey)).containsExactlyInAnyOrder("pg-order-1", "pg-order-2");
+        assertThat(processInstances.find(ProcessInstanceQuery.builder().state(STATE_COMPLETED).build(), ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+        assertThat(processInstances.find(ProcessInstanceQuery.builder().startedAfter(new Date(System.currentTimeMillis() + 60000)).build(), ProcessInstanceReadMode.READ_ONLY))
+                .isEmpty();
+        assertThat(processInstances.findAsync(ProcessInstanceQuery.builder().businessKeyPrefix("pg-invoice").build(), ProcessInstanceReadMode.READ_ONLY)
+                .toCompletableFuture().get(10, TimeUnit.SECONDS).map(ProcessInstance::businessKey)).containsExactly("pg-invoice-1");
+
+        List<ProcessInstance> firstPage = processInstances.find(ProcessInstanceQuery.builder().limit(2).build(), ProcessInstanceReadMode.READ_ONLY).collect(Collectors.toList());
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).id()).isLessThan(firstPage.get(1).id());
+        List<ProcessInstance> secondPage = processInstances.find(ProcessInstanceQuery.builder().after(firstPage.get(1).id()).limit(2).build(), ProcessInstanceReadMode.READ_ONLY)
+                .collect(Collectors.toList());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).id()).isGreaterThan(firstPage.get(1).id());
+
+        abort(process.instances());
+        assertThat(processInstances.find(ProcessInstanceQuery.builder().businessKeyPrefix("pg-").build(), ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+        assertThat(client.query("SELECT business_key FROM business_key_mapping WHERE business_key LIKE 'pg-%'").execute().toCompletionStage().toCompletableFuture()
+                .get(10, TimeUnit.SECONDS).rowCount()).isZero();
+    }
+
+    @Test
+    void testFindFillsStateAndStartDateOfPreviousInstances() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+        // as left by the migration adding the columns
+        client.preparedQuery("UPDATE process_instances SET state = null, start_date = null WHERE id = $1").execute(Tuple.of(processInstance.id()))
+                .toCompletionStage().toCompletableFuture().join();
+
+        assertThat(process.instances().find(ProcessInstanceQuery.builder().state(STATE_ACTIVE).startedAfter(new Date(0)).build(), ProcessInstanceReadMode.READ_ONLY)
+                .map(ProcessInstance::id)).containsExactly(processInstance.id());
+    }
+
     @Test
     void testMultipleProcesses() {
         BpmnProcess utProcess = createProcess("BPMN2-UserTask.bpmn2");
@@ -30,20 +30,37 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
 
     private final Process<T> process;
     private final ProcessInstanceMarshallerService marshaller;
     private final RocksDB db;
+    private final ColumnFamilyHandle columnFamily;
+    private final WriteOptions writeOptions;
 
     public RocksDBProcessInstances(Process<T> process, RocksDB db) {
+        this(process, db, db.getDefaultColumnFamily(), new WriteOptions());
+    }
+
+    /**
+     * @param columnFamily column family holding the instances of this process only, so iterating it does not visit other processes
+     */
+    public RocksDBProcessInstances(Process<T> process, RocksDB db, ColumnFamilyHandle columnFamily, WriteOptions writeOptions) {
         this.process = process;
         marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build();
         this.db = db;
+        this.columnFamily = columnFamily;
+        this.writeOptions = writeOptions;
     }
 
     private class RockSplitIterator extends AbstractSpliterator<ProcessInstance<T>> implements Closeable {
@@ -76,7 +93,7 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
         try {
-            byte[] data = db.get(id.getBytes());
+            byte[] data = db.get(columnFamily, key(id));
             return data == null ? Optional.empty() : Optional.of(unmarshall(data));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
@@ -85,14 +102,14 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
 
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
-        RocksDBProcessInstances<T>.RockSplitIterator iterator = new RockSplitIterator(db.newIterator());
+        RocksDBProcessInstances<T>.RockSplitIterator iterator = new RockSplitIterator(db.newIterator(columnFamily));
         return StreamSupport.stream(iterator, false).onClose(iterator::close);
     }
 
     @Override
     public boolean exists(String id) {
         try {
-            return db.get(id.getBytes()) != null;
+            return db.get(columnFamily, key(id)) != null;
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -106,7 +123,7 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
     @Override
     public void update(String id, ProcessInstance<T> instance) {
         try {
-            db.put(id.getBytes(), marshaller.marshallProcessInstance(instance));
+            db.put(columnFamily, writeOptions, key(id), marshall(instance));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -115,12 +132,37 @@ public class RocksDBProcessInstances<T> implements MutableProcessInstances<T> {
     @Override
     public void remove(String id) {
         try {
-            db.delete(id.getBytes());
+            db.delete(columnFamily, writeOptions, key(id));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
     }
 
+    @Override
+    public Optional<ProcessInstancesBatch<T>> newBatch() {
+        return Optional.of(new RocksDBProcessInstancesBatch<>(this));
+    }
+
+    void put(WriteBatch batch, String id, ProcessInstance<T> instance) throws RocksDBException {
+        batch.put(columnFamily, key(id), marshall(instance));
+    }
+
+    void delete(WriteBatch batch, String id) throws RocksDBException {
+        batch.delete(columnFamily, key(id));
+    }
+
+    void write(WriteBatch batch) throws RocksDBException {
+        db.write(writeOptions, batch);
+    }
+
+    private static byte[] key(String id) {
+        return id.getBytes(UTF_8);
+    }
+
+    private byte[] marshall(ProcessInstance<T> instance) {
+        return marshaller.marshallProcessInstance(instance);
+    }
+
     @SuppressWarnings("unchecked")
     private ProcessInstance<T> unmarshall(byte[] data) {
         return (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process);
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.rocksdb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+
+/**
+ * Batch of operations for {@link RocksDBProcessInstances}. Operations on the same instance are merged,
+ * so each instance is marshalled once, and all of them are committed atomically in a single {@link WriteBatch}.
+ */
+class RocksDBProcessInstancesBatch<T> implements ProcessInstancesBatch<T> {
+
+    private final RocksDBProcessInstances<T> instances;
+    // a null instance means the instance is removed
+    private final Map<String, ProcessInstance<T>> pending = new LinkedHashMap<>();
+
+    RocksDBProcessInstancesBatch(RocksDBProcessInstances<T> instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        pending.put(id, instance);
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        pending.put(id, instance);
+    }
+
+    @Override
+    public void remove(String id) {
+        pending.put(id, null);
+    }
+
+    @Override
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Map.Entry<String, ProcessInstance<T>> entry : pending.entrySet()) {
+                if (entry.getValue() == null) {
+                    instances.delete(batch, entry.getKey());
+                } else {
+                    instances.put(batch, entry.getKey(), entry.getValue());
+                }
+            }
+            instances.write(batch);
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            pending.clear();
+        }
+    }
+}
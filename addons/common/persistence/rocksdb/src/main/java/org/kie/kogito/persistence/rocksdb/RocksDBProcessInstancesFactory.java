@@ -18,27 +18,124 @@
  */
 package org.kie.kogito.persistence.rocksdb;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteOptions;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class RocksDBProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
 
+    public enum Layout {
+        /**
+         * Instances of every process are stored in the default column family, keyed by their id. This is the layout
+         * of the databases written by previous versions, listing the instances of a process iterates the whole database.
+         */
+        SHARED,
+        /**
+         * Instances of each process are stored in their own column family. It cannot be used for databases written
+         * with the shared layout, since their instances would not be found.
+         */
+        COLUMN_FAMILY
+    }
+
+    private static final String COLUMN_FAMILY_PREFIX = "process:";
+
     private final RocksDB db;
+    private final Layout layout;
+    private final DBOptions dbOptions;
+    private final ColumnFamilyOptions columnFamilyOptions;
+    private final WriteOptions writeOptions;
+    private final Map<String, ColumnFamilyHandle> columnFamilies = new ConcurrentHashMap<>();
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation) throws RocksDBException {
-        this.db = RocksDB.open(options, dbLocation);
+        this(options, dbLocation, Layout.SHARED);
+    }
+
+    /**
+     * @param options database options, also used for every column family created by this factory
+     */
+    public RocksDBProcessInstancesFactory(Options options, String dbLocation, Layout layout) throws RocksDBException {
+        this.layout = layout;
+        this.dbOptions = new DBOptions(options);
+        this.columnFamilyOptions = new ColumnFamilyOptions(options);
+        this.writeOptions = new WriteOptions();
+        // every existing column family must be opened
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (byte[] name : listColumnFamilies(options, dbLocation)) {
+            descriptors.add(new ColumnFamilyDescriptor(name, columnFamilyOptions));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        this.db = RocksDB.open(dbOptions, dbLocation, descriptors, handles);
+        for (ColumnFamilyHandle handle : handles) {
+            columnFamilies.put(new String(handle.getName(), UTF_8), handle);
+        }
+        if (layout == Layout.COLUMN_FAMILY && hasSharedData()) {
+            close();
+            throw new IllegalStateException("Database " + dbLocation + " contains process instances stored with the shared layout, it must be opened with layout " + Layout.SHARED);
+        }
+    }
+
+    private boolean hasSharedData() {
+        try (RocksIterator iterator = db.newIterator(db.getDefaultColumnFamily())) {
+            iterator.seekToFirst();
+            return iterator.isValid();
+        }
+    }
+
+    private static List<byte[]> listColumnFamilies(Options options, String dbLocation) {
+        try {
+            List<byte[]> names = RocksDB.listColumnFamilies(options, dbLocation);
+            if (!names.isEmpty()) {
+                return names;
+            }
+        } catch (RocksDBException ex) {
+            // database does not exist yet
+        }
+        return Collections.singletonList(RocksDB.DEFAULT_COLUMN_FAMILY);
     }
 
     @Override
     public RocksDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new RocksDBProcessInstances<>(process, db);
+        ColumnFamilyHandle columnFamily = layout == Layout.SHARED ? db.getDefaultColumnFamily() : columnFamilies.computeIfAbsent(columnFamilyName(process), this::createColumnFamily);
+        return new RocksDBProcessInstances<>(process, db, columnFamily, writeOptions);
+    }
+
+    // not including the version, so instances started with a previous version of the process are still found, and prefixed
+    // so a process called default does not get the default column family
+    static String columnFamilyName(Process<?> process) {
+        return COLUMN_FAMILY_PREFIX + process.id();
+    }
+
+    private ColumnFamilyHandle createColumnFamily(String name) {
+        try {
+            return db.createColumnFamily(new ColumnFamilyDescriptor(name.getBytes(UTF_8), columnFamilyOptions));
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 
     @Override
     public void close() {
+        columnFamilies.values().forEach(ColumnFamilyHandle::close);
+        columnFamilies.clear();
         db.close();
+        writeOptions.close();
+        columnFamilyOptions.close();
+        dbOptions.close();
     }
 }
@@ -38,9 +38,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory.Layout;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
@@ -48,11 +50,14 @@ import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -132,10 +137,103 @@ class RockDBProcessInstancesTest {
         }
     }
 
-    WorkflowProcessInstance createProcessInstance() {
+    @Test
+    void testBatch() {
+        WorkflowProcessInstance first = newProcessInstance();
+        WorkflowProcessInstance second = newProcessInstance();
+        ProcessInstancesBatch batch = (ProcessInstancesBatch) pi.newBatch().orElseThrow();
+        batch.create(first.getId(), mockProcessInstance(first, process));
+        batch.create(second.getId(), mockProcessInstance(second, process));
+        batch.remove(second.getId());
+        assertThat(pi.exists(first.getId())).isFalse();
+
+        batch.flush();
+
+        assertThat(pi.exists(first.getId())).isTrue();
+        assertThat(pi.exists(second.getId())).isFalse();
+        try (Stream<ProcessInstance<?>> stream = pi.stream()) {
+            assertThat(stream.count()).isOne();
+        }
+    }
+
+    @Test
+    void testColumnFamilyPerProcess() throws RocksDBException {
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.COLUMN_FAMILY);
+        pi = factory.createProcessInstances(process);
+        Process<?> otherProcess = mock(Process.class);
+        when(otherProcess.id()).thenReturn("otherProcess");
+        MutableProcessInstances otherPi = factory.createProcessInstances(otherProcess);
+        WorkflowProcessInstance instance = createProcessInstance();
+
+        assertThat(otherPi.exists(instance.getId())).isFalse();
+        try (Stream<ProcessInstance<?>> stream = otherPi.stream()) {
+            assertThat(stream.count()).isZero();
+        }
+
+        // column families created before must be found when the database is opened again
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.COLUMN_FAMILY);
+        pi = factory.createProcessInstances(process);
+        assertThat(pi.findById(instance.getId())).isNotEmpty();
+        assertThat(factory.createProcessInstances(otherProcess).exists(instance.getId())).isFalse();
+    }
+
+    @Test
+    void testColumnFamilyOfProcessCalledDefault() throws RocksDBException {
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.COLUMN_FAMILY);
+        Process<?> defaultProcess = mock(Process.class);
+        when(defaultProcess.id()).thenReturn("default");
+        factory.createProcessInstances(defaultProcess);
+        factory.close();
+
+        assertThat(RocksDB.listColumnFamilies(options, tempDir.toString()))
+                .extracting(name -> new String(name, UTF_8))
+                .containsExactlyInAnyOrder("default", RocksDBProcessInstancesFactory.columnFamilyName(defaultProcess));
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.COLUMN_FAMILY);
+    }
+
+    @Test
+    void testSharedLayout() throws RocksDBException {
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.SHARED);
+        pi = factory.createProcessInstances(process);
+        WorkflowProcessInstance createPi = createProcessInstance();
+        removeProcessInstance(createPi);
+    }
+
+    @Test
+    void testOpenDatabaseWrittenByPreviousVersion() throws RocksDBException {
+        factory.close();
+        WorkflowProcessInstance instance = newProcessInstance();
+        // previous versions stored every instance in the default column family
+        try (RocksDB db = RocksDB.open(options, tempDir.toString())) {
+            new RocksDBProcessInstances<>(process, db).create(instance.getId(), mockProcessInstance(instance, process));
+        }
+
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString());
+        pi = factory.createProcessInstances(process);
+        assertThat(pi.findById(instance.getId())).isNotEmpty();
+        try (Stream<ProcessInstance<?>> stream = pi.stream()) {
+            assertThat(stream.count()).isOne();
+        }
+
+        // instances would not be found with the column family layout, so it is refused
+        factory.close();
+        assertThatIllegalStateException().isThrownBy(() -> new RocksDBProcessInstancesFactory(options, tempDir.toString(), Layout.COLUMN_FAMILY));
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString());
+    }
+
+    WorkflowProcessInstance newProcessInstance() {
         WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
         logger.debug("Created instance {}", instance.getId());
         instance.setStartDate(new Date());
+        return instance;
+    }
+
+    WorkflowProcessInstance createProcessInstance() {
+        WorkflowProcessInstance instance = newProcessInstance();
         pi.create(instance.getId(), mockProcessInstance(instance, process));
         assertThat(pi.exists(instance.getId())).isTrue();
         assertThat(pi.findById(instance.getId())).isNotEmpty();
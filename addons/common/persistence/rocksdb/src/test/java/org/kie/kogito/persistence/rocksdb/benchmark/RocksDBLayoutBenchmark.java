@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.rocksdb.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory.Layout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares the storage layouts of {@link org.kie.kogito.persistence.rocksdb.RocksDBProcessInstances}: the shared layout, where the
+ * instances of every process are keyed by id in the default column family and written one by one, and the column family per
+ * process layout, written with a {@link WriteBatch} per unit of work.
+ * <p>
+ * The database is loaded once with <code>instances</code> records of <code>payload</code> bytes spread over <code>processes</code>
+ * processes. The benchmarks use the same keys and iterations than both layouts, but raw payloads, since marshalling costs the same in
+ * both of them. Loading the default ten million instances needs a few GB of free disk in the temporary directory:
+ *
+ * <pre>
+ * java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main RocksDBLayoutBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RocksDBLayoutBenchmark {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    @Param({ "SHARED", "COLUMN_FAMILY" })
+    public Layout layout;
+
+    @Param({ "10000000" })
+    public int instances;
+
+    @Param({ "10" })
+    public int processes;
+
+    @Param({ "256" })
+    public int payload;
+
+    @Param({ "4" })
+    public int writesPerUnitOfWork;
+
+    private Path dbLocation;
+    private Options options;
+    private LRUCache blockCache;
+    private BloomFilter bloomFilter;
+    private ColumnFamilyOptions columnFamilyOptions;
+    private WriteOptions writeOptions;
+    private RocksDB db;
+    private List<ColumnFamilyHandle> columnFamilies;
+    private String[] ids;
+    private byte[] value;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, RocksDBException {
+        RocksDB.loadLibrary();
+        dbLocation = Files.createTempDirectory("rocksdb-benchmark");
+        blockCache = new LRUCache(256L * 1024 * 1024);
+        bloomFilter = new BloomFilter(10);
+        options = new Options().setCreateIfMissing(true).setTableFormatConfig(new BlockBasedTableConfig().setBlockCache(blockCache).setFilterPolicy(bloomFilter));
+        columnFamilyOptions = new ColumnFamilyOptions(options);
+        writeOptions = new WriteOptions();
+        db = RocksDB.open(options, dbLocation.toString());
+        columnFamilies = new ArrayList<>();
+        for (int i = 0; i < processes; i++) {
+            columnFamilies.add(layout == Layout.SHARED ? db.getDefaultColumnFamily()
+                    : db.createColumnFamily(new ColumnFamilyDescriptor(("process" + i).getBytes(UTF_8), columnFamilyOptions)));
+        }
+        random = new Random(0);
+        value = new byte[payload];
+        random.nextBytes(value);
+        ids = new String[instances];
+        WriteBatch batch = new WriteBatch();
+        for (int i = 0; i < instances; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            batch.put(columnFamily(i), key(ids[i]), value);
+            if (batch.count() == LOAD_BATCH_SIZE) {
+                db.write(writeOptions, batch);
+                batch.close();
+                batch = new WriteBatch();
+            }
+        }
+        db.write(writeOptions, batch);
+        batch.close();
+        db.compactRange();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (ColumnFamilyHandle columnFamily : columnFamilies) {
+            if (columnFamily != db.getDefaultColumnFamily()) {
+                columnFamily.close();
+            }
+        }
+        db.close();
+        writeOptions.close();
+        columnFamilyOptions.close();
+        options.close();
+        bloomFilter.close();
+        blockCache.close();
+        try (Stream<Path> files = Files.walk(dbLocation)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Lists the instances of one process, as done by <code>stream()</code>. The shared layout has to visit every stored instance.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long streamProcess(Blackhole blackhole) {
+        long count = 0;
+        try (RocksIterator iterator = db.newIterator(columnFamilies.get(0))) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                blackhole.consume(iterator.value());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads a random instance, as done when a process instance is loaded to be updated
+     */
+    @Benchmark
+    public byte[] findById() throws RocksDBException {
+        int index = random.nextInt(instances);
+        return db.get(columnFamily(index), key(ids[index]));
+    }
+
+    /**
+     * Updates <code>writesPerUnitOfWork</code> random instances, as done when a unit of work ends
+     */
+    @Benchmark
+    public void writeUnitOfWork() throws RocksDBException {
+        if (layout == Layout.SHARED) {
+            for (int i = 0; i < writesPerUnitOfWork; i++) {
+                db.put(writeOptions, key(ids[random.nextInt(instances)]), value);
+            }
+        } else {
+            try (WriteBatch batch = new WriteBatch()) {
+                for (int i = 0; i < writesPerUnitOfWork; i++) {
+                    int index = random.nextInt(instances);
+                    batch.put(columnFamily(index), key(ids[index]), value);
+                }
+                db.write(writeOptions, batch);
+            }
+        }
+    }
+
+    private ColumnFamilyHandle columnFamily(int index) {
+        return columnFamilies.get(index % processes);
+    }
+
+    private static byte[] key(String id) {
+        return id.getBytes(UTF_8);
+    }
+}
@@ -18,40 +18,86 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.config.ConfigBean;
-import org.kie.kogito.event.cloudevents.utils.CloudEventUtils;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.Aggregator;
 import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
+import org.kie.kogito.tracing.decision.event.EventUtils;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
 import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the events of the evaluations in progress and emits the aggregated event of each one when it terminates.
+ * <p>
+ * Evaluations that never terminate, because they were aborted or failed, are evicted once they are older than the
+ * time to live, or when the maximum number of evaluations in progress is reached, evicting the oldest one. Every eviction is
+ * logged at debug level, and a warning summarizing them is logged at most once per minute.
+ */
 public class DecisionTracingCollector {
 
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    public static final int DEFAULT_MAX_EVALUATIONS = 10000;
+    public static final Duration DEFAULT_EVALUATION_TTL = Duration.ofMinutes(5);
+
+    private static final long EVICTION_WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private static class Evaluation {
+
+        private final Aggregation aggregation;
+        private final TerminationDetector terminationDetector;
+        private final long startTime;
+
+        private Evaluation(Aggregation aggregation, TerminationDetector terminationDetector, long startTime) {
+            this.aggregation = aggregation;
+            this.terminationDetector = terminationDetector;
+            this.startTime = startTime;
+        }
+    }
+
+    // evaluations in progress, in the order they started, guarded by itself
+    private final Map<String, Evaluation> evaluations = new LinkedHashMap<>();
     private final Aggregator aggregator;
     private final Consumer<String> payloadConsumer;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final int maxEvaluations;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder evicted = new LongAdder();
+    // guarded by evaluations
+    private long evictedSinceWarning;
+    private long lastEvictionWarning;
+    private boolean evictionWarned;
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
-        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
+        this(payloadConsumer, modelSupplier, configBean, DEFAULT_MAX_EVALUATIONS, DEFAULT_EVALUATION_TTL);
+    }
+
+    /**
+     * @param maxEvaluations maximum number of evaluations in progress, must be positive
+     * @param ttl maximum time an evaluation can be in progress before being evicted, must be positive
+     */
+    public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean, int maxEvaluations,
+            Duration ttl) {
+        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean, maxEvaluations, ttl);
     }
 
     public DecisionTracingCollector(
@@ -60,32 +106,71 @@ public class DecisionTracingCollector {
             BiFunction<String, String, DMNModel> modelSupplier,
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, DEFAULT_MAX_EVALUATIONS, DEFAULT_EVALUATION_TTL);
+    }
+
+    /**
+     * @param maxEvaluations maximum number of evaluations in progress, must be positive
+     * @param ttl maximum time an evaluation can be in progress before being evicted, must be positive
+     */
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxEvaluations,
+            Duration ttl) {
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, maxEvaluations, ttl, System::nanoTime);
+    }
+
+    DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxEvaluations,
+            Duration ttl,
+            LongSupplier nanoTime) {
+        if (maxEvaluations <= 0) {
+            throw new IllegalArgumentException("Maximum number of evaluations in progress must be positive, was " + maxEvaluations);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Evaluation time to live must be positive, was " + ttl);
+        }
         this.aggregator = aggregator;
         this.payloadConsumer = payloadConsumer;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.maxEvaluations = maxEvaluations;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
-        }
+        Evaluation evaluation = getOrStartEvaluation(event);
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+        boolean terminated;
+        synchronized (evaluation) {
+            evaluation.aggregation.add(event);
+            evaluation.terminationDetector.add(event);
+            terminated = evaluation.terminationDetector.isTerminated();
+        }
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
-            DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
+        if (terminated) {
+            int size;
+            synchronized (evaluations) {
+                evaluations.remove(executionId, evaluation);
+                size = evaluations.size();
+            }
+            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, size);
 
+            Optional<String> optPayload = evaluation.aggregation.complete().flatMap(EventUtils::encode);
             if (optPayload.isPresent()) {
                 String payload = optPayload.get();
                 payloadConsumer.accept(payload);
@@ -93,14 +178,67 @@ public class DecisionTracingCollector {
             } else {
                 LOG.error("Failed aggregating data for evaluation {}", executionId);
             }
+        }
+    }
 
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+    private Evaluation getOrStartEvaluation(EvaluateEvent event) {
+        String executionId = event.getExecutionId();
+        synchronized (evaluations) {
+            Evaluation evaluation = evaluations.get(executionId);
+            if (evaluation == null) {
+                long now = nanoTime.getAsLong();
+                evictExpired(now);
+                if (evaluations.size() >= maxEvaluations) {
+                    Iterator<String> eldest = evaluations.keySet().iterator();
+                    evict(eldest, eldest.next(), "the maximum number of evaluations in progress has been reached", now);
+                }
+                DMNModel model = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
+                evaluation = new Evaluation(aggregator.newAggregation(model, executionId, configBean), terminationDetectorSupplier.get(), now);
+                evaluations.put(executionId, evaluation);
+                LOG.trace("Added evaluation {} to cache (current size: {})", executionId, evaluations.size());
+            }
+            return evaluation;
         }
     }
 
-    private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Evaluation>> iterator = evaluations.entrySet().iterator();
+        // evaluations are sorted by start time, so the first one not expired ends the eviction
+        while (iterator.hasNext()) {
+            Map.Entry<String, Evaluation> entry = iterator.next();
+            if (now - entry.getValue().startTime <= ttlNanos) {
+                return;
+            }
+            evict(iterator, entry.getKey(), "its time to live has expired", now);
+        }
+    }
+
+    private void evict(Iterator<?> iterator, String executionId, String reason, long now) {
+        iterator.remove();
+        evicted.increment();
+        evictedSinceWarning++;
+        LOG.debug("Evicted evaluation {} before termination because {}", executionId, reason);
+        if (!evictionWarned || now - lastEvictionWarning >= EVICTION_WARNING_INTERVAL) {
+            LOG.warn("Evicted {} evaluations before termination, their aggregated event has not been emitted. Last one {} because {}", evictedSinceWarning, executionId, reason);
+            evictionWarned = true;
+            lastEvictionWarning = now;
+            evictedSinceWarning = 0;
+        }
+    }
+
+    /**
+     * @return number of evaluations that have been evicted before terminating, so their aggregated event has not been emitted
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * @return number of evaluations in progress
+     */
+    public int getPendingCount() {
+        synchronized (evaluations) {
+            return evaluations.size();
+        }
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes the evaluations a {@link DecisionTracingCollector} is waiting to terminate, and those it gave up on.
+ */
+public class DecisionTracingMetrics {
+
+    private static final String PENDING_NAME = "kogito_decision_tracing_pending_evaluations";
+
+    private static final String PENDING_HELP = "Decision evaluations whose aggregated trace event has not been emitted yet.";
+
+    private static final String EVICTED_NAME = "kogito_decision_tracing_evicted_evaluations_total";
+
+    private static final String EVICTED_HELP = "Decision evaluations evicted before terminating, whose aggregated trace event has not been emitted.";
+
+    private DecisionTracingMetrics() {
+    }
+
+    public static void register(DecisionTracingCollector collector, MeterRegistry registry) {
+        Gauge.builder(PENDING_NAME, collector, DecisionTracingCollector::getPendingCount)
+                .description(PENDING_HELP)
+                .register(registry);
+        FunctionCounter.builder(EVICTED_NAME, collector, DecisionTracingCollector::getEvictedCount)
+                .description(EVICTED_HELP)
+                .register(registry);
+    }
+}
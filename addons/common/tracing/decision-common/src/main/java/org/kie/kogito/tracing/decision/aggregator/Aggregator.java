@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision.aggregator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +32,23 @@ import io.cloudevents.CloudEvent;
 public interface Aggregator {
 
     Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean);
+
+    /**
+     * Starts the aggregation of an evaluation whose events are added as they are received.
+     * This default implementation buffers the events until the aggregation is completed.
+     */
+    default Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        List<EvaluateEvent> events = new ArrayList<>();
+        return new Aggregation() {
+            @Override
+            public void add(EvaluateEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public Optional<CloudEvent> complete() {
+                return aggregate(model, executionId, events, configBean);
+            }
+        };
+    }
 }
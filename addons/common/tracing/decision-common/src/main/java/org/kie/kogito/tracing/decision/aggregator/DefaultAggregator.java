@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -64,6 +65,8 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.core.data.PojoCloudEventData;
 
 import static org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType.AFTER_EVALUATE_DECISION_SERVICE;
 import static org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType.BEFORE_EVALUATE_DECISION_SERVICE;
@@ -81,9 +84,117 @@ public class DefaultAggregator implements Aggregator {
 
     @Override
     public Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        return events == null || events.isEmpty()
-                ? buildNotEnoughDataCloudEvent(model, executionId, configBean)
-                : buildDefaultCloudEvent(model, executionId, events, configBean);
+        Aggregation aggregation = newAggregation(model, executionId, configBean);
+        if (events != null) {
+            events.forEach(aggregation::add);
+        }
+        return aggregation.complete();
+    }
+
+    /**
+     * Execution steps are built as soon as their "after" event is received, so the events do not need to be kept
+     * until the evaluation terminates. Only the first event and the latest one, which may be the last of the evaluation,
+     * are retained.
+     */
+    @Override
+    public Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        return new DefaultAggregation(model, executionId, configBean);
+    }
+
+    private static class DefaultAggregation implements Aggregation {
+
+        private final DMNModel model;
+        private final String executionId;
+        private final ConfigBean configBean;
+        private final List<TraceExecutionStep> executionSteps = new ArrayList<>();
+        private final Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>();
+        private EvaluateEvent firstEvent;
+        // latest event, added to the execution steps when the next one is received unless it is the last
+        private EvaluateEvent latestEvent;
+        // once the hierarchy cannot be built, execution steps are collected as a flat list
+        private IllegalStateException hierarchyError;
+
+        private DefaultAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+            this.model = model;
+            this.executionId = executionId;
+            this.configBean = configBean;
+        }
+
+        @Override
+        public void add(EvaluateEvent event) {
+            if (firstEvent == null) {
+                firstEvent = event;
+                return;
+            }
+            if (latestEvent != null) {
+                addExecutionStep(latestEvent);
+            }
+            latestEvent = event;
+        }
+
+        private void addExecutionStep(EvaluateEvent event) {
+            if (hierarchyError == null) {
+                try {
+                    processEvaluateEventInHierarchy(model, stack, executionSteps, event);
+                    return;
+                } catch (IllegalStateException e) {
+                    flattenExecutionSteps(e);
+                }
+            }
+            addFlatExecutionStep(event);
+        }
+
+        private void addFlatExecutionStep(EvaluateEvent event) {
+            if (event.getType().isAfter()) {
+                TraceExecutionStep step = buildTraceExecutionStep(model, null, event);
+                if (step != null) {
+                    executionSteps.add(step);
+                }
+            }
+        }
+
+        /**
+         * Replaces the hierarchy built so far with the list of the execution steps in the order their events were received
+         */
+        private void flattenExecutionSteps(IllegalStateException e) {
+            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
+            hierarchyError = e;
+            List<TraceExecutionStep> hierarchy = new ArrayList<>(executionSteps);
+            executionSteps.clear();
+            addFlatExecutionStep(firstEvent);
+            flatten(hierarchy);
+            // outer entries of the stack received their children before the inner ones
+            Iterator<DefaultAggregatorStackEntry> entries = stack.descendingIterator();
+            while (entries.hasNext()) {
+                flatten(entries.next().getChildren());
+            }
+            stack.clear();
+        }
+
+        private void flatten(List<TraceExecutionStep> steps) {
+            for (TraceExecutionStep step : steps) {
+                flatten(step.getChildren());
+                executionSteps.add(new TraceExecutionStep(step.getType(), 0L, step.getName(), step.getResult(), step.getMessages(), step.getAdditionalData(),
+                        Collections.emptyList()));
+            }
+        }
+
+        @Override
+        public Optional<CloudEvent> complete() {
+            if (firstEvent == null) {
+                return buildNotEnoughDataCloudEvent(model, executionId, configBean);
+            }
+            if (hierarchyError == null && !stack.isEmpty()) {
+                flattenExecutionSteps(new IllegalStateException("Can't match all after events with corresponding before events"));
+            }
+            if (hierarchyError != null && latestEvent != null) {
+                addFlatExecutionStep(latestEvent);
+            }
+            List<Message> messages = hierarchyError == null
+                    ? Collections.emptyList()
+                    : Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, hierarchyError));
+            return buildDefaultCloudEvent(model, executionId, firstEvent, latestEvent == null ? firstEvent : latestEvent, executionSteps, messages, configBean);
+        }
     }
 
     private static Optional<CloudEvent> buildNotEnoughDataCloudEvent(DMNModel model, String executionId, ConfigBean configBean) {
@@ -99,20 +210,15 @@ public class DefaultAggregator implements Aggregator {
                         model == null ? EventUtils.messageFrom(InternalMessageType.DMN_MODEL_NOT_FOUND) : null).filter(Objects::nonNull).collect(Collectors.toList()));
 
         TraceEvent event = new TraceEvent(header, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
-        return CloudEventUtils
-                .build(executionId, buildSource(configBean.getServiceUrl(), null), event, TraceEvent.class);
+        return buildCloudEvent(executionId, buildSource(configBean.getServiceUrl(), null), event);
     }
 
-    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        EvaluateEvent firstEvent = events.get(0);
-        EvaluateEvent lastEvent = events.get(events.size() - 1);
-
+    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, EvaluateEvent firstEvent, EvaluateEvent lastEvent,
+            List<TraceExecutionStep> executionSteps, List<Message> executionStepsMessages, ConfigBean configBean) {
         List<TraceInputValue> inputs = buildTraceInputValues(model, firstEvent);
 
         List<TraceOutputValue> outputs = buildTraceOutputValues(model, lastEvent);
 
-        Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = buildTraceExecutionSteps(model, executionId, events);
-
         TraceHeader header = new TraceHeader(
                 TraceEventType.DMN,
                 executionId,
@@ -122,15 +228,26 @@ public class DefaultAggregator implements Aggregator {
                 firstEvent.toTraceResourceId(configBean.getServiceUrl()),
                 Stream.of(
                         model == null ? Stream.of(EventUtils.messageFrom(InternalMessageType.DMN_MODEL_NOT_FOUND)) : Stream.<Message> empty(),
-                        executionStepsPair.getRight().stream(),
+                        executionStepsMessages.stream(),
                         lastEvent.getResult().getMessages().stream()
                                 .filter(m -> m.getSourceId() == null || m.getSourceId().isEmpty()))
                         .flatMap(Function.identity()).collect(Collectors.toList()));
 
         // complete event
-        TraceEvent event = new TraceEvent(header, inputs, outputs, executionStepsPair.getLeft());
-        return CloudEventUtils
-                .build(executionId, buildSource(configBean.getServiceUrl(), firstEvent), event, TraceEvent.class);
+        TraceEvent event = new TraceEvent(header, inputs, outputs, executionSteps);
+        return buildCloudEvent(executionId, buildSource(configBean.getServiceUrl(), firstEvent), event);
+    }
+
+    /**
+     * The trace event is kept as data of the cloud event, so it can be serialized along with it in a single pass
+     */
+    private static Optional<CloudEvent> buildCloudEvent(String executionId, URI source, TraceEvent event) {
+        return Optional.of(CloudEventBuilder.v1()
+                .withId(executionId)
+                .withSource(source)
+                .withType(TraceEvent.class.getName())
+                .withData(PojoCloudEventData.wrap(event, CloudEventUtils.Mapper.mapper()::writeValueAsBytes))
+                .build());
     }
 
     private static URI buildSource(String serviceUrl, EvaluateEvent event) {
@@ -200,27 +317,6 @@ public class DefaultAggregator implements Aggregator {
                 .collect(Collectors.toList());
     }
 
-    private static Pair<List<TraceExecutionStep>, List<Message>> buildTraceExecutionSteps(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        try {
-            return new Pair<>(buildTraceExecutionStepsHierarchy(model, events), Collections.emptyList());
-        } catch (IllegalStateException e) {
-            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
-            return new Pair<>(buildTraceExecutionStepsList(model, events), Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, e)));
-        }
-    }
-
-    private static List<TraceExecutionStep> buildTraceExecutionStepsHierarchy(DMNModel model, List<EvaluateEvent> events) {
-        List<TraceExecutionStep> executionSteps = new ArrayList<>(events.size() / 2);
-        Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>(events.size() / 2);
-        for (int i = 1; i < events.size() - 1; i++) {
-            processEvaluateEventInHierarchy(model, stack, executionSteps, events.get(i));
-        }
-        if (!stack.isEmpty()) {
-            throw new IllegalStateException("Can't match all after events with corresponding before events");
-        }
-        return executionSteps;
-    }
-
     private static void processEvaluateEventInHierarchy(DMNModel model, Deque<DefaultAggregatorStackEntry> stack, List<TraceExecutionStep> executionSteps, EvaluateEvent event) {
         LOG.trace("Started aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
         if (event.getType().isBefore()) {
@@ -229,11 +325,12 @@ public class DefaultAggregator implements Aggregator {
             if (stack.isEmpty() || !stack.peek().isValidAfterEvent(event)) {
                 throw new IllegalStateException(String.format("Can't match %s after event with corresponding before event", event.getType()));
             }
-            DefaultAggregatorStackEntry stackEntry = stack.pop();
-            TraceExecutionStep step = buildTraceExecutionStep(model, stackEntry, event);
+            // the entry is popped once the step is built, so its children are not lost if it fails
+            TraceExecutionStep step = buildTraceExecutionStep(model, stack.peek(), event);
             if (step == null) {
                 throw new IllegalStateException(String.format("Can't build TraceExecutionStep for a %s event", event.getType()));
             }
+            stack.pop();
             if (stack.isEmpty()) {
                 executionSteps.add(step);
             } else {
@@ -243,14 +340,6 @@ public class DefaultAggregator implements Aggregator {
         LOG.trace("Finished aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
     }
 
-    private static List<TraceExecutionStep> buildTraceExecutionStepsList(DMNModel model, List<EvaluateEvent> events) {
-        return events.stream()
-                .filter(e -> e.getType().isAfter())
-                .map(e -> buildTraceExecutionStep(model, null, e))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
     private static TraceExecutionStep buildTraceExecutionStep(DMNModel model, DefaultAggregatorStackEntry stackEntry, EvaluateEvent afterEvent) {
         TraceExecutionStepType type = Optional.ofNullable(afterEvent.getType()).map(EvaluateEventType::toTraceExecutionStepType).orElse(null);
         if (type == null) {
@@ -18,7 +18,7 @@
  */
 package org.kie.kogito.tracing.decision.aggregator;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -42,7 +42,7 @@ public class DefaultAggregatorStackEntry {
             throw new IllegalStateException(String.format("%s is not a valid \"before\" event", beforeEvent.getType().name()));
         }
         this.beforeEvent = beforeEvent;
-        this.children = new LinkedList<>();
+        this.children = new ArrayList<>();
     }
 
     public EvaluateEvent getBeforeEvent() {
@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.tracing.decision.event;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -47,15 +50,59 @@ import org.kie.kogito.tracing.typedvalue.CollectionValue;
 import org.kie.kogito.tracing.typedvalue.StructureValue;
 import org.kie.kogito.tracing.typedvalue.TypedValue;
 import org.kie.kogito.tracing.typedvalue.UnitValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.data.PojoCloudEventData;
+
 public class EventUtils {
 
+    private static final Logger LOG = LoggerFactory.getLogger(EventUtils.class);
+
     public static JsonNode jsonNodeFrom(Object object) {
         return Optional.ofNullable(object).<JsonNode> map(CloudEventUtils.Mapper.mapper()::valueToTree).orElse(null);
     }
 
+    /**
+     * Encodes the cloud event like {@link CloudEventUtils#encode(CloudEvent)}, but POJO data is written by the same generator
+     * as the rest of the event, rather than being serialized to bytes and parsed back to be embedded.
+     */
+    public static Optional<String> encode(CloudEvent event) {
+        if (!(event.getData() instanceof PojoCloudEventData) || !event.getExtensionNames().isEmpty()) {
+            return CloudEventUtils.encode(event);
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = CloudEventUtils.Mapper.mapper().createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringField("specversion", event.getSpecVersion().toString());
+            generator.writeStringField("id", event.getId());
+            generator.writeStringField("source", event.getSource().toString());
+            generator.writeStringField("type", event.getType());
+            if (event.getDataContentType() != null) {
+                generator.writeStringField("datacontenttype", event.getDataContentType());
+            }
+            if (event.getDataSchema() != null) {
+                generator.writeStringField("dataschema", event.getDataSchema().toString());
+            }
+            if (event.getSubject() != null) {
+                generator.writeStringField("subject", event.getSubject());
+            }
+            if (event.getTime() != null) {
+                generator.writeStringField("time", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(event.getTime()));
+            }
+            generator.writeObjectField("data", ((PojoCloudEventData<?>) event.getData()).getValue());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            LOG.error("Unable to encode CloudEvent", e);
+            return Optional.empty();
+        }
+        return Optional.of(writer.toString());
+    }
+
     public static <I, O> List<O> map(List<I> input, Function<I, O> mapper) {
         return input == null
                 ? null
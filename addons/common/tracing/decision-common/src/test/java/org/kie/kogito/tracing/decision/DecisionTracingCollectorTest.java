@@ -19,9 +19,11 @@
 package org.kie.kogito.tracing.decision;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -39,15 +41,19 @@ import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDet
 import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.mockito.ArgumentCaptor;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import io.cloudevents.CloudEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_ALL_EXECUTION_ID;
 import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_DECISION_SERVICE_EXECUTION_ID;
 import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -112,10 +118,85 @@ class DecisionTracingCollectorTest {
         List<String> payloads = payloadCaptor.getAllValues();
 
         String expectedEvaluateAll = encodeFromCall(aggregatorCalls, EVALUATE_ALL_EXECUTION_ID);
-        assertThat(payloads.get(evaluateAllIndex)).isEqualTo(expectedEvaluateAll);
+        assertThat(readTree(payloads.get(evaluateAllIndex))).isEqualTo(readTree(expectedEvaluateAll));
 
         String expectedEvaluateDecisionService = encodeFromCall(aggregatorCalls, EVALUATE_DECISION_SERVICE_EXECUTION_ID);
-        assertThat(payloads.get(evaluateDecisionServiceIndex)).isEqualTo(expectedEvaluateDecisionService);
+        assertThat(readTree(payloads.get(evaluateDecisionServiceIndex))).isEqualTo(readTree(expectedEvaluateDecisionService));
+    }
+
+    @Test
+    void testCollectorEvictsExpiredEvaluations() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        AtomicLong nanoTime = new AtomicLong();
+
+        DecisionTracingCollector collector = new DecisionTracingCollector(
+                new MockDefaultAggregator(),
+                payloadConsumer,
+                (namespace, name) -> model,
+                CounterTerminationDetector::new,
+                configBean,
+                DecisionTracingCollector.DEFAULT_MAX_EVALUATIONS,
+                Duration.ofSeconds(10),
+                nanoTime::get);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        // the first evaluation never terminates
+        collector.addEvent(evaluateAllEvents.get(0));
+        assertThat(collector.getPendingCount()).isEqualTo(1);
+
+        nanoTime.set(Duration.ofSeconds(11).toNanos());
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+
+        assertThat(collector.getEvictedCount()).isEqualTo(1);
+        assertThat(collector.getPendingCount()).isZero();
+        verify(payloadConsumer, times(1)).accept(anyString());
+    }
+
+    @Test
+    void testCollectorEvictsOldestEvaluationWhenFull() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+
+        DecisionTracingCollector collector = new DecisionTracingCollector(
+                aggregator,
+                payloadConsumer,
+                (namespace, name) -> model,
+                CounterTerminationDetector::new,
+                configBean,
+                1,
+                DecisionTracingCollector.DEFAULT_EVALUATION_TTL);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        collector.addEvent(evaluateDecisionServiceEvents.get(0));
+        assertThat(collector.getEvictedCount()).isEqualTo(1);
+        assertThat(collector.getPendingCount()).isEqualTo(1);
+
+        // the evaluation in progress is not affected by the eviction
+        evaluateDecisionServiceEvents.subList(1, evaluateDecisionServiceEvents.size()).forEach(collector::addEvent);
+        assertThat(collector.getEvictedCount()).isEqualTo(1);
+        assertThat(collector.getPendingCount()).isZero();
+        verify(payloadConsumer, times(1)).accept(anyString());
+        assertThat(aggregator.getCalls()).containsOnlyKeys(EVALUATE_DECISION_SERVICE_EXECUTION_ID);
+    }
+
+    @Test
+    void testCollectorRejectsInvalidLimits() {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DecisionTracingCollector(payloadConsumer, (namespace, name) -> model, configBean, 0, DecisionTracingCollector.DEFAULT_EVALUATION_TTL));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DecisionTracingCollector(payloadConsumer, (namespace, name) -> model, configBean, 1, Duration.ZERO));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DecisionTracingCollector(payloadConsumer, (namespace, name) -> model, configBean, 1, Duration.ofMinutes(-1)));
+    }
+
+    private static JsonNode readTree(String json) throws IOException {
+        return CloudEventUtils.Mapper.mapper().readTree(json);
     }
 
     private static String encodeFromCall(Map<String, Pair<List<EvaluateEvent>, CloudEvent>> aggregatorCalls, String key) {
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.config.StaticConfigBean;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.mock.MockDefaultAggregator;
+import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
+import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
+import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
+import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+
+class DecisionTracingMetricsTest {
+
+    @Test
+    void testPendingAndEvictedEvaluationsAreExported() throws IOException {
+        DecisionTracingCollector collector = new DecisionTracingCollector(
+                new MockDefaultAggregator(),
+                payload -> {
+                },
+                (namespace, name) -> createDMNModel(),
+                CounterTerminationDetector::new,
+                new StaticConfigBean(),
+                1,
+                DecisionTracingCollector.DEFAULT_EVALUATION_TTL);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DecisionTracingMetrics.register(collector, registry);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+        collector.addEvent(evaluateAllEvents.get(0));
+        collector.addEvent(evaluateDecisionServiceEvents.get(0));
+
+        assertThat(registry.get("kogito_decision_tracing_pending_evaluations").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("kogito_decision_tracing_evicted_evaluations_total").functionCounter().count()).isEqualTo(1);
+    }
+}
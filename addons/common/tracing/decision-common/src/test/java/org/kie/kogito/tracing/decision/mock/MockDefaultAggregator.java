@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision.mock;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.feel.util.Pair;
 import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 
@@ -46,4 +48,24 @@ public class MockDefaultAggregator extends DefaultAggregator {
         return Optional.of(result);
     }
 
+    @Override
+    public Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        Aggregation aggregation = super.newAggregation(model, executionId, configBean);
+        List<EvaluateEvent> events = new ArrayList<>();
+        return new Aggregation() {
+            @Override
+            public void add(EvaluateEvent event) {
+                events.add(event);
+                aggregation.add(event);
+            }
+
+            @Override
+            public Optional<CloudEvent> complete() {
+                CloudEvent result = aggregation.complete().orElseThrow(IllegalStateException::new);
+                calls.put(executionId, new Pair<>(events, result));
+                return Optional.of(result);
+            }
+        };
+    }
+
 }
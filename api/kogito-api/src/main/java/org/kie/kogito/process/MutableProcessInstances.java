@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Optional;
+import java.util.OptionalLong;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     boolean exists(String id);
@@ -35,4 +38,25 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     default boolean lock() {
         return false;
     }
+
+    /**
+     * Returns the version of the stored instance, as maintained when {@link #lock()} is enabled.
+     * Storages able to read the version without loading the whole instance should override it.
+     *
+     * @param id process instance id
+     * @return version of the instance, or empty if it does not exist
+     */
+    default OptionalLong findVersion(String id) {
+        return findById(id, ProcessInstanceReadMode.READ_ONLY).map(pi -> OptionalLong.of(pi.version())).orElseGet(OptionalLong::empty);
+    }
+
+    /**
+     * Returns a new batch that groups operations on this storage so they are written together,
+     * or empty if the storage does not support batching and every operation must be performed directly.
+     *
+     * @return optional batch for this storage
+     */
+    default Optional<ProcessInstancesBatch<T>> newBatch() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Criteria used to retrieve a page of process instances from {@link ProcessInstances#find(ProcessInstanceQuery, ProcessInstanceReadMode)}.
+ * <p>
+ * Matching instances are ordered by id whenever {@link Builder#after(String)} is set, so it can be used as a keyset
+ * cursor by passing the id of the last instance of the previous page.
+ */
+public class ProcessInstanceQuery {
+
+    public static final Comparator<ProcessInstance<?>> ORDER = Comparator.comparing(ProcessInstance::id);
+
+    private final Set<Integer> states;
+    private final String businessKeyPrefix;
+    private final Date startedAfter;
+    private final String afterId;
+    private final int offset;
+    private final int limit;
+
+    private ProcessInstanceQuery(Builder builder) {
+        this.states = Collections.unmodifiableSet(new LinkedHashSet<>(builder.states));
+        this.businessKeyPrefix = builder.businessKeyPrefix;
+        this.startedAfter = builder.startedAfter;
+        this.afterId = builder.afterId;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return accepted process instance states, empty if any state is accepted
+     */
+    public Set<Integer> states() {
+        return states;
+    }
+
+    public String businessKeyPrefix() {
+        return businessKeyPrefix;
+    }
+
+    public Date startedAfter() {
+        return startedAfter;
+    }
+
+    public String afterId() {
+        return afterId;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Evaluates the filters of this query against an already loaded instance, for storages that cannot
+     * evaluate them natively
+     */
+    public boolean matches(ProcessInstance<?> instance) {
+        return (states.isEmpty() || states.contains(instance.status())) &&
+                (businessKeyPrefix == null || (instance.businessKey() != null && instance.businessKey().startsWith(businessKeyPrefix))) &&
+                (startedAfter == null || (instance.startDate() != null && instance.startDate().after(startedAfter))) &&
+                (afterId == null || instance.id().compareTo(afterId) > 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceQuery [states=" + states + ", businessKeyPrefix=" + businessKeyPrefix + ", startedAfter=" + startedAfter + ", afterId=" + afterId + ", offset=" + offset
+                + ", limit=" + limit + "]";
+    }
+
+    public static class Builder {
+
+        private final Set<Integer> states = new LinkedHashSet<>();
+        private String businessKeyPrefix;
+        private Date startedAfter;
+        private String afterId;
+        private int offset;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder state(int... states) {
+            for (int state : states) {
+                this.states.add(state);
+            }
+            return this;
+        }
+
+        public Builder state(Collection<Integer> states) {
+            if (states != null) {
+                this.states.addAll(states);
+            }
+            return this;
+        }
+
+        public Builder businessKeyPrefix(String businessKeyPrefix) {
+            this.businessKeyPrefix = businessKeyPrefix;
+            return this;
+        }
+
+        public Builder startedAfter(Date startedAfter) {
+            this.startedAfter = startedAfter;
+            return this;
+        }
+
+        /**
+         * @param startedAfter ISO-8601 date time with offset, i.e. <code>2024-01-31T10:15:30+01:00</code>, or null
+         */
+        public Builder startedAfter(String startedAfter) {
+            if (startedAfter == null || startedAfter.isBlank()) {
+                return startedAfter((Date) null);
+            }
+            try {
+                return startedAfter(Date.from(OffsetDateTime.parse(startedAfter).toInstant()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Start date must be an ISO-8601 date time with offset: " + startedAfter, e);
+            }
+        }
+
+        public Builder after(String afterId) {
+            this.afterId = afterId;
+            return this;
+        }
+
+        public Builder offset(int offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("Offset must not be negative: " + offset);
+            }
+            this.offset = offset;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative: " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public ProcessInstanceQuery build() {
+            return new ProcessInstanceQuery(this);
+        }
+    }
+}
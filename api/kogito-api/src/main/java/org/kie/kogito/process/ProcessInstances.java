@@ -51,4 +51,25 @@ public interface ProcessInstances<T> {
         return stream(ProcessInstanceReadMode.READ_ONLY);
     }
 
+    /**
+     * Returns the page of process instances matching the given query. Storages evaluating the query
+     * natively return the instances ordered by id.
+     * <p>
+     * This default implementation loads the instances and filters them in memory, storages able to
+     * evaluate the query natively should override it. To keep listing lazy, it only orders the
+     * instances by id when a keyset cursor is used, otherwise the storage iteration order is kept.
+     *
+     * @param query filters and page to be retrieved
+     * @param mode read mode of the returned instances
+     * @return stream of matching instances, to be closed by the caller
+     */
+    default Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        Stream<ProcessInstance<T>> instances = stream(mode).filter(query::matches);
+        if (query.afterId() != null) {
+            instances = instances.sorted(ProcessInstanceQuery.ORDER);
+        }
+        return instances.skip(query.offset())
+                .limit(query.limit());
+    }
+
 }
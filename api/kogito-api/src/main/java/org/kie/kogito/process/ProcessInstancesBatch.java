@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+/**
+ * Collects create, update and remove operations targeting the same {@link MutableProcessInstances}
+ * so they can be written to the storage together when the unit of work completes.
+ * <p>
+ * Operations are only guaranteed to be visible in the storage after {@link #flush()} returns.
+ *
+ * @param <T> type of the process instance model
+ */
+public interface ProcessInstancesBatch<T> {
+
+    void create(String id, ProcessInstance<T> instance);
+
+    void update(String id, ProcessInstance<T> instance);
+
+    void remove(String id);
+
+    /**
+     * Writes all collected operations to the storage. Implementations using optimistic locking
+     * must report every instance that could not be updated.
+     */
+    void flush();
+}
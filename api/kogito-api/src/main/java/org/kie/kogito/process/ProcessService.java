@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -59,8 +60,32 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    /**
+     * Returns the output of the process instances matching the given query. The query limit is capped
+     * to the configured maximum number of process instances returned by a listing.
+     */
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, ProcessInstanceQuery query);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
+    /**
+     * Same as {@link #getProcessInstanceOutput(Process)} but does not block the calling thread
+     * when the process instances storage is a {@link ReactiveMutableProcessInstances}
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process);
+
+    /**
+     * Same as {@link #getProcessInstanceOutput(Process, ProcessInstanceQuery)} but does not block the calling thread
+     * when the process instances storage is a {@link ReactiveMutableProcessInstances}
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, ProcessInstanceQuery query);
+
+    /**
+     * Same as {@link #findById(Process, String)} but does not block the calling thread
+     * when the process instances storage is a {@link ReactiveMutableProcessInstances}
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id);
+
     <T extends MappableToModel<R>, R> Optional<R> signalProcessInstance(Process<T> process, String id, Object data, String signalName);
 
     <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... id) throws UnsupportedOperationException;
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * Process instances storage that can be accessed without blocking the calling thread.
+ * <p>
+ * The returned stages are completed by the storage client, usually on an event loop thread, so callers
+ * must not block inside the chained callbacks. Returned streams unmarshall the instances as they are consumed,
+ * which callers should do on a worker thread, for example chaining with <code>thenApplyAsync</code>.
+ *
+ * @param <T> type of the process instance model
+ */
+public interface ReactiveMutableProcessInstances<T> extends MutableProcessInstances<T> {
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<Stream<ProcessInstance<T>>> streamAsync(ProcessInstanceReadMode mode);
+
+    CompletionStage<Stream<ProcessInstance<T>>> findAsync(ProcessInstanceQuery query, ProcessInstanceReadMode mode);
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+}
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.usertask;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -32,6 +33,21 @@ public interface UserTaskInstances {
 
     List<UserTaskInstance> findByIdentity(IdentityProvider identityProvider);
 
+    /**
+     * Page of the user task instances visible to the identity
+     *
+     * @param states names of the states of the returned instances, null or empty for any state
+     * @param offset number of visible instances to skip
+     * @param limit maximum number of instances returned
+     */
+    default List<UserTaskInstance> findByIdentity(IdentityProvider identityProvider, Collection<String> states, int offset, int limit) {
+        return findByIdentity(identityProvider).stream()
+                .filter(userTaskInstance -> states == null || states.isEmpty() || (userTaskInstance.getStatus() != null && states.contains(userTaskInstance.getStatus().getName())))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
     Optional<UserTaskInstance> findById(String userTaskInstanceId);
 
     boolean exists(String userTaskInstanceId);
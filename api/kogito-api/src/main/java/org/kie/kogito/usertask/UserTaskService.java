@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.usertask;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,6 +35,8 @@ public interface UserTaskService {
 
     List<UserTaskView> list(IdentityProvider identity);
 
+    List<UserTaskView> list(IdentityProvider identity, Collection<String> states, int offset, int limit);
+
     Optional<UserTaskView> transition(String taskId, String transitionId, Map<String, Object> data, IdentityProvider identity);
 
     List<UserTaskTransitionView> allowedTransitions(String taskId, IdentityProvider identity);
@@ -18,9 +18,27 @@
  */
 package org.kie.kogito.event;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 
 public interface EventExecutorServiceFactory {
 
     public ExecutorService getExecutorService(String channelName);
+
+    /**
+     * @return executor services created so far, by channel name, so their metrics can be exposed
+     */
+    default Map<String, ExecutorService> getExecutorServices() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Invokes the listener with the channel name and executor service of every channel, the ones created so far and the ones
+     * created afterwards, so their metrics can be exposed
+     */
+    default void addExecutorServiceListener(BiConsumer<String, ExecutorService> listener) {
+        getExecutorServices().forEach(listener);
+    }
 }
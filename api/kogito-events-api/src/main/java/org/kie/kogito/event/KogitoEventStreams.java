@@ -25,6 +25,11 @@ public class KogitoEventStreams {
     public static final String QUEUE_SIZE_PROPERTY = "kogito.quarkus.events.threads.queueSize";
     public static final String DEFAULT_MAX_THREADS = "10";
     public static final String DEFAULT_QUEUE_SIZE = "1";
+    public static final String ORDERED_PROPERTY = "kogito.quarkus.events.ordered";
+    public static final String DEFAULT_ORDERED = "true";
+    public static final String THREADS_MODE_PROPERTY = "kogito.quarkus.events.threads.mode";
+    public static final String SHARED_THREADS_MODE = "shared";
+    public static final String KEYED_THREADS_MODE = "keyed";
     public static final String THREAD_NAME = "kogito-event-executor";
 
     private KogitoEventStreams() {
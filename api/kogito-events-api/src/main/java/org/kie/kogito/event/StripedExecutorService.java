@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executor made of single threaded stripes. Tasks submitted with the same key always run in the same stripe, so they are
+ * executed one after the other in submission order, while tasks with different keys are spread across stripes and run in parallel.
+ * Tasks submitted without a key are assigned to the stripes in turn.
+ * <p>
+ * Each stripe queues up to <code>queueSize</code> tasks. When a stripe queue is full, the submitting thread waits for room,
+ * unless backpressure callbacks are given: then the task is kept aside, in order, and <code>onFull</code> is invoked so the
+ * caller stops submitting; <code>onDrained</code> is invoked once every task kept aside has been queued again.
+ */
+public class StripedExecutorService extends AbstractExecutorService {
+
+    /**
+     * Receives the time from submission to completion of every task, from the thread of the stripe that executed it
+     */
+    @FunctionalInterface
+    public interface LatencyListener {
+        void completed(int stripe, long latencyNanos);
+    }
+
+    private static final long WAIT_FOR_ROOM_MILLIS = 100L;
+
+    private final List<Stripe> stripes;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Runnable onFull;
+    private final Runnable onDrained;
+    // number of stripes with tasks kept aside
+    private final AtomicInteger overflowing = new AtomicInteger();
+    private volatile LatencyListener latencyListener;
+
+    /**
+     * Creates an executor whose stripes queue an unbounded number of tasks.
+     */
+    public StripedExecutorService(int stripes, String threadNamePrefix) {
+        this(stripes, Integer.MAX_VALUE, threadNamePrefix);
+    }
+
+    /**
+     * Creates an executor that blocks the submitting thread while the stripe of the task is full.
+     */
+    public StripedExecutorService(int stripes, int queueSize, String threadNamePrefix) {
+        this(stripes, queueSize, threadNamePrefix, null, null);
+    }
+
+    /**
+     * Creates an executor that never blocks the submitting thread, notifying when it should stop and resume submitting tasks.
+     */
+    public StripedExecutorService(int stripes, int queueSize, String threadNamePrefix, Runnable onFull, Runnable onDrained) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive, but was " + stripes);
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be positive, but was " + queueSize);
+        }
+        this.onFull = onFull;
+        this.onDrained = onDrained;
+        KogitoThreadPoolFactory threadFactory = new KogitoThreadPoolFactory(threadNamePrefix);
+        this.stripes = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            this.stripes.add(new Stripe(i, threadFactory, queueSize));
+        }
+    }
+
+    public void execute(Object key, Runnable command) {
+        stripe(key).submit(command);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Object key, Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        stripes.get(Math.floorMod(next.getAndIncrement(), stripes.size())).submit(command);
+    }
+
+    public int stripes() {
+        return stripes.size();
+    }
+
+    /**
+     * @return number of tasks waiting to be executed in the given stripe, including the ones kept aside
+     */
+    public int queueDepth(int stripe) {
+        return stripes.get(stripe).depth();
+    }
+
+    public int queueDepth() {
+        return stripes.stream().mapToInt(Stripe::depth).sum();
+    }
+
+    public void setLatencyListener(LatencyListener latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    public long completedTasks(int stripe) {
+        return stripes.get(stripe).completed.sum();
+    }
+
+    /**
+     * @return average time from submission to completion of the tasks executed by the given stripe
+     */
+    public Duration averageLatency(int stripe) {
+        Stripe s = stripes.get(stripe);
+        long completed = s.completed.sum();
+        return completed == 0 ? Duration.ZERO : Duration.ofNanos(s.totalLatency.sum() / completed);
+    }
+
+    /**
+     * @return longest time from submission to completion of a task executed by the given stripe
+     */
+    public Duration maxLatency(int stripe) {
+        return Duration.ofNanos(stripes.get(stripe).maxLatency.get());
+    }
+
+    /**
+     * @return average time from submission to completion of the tasks executed by any stripe
+     */
+    public Duration averageLatency() {
+        long completed = stripes.stream().mapToLong(s -> s.completed.sum()).sum();
+        return completed == 0 ? Duration.ZERO : Duration.ofNanos(stripes.stream().mapToLong(s -> s.totalLatency.sum()).sum() / completed);
+    }
+
+    /**
+     * @return longest time from submission to completion of a task executed by any stripe
+     */
+    public Duration maxLatency() {
+        return Duration.ofNanos(stripes.stream().mapToLong(s -> s.maxLatency.get()).max().orElse(0L));
+    }
+
+    @Override
+    public void shutdown() {
+        stripes.forEach(s -> s.executor.shutdown());
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        stripes.forEach(s -> pending.addAll(s.shutdownNow()));
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return stripes.stream().allMatch(s -> s.executor.isShutdown());
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return stripes.stream().allMatch(s -> s.executor.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Stripe stripe : stripes) {
+            if (!stripe.executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Stripe stripe(Object key) {
+        return key == null ? stripes.get(Math.floorMod(next.getAndIncrement(), stripes.size())) : stripes.get(Math.floorMod(spread(key.hashCode()), stripes.size()));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private class Stripe {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        // tasks that did not fit in the queue, in submission order, guarded by this
+        private final Deque<Runnable> overflow = new ArrayDeque<>();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder totalLatency = new LongAdder();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        Stripe(int index, KogitoThreadPoolFactory threadFactory, int queueSize) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueSize), threadFactory,
+                    onFull == null ? this::waitForRoom : this::keepAside);
+        }
+
+        void submit(Runnable command) {
+            long submitted = System.nanoTime();
+            Runnable task = () -> {
+                try {
+                    command.run();
+                } finally {
+                    long latency = System.nanoTime() - submitted;
+                    completed.increment();
+                    totalLatency.add(latency);
+                    maxLatency.accumulateAndGet(latency, Math::max);
+                    LatencyListener listener = latencyListener;
+                    if (listener != null) {
+                        listener.completed(index, latency);
+                    }
+                    requeue();
+                }
+            };
+            if (onFull == null) {
+                executor.execute(task);
+                return;
+            }
+            synchronized (this) {
+                // tasks submitted while others are kept aside must wait behind them to preserve the order
+                if (overflow.isEmpty()) {
+                    executor.execute(task);
+                } else {
+                    overflow.addLast(task);
+                }
+            }
+        }
+
+        private void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+            try {
+                while (!executor.getQueue().offer(task, WAIT_FOR_ROOM_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Executor has been shut down");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the queue", e);
+            }
+        }
+
+        // invoked by submit, while holding the lock of the stripe
+        private void keepAside(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            overflow.addLast(task);
+            if (overflow.size() == 1 && overflowing.getAndIncrement() == 0) {
+                onFull.run();
+            }
+        }
+
+        // invoked by the stripe thread once a task has been taken from the queue and executed, so there is room for another one
+        private void requeue() {
+            if (onFull == null) {
+                return;
+            }
+            synchronized (this) {
+                if (overflow.isEmpty()) {
+                    return;
+                }
+                while (!overflow.isEmpty() && executor.getQueue().offer(overflow.peekFirst())) {
+                    overflow.pollFirst();
+                }
+                if (overflow.isEmpty() && overflowing.decrementAndGet() == 0) {
+                    onDrained.run();
+                }
+            }
+        }
+
+        synchronized int depth() {
+            return executor.getQueue().size() + overflow.size();
+        }
+
+        synchronized List<Runnable> shutdownNow() {
+            List<Runnable> pending = new ArrayList<>(executor.shutdownNow());
+            pending.addAll(overflow);
+            overflow.clear();
+            return pending;
+        }
+    }
+}
@@ -199,7 +199,7 @@ public class KogitoEventBodySerializationHelper {
     }
 
     private static void writeLong(DataOutput out, Object obj) throws IOException {
-        out.writeInt((Integer) obj);
+        out.writeLong((Long) obj);
     }
 
     private static void writeShort(DataOutput out, Object obj) throws IOException {
@@ -240,10 +240,11 @@ public class KogitoEventBodySerializationHelper {
     }
 
     public static void writeInt(DataOutput out, int size) throws IOException {
-        if (size < Byte.MAX_VALUE) {
+        // values are read back signed, so negative ones must be range checked too
+        if (size >= Byte.MIN_VALUE && size <= Byte.MAX_VALUE) {
             writeType(out, SerType.BYTE);
             out.writeByte((byte) size);
-        } else if (size < Short.MAX_VALUE) {
+        } else if (size >= Short.MIN_VALUE && size <= Short.MAX_VALUE) {
             writeType(out, SerType.SHORT);
             out.writeShort((short) size);
         } else {
@@ -19,11 +19,19 @@
 
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
-public class UserTaskInstanceAssignmentEventBody {
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceAssignmentEventBody implements KogitoMarshallEventSupport {
 
     // common fields for events
     private Date eventDate;
@@ -40,6 +48,30 @@ public class UserTaskInstanceAssignmentEventBody {
 
     private String eventType; //ADDED REMOVED
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, assignmentType);
+        writeUTFCollection(out, users);
+        writeUTF(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        assignmentType = readUTF(in);
+        users = readUTFCollection(in, new ArrayList<>());
+        eventType = readUTF(in);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
@@ -18,11 +18,18 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.URI;
 import java.util.Date;
 import java.util.Objects;
 
-public class UserTaskInstanceAttachmentEventBody {
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceAttachmentEventBody implements KogitoMarshallEventSupport {
     public static final int EVENT_TYPE_ADDED = 1;
     public static final int EVENT_TYPE_CHANGE = 2;
     public static final int EVENT_TYPE_DELETED = 3;
@@ -42,6 +49,33 @@ public class UserTaskInstanceAttachmentEventBody {
 
     private int eventType;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, attachmentId);
+        writeUTF(out, attachmentName);
+        writeUTF(out, attachmentURI != null ? attachmentURI.toString() : null);
+        writeInt(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        attachmentId = readUTF(in);
+        attachmentName = readUTF(in);
+        String uri = readUTF(in);
+        attachmentURI = uri != null ? URI.create(uri) : null;
+        eventType = readInt(in);
+    }
+
     public static Builder create() {
         return new Builder(new UserTaskInstanceAttachmentEventBody());
     }
@@ -18,10 +18,17 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.Objects;
 
-public class UserTaskInstanceCommentEventBody {
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceCommentEventBody implements KogitoMarshallEventSupport {
 
     public static final int EVENT_TYPE_ADDED = 1;
     public static final int EVENT_TYPE_CHANGE = 2;
@@ -41,7 +48,31 @@ public class UserTaskInstanceCommentEventBody {
 
     private int eventType;
 
-    private UserTaskInstanceCommentEventBody() {
+    public UserTaskInstanceCommentEventBody() {
+    }
+
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, commentId);
+        writeUTF(out, commentContent);
+        writeInt(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        commentId = readUTF(in);
+        commentContent = readUTF(in);
+        eventType = readInt(in);
     }
 
     public static Builder create() {
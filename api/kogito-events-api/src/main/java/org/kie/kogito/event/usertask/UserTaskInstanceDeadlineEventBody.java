@@ -18,10 +18,17 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
 
-public class UserTaskInstanceDeadlineEventBody {
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceDeadlineEventBody implements KogitoMarshallEventSupport {
 
     // common fields for events
     private Date eventDate;
@@ -39,6 +46,31 @@ public class UserTaskInstanceDeadlineEventBody {
 
     private String eventType;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeObject(out, notification);
+        writeObject(out, inputs);
+        writeUTF(out, eventType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        notification = (Map<String, Object>) readObject(in);
+        inputs = (Map<String, Object>) readObject(in);
+        eventType = readUTF(in);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
@@ -18,14 +18,20 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
 import org.kie.kogito.event.process.ProcessInstanceEventMetadata;
 
-public class UserTaskInstanceStateEventBody {
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceStateEventBody implements KogitoMarshallEventSupport {
 
     // common fields for events
     private Date eventDate;
@@ -51,6 +57,42 @@ public class UserTaskInstanceStateEventBody {
 
     private Date slaDueDate;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, userTaskDescription);
+        writeUTF(out, userTaskPriority);
+        writeUTF(out, userTaskReferenceName);
+        writeUTF(out, state);
+        writeUTF(out, actualOwner);
+        writeUTF(out, processInstanceId);
+        writeUTF(out, eventType);
+        writeUTF(out, externalReferenceId);
+        writeDate(out, slaDueDate);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        userTaskDescription = readUTF(in);
+        userTaskPriority = readUTF(in);
+        userTaskReferenceName = readUTF(in);
+        state = readUTF(in);
+        actualOwner = readUTF(in);
+        processInstanceId = readUTF(in);
+        eventType = readUTF(in);
+        externalReferenceId = readUTF(in);
+        slaDueDate = readDate(in);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
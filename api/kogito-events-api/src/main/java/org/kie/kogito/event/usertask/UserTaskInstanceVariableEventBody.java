@@ -18,10 +18,17 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.Objects;
 
-public class UserTaskInstanceVariableEventBody {
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+public class UserTaskInstanceVariableEventBody implements KogitoMarshallEventSupport {
 
     // common fields for events
     private Date eventDate;
@@ -37,6 +44,32 @@ public class UserTaskInstanceVariableEventBody {
     private String variableName; // name
     private Object variableValue;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, variableType);
+        writeUTF(out, variableId);
+        writeUTF(out, variableName);
+        writeObject(out, variableValue);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskInstanceId = readUTF(in);
+        userTaskName = readUTF(in);
+        variableType = readUTF(in);
+        variableId = readUTF(in);
+        variableName = readUTF(in);
+        variableValue = readObject(in);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
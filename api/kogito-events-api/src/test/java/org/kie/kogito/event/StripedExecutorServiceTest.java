@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedExecutorServiceTest {
+
+    private StripedExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = new StripedExecutorService(4, "test-stripe");
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testSameKeyRunsInOrderOnOneThread() throws Exception {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        Map<Thread, Boolean> threads = new ConcurrentHashMap<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            results.add(executor.supplyAsync("key", () -> {
+                threads.put(Thread.currentThread(), Boolean.TRUE);
+                executed.add(value);
+                return value;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(threads).hasSize(1);
+        assertThat(executed).isSorted().hasSize(50);
+        assertThat(results.get(49).get()).isEqualTo(49);
+    }
+
+    @Test
+    void testFailureIsReported() {
+        CompletableFuture<Object> result = executor.supplyAsync("key", () -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS).withThrowableOfType(Exception.class).withRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        CompletableFuture<Void> blocker = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute("key", () -> {
+            started.countDown();
+            blocker.join();
+        });
+        executor.execute("key", () -> {
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.queueDepth()).isEqualTo(1);
+
+        executor.execute("key", () -> {
+        });
+        blocker.complete(null);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        int stripe = -1;
+        for (int i = 0; i < executor.stripes(); i++) {
+            if (executor.completedTasks(i) > 0) {
+                stripe = i;
+            }
+        }
+        assertThat(executor.completedTasks(stripe)).isEqualTo(3);
+        assertThat(executor.queueDepth(stripe)).isZero();
+        assertThat(executor.maxLatency(stripe)).isGreaterThanOrEqualTo(executor.averageLatency(stripe)).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    void testBackpressureKeepsOrder() throws Exception {
+        AtomicInteger stops = new AtomicInteger();
+        AtomicInteger resumes = new AtomicInteger();
+        StripedExecutorService bounded = new StripedExecutorService(1, 1, "test-bounded", stops::incrementAndGet, resumes::incrementAndGet);
+        try {
+            List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<Void> blocker = new CompletableFuture<>();
+            CountDownLatch started = new CountDownLatch(1);
+            bounded.execute("key", () -> {
+                started.countDown();
+                blocker.join();
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                int value = i;
+                results.add(bounded.supplyAsync("key", () -> {
+                    executed.add(value);
+                    return value;
+                }));
+            }
+            // one task queued, the others kept aside without blocking the caller
+            assertThat(bounded.queueDepth()).isEqualTo(5);
+            assertThat(stops).hasValue(1);
+            assertThat(resumes).hasValue(0);
+
+            blocker.complete(null);
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertThat(executed).containsExactly(0, 1, 2, 3, 4);
+            assertThat(stops).hasValue(1);
+            assertThat(resumes).hasValue(1);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void testCallerWaitsForRoom() throws Exception {
+        StripedExecutorService bounded = new StripedExecutorService(1, 1, "test-bounded");
+        ExecutorService submitter = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> blocker = new CompletableFuture<>();
+            CountDownLatch started = new CountDownLatch(1);
+            bounded.execute("key", () -> {
+                started.countDown();
+                blocker.join();
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            bounded.execute("key", () -> {
+            });
+            Future<?> waiting = submitter.submit(() -> bounded.execute("key", () -> {
+            }));
+            assertThatThrownBy(() -> waiting.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            blocker.complete(null);
+            waiting.get(5, TimeUnit.SECONDS);
+        } finally {
+            submitter.shutdown();
+            bounded.shutdown();
+        }
+        assertThat(bounded.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bounded.completedTasks(0)).isEqualTo(3);
+    }
+}
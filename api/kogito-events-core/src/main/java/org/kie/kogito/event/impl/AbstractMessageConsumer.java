@@ -49,8 +49,23 @@ public abstract class AbstractMessageConsumer<M extends Model, D> {
             ProcessService processService,
             ExecutorService executorService,
             Set<String> correlations) {
+        init(application, process, trigger, eventReceiver, dataClass, processService, executorService, correlations, true);
+    }
+
+    /**
+     * @param ordered whether events for the same process instance are processed in the order they were received, see {@link ProcessEventDispatcher}
+     */
+    protected void init(Application application,
+            Process<M> process,
+            String trigger,
+            EventReceiver eventReceiver,
+            Class<D> dataClass,
+            ProcessService processService,
+            ExecutorService executorService,
+            Set<String> correlations,
+            boolean ordered) {
         this.trigger = trigger;
-        this.eventDispatcher = new ProcessEventDispatcher<>(process, getModelConverter(), processService, executorService, correlations, getDataResolver());
+        this.eventDispatcher = new ProcessEventDispatcher<>(process, getModelConverter(), processService, executorService, correlations, getDataResolver(), ordered);
         eventReceiver.subscribe(this::consume, dataClass);
         logger.info("Consumer for {} started", trigger);
     }
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -37,6 +38,7 @@ import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.SimpleCorrelation;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventDispatcher;
+import org.kie.kogito.event.StripedExecutorService;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessService;
@@ -47,6 +49,8 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessEventDispatcher.class);
 
+    private static final String BUSINESS_KEY_PREFIX = "businessKey:";
+
     private final Set<String> correlationKeys;
 
     private final ProcessService processService;
@@ -54,15 +58,27 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
     private final Process<M> process;
     private final ExecutorService executor;
     private final Function<DataEvent<D>, D> dataResolver;
+    private final boolean ordered;
+    private final Map<String, CompletableFuture<ProcessInstance<M>>> pending = new ConcurrentHashMap<>();
 
     public ProcessEventDispatcher(Process<M> process, Optional<Function<D, M>> modelConverter, ProcessService processService, ExecutorService executor, Set<String> correlationKeys,
             Function<DataEvent<D>, D> dataResolver) {
+        this(process, modelConverter, processService, executor, correlationKeys, dataResolver, true);
+    }
+
+    /**
+     * @param ordered whether events targeting the same process instance, identified by their correlation, reference id or business key,
+     *        are processed one after the other in the order they were dispatched. Events for different instances always run in parallel.
+     */
+    public ProcessEventDispatcher(Process<M> process, Optional<Function<D, M>> modelConverter, ProcessService processService, ExecutorService executor, Set<String> correlationKeys,
+            Function<DataEvent<D>, D> dataResolver, boolean ordered) {
         this.process = process;
         this.modelConverter = modelConverter;
         this.processService = processService;
         this.executor = executor;
         this.correlationKeys = correlationKeys;
         this.dataResolver = dataResolver;
+        this.ordered = ordered;
     }
 
     @Override
@@ -73,33 +89,66 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
             }
             return CompletableFuture.completedFuture(null);
         }
-        return resolveCorrelationId(event)
-                .map(kogitoReferenceId -> asCompletable(trigger, event, findById(kogitoReferenceId)))
-                .orElseGet(() -> {
-                    // check processInstanceId
-                    String processInstanceId = event.getKogitoReferenceId();
-                    if (processInstanceId != null) {
-                        return asCompletable(trigger, event, findById(processInstanceId));
-                    }
-                    // check businessKey
-                    String businessKey = event.getKogitoBusinessKey();
-                    if (businessKey != null) {
-                        return asCompletable(trigger, event, findByBusinessKey(businessKey));
-                    }
-                    // try to start a new instance if possible
-                    return CompletableFuture.supplyAsync(() -> startNewInstance(trigger, event), executor);
-                });
-    }
-
-    private CompletableFuture<ProcessInstance<M>> asCompletable(String trigger, DataEvent<D> event, Optional<ProcessInstance<M>> processInstance) {
-
-        return CompletableFuture.supplyAsync(() -> processInstance.map(pi -> {
+        // correlation resolution and instance lookup might hit the storage, so they run in the executor rather than in the consumer thread
+        Optional<CompositeCorrelation> correlation = compositeCorrelation(event);
+        String orderingKey = ordered ? orderingKey(event, correlation) : null;
+        if (orderingKey == null) {
+            return CompletableFuture.supplyAsync(() -> dispatchInternal(trigger, event, correlation), executor);
+        }
+        if (executor instanceof StripedExecutorService) {
+            // the stripe of the key already runs its events one after the other
+            return ((StripedExecutorService) executor).supplyAsync(orderingKey, () -> dispatchInternal(trigger, event, correlation));
+        }
+        CompletableFuture<ProcessInstance<M>> result = pending.compute(orderingKey,
+                (key, previous) -> previous == null ? CompletableFuture.supplyAsync(() -> dispatchInternal(trigger, event, correlation), executor)
+                        : previous.handle((pi, error) -> null).thenApplyAsync(v -> dispatchInternal(trigger, event, correlation), executor));
+        result.whenComplete((pi, error) -> pending.remove(orderingKey, result));
+        return result;
+    }
+
+    /**
+     * Key of the events that must be processed in the order they were received, computed from the event only so no lookup is needed.
+     * Events not referring to any instance, which will start a new one, are not ordered.
+     */
+    private String orderingKey(DataEvent<D> event, Optional<CompositeCorrelation> correlation) {
+        if (correlation.isPresent()) {
+            return correlation.get().getValue().stream().map(c -> c.getKey() + '=' + c.getValue()).collect(Collectors.joining("|"));
+        }
+        String processInstanceId = event.getKogitoReferenceId();
+        if (processInstanceId != null) {
+            return processInstanceId;
+        }
+        String businessKey = event.getKogitoBusinessKey();
+        return businessKey == null ? null : BUSINESS_KEY_PREFIX + businessKey;
+    }
+
+    private ProcessInstance<M> dispatchInternal(String trigger, DataEvent<D> event, Optional<CompositeCorrelation> correlation) {
+        return findProcessInstance(event, correlation).map(pi -> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Sending signal {} to process instance id '{}'", trigger, pi.id());
             }
             signalProcessInstance(trigger, pi.id(), event);
             return pi;
-        }).orElseGet(() -> startNewInstance(trigger, event)), executor);
+        }).orElseGet(() -> startNewInstance(trigger, event, correlation));
+    }
+
+    private Optional<ProcessInstance<M>> findProcessInstance(DataEvent<D> event, Optional<CompositeCorrelation> correlation) {
+        Optional<String> correlatedId = resolveCorrelationId(correlation);
+        if (correlatedId.isPresent()) {
+            return findById(correlatedId.get());
+        }
+        // check processInstanceId
+        String processInstanceId = event.getKogitoReferenceId();
+        if (processInstanceId != null) {
+            return findById(processInstanceId);
+        }
+        // check businessKey
+        String businessKey = event.getKogitoBusinessKey();
+        if (businessKey != null) {
+            return findByBusinessKey(businessKey);
+        }
+        // try to start a new instance if possible
+        return Optional.empty();
     }
 
     private Optional<ProcessInstance<M>> findById(String id) {
@@ -126,8 +175,8 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
                 correlationKeys.stream().map(k -> new SimpleCorrelation<>(k, resolve(event, k))).collect(Collectors.toSet()))) : Optional.empty();
     }
 
-    private Optional<String> resolveCorrelationId(DataEvent<?> event) {
-        return compositeCorrelation(event).flatMap(process.correlations()::find)
+    private Optional<String> resolveCorrelationId(Optional<CompositeCorrelation> correlation) {
+        return correlation.flatMap(process.correlations()::find)
                 .map(CorrelationInstance::getCorrelatedId);
 
     }
@@ -148,12 +197,12 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
         return processService.signalProcessInstance((Process) process, id, dataResolver.apply(event), "Message-" + trigger);
     }
 
-    private ProcessInstance<M> startNewInstance(String trigger, DataEvent<D> event) {
+    private ProcessInstance<M> startNewInstance(String trigger, DataEvent<D> event, Optional<CompositeCorrelation> correlation) {
         return modelConverter.map(m -> {
             LOGGER.info("Starting new process instance with signal '{}'", trigger);
             return processService.createProcessInstance(process, event.getKogitoBusinessKey(), m.apply(dataResolver.apply(event)),
                     headersFromEvent(event), event.getKogitoStartFromNode(), trigger,
-                    event.getKogitoProcessInstanceId(), compositeCorrelation(event).orElse(null));
+                    event.getKogitoProcessInstanceId(), correlation.orElse(null));
         }).orElseGet(() -> {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("No matches found for trigger {} in process {}. Skipping consumed message {}", trigger, process.id(), event);
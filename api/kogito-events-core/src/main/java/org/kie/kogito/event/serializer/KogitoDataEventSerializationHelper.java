@@ -18,10 +18,20 @@
  */
 package org.kie.kogito.event.serializer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.kie.kogito.event.AbstractDataEvent;
 import org.kie.kogito.event.DataEvent;
@@ -33,9 +43,64 @@ import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
 
 class KogitoDataEventSerializationHelper {
 
+    /**
+     * First byte of the batches whose strings are written through a {@link StringDictionaryDataOutput}. Batches written without it start
+     * with the type of their size, see {@link org.kie.kogito.event.process.KogitoEventBodySerializationHelper#writeInt(DataOutput, int)},
+     * which never takes this value, so both can be read.
+     */
+    static final int DICTIONARY_FORMAT = 100;
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface BatchReader<T> {
+        /**
+         * @param dictionary whether the batch uses the dictionary format, older batches write the ordinal of the extension record as a byte
+         */
+        T read(DataInput in, boolean dictionary) throws IOException;
+    }
+
     private KogitoDataEventSerializationHelper() {
     }
 
+    static byte[] writeBatch(boolean compress, BatchWriter writer) throws IOException {
+        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(compress ? new GZIPOutputStream(bytesOut) : bytesOut)) {
+            out.writeByte(DICTIONARY_FORMAT);
+            writer.write(new StringDictionaryDataOutput(out));
+        }
+        return bytesOut.toByteArray();
+    }
+
+    static <T> T readBatch(byte[] bytes, boolean compressed, BatchReader<T> reader) throws IOException {
+        InputStream wrappedIn = new ByteArrayInputStream(bytes);
+        if (compressed) {
+            wrappedIn = new GZIPInputStream(wrappedIn);
+        }
+        PushbackInputStream pushbackIn = new PushbackInputStream(wrappedIn);
+        int format = pushbackIn.read();
+        try (DataInputStream in = new DataInputStream(pushbackIn)) {
+            if (format == DICTIONARY_FORMAT) {
+                return reader.read(new StringDictionaryDataInput(in), true);
+            }
+            if (format >= 0) {
+                pushbackIn.unread(format);
+            }
+            return reader.read(in, false);
+        }
+    }
+
+    static int timeDelta(OffsetDateTime base, OffsetDateTime time) {
+        return base == null || time == null ? 0 : Math.toIntExact(ChronoUnit.MILLIS.between(base, time));
+    }
+
+    static OffsetDateTime plusDelta(OffsetDateTime base, int delta) {
+        return base == null ? null : base.plus(delta, ChronoUnit.MILLIS);
+    }
+
     static void writeCloudEventAttrs(DataOutput out, DataEvent<?> data) throws IOException {
         out.writeUTF(data.getSpecVersion().toString());
         out.writeUTF(data.getId());
@@ -19,6 +19,7 @@
 package org.kie.kogito.event.serializer;
 
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
 
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -35,6 +36,9 @@ public class MultipleProcessDataInstanceBeanDeserializerModifier extends BeanDes
         if (beanDesc.getBeanClass().equals(MultipleProcessInstanceDataEvent.class)) {
             return new MultipleProcessInstanceDataEventDeserializer((JsonDeserializer<Object>) deserializer);
         }
+        if (beanDesc.getBeanClass().equals(MultipleUserTaskInstanceDataEvent.class)) {
+            return new MultipleUserTaskInstanceDataEventDeserializer((JsonDeserializer<Object>) deserializer);
+        }
         return deserializer;
     }
 }
@@ -18,18 +18,13 @@
  */
 package org.kie.kogito.event.serializer;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.zip.GZIPInputStream;
 
 import org.kie.kogito.event.process.CloudEventVisitor;
 import org.kie.kogito.event.process.KogitoMarshallEventSupport;
@@ -105,39 +100,37 @@ public class MultipleProcessInstanceDataEventDeserializer extends JsonDeserializ
     }
 
     static Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> readFromBytes(byte[] binaryValue, boolean compressed) throws IOException {
-        InputStream wrappedIn = new ByteArrayInputStream(binaryValue);
-        if (compressed) {
-            logger.trace("Gzip compressed byte array");
-            wrappedIn = new GZIPInputStream(wrappedIn);
-        }
-        try (DataInputStream in = new DataInputStream(wrappedIn)) {
-            int size = readInt(in);
-            logger.trace("Reading collection of size {}", size);
-            Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> result = new ArrayList<>(size);
-            List<ProcessInstanceDataEventExtensionRecord> infos = new ArrayList<>();
-            while (size-- > 0) {
-                byte readInfo = in.readByte();
-                logger.trace("Info ordinal is {}", readInfo);
-                ProcessInstanceDataEventExtensionRecord info;
-                if (readInfo == -1) {
-                    info = new ProcessInstanceDataEventExtensionRecord();
-                    info.readEvent(in);
-                    logger.trace("Info readed is {}", info);
-                    infos.add(info);
-                } else {
-                    info = infos.get(readInfo);
-                    logger.trace("Info cached is {}", info);
-                }
-                String type = in.readUTF();
-                logger.trace("Type is {}", info);
-                result.add(getCloudEvent(in, type, info));
-                logger.trace("{} events remaining", size);
+        logger.trace("Reading {} byte array", compressed ? "gzip compressed" : "uncompressed");
+        return KogitoDataEventSerializationHelper.readBatch(binaryValue, compressed, MultipleProcessInstanceDataEventDeserializer::readEvents);
+    }
+
+    private static Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> readEvents(DataInput in, boolean dictionary) throws IOException {
+        int size = readInt(in);
+        logger.trace("Reading collection of size {}", size);
+        Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> result = new ArrayList<>(size);
+        List<ProcessInstanceDataEventExtensionRecord> infos = new ArrayList<>();
+        while (size-- > 0) {
+            int readInfo = dictionary ? readInt(in) : in.readByte();
+            logger.trace("Info ordinal is {}", readInfo);
+            ProcessInstanceDataEventExtensionRecord info;
+            if (readInfo == -1) {
+                info = new ProcessInstanceDataEventExtensionRecord();
+                info.readEvent(in);
+                logger.trace("Info readed is {}", info);
+                infos.add(info);
+            } else {
+                info = infos.get(readInfo);
+                logger.trace("Info cached is {}", info);
             }
-            return result;
+            String type = in.readUTF();
+            logger.trace("Type is {}", info);
+            result.add(getCloudEvent(in, type, info));
+            logger.trace("{} events remaining", size);
         }
+        return result;
     }
 
-    private static ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> getCloudEvent(DataInputStream in, String type, ProcessInstanceDataEventExtensionRecord info) throws IOException {
+    private static ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> getCloudEvent(DataInput in, String type, ProcessInstanceDataEventExtensionRecord info) throws IOException {
         switch (type) {
             case ProcessInstanceVariableDataEvent.VAR_TYPE:
                 ProcessInstanceVariableDataEvent item = buildDataEvent(in, new ProcessInstanceVariableDataEvent(), ProcessInstanceVariableEventBody::new, info);
@@ -160,7 +153,7 @@ public class MultipleProcessInstanceDataEventDeserializer extends JsonDeserializ
             ProcessInstanceDataEventExtensionRecord info) throws IOException {
         int delta = readInt(in);
         logger.trace("Time delta is {}", delta);
-        cloudEvent.setTime(info.getTime().plus(delta, ChronoUnit.MILLIS));
+        cloudEvent.setTime(KogitoDataEventSerializationHelper.plusDelta(info.getTime(), delta));
         KogitoDataEventSerializationHelper.readCloudEventAttrs(in, cloudEvent);
         logger.trace("Cloud event before population {}", cloudEvent);
         KogitoDataEventSerializationHelper.populateCloudEvent(cloudEvent, info);
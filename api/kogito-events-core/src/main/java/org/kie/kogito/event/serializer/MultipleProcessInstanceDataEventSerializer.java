@@ -18,13 +18,11 @@
  */
 package org.kie.kogito.event.serializer;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 import org.kie.kogito.event.process.KogitoMarshallEventSupport;
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
@@ -70,46 +68,46 @@ public class MultipleProcessInstanceDataEventSerializer extends JsonSerializer<M
     }
 
     static byte[] dataAsBytes(Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> data, boolean compress) throws IOException {
-        ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
-        try (DataOutputStream out = new DataOutputStream(compress ? new GZIPOutputStream(bytesOut) : bytesOut)) {
-            logger.trace("Writing size {}", data.size());
-            writeInt(out, data.size());
-            Map<String, ProcessInstanceDataEventExtensionRecord> infos = new HashMap<>();
-            for (ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> cloudEvent : data) {
-                String key = cloudEvent.getKogitoProcessInstanceId();
-                ProcessInstanceDataEventExtensionRecord info = infos.get(key);
-                if (info == null) {
-                    logger.trace("Writing marker byte -1");
-                    out.writeByte((byte) -1);
-                    info = new ProcessInstanceDataEventExtensionRecord(infos.size(), cloudEvent);
-                    logger.trace("Writing info", info);
-                    info.writeEvent(out);
-                    infos.put(key, info);
-                } else {
-                    logger.trace("Writing marker byte {}", info.getOrdinal());
-                    out.writeByte((byte) info.getOrdinal());
-                }
-                logger.trace("Writing type {}", cloudEvent.getType());
-                out.writeUTF(cloudEvent.getType());
-                int timeDelta = cloudEvent.getTime().compareTo(info.getTime());
-                logger.trace("Writing time delta {}", timeDelta);
-                writeInt(out, timeDelta);
-                logger.trace("Writing cloud event attrs {}", cloudEvent);
-                KogitoDataEventSerializationHelper.writeCloudEventAttrs(out, cloudEvent);
-                KogitoMarshallEventSupport itemData = cloudEvent.getData();
-                if (itemData != null) {
-                    logger.trace("Writing data not null boolean");
-                    out.writeBoolean(true);
-                    logger.trace("Writing cloud event body {}", itemData);
-                    itemData.writeEvent(out);
-                } else {
-                    logger.trace("Writing data null boolean");
-                    out.writeBoolean(false);
-                }
-                logger.trace("individual event writing completed");
+        return KogitoDataEventSerializationHelper.writeBatch(compress, out -> writeEvents(out, data));
+    }
+
+    private static void writeEvents(DataOutput out, Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> data) throws IOException {
+        logger.trace("Writing size {}", data.size());
+        writeInt(out, data.size());
+        Map<String, ProcessInstanceDataEventExtensionRecord> infos = new HashMap<>();
+        for (ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> cloudEvent : data) {
+            String key = cloudEvent.getKogitoProcessInstanceId();
+            ProcessInstanceDataEventExtensionRecord info = infos.get(key);
+            if (info == null) {
+                logger.trace("Writing marker -1");
+                writeInt(out, -1);
+                info = new ProcessInstanceDataEventExtensionRecord(infos.size(), cloudEvent);
+                logger.trace("Writing info", info);
+                info.writeEvent(out);
+                infos.put(key, info);
+            } else {
+                logger.trace("Writing marker {}", info.getOrdinal());
+                writeInt(out, info.getOrdinal());
+            }
+            logger.trace("Writing type {}", cloudEvent.getType());
+            out.writeUTF(cloudEvent.getType());
+            int timeDelta = KogitoDataEventSerializationHelper.timeDelta(info.getTime(), cloudEvent.getTime());
+            logger.trace("Writing time delta {}", timeDelta);
+            writeInt(out, timeDelta);
+            logger.trace("Writing cloud event attrs {}", cloudEvent);
+            KogitoDataEventSerializationHelper.writeCloudEventAttrs(out, cloudEvent);
+            KogitoMarshallEventSupport itemData = cloudEvent.getData();
+            if (itemData != null) {
+                logger.trace("Writing data not null boolean");
+                out.writeBoolean(true);
+                logger.trace("Writing cloud event body {}", itemData);
+                itemData.writeEvent(out);
+            } else {
+                logger.trace("Writing data null boolean");
+                out.writeBoolean(false);
             }
+            logger.trace("individual event writing completed");
         }
-        return bytesOut.toByteArray();
     }
 
 }
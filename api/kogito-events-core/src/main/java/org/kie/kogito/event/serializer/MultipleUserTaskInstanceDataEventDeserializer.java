@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.serializer;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceAttachmentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAttachmentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDeadlineDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDeadlineEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableEventBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+
+import io.cloudevents.SpecVersion;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readInt;
+
+public class MultipleUserTaskInstanceDataEventDeserializer extends JsonDeserializer<MultipleUserTaskInstanceDataEvent> implements ResolvableDeserializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultipleUserTaskInstanceDataEventDeserializer.class);
+
+    private JsonDeserializer<Object> defaultDeserializer;
+
+    public MultipleUserTaskInstanceDataEventDeserializer(JsonDeserializer<Object> deserializer) {
+        this.defaultDeserializer = deserializer;
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        ((ResolvableDeserializer) defaultDeserializer).resolve(ctxt);
+    }
+
+    @Override
+    public MultipleUserTaskInstanceDataEvent deserialize(JsonParser p, DeserializationContext ctxt)
+            throws IOException, JacksonException {
+        JsonNode node = p.getCodec().readTree(p);
+        JsonNode dataContentType = node.get("datacontenttype");
+        if (dataContentType != null && MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE.equals(dataContentType.asText())) {
+            MultipleUserTaskInstanceDataEvent event = new MultipleUserTaskInstanceDataEvent();
+            event.setDataContentType(dataContentType.asText());
+            event.setSource(URI.create(node.get("source").asText()));
+            event.setType(node.get("type").asText());
+            event.setSpecVersion(SpecVersion.parse(node.get("specversion").asText()));
+            event.setId(node.get("id").asText());
+            JsonNode data = node.get("data");
+            if (data != null) {
+                event.setData(readFromBytes(data.binaryValue(), isCompressed(node)));
+            }
+            return event;
+        } else {
+            JsonParser newParser = node.traverse(p.getCodec());
+            newParser.nextToken();
+            return (MultipleUserTaskInstanceDataEvent) defaultDeserializer.deserialize(newParser, ctxt);
+        }
+    }
+
+    private static boolean isCompressed(JsonNode node) {
+        JsonNode compress = node.get(MultipleUserTaskInstanceDataEvent.COMPRESS_DATA);
+        return compress != null && compress.isBoolean() ? compress.asBoolean() : false;
+    }
+
+    static Collection<UserTaskInstanceDataEvent<?>> readFromBytes(byte[] binaryValue, boolean compressed) throws IOException {
+        logger.trace("Reading {} byte array", compressed ? "gzip compressed" : "uncompressed");
+        return KogitoDataEventSerializationHelper.readBatch(binaryValue, compressed, MultipleUserTaskInstanceDataEventDeserializer::readEvents);
+    }
+
+    private static Collection<UserTaskInstanceDataEvent<?>> readEvents(DataInput in, boolean dictionary) throws IOException {
+        if (!dictionary) {
+            throw new IOException("User task event batches must be written using the dictionary format");
+        }
+        int size = readInt(in);
+        logger.trace("Reading collection of size {}", size);
+        Collection<UserTaskInstanceDataEvent<?>> result = new ArrayList<>(size);
+        List<UserTaskInstanceDataEventExtensionRecord> infos = new ArrayList<>();
+        while (size-- > 0) {
+            int readInfo = readInt(in);
+            logger.trace("Info ordinal is {}", readInfo);
+            UserTaskInstanceDataEventExtensionRecord info;
+            if (readInfo == -1) {
+                info = new UserTaskInstanceDataEventExtensionRecord();
+                info.readEvent(in);
+                logger.trace("Info read is {}", info);
+                infos.add(info);
+            } else {
+                info = infos.get(readInfo);
+                logger.trace("Info cached is {}", info);
+            }
+            String type = in.readUTF();
+            logger.trace("Type is {}", type);
+            result.add(getCloudEvent(in, type, info));
+            logger.trace("{} events remaining", size);
+        }
+        return result;
+    }
+
+    private static UserTaskInstanceDataEvent<?> getCloudEvent(DataInput in, String type, UserTaskInstanceDataEventExtensionRecord info) throws IOException {
+        switch (type) {
+            case "UserTaskInstanceAssignmentDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceAssignmentDataEvent(), UserTaskInstanceAssignmentEventBody::new, info);
+            case "UserTaskInstanceAttachmentDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceAttachmentDataEvent(), UserTaskInstanceAttachmentEventBody::new, info);
+            case "UserTaskInstanceCommentDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceCommentDataEvent(), UserTaskInstanceCommentEventBody::new, info);
+            case "UserTaskInstanceDeadlineDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceDeadlineDataEvent(), UserTaskInstanceDeadlineEventBody::new, info);
+            case "UserTaskInstanceStateDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceStateDataEvent(), UserTaskInstanceStateEventBody::new, info);
+            case "UserTaskInstanceVariableDataEvent":
+                return buildDataEvent(in, type, new UserTaskInstanceVariableDataEvent(), UserTaskInstanceVariableEventBody::new, info);
+            default:
+                throw new UnsupportedOperationException("Unrecognized event type " + type);
+        }
+    }
+
+    private static <T extends UserTaskInstanceDataEvent<V>, V extends KogitoMarshallEventSupport> T buildDataEvent(DataInput in, String type, T cloudEvent, Supplier<V> bodySupplier,
+            UserTaskInstanceDataEventExtensionRecord info) throws IOException {
+        cloudEvent.setType(type);
+        int delta = readInt(in);
+        logger.trace("Time delta is {}", delta);
+        cloudEvent.setTime(KogitoDataEventSerializationHelper.plusDelta(info.getTime(), delta));
+        KogitoDataEventSerializationHelper.readCloudEventAttrs(in, cloudEvent);
+        info.populate(cloudEvent);
+        logger.trace("Cloud event after population {}", cloudEvent);
+
+        boolean isNotNull = in.readBoolean();
+        if (isNotNull) {
+            V body = bodySupplier.get();
+            body.readEvent(in);
+            logger.trace("Event body {}", body);
+            cloudEvent.setData(body);
+        } else {
+            logger.trace("Data is null");
+        }
+        return cloudEvent;
+    }
+
+}
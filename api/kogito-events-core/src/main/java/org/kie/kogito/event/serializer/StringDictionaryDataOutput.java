@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.serializer;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link DataOutput} that writes every string once per stream. A string is written as a variable length code: zero followed by the
+ * string the first time, the position of its first occurrence afterwards. Process ids, versions, node ids, event types and the like,
+ * repeated by most events of a batch, take one or two bytes after their first occurrence.
+ * <p>
+ * Strings longer than {@link #MAX_ENTRY_LENGTH}, unlikely to be repeated, are always written in full and not remembered.
+ * Must be read with {@link StringDictionaryDataInput}.
+ */
+class StringDictionaryDataOutput implements DataOutput {
+
+    static final int MAX_ENTRY_LENGTH = 256;
+    static final int MAX_ENTRIES = 1 << 16;
+
+    private final DataOutput out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    StringDictionaryDataOutput(DataOutput out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        Integer code = dictionary.get(s);
+        if (code != null) {
+            writeVarInt(out, code);
+        } else {
+            writeVarInt(out, 0);
+            out.writeUTF(s);
+            if (isEntry(s, dictionary.size())) {
+                dictionary.put(s, dictionary.size() + 1);
+            }
+        }
+    }
+
+    static boolean isEntry(String s, int size) {
+        return s.length() <= MAX_ENTRY_LENGTH && size < MAX_ENTRIES;
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        out.writeBoolean(v);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        out.writeByte(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        out.writeShort(v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        out.writeChar(v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        out.writeInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        out.writeLong(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        out.writeFloat(v);
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        out.writeDouble(v);
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        out.writeBytes(s);
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        out.writeChars(s);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.serializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URI;
+import java.time.OffsetDateTime;
+
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.*;
+
+class UserTaskInstanceDataEventExtensionRecord implements KogitoMarshallEventSupport {
+
+    private String userTaskInstanceId;
+    private String userTaskInstanceState;
+    private String processInstanceId;
+    private String processInstanceVersion;
+    private String processInstanceState;
+    private String processId;
+    private String processType;
+    private String parentInstanceId;
+    private String rootId;
+    private String rootInstanceId;
+    private String referenceId;
+    private String businessKey;
+    private String identity;
+    private URI source;
+    private OffsetDateTime time;
+    private String addons;
+    private transient int ordinal;
+
+    public UserTaskInstanceDataEventExtensionRecord() {
+    }
+
+    public UserTaskInstanceDataEventExtensionRecord(int ordinal, UserTaskInstanceDataEvent<?> dataEvent) {
+        this.ordinal = ordinal;
+        userTaskInstanceId = dataEvent.getKogitoUserTaskInstanceId();
+        userTaskInstanceState = dataEvent.getKogitoUserTaskInstanceState();
+        processInstanceId = dataEvent.getKogitoProcessInstanceId();
+        processInstanceVersion = dataEvent.getKogitoProcessInstanceVersion();
+        processInstanceState = dataEvent.getKogitoProcessInstanceState();
+        processId = dataEvent.getKogitoProcessId();
+        processType = dataEvent.getKogitoProcessType();
+        parentInstanceId = dataEvent.getKogitoParentProcessInstanceId();
+        rootId = dataEvent.getKogitoRootProcessId();
+        rootInstanceId = dataEvent.getKogitoRootProcessInstanceId();
+        referenceId = dataEvent.getKogitoReferenceId();
+        businessKey = dataEvent.getKogitoBusinessKey();
+        identity = dataEvent.getKogitoIdentity();
+        source = dataEvent.getSource();
+        time = dataEvent.getTime();
+        addons = dataEvent.getKogitoAddons();
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public OffsetDateTime getTime() {
+        return time;
+    }
+
+    void populate(UserTaskInstanceDataEvent<?> event) {
+        event.setKogitoUserTaskInstanceId(userTaskInstanceId);
+        event.setKogitoUserTaskInstanceState(userTaskInstanceState);
+        event.setKogitoProcessInstanceId(processInstanceId);
+        event.setKogitoProcessInstanceVersion(processInstanceVersion);
+        event.setKogitoProcessInstanceState(processInstanceState);
+        event.setKogitoProcessId(processId);
+        event.setKogitoProcessType(processType);
+        event.setKogitoParentProcessInstanceId(parentInstanceId);
+        event.setKogitoRootProcessId(rootId);
+        event.setKogitoRootProcessInstanceId(rootInstanceId);
+        event.setKogitoReferenceId(referenceId);
+        event.setKogitoBusinessKey(businessKey);
+        event.setKogitoIdentity(identity);
+        event.setSource(source);
+        event.setKogitoAddons(addons);
+    }
+
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, userTaskInstanceState);
+        writeUTF(out, processInstanceId);
+        writeUTF(out, processInstanceVersion);
+        writeUTF(out, processInstanceState);
+        writeUTF(out, processId);
+        writeUTF(out, processType);
+        writeUTF(out, parentInstanceId);
+        writeUTF(out, rootId);
+        writeUTF(out, rootInstanceId);
+        writeUTF(out, referenceId);
+        writeUTF(out, businessKey);
+        writeUTF(out, identity);
+        writeUTF(out, source != null ? source.toString() : null);
+        writeTime(out, time);
+        writeUTF(out, addons);
+    }
+
+    @Override
+    public void readEvent(DataInput in) throws IOException {
+        userTaskInstanceId = readUTF(in);
+        userTaskInstanceState = readUTF(in);
+        processInstanceId = readUTF(in);
+        processInstanceVersion = readUTF(in);
+        processInstanceState = readUTF(in);
+        processId = readUTF(in);
+        processType = readUTF(in);
+        parentInstanceId = readUTF(in);
+        rootId = readUTF(in);
+        rootInstanceId = readUTF(in);
+        referenceId = readUTF(in);
+        businessKey = readUTF(in);
+        identity = readUTF(in);
+        String sourceValue = readUTF(in);
+        source = sourceValue != null ? URI.create(sourceValue) : null;
+        time = readTime(in);
+        addons = readUTF(in);
+    }
+
+    @Override
+    public String toString() {
+        return "UserTaskInstanceDataEventExtensionRecord [userTaskInstanceId=" + userTaskInstanceId + ", userTaskInstanceState=" + userTaskInstanceState
+                + ", processInstanceId=" + processInstanceId + ", processInstanceVersion=" + processInstanceVersion + ", processInstanceState=" + processInstanceState
+                + ", processId=" + processId + ", processType=" + processType + ", parentInstanceId=" + parentInstanceId + ", rootId=" + rootId
+                + ", rootInstanceId=" + rootInstanceId + ", referenceId=" + referenceId + ", businessKey=" + businessKey + ", identity=" + identity
+                + ", source=" + source + ", time=" + time + ", addons=" + addons + "]";
+    }
+}
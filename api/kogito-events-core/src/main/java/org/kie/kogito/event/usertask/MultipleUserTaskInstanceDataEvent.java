@@ -21,9 +21,13 @@ package org.kie.kogito.event.usertask;
 import java.net.URI;
 import java.util.Collection;
 
+import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
+
 public class MultipleUserTaskInstanceDataEvent extends UserTaskInstanceDataEvent<Collection<UserTaskInstanceDataEvent<?>>> {
 
     public static final String TYPE = "MultipleUserTaskInstanceDataEvent";
+    public static final String BINARY_CONTENT_TYPE = MultipleProcessInstanceDataEvent.BINARY_CONTENT_TYPE;
+    public static final String COMPRESS_DATA = MultipleProcessInstanceDataEvent.COMPRESS_DATA;
 
     public MultipleUserTaskInstanceDataEvent() {
     }
@@ -31,4 +35,12 @@ public class MultipleUserTaskInstanceDataEvent extends UserTaskInstanceDataEvent
     public MultipleUserTaskInstanceDataEvent(URI source, Collection<UserTaskInstanceDataEvent<?>> body) {
         super(TYPE, source, body);
     }
+
+    public boolean isCompressed() {
+        return MultipleProcessInstanceDataEvent.isCompressed(getExtension(COMPRESS_DATA));
+    }
+
+    public void setCompressed(boolean compressed) {
+        addExtensionAttribute(COMPRESS_DATA, compressed);
+    }
 }
@@ -18,12 +18,15 @@
  */
 package org.kie.kogito.event.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
@@ -252,4 +255,43 @@ class ProcessEventDispatcherTest {
         assertThat(processInstanceId.getValue()).isEqualTo("1");
         assertThat(processInstance).isEqualTo(instance);
     }
+
+    @Test
+    void testLookupRunsInExecutor() throws Exception {
+        List<Thread> lookupThreads = Collections.synchronizedList(new ArrayList<>());
+        when(processInstances.findById("1")).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread());
+            return Optional.of(processInstance);
+        });
+        EventDispatcher<DummyModel, TestEvent> dispatcher = new ProcessEventDispatcher<>(process, Optional.empty(), processService, executor, null, o -> o.getData());
+        dispatcher.dispatch(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("pepe"), DUMMY_TOPIC, "source", "1")).toCompletableFuture().get();
+
+        assertThat(lookupThreads).hasSize(1).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void testEventsForSameInstanceAreOrdered() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Object> signaled = Collections.synchronizedList(new ArrayList<>());
+        when(processService.signalProcessInstance(eq(process), eq("1"), any(), any())).thenAnswer(invocation -> {
+            TestEvent data = invocation.getArgument(2);
+            // the first events take longer, so they would complete last if run in parallel
+            Thread.sleep(Math.max(0, 20 - 2L * signaled.size()));
+            signaled.add(data.getDummyField());
+            return Optional.of(mock(DummyModel.class));
+        });
+        try {
+            EventDispatcher<DummyModel, TestEvent> dispatcher = new ProcessEventDispatcher<>(process, Optional.empty(), processService, pool, null, o -> o.getData());
+            List<String> expected = new ArrayList<>();
+            List<CompletableFuture<ProcessInstance<DummyModel>>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                expected.add("event" + i);
+                results.add(dispatcher.dispatch(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("event" + i), DUMMY_TOPIC, "source", "1")).toCompletableFuture());
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get();
+            assertThat(signaled).containsExactlyElementsOf(expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -21,9 +21,11 @@ package org.kie.kogito.event.process;
 import java.io.IOException;
 import java.net.URI;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -34,7 +36,14 @@ import org.kie.kogito.event.AbstractDataEvent;
 import org.kie.kogito.event.DataEventFactory;
 import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
 import org.kie.kogito.event.serializer.MultipleProcessDataInstanceConverterFactory;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableEventBody;
 import org.kie.kogito.jackson.utils.JsonObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -291,6 +300,123 @@ class ProcessEventsTest {
         assertMultipleIntance(deserializedEvent, expectedVarValue);
     }
 
+    @Test
+    void multipleInstanceDataEventWithManyInstances() throws IOException {
+        List<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ProcessInstanceStateDataEvent stateEvent = new ProcessInstanceStateDataEvent();
+            setBaseEventValues(stateEvent, ProcessInstanceStateDataEvent.STATE_TYPE);
+            stateEvent.setKogitoProcessInstanceId(PROCESS_INSTANCE_ID + i);
+            stateEvent.setTime(TIME.plusSeconds(i));
+            stateEvent.setData(ProcessInstanceStateEventBody.create().eventDate(toDate(TIME)).eventType(EVENT_TYPE).eventUser(SUBJECT)
+                    .processId(PROCESS_ID).processInstanceId(PROCESS_INSTANCE_ID + i).state(PROCESS_STATE).build());
+            events.add(stateEvent);
+            ProcessInstanceStateDataEvent laterEvent = new ProcessInstanceStateDataEvent();
+            setBaseEventValues(laterEvent, ProcessInstanceStateDataEvent.STATE_TYPE);
+            laterEvent.setKogitoProcessInstanceId(PROCESS_INSTANCE_ID + i);
+            laterEvent.setTime(TIME.plusSeconds(i).plusNanos(1_500_000));
+            events.add(laterEvent);
+        }
+        MultipleProcessInstanceDataEvent event = new MultipleProcessInstanceDataEvent(SOURCE, events);
+        event.setDataContentType(MultipleProcessInstanceDataEvent.BINARY_CONTENT_TYPE);
+
+        MultipleProcessInstanceDataEvent deserializedEvent = serializeAsStructured(event);
+        assertThat(deserializedEvent.getData()).hasSize(events.size());
+        Iterator<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> iter = deserializedEvent.getData().iterator();
+        for (ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> expected : events) {
+            ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport> deserialized = iter.next();
+            assertThat(deserialized.getKogitoProcessInstanceId()).isEqualTo(expected.getKogitoProcessInstanceId());
+            assertThat(deserialized.getTime()).isEqualTo(expected.getTime().withNano(expected.getTime().getNano() / 1_000_000 * 1_000_000));
+        }
+    }
+
+    @Test
+    void multipleInstanceDataEventWithOutOfOrderTimes() throws IOException {
+        List<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> events = new ArrayList<>();
+        // deltas from the time of the first event that fit in a byte, a short and an int, both ways
+        for (long delta : new long[] { 0, -1, 1, -128, -129, 200, -200, -40_000, 40_000, -172_800_000, 172_800_000 }) {
+            ProcessInstanceStateDataEvent stateEvent = new ProcessInstanceStateDataEvent();
+            setBaseEventValues(stateEvent, ProcessInstanceStateDataEvent.STATE_TYPE);
+            stateEvent.setTime(TIME.plusNanos(delta * 1_000_000));
+            stateEvent.setData(ProcessInstanceStateEventBody.create().eventDate(toDate(TIME)).eventType(EVENT_TYPE).eventUser(SUBJECT)
+                    .processId(PROCESS_ID).processInstanceId(PROCESS_INSTANCE_ID).state(PROCESS_STATE).build());
+            events.add(stateEvent);
+        }
+        MultipleProcessInstanceDataEvent event = new MultipleProcessInstanceDataEvent(SOURCE, events);
+        event.setDataContentType(MultipleProcessInstanceDataEvent.BINARY_CONTENT_TYPE);
+
+        MultipleProcessInstanceDataEvent deserializedEvent = serializeAsStructured(event);
+        List<OffsetDateTime> times = new ArrayList<>();
+        deserializedEvent.getData().forEach(deserialized -> times.add(deserialized.getTime()));
+        assertThat(times).containsExactlyElementsOf(events.stream().map(expected -> expected.getTime()).toList());
+    }
+
+    @Test
+    void multipleUserTaskInstanceDataEvent() throws IOException {
+        JsonNode expectedVarValue = OBJECT_MAPPER.createObjectNode().put("name", "John Doe");
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, false, false);
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, true, false);
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, true, true);
+    }
+
+    private void processMultipleUserTaskInstanceDataEvent(JsonNode expectedVarValue, boolean binary, boolean compress) throws IOException {
+        UserTaskInstanceStateDataEvent stateEvent = new UserTaskInstanceStateDataEvent();
+        setBaseUserTaskEventValues(stateEvent, "UserTaskInstanceStateDataEvent", "Ready");
+        stateEvent.setData(UserTaskInstanceStateEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).userTaskName(NODE_NAME).state("Ready").processInstanceId(PROCESS_INSTANCE_ID)
+                .eventType("Ready").slaDueDate(toDate(TIME)).build());
+
+        UserTaskInstanceAssignmentDataEvent assignmentEvent = new UserTaskInstanceAssignmentDataEvent();
+        setBaseUserTaskEventValues(assignmentEvent, "UserTaskInstanceAssignmentDataEvent", "Ready");
+        assignmentEvent.setData(UserTaskInstanceAssignmentEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).userTaskName(NODE_NAME).assignmentType("USER_OWNERS").users("john", "mary").build());
+
+        UserTaskInstanceVariableDataEvent varEvent = new UserTaskInstanceVariableDataEvent();
+        setBaseUserTaskEventValues(varEvent, "UserTaskInstanceVariableDataEvent", "Completed");
+        varEvent.setTime(TIME.plusSeconds(5));
+        varEvent.setData(UserTaskInstanceVariableEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).userTaskName(NODE_NAME).variableId(VARIABLE_NAME).variableName(VARIABLE_NAME)
+                .variableType("OUTPUT").variableValue(expectedVarValue).build());
+
+        MultipleUserTaskInstanceDataEvent event = new MultipleUserTaskInstanceDataEvent(SOURCE, Arrays.asList(stateEvent, assignmentEvent, varEvent));
+        if (binary) {
+            event.setDataContentType(MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE);
+        }
+        if (compress) {
+            event.setCompressed(compress);
+        }
+
+        MultipleUserTaskInstanceDataEvent deserializedEvent = OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsBytes(event), MultipleUserTaskInstanceDataEvent.class);
+        assertThat(deserializedEvent.getData()).hasSize(event.getData().size());
+
+        Iterator<UserTaskInstanceDataEvent<?>> iter = deserializedEvent.getData().iterator();
+        UserTaskInstanceStateDataEvent deserializedStateEvent = (UserTaskInstanceStateDataEvent) iter.next();
+        assertBaseEventValues(deserializedStateEvent, "UserTaskInstanceStateDataEvent");
+        assertThat(deserializedStateEvent.getKogitoUserTaskInstanceId()).isEqualTo(PROCESS_USER_TASK_INSTANCE_ID);
+        assertThat(deserializedStateEvent.getKogitoUserTaskInstanceState()).isEqualTo("Ready");
+        assertThat(deserializedStateEvent.getData().getState()).isEqualTo("Ready");
+        assertThat(deserializedStateEvent.getData().getUserTaskName()).isEqualTo(NODE_NAME);
+        assertThat(deserializedStateEvent.getData().getSlaDueDate()).isEqualTo(toDate(TIME));
+
+        UserTaskInstanceAssignmentDataEvent deserializedAssignmentEvent = (UserTaskInstanceAssignmentDataEvent) iter.next();
+        assertBaseEventValues(deserializedAssignmentEvent, "UserTaskInstanceAssignmentDataEvent");
+        assertThat(deserializedAssignmentEvent.getData().getAssignmentType()).isEqualTo("USER_OWNERS");
+        assertThat(deserializedAssignmentEvent.getData().getUsers()).containsExactly("john", "mary");
+
+        UserTaskInstanceVariableDataEvent deserializedVarEvent = (UserTaskInstanceVariableDataEvent) iter.next();
+        assertThat(deserializedVarEvent.getType()).isEqualTo("UserTaskInstanceVariableDataEvent");
+        assertThat(deserializedVarEvent.getTime()).isEqualTo(TIME.plusSeconds(5));
+        assertThat(deserializedVarEvent.getKogitoUserTaskInstanceState()).isEqualTo("Completed");
+        assertThat(deserializedVarEvent.getData().getVariableName()).isEqualTo(VARIABLE_NAME);
+        assertThat(JsonObjectUtils.fromValue(deserializedVarEvent.getData().getVariableValue())).isEqualTo(expectedVarValue);
+    }
+
+    private static void setBaseUserTaskEventValues(UserTaskInstanceDataEvent<?> event, String eventType, String state) {
+        setBaseEventValues(event, eventType);
+        event.setKogitoUserTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID);
+        event.setKogitoUserTaskInstanceState(state);
+    }
+
     private void assertMultipleIntance(MultipleProcessInstanceDataEvent deserializedEvent, JsonNode expectedVarValue) {
 
         Iterator<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>> iter = deserializedEvent.getData().iterator();
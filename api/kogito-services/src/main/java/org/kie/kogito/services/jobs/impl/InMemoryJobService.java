@@ -25,11 +25,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.kie.kogito.event.KogitoThreadPoolFactory;
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.slf4j.Logger;
@@ -45,14 +49,46 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs;
     protected List<JobExecutorFactory> jobExecutorFactories;
 
+    protected final JobStore jobStore;
+    protected final ExecutorService firingExecutor;
+
     public InMemoryJobService() {
         this(new ScheduledThreadPoolExecutor(Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"))));
     }
 
     public InMemoryJobService(ScheduledExecutorService scheduler) {
+        this(scheduler, null, null);
+    }
+
+    /**
+     * @param jobStore where scheduled jobs are persisted, null to keep them in memory only
+     * @param firingExecutor where expired jobs are executed, null to execute them in the scheduler threads
+     */
+    public InMemoryJobService(ScheduledExecutorService scheduler, JobStore jobStore, ExecutorService firingExecutor) {
         this.scheduledJobs = new ConcurrentHashMap<>();
         this.jobExecutorFactories = new ArrayList<>();
         this.scheduler = scheduler;
+        this.jobStore = jobStore;
+        this.firingExecutor = firingExecutor;
+        if (jobStore != null && jobStore.refreshInterval().toMillis() > 0) {
+            long refresh = jobStore.refreshInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::reloadJobs, refresh, refresh, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Executor for firing jobs without limiting their concurrency to the scheduler pool size.
+     * Uses virtual threads when the running JVM supports them, otherwise a pool of
+     * <code>kogito.in-memory.job-service.pool-size</code> threads.
+     */
+    public static ExecutorService newFiringExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int poolSize = Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"));
+            LOGGER.debug("Virtual threads not available, using a pool of {} threads to fire jobs", poolSize);
+            return Executors.newFixedThreadPool(poolSize, new KogitoThreadPoolFactory("kogito-jobs"));
+        }
     }
 
     public InMemoryJobService registerJobExecutorFactory(JobExecutorFactory jobExecutorFactory) {
@@ -64,36 +100,109 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
             }
         }
         this.jobExecutorFactories.add(jobExecutorFactory);
+        // stored jobs handled by this factory can be scheduled now
+        reloadJobs();
         return this;
     }
 
     @Override
     public String scheduleJob(JobDescription jobDescription) {
         LOGGER.debug("ScheduleProcessJob: {}", jobDescription);
-        ScheduledFuture<?> future;
-        long delay = calculateDelay(jobDescription);
-        Long interval = jobDescription.expirationTime().repeatInterval();
-        Optional<JobExecutorFactory> jobExecutorFactoryFound = findJobExecutorFactory(jobDescription);
+        String id = schedule(jobDescription);
+        if (isStored(jobDescription)) {
+            jobStore.save(jobDescription);
+        }
+        return id;
+    }
 
-        if (jobExecutorFactoryFound.isEmpty()) {
-            throw new IllegalArgumentException("Could not schedule " + jobDescription + ". No job executor factory provided");
+    /**
+     * Schedules the jobs persisted in the job store that are not scheduled yet in this node, either because the
+     * application has been restarted or because they were created by another node.
+     *
+     * @return number of jobs scheduled
+     */
+    public int reloadJobs() {
+        if (jobStore == null) {
+            return 0;
+        }
+        int count = 0;
+        // jobs that completed or failed without being cancelled are kept until then
+        scheduledJobs.values().removeIf(ScheduledFuture::isDone);
+        try {
+            for (JobDescription jobDescription : jobStore.loadAll()) {
+                if (!isScheduled(jobDescription.id()) && findJobExecutorFactory(jobDescription).isPresent()) {
+                    schedule(jobDescription);
+                    count++;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error reloading jobs from store", e);
         }
+        LOGGER.debug("Reloaded {} jobs from store", count);
+        return count;
+    }
+
+    private boolean isStored(JobDescription jobDescription) {
+        return jobStore != null && jobStore.accept(jobDescription);
+    }
 
-        JobExecutorFactory jobExecutorFactory = jobExecutorFactoryFound.get();
+    protected boolean isScheduled(String id) {
+        ScheduledFuture<?> future = scheduledJobs.get(id);
+        return future != null && !future.isDone();
+    }
+
+    /**
+     * Schedules the job locally, without storing it
+     */
+    protected String schedule(JobDescription jobDescription) {
+        ScheduledFuture<?> future;
+        long delay = calculateDelay(jobDescription);
+        Long interval = jobDescription.expirationTime().repeatInterval();
+        JobExecutorFactory jobExecutorFactory = getJobExecutorFactory(jobDescription);
 
         if (interval != null) {
-            future = scheduler.scheduleAtFixedRate(jobExecutorFactory.createNewRepeteableRunnable(this, jobDescription), delay, interval, TimeUnit.MILLISECONDS);
+            future = scheduler.scheduleAtFixedRate(fire(jobDescription, jobExecutorFactory.createNewRepeteableRunnable(this, jobDescription)), delay, interval, TimeUnit.MILLISECONDS);
         } else {
-            future = scheduler.schedule(jobExecutorFactory.createNewRunnable(this, jobDescription), delay, TimeUnit.MILLISECONDS);
+            future = scheduler.schedule(fire(jobDescription, jobExecutorFactory.createNewRunnable(this, jobDescription)), delay, TimeUnit.MILLISECONDS);
         }
         scheduledJobs.put(jobDescription.id(), future);
         return jobDescription.id();
     }
 
-    private Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
+    private Runnable fire(JobDescription jobDescription, Runnable job) {
+        boolean stored = isStored(jobDescription);
+        if (!stored && firingExecutor == null) {
+            return job;
+        }
+        Executor executor = firingExecutor == null ? Runnable::run : firingExecutor;
+        return () -> {
+            if (acquire(jobDescription)) {
+                executor.execute(job);
+            }
+        };
+    }
+
+    /**
+     * Checks that this node can execute the expired job. A stored job leased by another node, or that no longer exists, is unscheduled.
+     */
+    protected boolean acquire(JobDescription jobDescription) {
+        if (isStored(jobDescription) && !jobStore.lease(jobDescription.id())) {
+            LOGGER.debug("Job {} is owned by another node or no longer exists, skipping it", jobDescription.id());
+            unschedule(jobDescription.id(), false);
+            return false;
+        }
+        return true;
+    }
+
+    protected Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
         return jobExecutorFactories.stream().filter(factory -> factory.accept(jobDescription)).findFirst();
     }
 
+    protected JobExecutorFactory getJobExecutorFactory(JobDescription jobDescription) {
+        return findJobExecutorFactory(jobDescription)
+                .orElseThrow(() -> new IllegalArgumentException("Could not schedule " + jobDescription + ". No job executor factory provided"));
+    }
+
     @Override
     public boolean cancelJob(String id) {
         return cancelJob(id, false);
@@ -101,6 +210,16 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
 
     public boolean cancelJob(String id, boolean force) {
         LOGGER.debug("Cancel Job: {}", id);
+        if (jobStore != null) {
+            jobStore.remove(id);
+        }
+        return unschedule(id, force);
+    }
+
+    /**
+     * Cancels the local execution of the job, without removing it from the store
+     */
+    protected boolean unschedule(String id, boolean force) {
         if (scheduledJobs.containsKey(id)) {
             ScheduledFuture<?> future = scheduledJobs.remove(id);
             if (!future.isDone()) {
@@ -124,6 +243,9 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
         scheduledJobs.clear();
         scheduledJobs.forEach((k, v) -> v.cancel(true));
         scheduler.shutdownNow();
+        if (firingExecutor != null) {
+            firingExecutor.shutdownNow();
+        }
     }
 
     public void clearJobExecutorFactories() {
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.ZonedDateTime;
+
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Json representation of the job descriptions that can be persisted by a {@link JobStore}.
+ * <p>
+ * Process jobs, used by timer start events, are not supported because they are scheduled again whenever the application starts.
+ */
+public final class JobDescriptionCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String TYPE = "type";
+    private static final String PROCESS_INSTANCE = "processInstance";
+    private static final String USER_TASK_INSTANCE = "userTaskInstance";
+    private static final String ID = "id";
+    private static final String PRIORITY = "priority";
+    private static final String EXPIRATION = "expiration";
+    private static final String REPEAT_INTERVAL = "repeatInterval";
+    private static final String REPEAT_LIMIT = "repeatLimit";
+    private static final String TIMER_ID = "timerId";
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+    private static final String ROOT_PROCESS_INSTANCE_ID = "rootProcessInstanceId";
+    private static final String PROCESS_ID = "processId";
+    private static final String ROOT_PROCESS_ID = "rootProcessId";
+    private static final String NODE_INSTANCE_ID = "nodeInstanceId";
+    private static final String USER_TASK_INSTANCE_ID = "userTaskInstanceId";
+
+    private JobDescriptionCodec() {
+    }
+
+    public static boolean supports(JobDescription job) {
+        return job instanceof ProcessInstanceJobDescription || job instanceof UserTaskInstanceJobDescription;
+    }
+
+    public static String encode(JobDescription job) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put(ID, job.id());
+        node.put(PRIORITY, job.priority());
+        node.put(EXPIRATION, job.expirationTime().get().toString());
+        node.put(REPEAT_INTERVAL, job.expirationTime().repeatInterval());
+        node.put(REPEAT_LIMIT, job.expirationTime().repeatLimit());
+        if (job instanceof ProcessInstanceJobDescription processInstanceJob) {
+            node.put(TYPE, PROCESS_INSTANCE);
+            node.put(TIMER_ID, processInstanceJob.timerId());
+            node.put(PROCESS_INSTANCE_ID, processInstanceJob.processInstanceId());
+            node.put(ROOT_PROCESS_INSTANCE_ID, processInstanceJob.rootProcessInstanceId());
+            node.put(PROCESS_ID, processInstanceJob.processId());
+            node.put(ROOT_PROCESS_ID, processInstanceJob.rootProcessId());
+            node.put(NODE_INSTANCE_ID, processInstanceJob.nodeInstanceId());
+        } else if (job instanceof UserTaskInstanceJobDescription userTaskJob) {
+            node.put(TYPE, USER_TASK_INSTANCE);
+            node.put(USER_TASK_INSTANCE_ID, userTaskJob.getUserTaskInstanceId());
+        } else {
+            throw new IllegalArgumentException("Job description " + job + " cannot be persisted");
+        }
+        return node.toString();
+    }
+
+    public static JobDescription decode(String json) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid job description " + json, e);
+        }
+        ExpirationTime expirationTime = expirationTime(node);
+        String type = node.path(TYPE).asText();
+        switch (type) {
+            case PROCESS_INSTANCE:
+                return new ProcessInstanceJobDescription(text(node, ID), text(node, TIMER_ID), expirationTime, node.get(PRIORITY).asInt(),
+                        text(node, PROCESS_INSTANCE_ID), text(node, ROOT_PROCESS_INSTANCE_ID), text(node, PROCESS_ID), text(node, ROOT_PROCESS_ID), text(node, NODE_INSTANCE_ID));
+            case USER_TASK_INSTANCE:
+                return new UserTaskInstanceJobDescription(text(node, ID), expirationTime, node.get(PRIORITY).asInt(), text(node, USER_TASK_INSTANCE_ID));
+            default:
+                throw new IllegalArgumentException("Unknown job description type " + type);
+        }
+    }
+
+    private static ExpirationTime expirationTime(JsonNode node) {
+        ZonedDateTime expiration = ZonedDateTime.parse(text(node, EXPIRATION));
+        Long repeatInterval = node.hasNonNull(REPEAT_INTERVAL) ? node.get(REPEAT_INTERVAL).asLong() : null;
+        Integer repeatLimit = node.hasNonNull(REPEAT_LIMIT) ? node.get(REPEAT_LIMIT).asInt() : null;
+        return repeatInterval == null ? ExactExpirationTime.of(expiration) : DurationExpirationTime.of(expiration, repeatInterval, repeatLimit);
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.kie.kogito.jobs.JobDescription;
+
+/**
+ * Durable storage of the jobs scheduled by {@link InMemoryJobService}, so they survive a restart and can be shared by several nodes.
+ */
+public interface JobStore {
+
+    /**
+     * @return whether the job can be stored, see {@link JobDescriptionCodec#supports(JobDescription)}
+     */
+    default boolean accept(JobDescription job) {
+        return JobDescriptionCodec.supports(job);
+    }
+
+    /**
+     * Stores the job, replacing any previous job with the same id
+     */
+    void save(JobDescription job);
+
+    void remove(String id);
+
+    List<JobDescription> loadAll();
+
+    /**
+     * Acquires, or renews, the lease that allows this node to execute the job.
+     *
+     * @return false if the job does not exist anymore or its lease is held by another node
+     */
+    boolean lease(String id);
+
+    /**
+     * @return how often stored jobs are reloaded to pick the ones scheduled by other nodes, zero to only load them on startup
+     */
+    default Duration refreshInterval() {
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link InMemoryJobService} that keeps pending jobs in a hierarchical timing wheel instead of a {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ * <p>
+ * Every level of the wheel is an array of buckets, each one a doubly linked list of timers, covering <code>wheelSize</code> ticks of the level.
+ * Timers beyond the range of a level go to an overflow level whose tick is the whole range of the previous one, created on demand, and are
+ * moved down to finer levels as time advances. Scheduling and cancelling a timer are constant time, and only non empty buckets are
+ * tracked by a {@link DelayQueue}, so the ticker thread sleeps until the next bucket expires.
+ * <p>
+ * Process instance timers are kept as plain fields and their {@link JobDescription} and runnable are only created when they fire,
+ * so a pending timer costs a single small object. Timers fire with a precision of one tick.
+ */
+public class TimingWheelJobService extends InMemoryJobService {
+
+    public static final String TIMING_WHEEL_PROPERTY = "kogito.in-memory.job-service.timing-wheel";
+    public static final String TICK_MS_PROPERTY = "kogito.in-memory.job-service.timing-wheel.tick-ms";
+    public static final String WHEEL_SIZE_PROPERTY = "kogito.in-memory.job-service.timing-wheel.size";
+    public static final long DEFAULT_TICK_MS = 100;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheelJobService.class);
+
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final ConcurrentHashMap<String, TimerEntry> timers = new ConcurrentHashMap<>();
+    private final DelayQueue<TimerBucket> queue = new DelayQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel wheel;
+    private final Executor executor;
+    private volatile boolean running = true;
+
+    public TimingWheelJobService() {
+        this(DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE, null, newFiringExecutor());
+    }
+
+    /**
+     * @param tickMs duration of a tick of the finest level, in milliseconds
+     * @param wheelSize number of buckets of every level
+     * @param jobStore where scheduled jobs are persisted, null to keep them in memory only
+     * @param firingExecutor where expired jobs are executed, null to execute them in the ticker thread
+     */
+    public TimingWheelJobService(long tickMs, int wheelSize, JobStore jobStore, ExecutorService firingExecutor) {
+        // one thread runs the ticker, the other one refreshes stored jobs
+        super(Executors.newScheduledThreadPool(2, new KogitoThreadPoolFactory("kogito-timing-wheel")), jobStore, firingExecutor);
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis(), queue);
+        this.executor = firingExecutor == null ? Runnable::run : firingExecutor;
+        scheduler.execute(this::tick);
+    }
+
+    /**
+     * @return number of pending jobs
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    @Override
+    protected boolean isScheduled(String id) {
+        return timers.containsKey(id);
+    }
+
+    @Override
+    protected String schedule(JobDescription jobDescription) {
+        getJobExecutorFactory(jobDescription);
+        TimerEntry entry = TimerEntry.of(jobDescription);
+        TimerEntry previous = timers.put(entry.id, entry);
+        boolean pending;
+        lock.lock();
+        try {
+            if (previous != null) {
+                previous.unlink();
+            }
+            pending = wheel.add(entry);
+        } finally {
+            lock.unlock();
+        }
+        if (!pending) {
+            fire(entry);
+        }
+        return entry.id;
+    }
+
+    @Override
+    protected boolean unschedule(String id, boolean force) {
+        TimerEntry entry = timers.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return entry.unlink();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tick() {
+        while (running) {
+            try {
+                TimerBucket bucket = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (bucket != null) {
+                    advance(bucket);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Error advancing timing wheel", e);
+            }
+        }
+    }
+
+    private void advance(TimerBucket bucket) {
+        List<TimerEntry> expired = new ArrayList<>();
+        Consumer<TimerEntry> reinsert = entry -> {
+            if (!wheel.add(entry)) {
+                expired.add(entry);
+            }
+        };
+        lock.lock();
+        try {
+            while (bucket != null) {
+                wheel.advanceClock(bucket.getExpiration());
+                bucket.flush(reinsert);
+                bucket = queue.poll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(this::fire);
+    }
+
+    private void fire(TimerEntry entry) {
+        if (timers.get(entry.id) == entry) {
+            executor.execute(() -> run(entry));
+        }
+    }
+
+    private void run(TimerEntry entry) {
+        JobDescription jobDescription = entry.toJobDescription();
+        if (!acquire(jobDescription)) {
+            return;
+        }
+        Runnable job = entry.job;
+        if (job == null) {
+            Optional<JobExecutorFactory> factory = findJobExecutorFactory(jobDescription);
+            if (factory.isEmpty()) {
+                LOGGER.warn("Discarding job {}. No job executor factory provided", entry.id);
+                timers.remove(entry.id, entry);
+                return;
+            }
+            if (entry.isRepeatable()) {
+                // repeatable runnables keep the count of executions, so the same instance is used every time
+                job = entry.job = factory.get().createNewRepeteableRunnable(this, jobDescription);
+            } else {
+                job = factory.get().createNewRunnable(this, jobDescription);
+            }
+        }
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error executing job {}", entry.id, e);
+        } finally {
+            if (!entry.isRepeatable()) {
+                timers.remove(entry.id, entry);
+            } else if (timers.get(entry.id) == entry) {
+                reschedule(entry);
+            }
+        }
+    }
+
+    private void reschedule(TimerEntry entry) {
+        boolean pending;
+        lock.lock();
+        try {
+            entry.deadline += entry.interval;
+            pending = wheel.add(entry);
+        } finally {
+            lock.unlock();
+        }
+        if (!pending) {
+            fire(entry);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        running = false;
+        timers.clear();
+        super.close();
+    }
+
+    private static final class TimingWheel {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final TimerBucket[] buckets;
+        private final DelayQueue<TimerBucket> queue;
+        private long currentTime;
+        private TimingWheel overflow;
+
+        TimingWheel(long tickMs, int wheelSize, long startMs, DelayQueue<TimerBucket> queue) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.queue = queue;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new TimerBucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new TimerBucket();
+            }
+        }
+
+        /**
+         * @return false if the timer is already expired
+         */
+        boolean add(TimerEntry entry) {
+            long expiration = entry.deadline;
+            if (expiration < currentTime + tickMs) {
+                return false;
+            } else if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            } else {
+                if (overflow == null) {
+                    overflow = new TimingWheel(interval, wheelSize, currentTime, queue);
+                }
+                return overflow.add(entry);
+            }
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class TimerBucket implements Delayed {
+
+        private final TimerEntry root = new GenericTimerEntry(null, 0, -1, -1, null);
+        private volatile long expiration = -1;
+
+        TimerBucket() {
+            root.next = root;
+            root.prev = root;
+        }
+
+        void add(TimerEntry entry) {
+            entry.bucket = this;
+            entry.next = root;
+            entry.prev = root.prev;
+            root.prev.next = entry;
+            root.prev = entry;
+        }
+
+        void flush(Consumer<TimerEntry> consumer) {
+            TimerEntry entry = root.next;
+            while (entry != root) {
+                TimerEntry next = entry.next;
+                entry.unlink();
+                consumer.accept(entry);
+                entry = next;
+            }
+            expiration = -1;
+        }
+
+        long getExpiration() {
+            return expiration;
+        }
+
+        boolean setExpiration(long expiration) {
+            if (this.expiration != expiration) {
+                this.expiration = expiration;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((TimerBucket) other).expiration);
+        }
+    }
+
+    private abstract static class TimerEntry {
+
+        final String id;
+        final long interval;
+        final int limit;
+        long deadline;
+        Runnable job;
+        TimerEntry prev;
+        TimerEntry next;
+        TimerBucket bucket;
+
+        TimerEntry(String id, long deadline, long interval, int limit) {
+            this.id = id;
+            this.deadline = deadline;
+            this.interval = interval;
+            this.limit = limit;
+        }
+
+        static TimerEntry of(JobDescription jobDescription) {
+            ExpirationTime expirationTime = jobDescription.expirationTime();
+            long deadline = expirationTime.get().toInstant().toEpochMilli();
+            if (expirationTime.repeatInterval() != null && expirationTime.repeatInterval() <= 0) {
+                throw new IllegalArgumentException("Repeat interval of job " + jobDescription.id() + " must be positive");
+            }
+            long interval = expirationTime.repeatInterval() == null ? -1 : expirationTime.repeatInterval();
+            int limit = expirationTime.repeatLimit() == null ? -1 : expirationTime.repeatLimit();
+            if (jobDescription.getClass() == ProcessInstanceJobDescription.class) {
+                return new ProcessInstanceTimerEntry((ProcessInstanceJobDescription) jobDescription, deadline, interval, limit);
+            }
+            return new GenericTimerEntry(jobDescription.id(), deadline, interval, limit, jobDescription);
+        }
+
+        boolean isRepeatable() {
+            return interval >= 0;
+        }
+
+        /**
+         * @return true if the entry was waiting in a bucket
+         */
+        boolean unlink() {
+            if (bucket == null) {
+                return false;
+            }
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            bucket = null;
+            return true;
+        }
+
+        ExpirationTime expirationTime() {
+            ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(deadline), ZoneId.systemDefault());
+            return isRepeatable() ? DurationExpirationTime.of(time, interval, limit) : ExactExpirationTime.of(time);
+        }
+
+        abstract JobDescription toJobDescription();
+    }
+
+    private static final class GenericTimerEntry extends TimerEntry {
+
+        private final JobDescription jobDescription;
+
+        GenericTimerEntry(String id, long deadline, long interval, int limit, JobDescription jobDescription) {
+            super(id, deadline, interval, limit);
+            this.jobDescription = jobDescription;
+        }
+
+        @Override
+        JobDescription toJobDescription() {
+            return jobDescription;
+        }
+    }
+
+    private static final class ProcessInstanceTimerEntry extends TimerEntry {
+
+        private final String timerId;
+        private final int priority;
+        private final String processInstanceId;
+        private final String rootProcessInstanceId;
+        private final String processId;
+        private final String rootProcessId;
+        private final String nodeInstanceId;
+
+        ProcessInstanceTimerEntry(ProcessInstanceJobDescription jobDescription, long deadline, long interval, int limit) {
+            super(jobDescription.id(), deadline, interval, limit);
+            this.timerId = jobDescription.timerId();
+            this.priority = jobDescription.priority();
+            this.processInstanceId = jobDescription.processInstanceId();
+            this.rootProcessInstanceId = jobDescription.rootProcessInstanceId();
+            this.processId = jobDescription.processId();
+            this.rootProcessId = jobDescription.rootProcessId();
+            this.nodeInstanceId = jobDescription.nodeInstanceId();
+        }
+
+        @Override
+        JobDescription toJobDescription() {
+            return new ProcessInstanceJobDescription(id, timerId, expirationTime(), priority, processInstanceId, rootProcessInstanceId, processId, rootProcessId, nodeInstanceId);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.outbox;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.process.ProcessInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+
+/**
+ * Durable storage of the events generated by a unit of work, so they are not lost if the node stops before they are published. When the
+ * unit of work runs within a transaction, they are committed together with the process instances. Stored events are published later by
+ * an {@link EventOutboxRelay}.
+ */
+public interface EventOutbox {
+
+    /**
+     * @return whether the event can be stored, by default process instance and user task instance events
+     */
+    default boolean accept(DataEvent<?> event) {
+        return event instanceof ProcessInstanceDataEvent || event instanceof UserTaskInstanceDataEvent;
+    }
+
+    /**
+     * Stores the events, as part of the ongoing transaction if there is one
+     */
+    void store(Collection<DataEvent<?>> events);
+
+    /**
+     * Hands the oldest stored events, at most <code>max</code>, to the consumer in the order they were stored. The events are removed only if
+     * the consumer completes normally, otherwise they are kept to be handed again on a later call.
+     *
+     * @return number of events removed from the outbox, including those that could not be read and were discarded
+     */
+    int drain(int max, Consumer<Collection<DataEvent<?>>> consumer);
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.outbox;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background task that moves the events stored in an {@link EventOutbox} to a publisher, in batches of up to <code>batchSize</code> events.
+ * <p>
+ * The outbox is drained until it holds less than a full batch, then polled again after <code>interval</code>. When publishing fails
+ * the events stay in the outbox and the relay backs off, doubling the wait on every consecutive failure. Events are removed once the
+ * publisher returns, so it must only return after the events were acknowledged and throw when they were not.
+ */
+public class EventOutboxRelay implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventOutboxRelay.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+    private static final long CLOSE_TIMEOUT_MS = 10000;
+
+    private final EventOutbox outbox;
+    private final EventPublisher publisher;
+    private final int batchSize;
+    private final Duration interval;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private volatile boolean closed;
+    private int failures;
+
+    public EventOutboxRelay(EventOutbox outbox, EventPublisher publisher) {
+        this(outbox, publisher, DEFAULT_BATCH_SIZE, DEFAULT_INTERVAL);
+    }
+
+    public EventOutboxRelay(EventOutbox outbox, EventPublisher publisher, int batchSize, Duration interval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox batch size must be positive, was " + batchSize);
+        }
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new KogitoThreadPoolFactory("kogito-event-outbox"));
+        this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public EventOutboxRelay start() {
+        scheduler.execute(this::poll);
+        return this;
+    }
+
+    /**
+     * Publishes the stored events until the outbox holds less than a full batch
+     *
+     * @return number of events published
+     */
+    public int relay() {
+        int total = 0;
+        int drained;
+        do {
+            drained = outbox.drain(batchSize, publisher::publish);
+            total += drained;
+        } while (drained >= batchSize && !closed);
+        return total;
+    }
+
+    private void poll() {
+        long delay;
+        try {
+            int count = relay();
+            if (count > 0) {
+                LOGGER.debug("Published {} events from the outbox", count);
+            }
+            failures = 0;
+            delay = interval.toMillis();
+        } catch (RuntimeException e) {
+            failures++;
+            delay = backoff();
+            LOGGER.warn("Error publishing events from the outbox, retrying in {} ms", delay, e);
+        }
+        if (!closed) {
+            try {
+                scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Outbox relay closed, stopping polling");
+            }
+        }
+    }
+
+    private long backoff() {
+        long delay = interval.toMillis() << Math.min(failures, 20);
+        return Math.min(Math.max(delay, 1), MAX_BACKOFF.toMillis());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.outbox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+
+/**
+ * Publisher that stores the events accepted by the outbox instead of sending them, leaving the actual publishing to an
+ * {@link EventOutboxRelay}. Events not accepted by the outbox are sent right away through the delegate.
+ */
+public class OutboxEventPublisher implements EventPublisher {
+
+    private final EventOutbox outbox;
+    private final EventPublisher delegate;
+
+    public OutboxEventPublisher(EventOutbox outbox, EventPublisher delegate) {
+        this.outbox = outbox;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void publish(DataEvent<?> event) {
+        publish(Collections.singletonList(event));
+    }
+
+    @Override
+    public void publish(Collection<DataEvent<?>> events) {
+        List<DataEvent<?>> stored = new ArrayList<>(events.size());
+        List<DataEvent<?>> sent = new ArrayList<>();
+        for (DataEvent<?> event : events) {
+            if (outbox.accept(event)) {
+                stored.add(event);
+            } else {
+                sent.add(event);
+            }
+        }
+        if (!stored.isEmpty()) {
+            outbox.store(stored);
+        }
+        if (!sent.isEmpty()) {
+            delegate.publish(sent);
+        }
+    }
+}
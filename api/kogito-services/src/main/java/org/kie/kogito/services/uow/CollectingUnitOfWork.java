@@ -21,12 +21,17 @@ package org.kie.kogito.services.uow;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -62,9 +67,15 @@ public class CollectingUnitOfWork implements UnitOfWork {
     public void end() {
         checkStarted();
 
+        Map<MutableProcessInstances<?>, Optional<ProcessInstancesBatch<?>>> batches = new IdentityHashMap<>();
         for (WorkUnit<?> work : sorted()) {
-            work.perform();
+            if (!performInBatch(work, batches)) {
+                // keep the execution order, anything batched so far must be written before this work unit
+                flush(batches);
+                work.perform();
+            }
         }
+        flush(batches);
 
         eventManager.publish(batch);
         done();
@@ -92,6 +103,24 @@ public class CollectingUnitOfWork implements UnitOfWork {
         collectedWork.add(work);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected boolean performInBatch(WorkUnit<?> work, Map<MutableProcessInstances<?>, Optional<ProcessInstancesBatch<?>>> batches) {
+        if (!(work instanceof ProcessInstanceWorkUnit) || !((ProcessInstanceWorkUnit<?>) work).isBatchable()) {
+            return false;
+        }
+        ProcessInstanceWorkUnit processInstanceWork = (ProcessInstanceWorkUnit) work;
+        Optional<ProcessInstancesBatch<?>> batch = batches.computeIfAbsent(processInstanceWork.instances(), i -> (Optional) i.newBatch());
+        batch.ifPresent(processInstanceWork::perform);
+        return batch.isPresent();
+    }
+
+    protected void flush(Map<MutableProcessInstances<?>, Optional<ProcessInstancesBatch<?>>> batches) {
+        for (Optional<ProcessInstancesBatch<?>> batch : batches.values()) {
+            batch.ifPresent(ProcessInstancesBatch::flush);
+        }
+        batches.clear();
+    }
+
     protected Collection<WorkUnit<?>> sorted() {
         List<WorkUnit<?>> sortedCollectedWork = new ArrayList<>(collectedWork);
         sortedCollectedWork.sort(Comparator.comparing(WorkUnit::priority));
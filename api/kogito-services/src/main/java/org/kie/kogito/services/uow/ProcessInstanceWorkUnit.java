@@ -20,14 +20,24 @@ package org.kie.kogito.services.uow;
 
 import java.util.function.Consumer;
 
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.uow.WorkUnit;
 
 public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>> {
 
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        REMOVE
+    }
+
     private ProcessInstance<T> data;
     private Consumer<Object> action;
     private Consumer<Object> compensation;
+    private MutableProcessInstances<T> instances;
+    private Operation operation;
 
     public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action) {
         this.data = data;
@@ -40,6 +50,56 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         this.compensation = compensation;
     }
 
+    /**
+     * Creates a work unit performing the given storage operation, which allows the unit of work
+     * to group it with other operations on the same storage into a single batch.
+     */
+    public static <T> ProcessInstanceWorkUnit<T> of(ProcessInstance<T> data, MutableProcessInstances<T> instances, Operation operation) {
+        ProcessInstanceWorkUnit<T> workUnit = new ProcessInstanceWorkUnit<>(data, pi -> perform(instances, operation, data));
+        workUnit.instances = instances;
+        workUnit.operation = operation;
+        return workUnit;
+    }
+
+    private static <T> void perform(MutableProcessInstances<T> instances, Operation operation, ProcessInstance<T> pi) {
+        switch (operation) {
+            case CREATE:
+                instances.create(pi.id(), pi);
+                break;
+            case UPDATE:
+                instances.update(pi.id(), pi);
+                break;
+            case REMOVE:
+                instances.remove(pi.id());
+                break;
+        }
+    }
+
+    public boolean isBatchable() {
+        return instances != null;
+    }
+
+    public MutableProcessInstances<T> instances() {
+        return instances;
+    }
+
+    /**
+     * Records the operation of this work unit into the given batch instead of performing it directly
+     */
+    public void perform(ProcessInstancesBatch<T> batch) {
+        switch (operation) {
+            case CREATE:
+                batch.create(data.id(), data);
+                break;
+            case UPDATE:
+                batch.update(data.id(), data);
+                break;
+            case REMOVE:
+                batch.remove(data.id());
+                break;
+        }
+    }
+
     @Override
     public ProcessInstance<T> data() {
         return data;
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryJobServiceTest {
+
+    @Test
+    void testCodecRoundTrip() {
+        ZonedDateTime expiration = ZonedDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        ProcessInstanceJobDescription job = new ProcessInstanceJobDescription("job", "timer", DurationExpirationTime.of(expiration, 1000L, 3), 5, "pi", "rootPi", "process", "rootProcess",
+                "node");
+        ProcessInstanceJobDescription decoded = (ProcessInstanceJobDescription) JobDescriptionCodec.decode(JobDescriptionCodec.encode(job));
+        assertThat(decoded.id()).isEqualTo("job");
+        assertThat(decoded.timerId()).isEqualTo("timer");
+        assertThat(decoded.processInstanceId()).isEqualTo("pi");
+        assertThat(decoded.rootProcessInstanceId()).isEqualTo("rootPi");
+        assertThat(decoded.processId()).isEqualTo("process");
+        assertThat(decoded.rootProcessId()).isEqualTo("rootProcess");
+        assertThat(decoded.nodeInstanceId()).isEqualTo("node");
+        assertThat(decoded.expirationTime().get().toInstant()).isEqualTo(expiration.toInstant());
+        assertThat(decoded.expirationTime().repeatInterval()).isEqualTo(1000L);
+        assertThat(decoded.expirationTime().repeatLimit()).isEqualTo(3);
+
+        UserTaskInstanceJobDescription userTaskJob = new UserTaskInstanceJobDescription("task", ExactExpirationTime.of(expiration), 5, "ut");
+        UserTaskInstanceJobDescription decodedUserTaskJob = (UserTaskInstanceJobDescription) JobDescriptionCodec.decode(JobDescriptionCodec.encode(userTaskJob));
+        assertThat(decodedUserTaskJob.getUserTaskInstanceId()).isEqualTo("ut");
+        assertThat(decodedUserTaskJob.expirationTime().repeatInterval()).isNull();
+    }
+
+    @Test
+    void testJobsArePersistedAndRemovedOnCompletion() throws Exception {
+        TestJobStore store = new TestJobStore();
+        CountDownLatch fired = new CountDownLatch(1);
+        try (InMemoryJobService jobService = new InMemoryJobService(Executors.newSingleThreadScheduledExecutor(), store, Executors.newCachedThreadPool())) {
+            jobService.registerJobExecutorFactory(new TestJobExecutorFactory(fired));
+            jobService.scheduleJob(userTaskJob("job", 100));
+            assertThat(store.jobs).containsKey("job");
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(store.leased).containsExactly("job");
+            assertThat(store.jobs).isEmpty();
+        }
+    }
+
+    @Test
+    void testStoredJobsAreReloaded() throws Exception {
+        TestJobStore store = new TestJobStore();
+        store.save(userTaskJob("job", 100));
+        CountDownLatch fired = new CountDownLatch(1);
+        try (InMemoryJobService jobService = new InMemoryJobService(Executors.newSingleThreadScheduledExecutor(), store, Executors.newCachedThreadPool())) {
+            jobService.registerJobExecutorFactory(new TestJobExecutorFactory(fired));
+            assertThat(jobService.reloadJobs()).isZero();
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void testJobLeasedByOtherNodeIsSkipped() throws Exception {
+        TestJobStore store = new TestJobStore();
+        store.leaseAvailable = false;
+        CountDownLatch fired = new CountDownLatch(1);
+        try (InMemoryJobService jobService = new InMemoryJobService(Executors.newSingleThreadScheduledExecutor(), store, Executors.newCachedThreadPool())) {
+            jobService.registerJobExecutorFactory(new TestJobExecutorFactory(fired));
+            jobService.scheduleJob(userTaskJob("job", 10));
+            assertThat(fired.await(500, TimeUnit.MILLISECONDS)).isFalse();
+            assertThat(store.leased).containsExactly("job");
+            assertThat(store.jobs).containsKey("job");
+        }
+    }
+
+    @Test
+    void testFailedJobIsReloaded() throws Exception {
+        TestJobStore store = new TestJobStore();
+        CountDownLatch fired = new CountDownLatch(1);
+        try (InMemoryJobService jobService = new InMemoryJobService(Executors.newSingleThreadScheduledExecutor(), store, null)) {
+            jobService.registerJobExecutorFactory(new FailingOnceJobExecutorFactory(fired));
+            jobService.scheduleJob(userTaskJob("job", 10));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (jobService.isScheduled("job") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(jobService.isScheduled("job")).isFalse();
+            assertThat(jobService.reloadJobs()).isOne();
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(store.jobs).isEmpty();
+        }
+    }
+
+    private static JobDescription userTaskJob(String id, long delay) {
+        return new UserTaskInstanceJobDescription(id, DurationExpirationTime.after(delay), 5, "userTask");
+    }
+
+    private static class TestJobStore implements JobStore {
+
+        private final Map<String, String> jobs = new ConcurrentHashMap<>();
+        private final List<String> leased = new ArrayList<>();
+        private boolean leaseAvailable = true;
+
+        @Override
+        public void save(JobDescription job) {
+            jobs.put(job.id(), JobDescriptionCodec.encode(job));
+        }
+
+        @Override
+        public void remove(String id) {
+            jobs.remove(id);
+        }
+
+        @Override
+        public List<JobDescription> loadAll() {
+            return jobs.values().stream().map(JobDescriptionCodec::decode).toList();
+        }
+
+        @Override
+        public synchronized boolean lease(String id) {
+            leased.add(id);
+            return leaseAvailable && jobs.containsKey(id);
+        }
+    }
+
+    private static class TestJobExecutorFactory implements JobExecutorFactory {
+
+        private final CountDownLatch fired;
+
+        TestJobExecutorFactory(CountDownLatch fired) {
+            this.fired = fired;
+        }
+
+        @Override
+        public Set<Class<? extends JobDescription>> types() {
+            return Set.of(UserTaskInstanceJobDescription.class);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> {
+                jobService.cancelJob(jobDescription.id());
+                fired.countDown();
+            };
+        }
+
+        @Override
+        public Runnable createNewRepeteableRunnable(JobsService jobService, JobDescription jobDescription) {
+            return createNewRunnable(jobService, jobDescription);
+        }
+    }
+
+    private static class FailingOnceJobExecutorFactory extends TestJobExecutorFactory {
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        FailingOnceJobExecutorFactory(CountDownLatch fired) {
+            super(fired);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            Runnable runnable = super.createNewRunnable(jobService, jobDescription);
+            return () -> {
+                if (failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("First execution fails");
+                }
+                runnable.run();
+            };
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelJobServiceTest {
+
+    private TimingWheelJobService jobService;
+    private Map<String, ProcessInstanceJobDescription> fired;
+    private CountDownLatch latch;
+
+    @BeforeEach
+    void setUp() {
+        // small wheel so timers above 80 ms go to overflow levels
+        jobService = new TimingWheelJobService(10, 8, null, Executors.newCachedThreadPool());
+        fired = new ConcurrentHashMap<>();
+        jobService.registerJobExecutorFactory(new JobExecutorFactory() {
+            @Override
+            public Set<Class<? extends JobDescription>> types() {
+                return Set.of(ProcessInstanceJobDescription.class);
+            }
+
+            @Override
+            public Runnable createNewRunnable(JobsService jobsService, JobDescription jobDescription) {
+                return () -> {
+                    fired.put(jobDescription.id(), (ProcessInstanceJobDescription) jobDescription);
+                    jobsService.cancelJob(jobDescription.id());
+                    latch.countDown();
+                };
+            }
+
+            @Override
+            public Runnable createNewRepeteableRunnable(JobsService jobsService, JobDescription jobDescription) {
+                AtomicInteger limit = new AtomicInteger(jobDescription.expirationTime().repeatLimit());
+                return () -> {
+                    if (limit.decrementAndGet() == 0) {
+                        jobsService.cancelJob(jobDescription.id());
+                    }
+                    latch.countDown();
+                };
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobService.close();
+    }
+
+    @Test
+    void testJobsFireAcrossLevels() throws InterruptedException {
+        latch = new CountDownLatch(4);
+        long start = System.currentTimeMillis();
+        jobService.scheduleJob(job("expired", DurationExpirationTime.now()));
+        jobService.scheduleJob(job("near", DurationExpirationTime.after(30)));
+        jobService.scheduleJob(job("overflow", DurationExpirationTime.after(300)));
+        jobService.scheduleJob(job("farOverflow", DurationExpirationTime.after(1200)));
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(1200);
+        assertThat(fired).containsOnlyKeys("expired", "near", "overflow", "farOverflow");
+        ProcessInstanceJobDescription description = fired.get("farOverflow");
+        assertThat(description.timerId()).isEqualTo("timer");
+        assertThat(description.processInstanceId()).isEqualTo("processInstance");
+        assertThat(description.nodeInstanceId()).isEqualTo("nodeInstance");
+        assertThat(jobService.size()).isZero();
+    }
+
+    @Test
+    void testCancelledJobDoesNotFire() throws InterruptedException {
+        latch = new CountDownLatch(1);
+        jobService.scheduleJob(job("cancelled", DurationExpirationTime.after(100)));
+        jobService.scheduleJob(job("fired", DurationExpirationTime.after(200)));
+        assertThat(jobService.size()).isEqualTo(2);
+        assertThat(jobService.cancelJob("cancelled")).isTrue();
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsOnlyKeys("fired");
+    }
+
+    @Test
+    void testRescheduleReplacesJob() throws InterruptedException {
+        latch = new CountDownLatch(1);
+        jobService.scheduleJob(job("job", DurationExpirationTime.after(5000)));
+        jobService.scheduleJob(job("job", DurationExpirationTime.after(50)));
+        assertThat(jobService.size()).isEqualTo(1);
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testRepeatableJobStopsAtLimit() throws InterruptedException {
+        latch = new CountDownLatch(3);
+        jobService.scheduleJob(job("repeat", DurationExpirationTime.repeat(20, 20L, 3)));
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(jobService.size()).isZero();
+    }
+
+    @Test
+    void testInvalidRepeatInterval() {
+        assertThatThrownBy(() -> jobService.scheduleJob(job("repeat", DurationExpirationTime.repeat(20, 0L)))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProcessInstanceJobDescription job(String id, ExpirationTime expirationTime) {
+        return new ProcessInstanceJobDescription(id, "timer", expirationTime, 5, "processInstance", null, "process", null, "nodeInstance");
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares scheduling and cancelling long dated process instance timers in the {@link java.util.concurrent.ScheduledThreadPoolExecutor}
+ * based {@link InMemoryJobService} and in the {@link TimingWheelJobService}.
+ * <p>
+ * Every invocation schedules <code>timers</code> jobs, spread over the next 30 days, into an empty service. Run it from the test
+ * classpath, with a heap big enough for a million timers, and the GC profiler:
+ *
+ * <pre>
+ * java -Xmx4g -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main JobsServiceBenchmark -prof gc
+ * </pre>
+ *
+ * The <code>bytesPerTimer</code> secondary result of {@link #retainedHeap(RetainedHeap)} is the heap kept alive by every pending
+ * timer, measured after forcing a garbage collection. The <code>gc.alloc.rate.norm</code> result of the gc profiler is the memory
+ * allocated while scheduling, not the memory retained.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JobsServiceBenchmark {
+
+    private static final long HORIZON = TimeUnit.DAYS.toMillis(30);
+
+    @Param({ "executor", "wheel" })
+    public String implementation;
+
+    @Param({ "1000000" })
+    public int timers;
+
+    private InMemoryJobService jobService;
+    private ProcessInstanceJobDescription[] jobs;
+
+    private static class NoopJobExecutorFactory implements JobExecutorFactory {
+
+        @Override
+        public Set<Class<? extends JobDescription>> types() {
+            return Set.of(ProcessInstanceJobDescription.class);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> {
+            };
+        }
+
+        @Override
+        public Runnable createNewRepeteableRunnable(JobsService jobService, JobDescription jobDescription) {
+            return createNewRunnable(jobService, jobDescription);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        jobService = "wheel".equals(implementation) ? new TimingWheelJobService() : new InMemoryJobService();
+        jobService.registerJobExecutorFactory(new NoopJobExecutorFactory());
+        jobs = new ProcessInstanceJobDescription[timers];
+        for (int i = 0; i < timers; i++) {
+            jobs[i] = job(i);
+        }
+    }
+
+    private ProcessInstanceJobDescription job(int i) {
+        return new ProcessInstanceJobDescription("job-" + i, "timer", DurationExpirationTime.after(TimeUnit.HOURS.toMillis(1) + i * (HORIZON / timers)), 5, "instance-" + i, null,
+                "process", null, "node");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        jobService.close();
+    }
+
+    /**
+     * Schedules every job, leaving them pending
+     */
+    @Benchmark
+    public InMemoryJobService schedule() {
+        for (ProcessInstanceJobDescription job : jobs) {
+            jobService.scheduleJob(job);
+        }
+        return jobService;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedHeap {
+
+        public long bytesPerTimer;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerTimer = 0;
+        }
+    }
+
+    /**
+     * Schedules <code>timers</code> new jobs, whose descriptions only the job service references, and reports the heap they retain
+     * once pending. Its time includes the garbage collections and is not relevant.
+     */
+    @Benchmark
+    public InMemoryJobService retainedHeap(RetainedHeap retainedHeap) {
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < timers; i++) {
+            jobService.scheduleJob(job(i));
+        }
+        retainedHeap.bytesPerTimer = (usedHeapAfterGc() - before) / timers;
+        return jobService;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // a single request might not collect all the garbage, so keep the lowest of a few
+        for (int i = 0; i < 5; i++) {
+            memory.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    /**
+     * Schedules every job and cancels it again, as happens to most SLA and deadline timers
+     */
+    @Benchmark
+    public InMemoryJobService scheduleAndCancel() {
+        for (ProcessInstanceJobDescription job : jobs) {
+            jobService.scheduleJob(job);
+        }
+        for (ProcessInstanceJobDescription job : jobs) {
+            jobService.cancelJob(job.id());
+        }
+        return jobService;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventOutboxRelayTest {
+
+    private static class InMemoryEventOutbox implements EventOutbox {
+
+        private final LinkedList<DataEvent<?>> events = new LinkedList<>();
+        private int drains;
+
+        @Override
+        public synchronized void store(Collection<DataEvent<?>> stored) {
+            events.addAll(stored);
+        }
+
+        @Override
+        public synchronized int drain(int max, Consumer<Collection<DataEvent<?>>> consumer) {
+            drains++;
+            List<DataEvent<?>> batch = new ArrayList<>(events.subList(0, Math.min(max, events.size())));
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+            events.subList(0, batch.size()).clear();
+            return batch.size();
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+    }
+
+    private static class RecordingPublisher implements EventPublisher {
+
+        private final List<Collection<DataEvent<?>>> batches = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void publish(DataEvent<?> event) {
+            publish(List.of(event));
+        }
+
+        @Override
+        public void publish(Collection<DataEvent<?>> events) {
+            if (failing) {
+                throw new IllegalStateException("broker down");
+            }
+            batches.add(events);
+        }
+    }
+
+    private final InMemoryEventOutbox outbox = new InMemoryEventOutbox();
+    private final RecordingPublisher publisher = new RecordingPublisher();
+
+    @Test
+    void testRelayDrainsInBatches() {
+        outbox.store(events(7));
+        try (EventOutboxRelay relay = new EventOutboxRelay(outbox, publisher, 3, Duration.ofMinutes(1))) {
+            assertThat(relay.relay()).isEqualTo(7);
+        }
+        assertThat(publisher.batches).extracting(Collection::size).containsExactly(3, 3, 1);
+        assertThat(outbox.size()).isZero();
+        assertThat(outbox.drains).isEqualTo(3);
+    }
+
+    @Test
+    void testFailedPublishKeepsEvents() {
+        outbox.store(events(2));
+        publisher.failing = true;
+        try (EventOutboxRelay relay = new EventOutboxRelay(outbox, publisher, 10, Duration.ofMinutes(1))) {
+            assertThrows(IllegalStateException.class, relay::relay);
+            assertThat(outbox.size()).isEqualTo(2);
+
+            publisher.failing = false;
+            assertThat(relay.relay()).isEqualTo(2);
+        }
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void testBackgroundRelay() throws InterruptedException {
+        try (EventOutboxRelay relay = new EventOutboxRelay(outbox, publisher, 10, Duration.ofMillis(10)).start()) {
+            outbox.store(events(5));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (outbox.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        assertThat(outbox.size()).isZero();
+        assertThat(publisher.batches).flatExtracting(events -> events).hasSize(5);
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new EventOutboxRelay(outbox, publisher, 0, Duration.ofSeconds(1)));
+    }
+
+    private static List<DataEvent<?>> events(int count) {
+        List<DataEvent<?>> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new ProcessInstanceStateDataEvent());
+        }
+        return events;
+    }
+}
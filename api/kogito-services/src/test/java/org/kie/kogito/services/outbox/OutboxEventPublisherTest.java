@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.outbox;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.process.ProcessDefinitionDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OutboxEventPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testInstanceEventsAreStored() {
+        EventOutbox outbox = mock(EventOutbox.class);
+        when(outbox.accept(any())).thenCallRealMethod();
+        EventPublisher delegate = mock(EventPublisher.class);
+
+        DataEvent<?> processEvent = new ProcessInstanceStateDataEvent();
+        DataEvent<?> userTaskEvent = new UserTaskInstanceStateDataEvent();
+        DataEvent<?> definitionEvent = new ProcessDefinitionDataEvent();
+        new OutboxEventPublisher(outbox, delegate).publish(List.of(processEvent, definitionEvent, userTaskEvent));
+
+        ArgumentCaptor<Collection<DataEvent<?>>> stored = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).store(stored.capture());
+        assertThat(stored.getValue()).containsExactly(processEvent, userTaskEvent);
+        ArgumentCaptor<Collection<DataEvent<?>>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate).publish(sent.capture());
+        assertThat(sent.getValue()).containsExactly(definitionEvent);
+    }
+
+    @Test
+    void testNothingStoredWithoutInstanceEvents() {
+        EventOutbox outbox = mock(EventOutbox.class);
+        when(outbox.accept(any())).thenCallRealMethod();
+        EventPublisher delegate = mock(EventPublisher.class);
+
+        new OutboxEventPublisher(outbox, delegate).publish(new ProcessDefinitionDataEvent());
+
+        verify(outbox, never()).store(anyCollection());
+        verify(delegate).publish(anyCollection());
+    }
+}
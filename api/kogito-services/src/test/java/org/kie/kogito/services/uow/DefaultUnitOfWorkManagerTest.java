@@ -18,21 +18,29 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.mockito.InOrder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DefaultUnitOfWorkManagerTest {
 
@@ -149,4 +157,53 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter).hasValue(1);
         assertThat(picounter).hasValue(0);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnitOfWorkProcessInstancesBatch() {
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        MutableProcessInstances<Object> instances = mock(MutableProcessInstances.class);
+        ProcessInstancesBatch<Object> batch = mock(ProcessInstancesBatch.class);
+        when(instances.newBatch()).thenReturn(Optional.of(batch));
+        ProcessInstance<Object> first = mock(ProcessInstance.class);
+        when(first.id()).thenReturn("first");
+        ProcessInstance<Object> second = mock(ProcessInstance.class);
+        when(second.id()).thenReturn("second");
+
+        unit.start();
+        unit.intercept(ProcessInstanceWorkUnit.of(first, instances, Operation.CREATE));
+        unit.intercept(ProcessInstanceWorkUnit.of(first, instances, Operation.UPDATE));
+        unit.intercept(ProcessInstanceWorkUnit.of(second, instances, Operation.REMOVE));
+        unit.end();
+
+        InOrder order = inOrder(batch);
+        order.verify(batch).create("first", first);
+        order.verify(batch).update("first", first);
+        order.verify(batch).remove("second");
+        order.verify(batch).flush();
+        verify(instances, never()).create(any(), any());
+        verify(instances, never()).update(any(), any());
+        verify(instances, never()).remove(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnitOfWorkProcessInstancesWithoutBatch() {
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        MutableProcessInstances<Object> instances = mock(MutableProcessInstances.class);
+        when(instances.newBatch()).thenReturn(Optional.empty());
+        ProcessInstance<Object> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn("instance");
+
+        unit.start();
+        unit.intercept(ProcessInstanceWorkUnit.of(instance, instances, Operation.CREATE));
+        unit.intercept(ProcessInstanceWorkUnit.of(instance, instances, Operation.UPDATE));
+        unit.end();
+
+        InOrder order = inOrder(instances);
+        order.verify(instances).create("instance", instance);
+        order.verify(instances).update("instance", instance);
+    }
 }
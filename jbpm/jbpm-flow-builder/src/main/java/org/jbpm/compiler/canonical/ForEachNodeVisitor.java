@@ -30,11 +30,13 @@ import org.jbpm.workflow.core.node.CompositeNode.NodeAndType;
 import org.jbpm.workflow.core.node.ForEachNode;
 
 import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 
 import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_LINK_INCOMING_CONNECTIONS;
 import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_LINK_OUTGOING_CONNECTIONS;
+import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_BATCH_SIZE;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COLLECTION_EXPRESSION;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_INPUT_VARIABLE;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_OUTPUT_COLLECTION_EXPRESSION;
@@ -59,6 +61,9 @@ public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode
                 .addStatement(getNameMethod(node, "ForEach"));
 
         body.addStatement(getFactoryMethod(getNodeId(node), METHOD_SEQUENTIAL, new BooleanLiteralExpr(node.isSequential())));
+        if (node.getBatchSize() > 0) {
+            body.addStatement(getFactoryMethod(getNodeId(node), METHOD_BATCH_SIZE, new IntegerLiteralExpr(Integer.toString(node.getBatchSize()))));
+        }
 
         visitMetaData(node.getMetaData(), body, getNodeId(node));
 
@@ -78,6 +78,7 @@ public class Metadata {
     public static final String ERROR_EVENT = "ErrorEvent";
     public static final String ERROR_STRUCTURE_REF = "ErrorStructureRef";
     public static final String ASYNC_WAITING = "ASYNC_WAITING";
+    public static final String CONCURRENT_BRANCHES = "concurrentBranches";
     public static final String DATA_ONLY = "DataOnly";
     public static final String TAGS = "Tags";
     public static final String DESCRIPTION = "Description";
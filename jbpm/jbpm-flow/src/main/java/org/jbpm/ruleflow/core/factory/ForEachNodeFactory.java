@@ -18,8 +18,11 @@
  */
 package org.jbpm.ruleflow.core.factory;
 
+import java.util.Collection;
+
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.datatype.DataType;
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.process.instance.impl.ReturnValueEvaluator;
 import org.jbpm.ruleflow.core.Metadata;
@@ -28,6 +31,7 @@ import org.jbpm.workflow.core.NodeContainer;
 import org.jbpm.workflow.core.impl.DataDefinition;
 import org.jbpm.workflow.core.node.CompositeContextNode;
 import org.jbpm.workflow.core.node.ForEachNode;
+import org.jbpm.workflow.instance.node.ForEachNodeInstance;
 import org.kie.api.definition.process.WorkflowElementIdentifier;
 import org.kie.kogito.internal.utils.KogitoTags;
 
@@ -40,6 +44,7 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
     public static final String METHOD_OUTPUT_TEMP = "tempVariable";
     public static final String METHOD_SEQUENTIAL = "sequential";
     public static final String METHOD_COMPLETE_CONDITION = "completionCondition";
+    public static final String METHOD_BATCH_SIZE = "batchSize";
 
     public ForEachNodeFactory(T nodeContainerFactory, NodeContainer nodeContainer, WorkflowElementIdentifier id) {
         super(nodeContainerFactory, nodeContainer, new ForEachNode(id), id);
@@ -121,4 +126,15 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
         getForEachNode().setSequential(sequential);
         return this;
     }
+
+    public ForEachNodeFactory<T> batchSize(int batchSize) {
+        getForEachNode().setBatchSize(batchSize);
+        if (batchSize > 0) {
+            tempVariable(ForEachNodeInstance.TEMP_INDEX_VAR, new ObjectDataType(Integer.class));
+            tempVariable(ForEachNodeInstance.TEMP_OUTPUT_INDEXES_VAR, new ObjectDataType(Collection.class));
+            tempVariable(ForEachNodeInstance.TEMP_INPUT_VAR, new ObjectDataType(Collection.class));
+            tempVariable(ForEachNodeInstance.TEMP_NEXT_INDEX_VAR, new ObjectDataType(Integer.class));
+        }
+        return this;
+    }
 }
@@ -56,6 +56,7 @@ public class ForEachNode extends CompositeContextNode {
 
     private Action finishAction;
     private boolean waitForCompletion = true;
+    private int batchSize;
     private Expression evaluateExpression;
 
     public ForEachNode() {
@@ -363,6 +364,17 @@ public class ForEachNode extends CompositeContextNode {
         this.getMultiInstanceSpecification().setSequential(sequential);
     }
 
+    /**
+     * Maximum number of iterations executed at the same time when the node is not sequential, 0 means no limit.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public boolean hasCompletionCondition() {
         return completionConditionExpression != null;
     }
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.jbpm.ruleflow.core.Metadata;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.kie.api.definition.process.Connection;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.WorkflowElementIdentifier;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the work triggered by the branches of a concurrent AND split, or by the iterations of a batched for each node.
+ * <p>
+ * While the branches are being triggered, work item handlers can hand over their work through {@link #submit}
+ * instead of executing it in the caller thread. Once every branch has been triggered, submitted work runs on a shared
+ * executor (virtual threads when available, a bounded pool otherwise) and the results are applied back to the process
+ * instance, one at a time and in completion order, from the thread that triggered the branches. Process instance state,
+ * and therefore the merge of branch outputs into the workflow data, is never accessed concurrently.
+ * Work items whose node instance is no longer active when their result arrives (for example, because a N of M join
+ * has already cancelled the remaining branches) are discarded.
+ */
+public class ConcurrentBranches {
+
+    public static final String MAX_CONCURRENCY_PROPERTY = "kogito.workflow.parallel.max-concurrency";
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentBranches.class);
+
+    private static final ThreadLocal<ConcurrentBranches> current = new ThreadLocal<>();
+
+    private static class ExecutorHolder {
+        private static final int MAX_CONCURRENCY = Integer.getInteger(MAX_CONCURRENCY_PROPERTY, Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        private static final ExecutorService EXECUTOR = newExecutor();
+
+        private static ExecutorService newExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Virtual threads not available, using a pool of {} threads to execute concurrent branches", MAX_CONCURRENCY);
+                return Executors.newFixedThreadPool(MAX_CONCURRENCY, new KogitoThreadPoolFactory("kogito-parallel"));
+            }
+        }
+    }
+
+    private final Queue<PendingWork> pending = new ArrayDeque<>();
+    private final Object container;
+    private final Set<WorkflowElementIdentifier> branchIds = new HashSet<>();
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private ConcurrentBranches parent;
+
+    ConcurrentBranches(Object container, Collection<WorkflowElementIdentifier> branchIds, ExecutorService executor, int maxConcurrency) {
+        this.container = container;
+        this.branchIds.addAll(branchIds);
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Hands over the execution of a work item to the concurrent branches being triggered in the current thread, if any.
+     * When accepted, the caller must leave the work item active; it will be completed with the supplied results,
+     * or its node instance will handle the exception thrown by the supplier.
+     *
+     * @return true if the work was accepted, false if it should be executed by the caller
+     */
+    public static boolean submit(KogitoWorkItemManager manager, KogitoWorkItem workItem, Supplier<Map<String, Object>> work) {
+        ConcurrentBranches branches = find(workItem);
+        if (branches == null) {
+            return false;
+        }
+        branches.pending.add(new PendingWork(manager, workItem, work));
+        return true;
+    }
+
+    /**
+     * @return true if the work item belongs to concurrent branches being triggered in the current thread, so its work would be accepted by {@link #submit}
+     */
+    public static boolean isConcurrent(KogitoWorkItem workItem) {
+        return find(workItem) != null;
+    }
+
+    private static ConcurrentBranches find(KogitoWorkItem workItem) {
+        if (!(workItem.getNodeInstance() instanceof WorkItemNodeInstance)) {
+            return null;
+        }
+        for (ConcurrentBranches branches = current.get(); branches != null; branches = branches.parent) {
+            if (branches.contains(workItem.getNodeInstance())) {
+                return branches;
+            }
+        }
+        return null;
+    }
+
+    private boolean contains(KogitoNodeInstance nodeInstance) {
+        // work triggered once the branches have been joined belongs to the enclosing flow, which runs sequentially
+        Object nodeInstanceContainer = nodeInstance.getNodeInstanceContainer();
+        while (nodeInstanceContainer != container) {
+            if (!(nodeInstanceContainer instanceof KogitoNodeInstance)) {
+                return false;
+            }
+            nodeInstance = (KogitoNodeInstance) nodeInstanceContainer;
+            nodeInstanceContainer = nodeInstance.getNodeInstanceContainer();
+        }
+        return branchIds.contains(nodeInstance.getNodeId());
+    }
+
+    static boolean isEnabled(Node node) {
+        return Boolean.parseBoolean(String.valueOf(node.getMetaData().get(Metadata.CONCURRENT_BRANCHES)));
+    }
+
+    static void trigger(NodeInstanceImpl split, Runnable trigger) {
+        Collection<WorkflowElementIdentifier> branchIds = new ArrayList<>();
+        for (Connection connection : split.getNode().getOutgoingConnections(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE)) {
+            branchIds.add(connection.getTo().getId());
+        }
+        run(new ConcurrentBranches(split.getNodeInstanceContainer(), branchIds, ExecutorHolder.EXECUTOR, ExecutorHolder.MAX_CONCURRENCY), trigger);
+    }
+
+    /**
+     * Executes the work of the instances of the given node in the container, with up to <code>maxConcurrency</code>
+     * of them running at the same time.
+     */
+    static void trigger(Object container, WorkflowElementIdentifier branchId, int maxConcurrency, Runnable trigger) {
+        run(new ConcurrentBranches(container, Collections.singleton(branchId), ExecutorHolder.EXECUTOR, maxConcurrency), trigger);
+    }
+
+    static void run(ConcurrentBranches branches, Runnable trigger) {
+        branches.parent = current.get();
+        current.set(branches);
+        try {
+            trigger.run();
+            branches.drain();
+        } finally {
+            if (branches.parent == null) {
+                current.remove();
+            } else {
+                current.set(branches.parent);
+            }
+        }
+    }
+
+    private void drain() {
+        CompletionService<Map<String, Object>> completionService = new ExecutorCompletionService<>(executor);
+        Map<Future<Map<String, Object>>, PendingWork> running = new HashMap<>();
+        try {
+            while (!pending.isEmpty() || !running.isEmpty()) {
+                while (!pending.isEmpty() && running.size() < maxConcurrency) {
+                    PendingWork work = pending.poll();
+                    running.put(completionService.submit(work.work::get), work);
+                }
+                Future<Map<String, Object>> future = completionService.take();
+                PendingWork work = running.remove(future);
+                if (work == null) {
+                    // cancelled by discardInactive, which already removed it
+                    continue;
+                }
+                // completing a work item might trigger new work in the same branch, which is queued by submit
+                if (work.isActive()) {
+                    work.complete(future);
+                }
+                discardInactive(running);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.keySet().forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for concurrent branches", e);
+        }
+    }
+
+    private void discardInactive(Map<Future<Map<String, Object>>, PendingWork> running) {
+        pending.removeIf(work -> !work.isActive());
+        Iterator<Map.Entry<Future<Map<String, Object>>, PendingWork>> iter = running.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<Future<Map<String, Object>>, PendingWork> entry = iter.next();
+            if (!entry.getValue().isActive()) {
+                logger.debug("Discarding work item {} of a branch that is no longer active", entry.getValue().workItem.getStringId());
+                entry.getKey().cancel(true);
+                iter.remove();
+            }
+        }
+    }
+
+    private static class PendingWork {
+        private final KogitoWorkItemManager manager;
+        private final KogitoWorkItem workItem;
+        private final Supplier<Map<String, Object>> work;
+
+        private PendingWork(KogitoWorkItemManager manager, KogitoWorkItem workItem, Supplier<Map<String, Object>> work) {
+            this.manager = manager;
+            this.workItem = workItem;
+            this.work = work;
+        }
+
+        private boolean isActive() {
+            WorkItemNodeInstance nodeInstance = (WorkItemNodeInstance) workItem.getNodeInstance();
+            return workItem.getProcessInstance().getState() == KogitoProcessInstance.STATE_ACTIVE
+                    && nodeInstance.getNodeInstanceContainer().getNodeInstance(nodeInstance.getStringId()) != null;
+        }
+
+        private void complete(Future<Map<String, Object>> future) throws InterruptedException {
+            Map<String, Object> results;
+            try {
+                results = future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    ((WorkItemNodeInstance) workItem.getNodeInstance()).handleException((Exception) cause);
+                    return;
+                }
+                throw (Error) cause;
+            }
+            manager.completeWorkItem(workItem.getStringId(), results);
+        }
+    }
+}
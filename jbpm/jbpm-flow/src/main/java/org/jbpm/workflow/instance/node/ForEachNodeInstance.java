@@ -65,10 +65,15 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
     private static final Set<Class<? extends org.kie.api.runtime.process.NodeInstance>> NOT_SERIALIZABLE_CLASSES = Set.of(ForEachJoinNodeInstance.class); // using Arrays.asList to allow multiple exclusions
 
     public static final String TEMP_OUTPUT_VAR = "foreach_output";
+    public static final String TEMP_INDEX_VAR = "foreach_index";
+    public static final String TEMP_OUTPUT_INDEXES_VAR = "foreach_output_indexes";
+    public static final String TEMP_INPUT_VAR = "foreach_input";
+    public static final String TEMP_NEXT_INDEX_VAR = "foreach_next_index";
 
     private int totalInstances;
     private int executedInstances;
     boolean hasAsyncInstances;
+    private transient boolean triggeringIterations;
 
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
@@ -141,6 +146,77 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         return getForEachNode().isSequential() || hasAsyncInstances;
     }
 
+    private boolean isBatched() {
+        return getForEachNode().getBatchSize() > 0 && !getForEachNode().isSequential();
+    }
+
+    /**
+     * Creates and triggers the next iterations of a batched loop until <code>batchSize</code> of them are running, or
+     * just one if the loop turned out to contain async nodes. Iterations are created from the input collection when
+     * they are triggered, and the number of running ones is derived from the next index and the executed instances, so
+     * the cost of triggering does not depend on the size of the collection. Iterations completed meanwhile are replaced
+     * by the loop rather than by a nested call from the join, so the stack does not grow with the collection.
+     */
+    private void triggerPendingIterations() {
+        if (triggeringIterations) {
+            return;
+        }
+        triggeringIterations = true;
+        try {
+            List<?> input = (List<?>) getLoopVariable(TEMP_INPUT_VAR);
+            int next;
+            while ((next = getNextIteration()) < input.size() && next - getExecutedInstances() < (hasAsyncInstances ? 1 : getForEachNode().getBatchSize())) {
+                // advanced before triggering, an iteration completing right away must see it
+                setLoopVariable(TEMP_NEXT_INDEX_VAR, next + 1);
+                NodeInstance nodeInstance = newIteration(input.get(next), next);
+                logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                nodeInstance.trigger(null, getForEachNode().getForEachSplitNode().getTo().getToType());
+                hasAsyncInstances = checkAsyncInstance(nodeInstance);
+            }
+        } finally {
+            triggeringIterations = false;
+        }
+    }
+
+    private int getNextIteration() {
+        Integer next = (Integer) getLoopVariable(TEMP_NEXT_INDEX_VAR);
+        return next == null ? 0 : next;
+    }
+
+    private boolean hasPendingIterations() {
+        if (!isBatched()) {
+            return false;
+        }
+        List<?> input = (List<?>) getLoopVariable(TEMP_INPUT_VAR);
+        return input != null && getNextIteration() < input.size();
+    }
+
+    private NodeInstance newIteration(Object item, int index) {
+        String variableName = getForEachNode().getVariableName();
+        NodeInstance nodeInstance = getNodeInstance(getForEachNode().getForEachSplitNode().getTo().getTo());
+        VariableScopeInstance variableScopeInstance = (VariableScopeInstance) nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, variableName);
+        variableScopeInstance.setVariable(nodeInstance, variableName, item);
+        if (isBatched()) {
+            // iterations might complete in any order, the index keeps the output collection in input order
+            ((VariableScopeInstance) nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, TEMP_INDEX_VAR)).setVariable(nodeInstance, TEMP_INDEX_VAR, index);
+        }
+        return nodeInstance;
+    }
+
+    private Object getLoopVariable(String name) {
+        return ((VariableScopeInstance) getContextInstance(VariableScope.VARIABLE_SCOPE)).getVariable(name);
+    }
+
+    private void setLoopVariable(String name, Object value) {
+        ((VariableScopeInstance) getContextInstance(VariableScope.VARIABLE_SCOPE)).setVariable(this, name, value);
+    }
+
+    private List<NodeInstance> getIterations() {
+        return getNodeInstances(false).stream()
+                .filter(CompositeContextNodeInstance.class::isInstance)
+                .collect(Collectors.toList());
+    }
+
     public class ForEachSplitNodeInstance extends NodeInstanceImpl implements ContextableInstance {
 
         private static final long serialVersionUID = 510l;
@@ -159,24 +235,28 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             if (collection.isEmpty()) {
                 ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
             } else {
-                List<NodeInstance> nodeInstances = new ArrayList<>();
-                for (Object o : collection) {
-                    String variableName = getForEachNode().getVariableName();
-                    NodeInstance nodeInstance = ((NodeInstanceContainer) getNodeInstanceContainer()).getNodeInstance(getForEachSplitNode().getTo().getTo());
-                    VariableScopeInstance variableScopeInstance = (VariableScopeInstance) nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, variableName);
-                    variableScopeInstance.setVariable(nodeInstance, variableName, o);
-                    nodeInstances.add(nodeInstance);
-                }
-
-                for (NodeInstance nodeInstance : nodeInstances) {
-                    logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
-                    nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
-
-                    //this is required because Parallel instances execution does not work with async, so it fallbacks to sequential
-                    hasAsyncInstances = checkAsyncInstance(nodeInstance);
-                    if (isSequential()) {
-                        // for sequential mode trigger only first item from the list
-                        break;
+                if (isBatched()) {
+                    // iterations are created when triggered, only the input collection is kept until then
+                    setLoopVariable(TEMP_INPUT_VAR, new ArrayList<>(collection));
+                    setLoopVariable(TEMP_NEXT_INDEX_VAR, 0);
+                    ConcurrentBranches.trigger(ForEachNodeInstance.this, getForEachSplitNode().getTo().getTo().getId(), getForEachNode().getBatchSize(),
+                            ForEachNodeInstance.this::triggerPendingIterations);
+                } else {
+                    List<NodeInstance> nodeInstances = new ArrayList<>();
+                    int index = 0;
+                    for (Object o : collection) {
+                        nodeInstances.add(newIteration(o, index++));
+                    }
+                    for (NodeInstance nodeInstance : nodeInstances) {
+                        logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                        nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+
+                        //this is required because Parallel instances execution does not work with async, so it fallbacks to sequential
+                        hasAsyncInstances = checkAsyncInstance(nodeInstance);
+                        if (isSequential()) {
+                            // for sequential mode trigger only first item from the list
+                            break;
+                        }
                     }
                 }
 
@@ -254,7 +334,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                     outputCollection = new ArrayList<>();
                 }
 
-                outputCollection.add(outputVariable);
+                addOutput(outputCollection, from, outputVariable);
 
                 setVariable(TEMP_OUTPUT_VAR, outputCollection);
                 tempVariables.put(getForEachNode().getOutputVariableName(), outputVariable);
@@ -267,7 +347,14 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             }
 
             boolean isCompletionConditionMet = getForEachNode().hasCompletionCondition() && evaluateCompletionCondition(getForEachNode().getCompletionConditionExpression(), tempVariables);
-            if (isSequential() && !isCompletionConditionMet && !areNodeInstancesCompleted()) {
+            if (isBatched()) {
+                if (isCompletionConditionMet) {
+                    // running iterations are no longer needed, pending ones are never created
+                    getIterations().forEach(i -> i.cancel(CancelType.OBSOLETE));
+                } else {
+                    triggerPendingIterations();
+                }
+            } else if (isSequential() && !isCompletionConditionMet && !areNodeInstancesCompleted()) {
                 getFirstCompositeNodeInstance()
                         .ifPresent(nodeInstance -> {
                             logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
@@ -275,7 +362,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                         });
             }
 
-            if (areNodeInstancesCompleted() || isCompletionConditionMet) {
+            if ((areNodeInstancesCompleted() && !hasPendingIterations()) || isCompletionConditionMet) {
                 String outputCollection = getForEachNode().getOutputCollectionExpression();
                 Action outputAction = getForEachNode().getCompletionAction();
 
@@ -311,6 +398,24 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private void addOutput(Collection<Object> outputCollection, KogitoNodeInstance from, Object outputVariable) {
+            Object index = getForEachNode().getBatchSize() > 0 ? from.getVariable(TEMP_INDEX_VAR) : null;
+            if (!(index instanceof Integer) || !(outputCollection instanceof List)) {
+                outputCollection.add(outputVariable);
+                return;
+            }
+            List<Integer> indexes = (List<Integer>) getVariable(TEMP_OUTPUT_INDEXES_VAR);
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+            }
+            int position = Collections.binarySearch(indexes, (Integer) index);
+            position = position < 0 ? -position - 1 : position;
+            indexes.add(position, (Integer) index);
+            ((List<Object>) outputCollection).add(position, outputVariable);
+            setVariable(TEMP_OUTPUT_INDEXES_VAR, indexes);
+        }
+
         private Optional<NodeInstance> getFirstCompositeNodeInstance() {
             return ((CompositeNodeInstance) getNodeInstanceContainer()).getNodeInstances(false).stream()
                     .filter(CompositeContextNodeInstance.class::isInstance)
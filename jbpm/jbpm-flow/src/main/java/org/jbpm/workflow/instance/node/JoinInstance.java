@@ -136,6 +136,9 @@ public class JoinInstance extends NodeInstanceImpl {
                 }
                 if (counter >= number) {
                     resetAllTriggers();
+                    if (ConcurrentBranches.isEnabled(join)) {
+                        cancelRemainingBranches();
+                    }
                     triggerCompleted();
                 }
                 break;
@@ -151,6 +154,19 @@ public class JoinInstance extends NodeInstanceImpl {
         }
     }
 
+    private void cancelRemainingBranches() {
+        // branches still running when enough of them have completed must not reach the join again
+        Set<WorkflowElementIdentifier> branchIds = new HashSet<>();
+        for (final Connection connection : getJoin().getDefaultIncomingConnections()) {
+            branchIds.add(connection.getFrom().getId());
+        }
+        for (NodeInstance nodeInstance : new ArrayList<>(getNodeInstanceContainer().getNodeInstances())) {
+            if (branchIds.contains(nodeInstance.getNodeId())) {
+                ((org.jbpm.workflow.instance.NodeInstance) nodeInstance).cancel(CancelType.OBSOLETE);
+            }
+        }
+    }
+
     private boolean checkAllActivated() {
         // check whether all parent nodes have been triggered 
         for (final Connection connection : getJoin().getDefaultIncomingConnections()) {
@@ -78,7 +78,11 @@ public class SplitInstance extends NodeInstanceImpl {
         // TODO make different strategies for each type
         switch (split.getType()) {
             case Split.TYPE_AND:
-                triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                if (ConcurrentBranches.isEnabled(split)) {
+                    ConcurrentBranches.trigger(this, () -> triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true));
+                } else {
+                    triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                }
                 break;
             case Split.TYPE_XOR:
                 List<Connection> outgoing = split.getDefaultOutgoingConnections();
@@ -195,6 +195,19 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         }
     }
 
+    /**
+     * Handles an error reported by a handler that completes the work item asynchronously, once the handler invocation
+     * has already returned. If no exception handler is defined for it, the process instance is moved to error state.
+     */
+    public void workItemFailed(Exception e) {
+        try {
+            handleException(e);
+        } catch (WorkflowRuntimeException ex) {
+            logger.error("Work item {} failed and there is no exception handler for it", getWorkItemId(), ex);
+            captureError(ex);
+        }
+    }
+
     protected void handleException(String exceptionName, Exception e) {
         getExceptionScopeInstance(exceptionName, e).handleException(exceptionName, getProcessContext(e));
     }
@@ -73,6 +73,7 @@ import org.kie.kogito.process.flexible.AdHocFragment;
 import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +100,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     protected Consumer<AbstractProcessInstance<?>> reloadSupplier;
 
+    private volatile Consumer<AbstractProcessInstance<?>> lazyLoader;
+
     protected CompletionEventListener completionEventListener;
 
     protected long version;
@@ -223,9 +226,35 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     }
 
     public WorkflowProcessInstance internalGetProcessInstance() {
+        ensureLoaded();
         return processInstance;
     }
 
+    /**
+     * Registers the function that completes a read only process instance whose header (id, state, business key,
+     * description and dates) has been set but whose node instances and variables are still encoded.
+     * It is invoked once, the first time any of them is accessed.
+     * 
+     * @param lazyLoader function decoding the rest of the underlying process instance
+     */
+    public void internalSetLazyLoader(Consumer<AbstractProcessInstance<?>> lazyLoader) {
+        this.lazyLoader = lazyLoader;
+    }
+
+    private void ensureLoaded() {
+        if (lazyLoader == null) {
+            return;
+        }
+        synchronized (this) {
+            Consumer<AbstractProcessInstance<?>> loader = lazyLoader;
+            if (loader != null) {
+                loader.accept(this);
+                unbind(variables, processInstance.getVariables());
+                lazyLoader = null;
+            }
+        }
+    }
+
     public void internalSetProcessInstance(WorkflowProcessInstance processInstance) {
         this.processInstance = processInstance;
         processInstance.wrap(this);
@@ -282,10 +311,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getProcessInstanceManager().addProcessInstance(this.processInstance);
         this.id = processInstance.getStringId();
         addCompletionEventListener();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(id, this));
+        addToUnitOfWork(Operation.CREATE);
         KogitoProcessInstance kogitoProcessInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
         if (kogitoProcessInstance.getState() != STATE_ABORTED && kogitoProcessInstance.getState() != STATE_COMPLETED) {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(Operation.UPDATE);
         }
         unbind(variables, kogitoProcessInstance.getVariables());
         if (this.processInstance != null) {
@@ -298,6 +327,12 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    @SuppressWarnings("unchecked")
+    protected void addToUnitOfWork(Operation operation) {
+        getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork()
+                .intercept(ProcessInstanceWorkUnit.of(this, (MutableProcessInstances<T>) process.instances(), operation));
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
@@ -329,6 +364,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public T variables() {
+        ensureLoaded();
         return variables;
     }
 
@@ -382,7 +418,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         for (Entry<String, Object> entry : map.entrySet()) {
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
         return variables;
     }
 
@@ -415,7 +451,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         processInstance.setStartDate(new Date());
         processInstance.setState(STATE_ACTIVE);
         getProcessRuntime().getProcessInstanceManager().addProcessInstance(this.processInstance);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(id, this));
+        addToUnitOfWork(Operation.CREATE);
 
         this.id = processInstance.getStringId();
         addCompletionEventListener();
@@ -446,7 +482,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         }
         nodeInstance.trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
     }
 
     @Override
@@ -476,6 +512,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     }
 
     protected WorkflowProcessInstance processInstance() {
+        ensureLoaded();
         if (this.processInstance == null) {
             reloadSupplier.accept(this);
             if (this.processInstance == null) {
@@ -562,7 +599,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy... policies) {
         syncWorkItems();
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater, policies);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
         return result;
     }
 
@@ -595,11 +632,13 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public Collection<Milestone> milestones() {
+        ensureLoaded();
         return processInstance.milestones();
     }
 
     @Override
     public Collection<AdHocFragment> adHocFragments() {
+        ensureLoaded();
         return processInstance.adHocFragments();
     }
 
@@ -609,7 +648,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             syncProcessInstance(processInstance);
             remove();
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(Operation.UPDATE);
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
@@ -622,9 +661,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         }
         correlationInstance.map(CorrelationInstance::getCorrelation)
                 .ifPresent(c -> addToUnitOfWork(pi -> process.correlations().delete(c)));
-        addToUnitOfWork(pi -> {
-            ((MutableProcessInstances<T>) process.instances()).remove(pi.id());
-        });
+        addToUnitOfWork(Operation.REMOVE);
     }
 
     // this must be overridden at compile time
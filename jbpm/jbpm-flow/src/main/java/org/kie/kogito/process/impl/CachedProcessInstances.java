@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
+
+/**
+ * Bounded, least recently used cache of read only process instances in front of another storage.
+ * <p>
+ * Mutable reads always go to the storage, as the returned instance is modified by the caller. Read only instances are kept
+ * and, when the storage uses optimistic locking, validated against {@link MutableProcessInstances#findVersion(String)} before
+ * being returned, so changes written by other nodes are detected. Without optimistic locking there is no version to compare
+ * with and entries are only invalidated by writes going through this cache, so it should only be used that way when a single
+ * node writes to the storage.
+ * <p>
+ * An instance read from the storage is only cached if no write invalidated its id while it was being read, so a read
+ * racing with a write never leaves a stale entry behind. Use {@link #of(MutableProcessInstances, int)} to keep the
+ * non blocking operations of a {@link ReactiveMutableProcessInstances} storage.
+ *
+ * @param <T> type of the process instance model
+ */
+public class CachedProcessInstances<T> implements MutableProcessInstances<T> {
+
+    private final MutableProcessInstances<T> delegate;
+    private final int maxSize;
+    private final Map<String, CacheEntry<T>> entries;
+    // ids being read from the storage, an invalidation removes the token so the instance read is not cached
+    private final Map<String, Object> loading = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static class CacheEntry<T> {
+        private final ProcessInstance<T> instance;
+        private final long version;
+
+        CacheEntry(ProcessInstance<T> instance) {
+            this.instance = instance;
+            this.version = instance.version();
+        }
+    }
+
+    public CachedProcessInstances(MutableProcessInstances<T> delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<T>> eldest) {
+                if (size() > CachedProcessInstances.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return cache in front of the given storage, implementing {@link ReactiveMutableProcessInstances} if the storage does
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CachedProcessInstances<T> of(MutableProcessInstances<T> delegate, int maxSize) {
+        return delegate instanceof ReactiveMutableProcessInstances ? new ReactiveCachedProcessInstances<>((ReactiveMutableProcessInstances<T>) delegate, maxSize)
+                : new CachedProcessInstances<>(delegate, maxSize);
+    }
+
+    public MutableProcessInstances<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        if (!mode.isReadOnly()) {
+            return delegate.findById(id, mode);
+        }
+        CacheEntry<T> entry = get(id);
+        if (entry != null) {
+            if (!delegate.lock()) {
+                hits.increment();
+                return Optional.of(entry.instance);
+            }
+            OptionalLong version = delegate.findVersion(id);
+            if (version.isEmpty()) {
+                invalidate(id);
+                misses.increment();
+                return Optional.empty();
+            }
+            if (version.getAsLong() == entry.version) {
+                hits.increment();
+                return Optional.of(entry.instance);
+            }
+            invalidate(id);
+        }
+        Object token = startLoading(id);
+        Optional<ProcessInstance<T>> instance = Optional.empty();
+        try {
+            instance = delegate.findById(id, mode);
+        } finally {
+            fill(id, token, instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        delegate.create(id, instance);
+        invalidate(id);
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        try {
+            delegate.update(id, instance);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        try {
+            delegate.remove(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return delegate.exists(id);
+    }
+
+    @Override
+    public boolean lock() {
+        return delegate.lock();
+    }
+
+    @Override
+    public OptionalLong findVersion(String id) {
+        return delegate.findVersion(id);
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String id, ProcessInstanceReadMode mode) {
+        return delegate.findByBusinessKey(id, mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return delegate.stream(mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return delegate.find(query, mode);
+    }
+
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        try {
+            delegate.migrateProcessInstances(targetProcessId, targetProcessVersion, processIds);
+        } finally {
+            for (String processId : processIds) {
+                invalidate(processId);
+            }
+        }
+    }
+
+    @Override
+    public long migrateAll(String targetProcessId, String targetProcessVersion) {
+        try {
+            return delegate.migrateAll(targetProcessId, targetProcessVersion);
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public Optional<ProcessInstancesBatch<T>> newBatch() {
+        return delegate.newBatch().map(InvalidatingBatch::new);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loading.clear();
+    }
+
+    private synchronized CacheEntry<T> get(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * @return the cached instance, recording a hit, without validating its version against the storage
+     */
+    Optional<ProcessInstance<T>> cached(String id) {
+        CacheEntry<T> entry = get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.instance);
+    }
+
+    /**
+     * Records a miss and returns the token to pass to {@link #fill} once the instance has been read from the storage.
+     */
+    synchronized Object startLoading(String id) {
+        misses.increment();
+        Object token = new Object();
+        loading.put(id, token);
+        return token;
+    }
+
+    synchronized void fill(String id, Object token, Optional<ProcessInstance<T>> instance) {
+        if (loading.remove(id, token)) {
+            instance.ifPresent(pi -> entries.put(id, new CacheEntry<>(pi)));
+        }
+    }
+
+    synchronized void invalidate(String id) {
+        entries.remove(id);
+        loading.remove(id);
+    }
+
+    private synchronized void invalidateAll(Collection<String> ids) {
+        entries.keySet().removeAll(ids);
+        loading.keySet().removeAll(ids);
+    }
+
+    /**
+     * Drops the cached entries of the instances written by the batch, both when they are collected,
+     * so they are not served while the unit of work is running, and once they have been flushed.
+     */
+    private class InvalidatingBatch implements ProcessInstancesBatch<T> {
+
+        private final ProcessInstancesBatch<T> batch;
+        private final Set<String> ids = new LinkedHashSet<>();
+
+        InvalidatingBatch(ProcessInstancesBatch<T> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void create(String id, ProcessInstance<T> instance) {
+            batch.create(id, instance);
+            collected(id);
+        }
+
+        @Override
+        public void update(String id, ProcessInstance<T> instance) {
+            batch.update(id, instance);
+            collected(id);
+        }
+
+        @Override
+        public void remove(String id) {
+            batch.remove(id);
+            collected(id);
+        }
+
+        @Override
+        public void flush() {
+            try {
+                batch.flush();
+            } finally {
+                invalidateAll(ids);
+            }
+        }
+
+        private void collected(String id) {
+            ids.add(id);
+            invalidate(id);
+        }
+    }
+}
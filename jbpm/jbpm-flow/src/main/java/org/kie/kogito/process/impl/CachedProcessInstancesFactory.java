@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstancesFactory;
+
+/**
+ * Decorates the storages created by another factory with a {@link CachedProcessInstances} per process, i.e.
+ * <code>process.setProcessInstancesFactory(new CachedProcessInstancesFactory(factory, 1000))</code>.
+ */
+public class CachedProcessInstancesFactory implements ProcessInstancesFactory {
+
+    private final ProcessInstancesFactory delegate;
+    private final int maxSize;
+    private final Map<String, CachedProcessInstances<?>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize maximum number of read only instances kept for each process
+     */
+    public CachedProcessInstancesFactory(ProcessInstancesFactory delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        CachedProcessInstances<?> cache = CachedProcessInstances.of(delegate.createProcessInstances(process), maxSize);
+        caches.put(process.id(), cache);
+        return cache;
+    }
+
+    /**
+     * @return cache of the given process, to inspect its hit and miss counters
+     */
+    public Optional<CachedProcessInstances<?>> cache(String processId) {
+        return Optional.ofNullable(caches.get(processId));
+    }
+
+    public long hits() {
+        return caches.values().stream().mapToLong(CachedProcessInstances::hits).sum();
+    }
+
+    public long misses() {
+        return caches.values().stream().mapToLong(CachedProcessInstances::misses).sum();
+    }
+}
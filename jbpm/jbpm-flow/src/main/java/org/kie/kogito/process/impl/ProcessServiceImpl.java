@@ -21,6 +21,10 @@ package org.kie.kogito.process.impl;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,8 +46,10 @@ import org.kie.kogito.internal.process.workitem.WorkItemNotFoundException;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessService;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 
@@ -53,10 +59,20 @@ public class ProcessServiceImpl implements ProcessService {
 
     private final Application application;
     private final short processInstanceLimit;
+    private final Executor executor;
 
     public ProcessServiceImpl(Application application) {
+        this(application, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor where the asynchronous methods unmarshall process instances and map them to their output, so that work
+     *        is not done in the thread completing the storage access, which may be an event loop
+     */
+    public ProcessServiceImpl(Application application, Executor executor) {
         this.application = application;
         this.processInstanceLimit = application.config().get(ConfigBean.class).processInstanceLimit();
+        this.executor = executor;
     }
 
     @Override
@@ -95,7 +111,30 @@ public class ProcessServiceImpl implements ProcessService {
 
     @Override
     public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process) {
-        try (Stream<ProcessInstance<T>> stream = process.instances().stream().limit(processInstanceLimit)) {
+        return getProcessInstanceOutput(process, ProcessInstanceQuery.builder().build());
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, ProcessInstanceQuery query) {
+        return toOutput(process.instances().find(limited(query), ProcessInstanceReadMode.READ_ONLY));
+    }
+
+    private ProcessInstanceQuery limited(ProcessInstanceQuery query) {
+        if (query.limit() <= processInstanceLimit) {
+            return query;
+        }
+        return ProcessInstanceQuery.builder()
+                .state(query.states().stream().mapToInt(Integer::intValue).toArray())
+                .businessKeyPrefix(query.businessKeyPrefix())
+                .startedAfter(query.startedAfter())
+                .after(query.afterId())
+                .offset(query.offset())
+                .limit(processInstanceLimit)
+                .build();
+    }
+
+    private static <T extends MappableToModel<R>, R> List<R> toOutput(Stream<ProcessInstance<T>> instances) {
+        try (Stream<ProcessInstance<T>> stream = instances) {
             return stream.map(ProcessInstance::variables)
                     .map(MappableToModel::toModel)
                     .collect(Collectors.toList());
@@ -110,6 +149,29 @@ public class ProcessServiceImpl implements ProcessService {
         return mappable.map(MappableToModel::toModel);
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process) {
+        return getProcessInstanceOutputAsync(process, ProcessInstanceQuery.builder().build());
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, ProcessInstanceQuery query) {
+        if (process.instances() instanceof ReactiveMutableProcessInstances) {
+            return ((ReactiveMutableProcessInstances<T>) process.instances()).findAsync(limited(query), ProcessInstanceReadMode.READ_ONLY)
+                    .thenApplyAsync(ProcessServiceImpl::<T, R> toOutput, executor);
+        }
+        return CompletableFuture.supplyAsync(() -> getProcessInstanceOutput(process, query), executor);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        if (process.instances() instanceof ReactiveMutableProcessInstances) {
+            return ((ReactiveMutableProcessInstances<T>) process.instances()).findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+                    .thenApplyAsync(instance -> instance.map(ProcessInstance::variables).map(MappableToModel::toModel), executor);
+        }
+        return CompletableFuture.supplyAsync(() -> findById(process, id), executor);
+    }
+
     @Override
     public <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... processIds) throws UnsupportedOperationException {
         process.instances().migrateProcessInstances(targetProcessId, targetProcessVersion, processIds);
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
+
+/**
+ * {@link CachedProcessInstances} in front of a storage that can be accessed without blocking.
+ * <p>
+ * Checking the version of a cached entry would block, so when the storage uses optimistic locking the non blocking reads
+ * always go to the storage and just refresh the cache.
+ *
+ * @param <T> type of the process instance model
+ */
+class ReactiveCachedProcessInstances<T> extends CachedProcessInstances<T> implements ReactiveMutableProcessInstances<T> {
+
+    private final ReactiveMutableProcessInstances<T> delegate;
+
+    ReactiveCachedProcessInstances(ReactiveMutableProcessInstances<T> delegate, int maxSize) {
+        super(delegate, maxSize);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        if (!mode.isReadOnly()) {
+            return delegate.findByIdAsync(id, mode);
+        }
+        if (!delegate.lock()) {
+            Optional<ProcessInstance<T>> cached = cached(id);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        Object token = startLoading(id);
+        return delegate.findByIdAsync(id, mode).whenComplete((instance, error) -> fill(id, token, error == null ? instance : Optional.empty()));
+    }
+
+    @Override
+    public CompletionStage<Stream<ProcessInstance<T>>> streamAsync(ProcessInstanceReadMode mode) {
+        return delegate.streamAsync(mode);
+    }
+
+    @Override
+    public CompletionStage<Stream<ProcessInstance<T>>> findAsync(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return delegate.findAsync(query, mode);
+    }
+
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
+        return delegate.createAsync(id, instance).whenComplete((r, e) -> invalidate(id));
+    }
+
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
+        return delegate.updateAsync(id, instance).whenComplete((r, e) -> invalidate(id));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return delegate.removeAsync(id).whenComplete((r, e) -> invalidate(id));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.WorkflowElementIdentifier;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstanceContainer;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
+import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConcurrentBranchesTest {
+
+    private static final WorkflowElementIdentifier BRANCH = WorkflowElementIdentifierFactory.fromExternalFormat("branch");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final KogitoNodeInstanceContainer container = mock(KogitoNodeInstanceContainer.class);
+    private final KogitoProcessInstance processInstance = mock(KogitoProcessInstance.class);
+    private final KogitoWorkItemManager manager = mock(KogitoWorkItemManager.class);
+    private final Set<String> inactive = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testDiscardBranchWhileAnotherIsRunning() throws InterruptedException {
+        when(processInstance.getState()).thenReturn(KogitoProcessInstance.STATE_ACTIVE);
+        KogitoWorkItem fast = workItem("fast");
+        KogitoWorkItem discarded = workItem("discarded");
+        KogitoWorkItem slow = workItem("slow");
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean slowFinished = new AtomicBoolean();
+        // completing the fast branch deactivates the discarded one, as a N of M join would, while the slow one keeps running
+        doAnswer(invocation -> inactive.add("discarded")).when(manager).completeWorkItem(eq("fast"), any());
+
+        ConcurrentBranches branches = new ConcurrentBranches(container, Collections.singleton(BRANCH), executor, 3);
+        ConcurrentBranches.run(branches, () -> {
+            submit(fast, Collections::emptyMap);
+            submit(discarded, () -> {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return Collections.emptyMap();
+            });
+            submit(slow, () -> {
+                try {
+                    interrupted.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slowFinished.set(true);
+                return Collections.emptyMap();
+            });
+        });
+
+        assertThat(interrupted.getCount()).isZero();
+        assertThat(slowFinished).isTrue();
+        verify(manager).completeWorkItem(eq("fast"), any());
+        verify(manager).completeWorkItem(eq("slow"), any());
+        verify(manager, never()).completeWorkItem(eq("discarded"), any());
+    }
+
+    private void submit(KogitoWorkItem workItem, Supplier<Map<String, Object>> work) {
+        assertThat(ConcurrentBranches.submit(manager, workItem, work)).isTrue();
+    }
+
+    private KogitoWorkItem workItem(String id) {
+        WorkItemNodeInstance nodeInstance = mock(WorkItemNodeInstance.class);
+        when(nodeInstance.getNodeInstanceContainer()).thenReturn(container);
+        when(nodeInstance.getNodeId()).thenReturn(BRANCH);
+        when(nodeInstance.getStringId()).thenReturn(id);
+        when(container.getNodeInstance(id)).thenAnswer(invocation -> inactive.contains(id) ? null : nodeInstance);
+        KogitoWorkItem workItem = mock(KogitoWorkItem.class);
+        when(workItem.getStringId()).thenReturn(id);
+        when(workItem.getNodeInstance()).thenReturn(nodeInstance);
+        when(workItem.getProcessInstance()).thenReturn(processInstance);
+        return workItem;
+    }
+}
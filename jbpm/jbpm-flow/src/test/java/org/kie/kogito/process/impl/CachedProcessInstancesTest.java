@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedProcessInstancesTest {
+
+    private MutableProcessInstances<Model> delegate;
+    private CachedProcessInstances<Model> cache;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setup() {
+        delegate = mock(MutableProcessInstances.class);
+        cache = new CachedProcessInstances<>(delegate, 2);
+    }
+
+    @Test
+    public void testReadOnlyInstancesAreCached() {
+        ProcessInstance<Model> instance = instance("1", 0);
+        when(delegate.findById("1", ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(instance));
+
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(instance);
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(instance);
+        verify(delegate, times(1)).findById("1", ProcessInstanceReadMode.READ_ONLY);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+
+        cache.findById("1", ProcessInstanceReadMode.MUTABLE);
+        verify(delegate).findById("1", ProcessInstanceReadMode.MUTABLE);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEntriesAreValidatedAgainstVersion() {
+        ProcessInstance<Model> first = instance("1", 1);
+        ProcessInstance<Model> second = instance("1", 2);
+        when(delegate.lock()).thenReturn(true);
+        when(delegate.findById("1", ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(first), Optional.of(second));
+        when(delegate.findVersion("1")).thenReturn(OptionalLong.of(1), OptionalLong.of(2), OptionalLong.empty());
+
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(first);
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(first);
+        // updated by another node
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(second);
+        // removed by another node
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(3);
+    }
+
+    @Test
+    public void testWritesInvalidateEntries() {
+        ProcessInstance<Model> instance = instance("1", 0);
+        when(delegate.findById("1", ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(instance));
+
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cache.update("1", instance);
+        assertThat(cache.size()).isZero();
+
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cache.remove("1");
+        assertThat(cache.size()).isZero();
+        verify(delegate).update("1", instance);
+        verify(delegate).remove("1");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchWritesInvalidateEntries() {
+        ProcessInstance<Model> instance = instance("1", 0);
+        ProcessInstancesBatch<Model> batch = mock(ProcessInstancesBatch.class);
+        when(delegate.newBatch()).thenReturn(Optional.of(batch));
+        when(delegate.findById("1", ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(instance));
+
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        ProcessInstancesBatch<Model> cachedBatch = cache.newBatch().orElseThrow();
+        cachedBatch.update("1", instance);
+        assertThat(cache.size()).isZero();
+
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cachedBatch.flush();
+        assertThat(cache.size()).isZero();
+        verify(batch).update("1", instance);
+        verify(batch).flush();
+    }
+
+    @Test
+    public void testWriteDuringReadDiscardsReadInstance() {
+        ProcessInstance<Model> stale = instance("1", 0);
+        ProcessInstance<Model> updated = instance("1", 1);
+        when(delegate.findById("1", ProcessInstanceReadMode.READ_ONLY)).thenAnswer(invocation -> {
+            // written by another thread after the stale instance has been read
+            cache.update("1", updated);
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(updated));
+
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(stale);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(updated);
+        assertThat(cache.findById("1", ProcessInstanceReadMode.READ_ONLY)).containsSame(updated);
+        verify(delegate, times(2)).findById("1", ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReactiveStorage() {
+        ReactiveMutableProcessInstances<Model> reactiveDelegate = mock(ReactiveMutableProcessInstances.class);
+        ProcessInstance<Model> instance = instance("1", 0);
+        when(reactiveDelegate.findByIdAsync("1", ProcessInstanceReadMode.READ_ONLY)).thenReturn(CompletableFuture.completedFuture(Optional.of(instance)));
+        when(reactiveDelegate.updateAsync("1", instance)).thenReturn(CompletableFuture.completedFuture(null));
+        CachedProcessInstances<Model> reactiveCache = CachedProcessInstances.of(reactiveDelegate, 2);
+        assertThat(reactiveCache).isInstanceOf(ReactiveMutableProcessInstances.class);
+        ReactiveMutableProcessInstances<Model> instances = (ReactiveMutableProcessInstances<Model>) reactiveCache;
+
+        assertThat(instances.findByIdAsync("1", ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().join()).containsSame(instance);
+        assertThat(instances.findByIdAsync("1", ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().join()).containsSame(instance);
+        verify(reactiveDelegate, times(1)).findByIdAsync("1", ProcessInstanceReadMode.READ_ONLY);
+        assertThat(reactiveCache.hits()).isEqualTo(1);
+
+        instances.updateAsync("1", instance).toCompletableFuture().join();
+        assertThat(reactiveCache.size()).isZero();
+        assertThat(CachedProcessInstances.of(delegate, 2)).isNotInstanceOf(ReactiveMutableProcessInstances.class);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        for (String id : new String[] { "1", "2", "3" }) {
+            ProcessInstance<Model> instance = instance(id, 0);
+            when(delegate.findById(id, ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(instance));
+        }
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cache.findById("2", ProcessInstanceReadMode.READ_ONLY);
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cache.findById("3", ProcessInstanceReadMode.READ_ONLY);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+        cache.findById("1", ProcessInstanceReadMode.READ_ONLY);
+        verify(delegate, times(1)).findById("1", ProcessInstanceReadMode.READ_ONLY);
+        cache.findById("2", ProcessInstanceReadMode.READ_ONLY);
+        verify(delegate, times(2)).findById("2", ProcessInstanceReadMode.READ_ONLY);
+        verify(delegate, never()).findVersion("1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProcessInstance<Model> instance(String id, long version) {
+        ProcessInstance<Model> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        when(instance.version()).thenReturn(version);
+        return instance;
+    }
+}
@@ -21,12 +21,10 @@ package org.kie.kogito.usertask.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.kie.kogito.auth.IdentityProvider;
@@ -35,6 +33,7 @@ import org.kie.kogito.usertask.UserTaskInstances;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -43,13 +42,15 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     private static Logger LOG = LoggerFactory.getLogger(InMemoryUserTaskInstances.class);
 
     private Map<String, byte[]> userTaskInstances;
+    private UserTaskInstanceIndex index;
     private Function<UserTaskInstance, UserTaskInstance> reconnectUserTaskInstance;
     private Function<UserTaskInstance, UserTaskInstance> disconnectUserTaskInstance;
     private ObjectMapper mapper;
 
     public InMemoryUserTaskInstances() {
         LOG.info("Initializing InMemoryUsertaskInstances");
-        this.userTaskInstances = new HashMap<>();
+        this.userTaskInstances = new ConcurrentHashMap<>();
+        this.index = new UserTaskInstanceIndex();
         this.reconnectUserTaskInstance = null;
         this.disconnectUserTaskInstance = null;
         this.mapper = new ObjectMapper();
@@ -82,16 +83,24 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
 
     @Override
     public List<UserTaskInstance> findByIdentity(IdentityProvider identity) {
+        return findByIdentity(identity, null, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UserTaskInstance> findByIdentity(IdentityProvider identity, Collection<String> states, int offset, int limit) {
         try {
             String user = identity.getName();
-            Collection<String> roles = identity.getRoles();
-            List<UserTaskInstance> users = new ArrayList<>();
-            for (String id : userTaskInstances.keySet()) {
-                UserTaskInstance userTaskInstance = mapper.readValue(userTaskInstances.get(id), DefaultUserTaskInstance.class);
-                if (checkVisibility(userTaskInstance, user, roles)) {
-                    users.add(reconnectUserTaskInstance.apply(userTaskInstance));
+            Collection<String> roles = identity.getRoles() != null ? identity.getRoles() : Collections.emptyList();
+            List<byte[]> found = new ArrayList<>();
+            synchronized (this) {
+                for (String id : index.findVisible(user, roles, states, offset, limit)) {
+                    found.add(userTaskInstances.get(id));
                 }
             }
+            List<UserTaskInstance> users = new ArrayList<>(found.size());
+            for (byte[] data : found) {
+                users.add(reconnectUserTaskInstance.apply(mapper.readValue(data, DefaultUserTaskInstance.class)));
+            }
             return users;
         } catch (Exception e) {
             LOG.error("during find by Identity {}", identity.getName(), e);
@@ -99,38 +108,6 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
         }
     }
 
-    private boolean checkVisibility(UserTaskInstance userTaskInstance, String user, Collection<String> roles) {
-        Set<String> adminUsers = userTaskInstance.getAdminUsers();
-        if (adminUsers.contains(user)) {
-            return true;
-        }
-
-        Set<String> userAdminGroups = new HashSet<>(userTaskInstance.getAdminGroups());
-        userAdminGroups.retainAll(roles);
-        if (!userAdminGroups.isEmpty()) {
-            return true;
-        }
-
-        if (userTaskInstance.getActualOwner() != null && userTaskInstance.getActualOwner().equals(user)) {
-            return true;
-        }
-
-        // there is no user
-        Set<String> users = new HashSet<>(userTaskInstance.getPotentialUsers());
-        users.removeAll(userTaskInstance.getExcludedUsers());
-        if (users.contains(user)) {
-            return true;
-        }
-
-        Set<String> userPotGroups = new HashSet<>(userTaskInstance.getPotentialGroups());
-        userPotGroups.retainAll(roles);
-        if (!userPotGroups.isEmpty()) {
-            return true;
-        }
-
-        return false;
-    }
-
     @Override
     public boolean exists(String userTaskInstanceId) {
         return userTaskInstances.containsKey(userTaskInstanceId);
@@ -140,8 +117,7 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     public UserTaskInstance create(UserTaskInstance userTaskInstance) {
         try {
             LOG.trace("create {}", userTaskInstance);
-            byte[] data = mapper.writeValueAsBytes(userTaskInstance);
-            userTaskInstances.put(userTaskInstance.getId(), data);
+            store(userTaskInstance);
             return reconnectUserTaskInstance.apply(userTaskInstance);
         } catch (Exception e) {
             LOG.error("during create {}", userTaskInstance.getId(), e);
@@ -153,8 +129,7 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
     public UserTaskInstance update(UserTaskInstance userTaskInstance) {
         try {
             LOG.trace("update {}", userTaskInstance);
-            byte[] data = mapper.writeValueAsBytes(userTaskInstance);
-            userTaskInstances.put(userTaskInstance.getId(), data);
+            store(userTaskInstance);
             return userTaskInstance;
         } catch (Exception e) {
             LOG.error("during udpate {}", userTaskInstance.getId(), e);
@@ -162,6 +137,14 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
         }
     }
 
+    private void store(UserTaskInstance userTaskInstance) throws JsonProcessingException {
+        byte[] data = mapper.writeValueAsBytes(userTaskInstance);
+        synchronized (this) {
+            userTaskInstances.put(userTaskInstance.getId(), data);
+            index.index(userTaskInstance);
+        }
+    }
+
     @Override
     public UserTaskInstance remove(UserTaskInstance userTaskInstance) {
         try {
@@ -169,7 +152,10 @@ public class InMemoryUserTaskInstances implements UserTaskInstances {
                 return null;
             }
             LOG.trace("remove {}", userTaskInstance);
-            userTaskInstances.remove(userTaskInstance.getId());
+            synchronized (this) {
+                userTaskInstances.remove(userTaskInstance.getId());
+                index.remove(userTaskInstance.getId());
+            }
             return disconnectUserTaskInstance.apply(userTaskInstance);
         } catch (Exception e) {
             LOG.error("during remove {}", userTaskInstance, e);
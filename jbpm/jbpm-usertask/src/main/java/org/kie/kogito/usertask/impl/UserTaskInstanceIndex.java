@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.usertask.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.kogito.usertask.UserTaskInstance;
+
+/**
+ * Inverted indexes over the assignments of the stored user task instances, so the tasks visible to an identity
+ * are found without reading every stored task.
+ * Not thread safe, callers must synchronize the access.
+ */
+class UserTaskInstanceIndex {
+
+    private record Entry(long sequence,
+            String state,
+            String actualOwner,
+            Set<String> potentialUsers,
+            Set<String> potentialGroups,
+            Set<String> adminUsers,
+            Set<String> adminGroups,
+            Set<String> excludedUsers) {
+
+        // the sets are immutable, which reject null lookups, and the user is null for anonymous or group only identities
+        boolean isVisible(String user, Collection<String> roles) {
+            return (user != null && adminUsers.contains(user))
+                    || containsAny(adminGroups, roles)
+                    || (actualOwner != null && actualOwner.equals(user))
+                    || (user != null && potentialUsers.contains(user) && !excludedUsers.contains(user))
+                    || containsAny(potentialGroups, roles);
+        }
+
+        Set<String> users() {
+            Set<String> users = new HashSet<>(potentialUsers);
+            users.addAll(adminUsers);
+            if (actualOwner != null) {
+                users.add(actualOwner);
+            }
+            return users;
+        }
+
+        Set<String> groups() {
+            Set<String> groups = new HashSet<>(potentialGroups);
+            groups.addAll(adminGroups);
+            return groups;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> tasksByUser = new HashMap<>();
+    private final Map<String, Set<String>> tasksByGroup = new HashMap<>();
+    private long sequence;
+
+    void index(UserTaskInstance userTaskInstance) {
+        String id = userTaskInstance.getId();
+        Entry previous = entries.get(id);
+        Entry entry = new Entry(previous != null ? previous.sequence() : sequence++,
+                userTaskInstance.getStatus() != null ? userTaskInstance.getStatus().getName() : null,
+                userTaskInstance.getActualOwner(),
+                copyOf(userTaskInstance.getPotentialUsers()),
+                copyOf(userTaskInstance.getPotentialGroups()),
+                copyOf(userTaskInstance.getAdminUsers()),
+                copyOf(userTaskInstance.getAdminGroups()),
+                copyOf(userTaskInstance.getExcludedUsers()));
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        entries.put(id, entry);
+        entry.users().forEach(user -> tasksByUser.computeIfAbsent(user, k -> new HashSet<>()).add(id));
+        entry.groups().forEach(group -> tasksByGroup.computeIfAbsent(group, k -> new HashSet<>()).add(id));
+    }
+
+    void remove(String id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+    }
+
+    /**
+     * @param states names of the states the tasks must be in, null or empty for any state
+     * @return identifiers of the visible tasks in creation order
+     */
+    List<String> findVisible(String user, Collection<String> roles, Collection<String> states, int offset, int limit) {
+        Set<String> candidates = new HashSet<>();
+        if (user != null) {
+            candidates.addAll(tasksByUser.getOrDefault(user, Set.of()));
+        }
+        for (String role : roles) {
+            if (role == null) {
+                continue;
+            }
+            candidates.addAll(tasksByGroup.getOrDefault(role, Set.of()));
+        }
+        List<Map.Entry<String, Entry>> visible = new ArrayList<>(candidates.size());
+        for (String id : candidates) {
+            Entry entry = entries.get(id);
+            if ((states == null || states.isEmpty() || states.contains(entry.state())) && entry.isVisible(user, roles)) {
+                visible.add(Map.entry(id, entry));
+            }
+        }
+        return visible.stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().sequence()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void unindex(String id, Entry entry) {
+        entry.users().forEach(user -> removeFrom(tasksByUser, user, id));
+        entry.groups().forEach(group -> removeFrom(tasksByGroup, group, id));
+    }
+
+    private static void removeFrom(Map<String, Set<String>> index, String key, String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static boolean containsAny(Set<String> values, Collection<String> candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && values.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> copyOf(Set<String> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        Set<String> copy = new HashSet<>(values);
+        copy.remove(null);
+        return Set.copyOf(copy);
+    }
+}
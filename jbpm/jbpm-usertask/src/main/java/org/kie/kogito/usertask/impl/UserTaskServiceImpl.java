@@ -19,6 +19,7 @@
 package org.kie.kogito.usertask.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,11 @@ public class UserTaskServiceImpl implements UserTaskService {
         return application.get(UserTasks.class).instances().findByIdentity(identity).stream().map(this::toUserTaskView).toList();
     }
 
+    @Override
+    public List<UserTaskView> list(IdentityProvider identity, Collection<String> states, int offset, int limit) {
+        return application.get(UserTasks.class).instances().findByIdentity(identity, states, offset, limit).stream().map(this::toUserTaskView).toList();
+    }
+
     private UserTaskView toUserTaskView(UserTaskInstance instance) {
         UserTaskView view = new UserTaskView();
         view.setId(instance.getId());
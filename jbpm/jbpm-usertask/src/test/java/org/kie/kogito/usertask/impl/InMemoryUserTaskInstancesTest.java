@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.usertask.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.IdentityProviders;
+import org.kie.kogito.usertask.UserTaskInstance;
+import org.kie.kogito.usertask.lifecycle.UserTaskState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryUserTaskInstancesTest {
+
+    private InMemoryUserTaskInstances instances;
+
+    @BeforeEach
+    public void setup() {
+        instances = new InMemoryUserTaskInstances();
+        instances.setReconnectUserTaskInstance(Function.identity());
+        instances.setDisconnectUserTaskInstance(Function.identity());
+    }
+
+    @Test
+    public void testVisibility() {
+        instances.create(task("potentialUser", "Ready", userTask -> userTask.setPotentialUsers(Set.of("john"))));
+        instances.create(task("excluded", "Ready", userTask -> {
+            userTask.setPotentialUsers(Set.of("john"));
+            userTask.setExcludedUsers(Set.of("john"));
+        }));
+        instances.create(task("excludedButGroup", "Ready", userTask -> {
+            userTask.setExcludedUsers(Set.of("john"));
+            userTask.setPotentialGroups(Set.of("managers"));
+        }));
+        instances.create(task("owner", "Reserved", userTask -> userTask.setActualOwner("john")));
+        instances.create(task("adminGroup", "Ready", userTask -> userTask.setAdminGroups(Set.of("admins"))));
+        instances.create(task("other", "Ready", userTask -> userTask.setPotentialUsers(Set.of("mary"))));
+
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john", "managers")))).containsExactly("potentialUser", "excludedButGroup", "owner");
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("peter", "admins")))).containsExactly("adminGroup");
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("mary")))).containsExactly("other");
+        assertThat(instances.findByIdentity(IdentityProviders.of("nobody"))).isEmpty();
+    }
+
+    @Test
+    public void testIdentityWithoutUser() {
+        instances.create(task("potentialUser", "Ready", userTask -> userTask.setPotentialUsers(Set.of("john"))));
+        instances.create(task("adminUser", "Ready", userTask -> userTask.setAdminUsers(Set.of("john"))));
+        instances.create(task("group", "Ready", userTask -> {
+            userTask.setPotentialUsers(Set.of("john"));
+            userTask.setExcludedUsers(Set.of("john"));
+            userTask.setPotentialGroups(Set.of("managers"));
+        }));
+        instances.create(task("owner", "Reserved", userTask -> userTask.setActualOwner("john")));
+
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of(null, List.of("managers"))))).containsExactly("group");
+        assertThat(instances.findByIdentity(IdentityProviders.of(null, List.of()))).isEmpty();
+    }
+
+    @Test
+    public void testStateFilterAndPagination() {
+        for (int i = 0; i < 10; i++) {
+            instances.create(task("task" + i, i % 2 == 0 ? "Ready" : "Reserved", userTask -> userTask.setPotentialGroups(Set.of("managers"))));
+        }
+
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john", "managers"), null, 3, 4))).containsExactly("task3", "task4", "task5", "task6");
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("john", "managers"), Set.of("Ready"), 1, 2))).containsExactly("task2", "task4");
+        assertThat(instances.findByIdentity(IdentityProviders.of("john", "managers"), Set.of("Completed"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void testUpdateAndRemoveReindex() {
+        DefaultUserTaskInstance userTask = task("task", "Ready", t -> t.setPotentialUsers(Set.of("john")));
+        instances.create(userTask);
+        instances.create(task("later", "Ready", t -> t.setPotentialUsers(Set.of("mary"))));
+
+        userTask.setPotentialUsers(Set.of("mary"));
+        instances.update(userTask);
+        assertThat(instances.findByIdentity(IdentityProviders.of("john"))).isEmpty();
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("mary")))).containsExactly("task", "later");
+
+        instances.remove(userTask);
+        assertThat(ids(instances.findByIdentity(IdentityProviders.of("mary")))).containsExactly("later");
+    }
+
+    private static DefaultUserTaskInstance task(String id, String state, Consumer<DefaultUserTaskInstance> assignments) {
+        DefaultUserTaskInstance userTask = new DefaultUserTaskInstance();
+        userTask.setId(id);
+        userTask.setStatus(UserTaskState.of(state));
+        assignments.accept(userTask);
+        return userTask;
+    }
+
+    private static List<String> ids(List<UserTaskInstance> userTasks) {
+        return userTasks.stream().map(UserTaskInstance::getId).toList();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+/**
+ * Compression codec applied to marshalled process instances, see {@link ProcessInstanceMarshallerService.Builder#withCompression(String, int)}.
+ * Implementations are discovered through {@link java.util.ServiceLoader} so payloads written by any registered codec can be read back.
+ */
+public interface PayloadCompressor {
+
+    /**
+     * Identifier stored in every compressed payload. It must never change once payloads have been persisted.
+     * Values up to 15 are reserved for the codecs shipped with this module.
+     */
+    byte id();
+
+    /**
+     * Name used to select the codec in configuration
+     */
+    String name();
+
+    byte[] compress(byte[] data, int offset, int length);
+
+    byte[] decompress(byte[] data, int offset, int length, int uncompressedLength);
+
+}
@@ -20,16 +20,23 @@ package org.jbpm.flow.serialization;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.jbpm.flow.serialization.impl.DeflatePayloadCompressor;
+import org.jbpm.flow.serialization.impl.PayloadEnvelope;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceDeltas;
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshallerFactory;
 import org.jbpm.util.JbpmClassLoaderUtil;
 import org.kie.kogito.process.Process;
@@ -42,6 +49,8 @@ import org.slf4j.LoggerFactory;
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
     private List<ObjectMarshallerStrategy> strats;
 
     private List<ProcessInstanceMarshallerListener> listeners;
@@ -53,6 +62,22 @@ public class ProcessInstanceMarshallerService {
     private List<NodeInstanceReader> readers;
     private List<NodeInstanceWriter> writers;
 
+    // computed once at build time so each (un)marshalling does not copy the lists again
+    private ObjectMarshallerStrategy[] strategiesArray;
+    private ProcessInstanceMarshallerListener[] listenersArray;
+    private NodeInstanceReader[] readersArray;
+    private NodeInstanceWriter[] writersArray;
+
+    private boolean trackVariableChanges;
+
+    // compressors by envelope id, always loaded so compressed payloads can be read even when writes are not compressed
+    private Map<Byte, PayloadCompressor> compressors;
+    private String compressorName;
+    private PayloadCompressor compressor;
+    private int compressionThreshold;
+
+    private final ThreadLocal<PooledWriter> pooledWriter = new ThreadLocal<>();
+
     public class Builder {
 
         public Builder() {
@@ -99,6 +124,32 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        /**
+         * Records which variables were read or written so {@link ProcessInstanceMarshallerService#marshallProcessInstanceDelta(ProcessInstance)}
+         * can emit only the changed ones.
+         */
+        public Builder withVariableChangeTracking() {
+            ProcessInstanceMarshallerService.this.trackVariableChanges = true;
+            return this;
+        }
+
+        /**
+         * Compresses marshalled instances of at least <code>threshold</code> bytes with the named {@link PayloadCompressor}.
+         * Payloads are always decompressed when read, so compression can be enabled on a store holding uncompressed instances.
+         *
+         * @param name codec name, i.e. <code>deflate</code>, or <code>none</code> to keep writing uncompressed payloads
+         */
+        public Builder withCompression(String name, int threshold) {
+            ProcessInstanceMarshallerService.this.compressorName = "none".equalsIgnoreCase(name) ? null : name;
+            ProcessInstanceMarshallerService.this.compressionThreshold = threshold;
+            return this;
+        }
+
+        public Builder withCompression(PayloadCompressor compressor, int threshold) {
+            ProcessInstanceMarshallerService.this.compressors.put(compressor.id(), compressor);
+            return withCompression(compressor.name(), threshold);
+        }
+
         public Builder withListeners(ProcessInstanceMarshallerListener... strategies) {
             for (ProcessInstanceMarshallerListener strategy : strategies) {
                 ProcessInstanceMarshallerService.this.listeners.add(strategy);
@@ -117,6 +168,11 @@ public class ProcessInstanceMarshallerService {
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
             Collections.sort(ProcessInstanceMarshallerService.this.readers);
             Collections.sort(ProcessInstanceMarshallerService.this.writers);
+            ProcessInstanceMarshallerService.this.strategiesArray = strats.toArray(ObjectMarshallerStrategy[]::new);
+            ProcessInstanceMarshallerService.this.listenersArray = listeners.toArray(ProcessInstanceMarshallerListener[]::new);
+            ProcessInstanceMarshallerService.this.readersArray = readers.toArray(NodeInstanceReader[]::new);
+            ProcessInstanceMarshallerService.this.writersArray = writers.toArray(NodeInstanceWriter[]::new);
+            loadCompressors();
             return ProcessInstanceMarshallerService.this;
         }
 
@@ -132,10 +188,23 @@ public class ProcessInstanceMarshallerService {
         this.readers = new ArrayList<>();
         this.writers = new ArrayList<>();
         this.contextEntries = new HashMap<>();
+        this.compressors = new HashMap<>();
+    }
+
+    private void loadCompressors() {
+        compressors.putIfAbsent((byte) 1, new DeflatePayloadCompressor());
+        for (PayloadCompressor loaded : ServiceLoader.load(PayloadCompressor.class, JbpmClassLoaderUtil.findClassLoader())) {
+            compressors.putIfAbsent(loaded.id(), loaded);
+        }
+        if (compressorName != null) {
+            compressor = compressors.values().stream().filter(c -> c.name().equalsIgnoreCase(compressorName)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No payload compressor named " + compressorName));
+        }
     }
 
     protected void setupEnvironment(MarshallerContext env) {
-        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategiesArray);
+        env.set(MarshallerContextName.MARSHALLER_TRACK_VARIABLE_CHANGES, trackVariableChanges);
 
         for (Map.Entry<MarshallerContextName<Object>, Object> entry : contextEntries.entrySet()) {
             env.set(entry.getKey(), entry.getValue());
@@ -143,27 +212,181 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
-            context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
-            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, this.writers.toArray(NodeInstanceWriter[]::new));
-            setupEnvironment(context);
-            org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
-            marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
-        } catch (Exception e) {
+        PooledWriter writer = acquireWriter();
+        try {
+            writer.write(processInstance);
+            return encode(writer.buffer);
+        } finally {
+            releaseWriter(writer);
+        }
+    }
+
+    /**
+     * Marshalls the process instance straight into the given stream, avoiding the intermediate
+     * <code>byte[]</code> returned by {@link #marshallProcessInstance(ProcessInstance)}.
+     * The stream is neither flushed nor closed.
+     */
+    public void marshallProcessInstance(ProcessInstance<?> processInstance, OutputStream output) {
+        PooledWriter writer = acquireWriter();
+        try {
+            writer.write(processInstance);
+            if (isCompressed(writer.buffer)) {
+                output.write(encode(writer.buffer));
+            } else {
+                writer.buffer.writeTo(output);
+            }
+        } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+        } finally {
+            releaseWriter(writer);
+        }
+    }
+
+    /**
+     * Marshalls the process instance into the given buffer, starting at its current position.
+     *
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space
+     */
+    public int marshallProcessInstance(ProcessInstance<?> processInstance, ByteBuffer output) {
+        PooledWriter writer = acquireWriter();
+        try {
+            writer.write(processInstance);
+            if (isCompressed(writer.buffer)) {
+                byte[] encoded = encode(writer.buffer);
+                output.put(encoded);
+                return encoded.length;
+            }
+            return writer.buffer.writeTo(output);
+        } finally {
+            releaseWriter(writer);
+        }
+    }
+
+    /**
+     * Marshalls only what changed in the process instance since it was last read or written by this service,
+     * see {@link org.jbpm.flow.serialization.impl.ProtobufProcessInstanceDeltas}. Requires the service to be
+     * built with {@link Builder#withVariableChangeTracking()}.
+     *
+     * @return the delta, or empty when there is no previous state to compare with and a complete instance must be stored
+     */
+    public Optional<byte[]> marshallProcessInstanceDelta(ProcessInstance<?> processInstance) {
+        if (!trackVariableChanges) {
+            throw new IllegalStateException("Variable change tracking is not enabled");
+        }
+        PooledWriter writer = acquireWriter();
+        try {
+            return writer.write(processInstance, true) ? Optional.of(encode(writer.buffer)) : Optional.empty();
+        } finally {
+            releaseWriter(writer);
+        }
+    }
+
+    /**
+     * Folds deltas produced by {@link #marshallProcessInstanceDelta(ProcessInstance)}, oldest first, into a snapshot.
+     */
+    public byte[] mergeProcessInstanceDeltas(byte[] snapshot, List<byte[]> deltas) {
+        return ProtobufProcessInstanceDeltas.merge(decode(snapshot), deltas.stream().map(this::decode).toList());
+    }
+
+    private boolean isCompressed(ReusableByteArrayOutputStream buffer) {
+        return compressor != null && buffer.size() >= compressionThreshold;
+    }
+
+    private byte[] encode(ReusableByteArrayOutputStream buffer) {
+        return isCompressed(buffer) ? buffer.compress(compressor) : buffer.toByteArray();
+    }
+
+    private byte[] decode(byte[] data) {
+        return PayloadEnvelope.unwrap(data, compressors);
+    }
+
+    private PooledWriter acquireWriter() {
+        PooledWriter writer = pooledWriter.get();
+        if (writer == null || writer.inUse) {
+            // first use in this thread or re-entrant marshalling (i.e. from a listener)
+            writer = new PooledWriter();
+            if (pooledWriter.get() == null) {
+                pooledWriter.set(writer);
+            }
+        }
+        writer.inUse = true;
+        return writer;
+    }
+
+    private void releaseWriter(PooledWriter writer) {
+        writer.inUse = false;
+        if (writer.buffer.size() > MAX_POOLED_BUFFER_SIZE && pooledWriter.get() == writer) {
+            // do not keep huge buffers alive for the lifetime of the thread
+            pooledWriter.remove();
+        }
+        writer.buffer.reset();
+    }
+
+    private static class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ReusableByteArrayOutputStream() {
+            super(4096);
+        }
+
+        int writeTo(ByteBuffer target) {
+            target.put(buf, 0, count);
+            return count;
+        }
+
+        byte[] compress(PayloadCompressor compressor) {
+            return PayloadEnvelope.wrap(compressor, buf, 0, count);
+        }
+    }
+
+    /**
+     * Writer context and buffer reused by consecutive marshalling calls of the same thread
+     */
+    private class PooledWriter {
+        private final ReusableByteArrayOutputStream buffer = new ReusableByteArrayOutputStream();
+        private final MarshallerWriterContext context;
+        private final org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller;
+        private boolean inUse;
+
+        PooledWriter() {
+            context = processInstanceMarshallerFactory.newWriterContext(buffer);
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, writersArray);
+            setupEnvironment(context);
+            marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
+        }
+
+        void write(ProcessInstance<?> processInstance) {
+            write(processInstance, false);
+        }
+
+        /**
+         * @return whether a delta was written, always false when not requested
+         */
+        boolean write(ProcessInstance<?> processInstance, boolean delta) {
+            try {
+                context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
+                context.set(MarshallerContextName.MARSHALLER_DELTA, delta);
+                marshaller.writeProcessInstance(context, processInstance);
+                return context.get(MarshallerContextName.MARSHALLER_DELTA);
+            } catch (Exception e) {
+                buffer.reset();
+                throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+            } finally {
+                context.set(MarshallerContextName.MARSHALLER_PROCESS, null);
+                context.set(MarshallerContextName.MARSHALLER_PROCESS_INSTANCE, null);
+                context.set(MarshallerContextName.MARSHALLER_DELTA, null);
+            }
         }
     }
 
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(decode(data))) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
-            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, readersArray);
             setupEnvironment(context);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             return marshaller.readProcessInstance(context);
@@ -186,11 +409,11 @@ public class ProcessInstanceMarshallerService {
             if (data == null) {
                 LOGGER.warn("Process Instance {} cannot be found", processInstance.id());
             }
-            try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            try (ByteArrayInputStream bais = new ByteArrayInputStream(decode(data))) {
                 MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
                 context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
-                context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-                context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
+                context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+                context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, readersArray);
                 setupEnvironment(context);
                 org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller =
                         processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
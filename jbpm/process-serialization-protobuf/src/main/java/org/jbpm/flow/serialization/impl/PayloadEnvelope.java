@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.util.Map;
+
+import org.jbpm.flow.serialization.PayloadCompressor;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
+
+/**
+ * Self describing envelope around compressed payloads. The layout is
+ *
+ * <pre>
+ * 0x00 'K' 'Z' | version (1 byte) | codec id (1 byte) | uncompressed length (4 bytes, big endian) | compressed data
+ * </pre>
+ *
+ * A protobuf message never starts with a zero byte (field number 0 is invalid) and neither does a json document,
+ * so uncompressed payloads written before compression was enabled are told apart by their first byte.
+ */
+public final class PayloadEnvelope {
+
+    public static final byte VERSION = 1;
+
+    private static final byte[] MAGIC = { 0x00, 'K', 'Z' };
+    private static final int HEADER_LENGTH = MAGIC.length + 6;
+
+    private PayloadEnvelope() {
+    }
+
+    public static boolean isEnvelope(byte[] data) {
+        if (data == null || data.length < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte[] wrap(PayloadCompressor compressor, byte[] data, int offset, int length) {
+        byte[] compressed = compressor.compress(data, offset, length);
+        byte[] result = new byte[HEADER_LENGTH + compressed.length];
+        System.arraycopy(MAGIC, 0, result, 0, MAGIC.length);
+        int index = MAGIC.length;
+        result[index++] = VERSION;
+        result[index++] = compressor.id();
+        result[index++] = (byte) (length >>> 24);
+        result[index++] = (byte) (length >>> 16);
+        result[index++] = (byte) (length >>> 8);
+        result[index++] = (byte) length;
+        System.arraycopy(compressed, 0, result, index, compressed.length);
+        return result;
+    }
+
+    /**
+     * @return the uncompressed payload, or the given one when it is not enveloped
+     */
+    public static byte[] unwrap(byte[] data, Map<Byte, PayloadCompressor> compressors) {
+        if (!isEnvelope(data)) {
+            return data;
+        }
+        int index = MAGIC.length;
+        byte version = data[index++];
+        if (version != VERSION) {
+            throw new ProcessInstanceMarshallerException("Unsupported compressed payload version " + version);
+        }
+        byte codec = data[index++];
+        PayloadCompressor compressor = compressors.get(codec);
+        if (compressor == null) {
+            throw new ProcessInstanceMarshallerException("No payload compressor registered with id " + codec);
+        }
+        int length = ((data[index++] & 0xFF) << 24) | ((data[index++] & 0xFF) << 16) | ((data[index++] & 0xFF) << 8) | (data[index++] & 0xFF);
+        return compressor.decompress(data, index, data.length - index, length);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.WorkflowContext;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+
+/**
+ * Support for persisting a process instance as a base snapshot followed by deltas.
+ * <p>
+ * A delta is a regular process instance message whose top level context only contains the variables that changed
+ * since the instance was last read or written; removed variables are written with a null value. Header, node
+ * instances and nested contexts are always complete, so a delta replaces everything but the untouched variables.
+ * Changes are detected comparing a digest of each marshalled variable with the one recorded on the process instance,
+ * which also catches in place modifications of mutable values (e.g. a <code>JsonNode</code>).
+ */
+public final class ProtobufProcessInstanceDeltas {
+
+    private static final String VARIABLE_DIGESTS = "MarshallerVariableDigests";
+
+    private ProtobufProcessInstanceDeltas() {
+    }
+
+    /**
+     * Records the digests of the top level variables as the persisted state of the process instance.
+     */
+    static void track(RuleFlowProcessInstance processInstance, WorkflowContext context) {
+        processInstance.setMetaData(VARIABLE_DIGESTS, digests(context.getVariableList()));
+    }
+
+    /**
+     * Returns the top level context of a delta against the tracked state of the process instance,
+     * or <code>null</code> when the instance has no tracked state to compare with.
+     */
+    @SuppressWarnings("unchecked")
+    static WorkflowContext diff(RuleFlowProcessInstance processInstance, WorkflowContext context) {
+        Map<String, ByteString> previous = (Map<String, ByteString>) processInstance.getMetaData().get(VARIABLE_DIGESTS);
+        if (previous == null) {
+            return null;
+        }
+        Map<String, ByteString> current = digests(context.getVariableList());
+        WorkflowContext.Builder delta = context.toBuilder().clearVariable();
+        for (KogitoTypesProtobuf.Variable variable : context.getVariableList()) {
+            if (!Objects.equals(previous.get(variable.getName()), current.get(variable.getName()))) {
+                delta.addVariable(variable);
+            }
+        }
+        for (String name : previous.keySet()) {
+            if (!current.containsKey(name)) {
+                delta.addVariable(KogitoTypesProtobuf.Variable.newBuilder().setName(name).setValue(Any.pack(BytesValue.of(ByteString.EMPTY))));
+            }
+        }
+        return delta.build();
+    }
+
+    /**
+     * Folds the given deltas, oldest first, into the snapshot.
+     *
+     * @return a complete process instance equivalent to applying every delta to the snapshot
+     */
+    public static byte[] merge(byte[] snapshot, List<byte[]> deltas) {
+        if (deltas.isEmpty()) {
+            return snapshot;
+        }
+        try {
+            KogitoProcessInstanceProtobuf.ProcessInstance merged = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(snapshot);
+            Map<String, KogitoTypesProtobuf.Variable> variables = new TreeMap<>();
+            merged.getContext().getVariableList().forEach(v -> variables.put(v.getName(), v));
+            for (byte[] data : deltas) {
+                merged = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(data);
+                merged.getContext().getVariableList().forEach(v -> variables.put(v.getName(), v));
+            }
+            return merged.toBuilder()
+                    .setContext(merged.getContext().toBuilder().clearVariable().addAllVariable(variables.values()))
+                    .build()
+                    .toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while merging process instance deltas", e);
+        }
+    }
+
+    private static Map<String, ByteString> digests(List<KogitoTypesProtobuf.Variable> variables) {
+        Map<String, ByteString> digests = new HashMap<>();
+        MessageDigest digest = newDigest();
+        for (KogitoTypesProtobuf.Variable variable : variables) {
+            digests.put(variable.getName(), ByteString.copyFrom(digest.digest(variable.toByteArray())));
+        }
+        return digests;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
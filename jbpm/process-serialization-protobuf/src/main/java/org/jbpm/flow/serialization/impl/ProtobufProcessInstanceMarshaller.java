@@ -47,7 +47,13 @@ public class ProtobufProcessInstanceMarshaller implements ProcessInstanceMarshal
         ProtobufProcessInstanceReader reader = new ProtobufProcessInstanceReader(context);
         boolean readOnly = context.get(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY);
         AbstractProcess<?> process = (AbstractProcess<?>) context.get(MarshallerContextName.MARSHALLER_PROCESS);
-        return readOnly ? process.createReadOnlyInstance(reader.read(context.input())) : process.createInstance(reader.read(context.input()));
+        if (!readOnly) {
+            return process.createInstance(reader.read(context.input()));
+        }
+        // read only instances only decode node instances and variables when they are accessed
+        AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) process.createReadOnlyInstance(reader.readHeader(context.input()));
+        processInstance.internalSetLazyLoader(pi -> reader.readContent());
+        return processInstance;
     }
 
     @Override
@@ -67,6 +67,7 @@ public class ProtobufProcessInstanceReader {
     private MarshallerReaderContext context;
     private ProtobufVariableReader varReader;
     private ProcessInstanceMarshallerListener[] listeners;
+    private KogitoProcessInstanceProtobuf.ProcessInstance pendingContent;
 
     public ProtobufProcessInstanceReader(MarshallerReaderContext context) {
         this.context = context;
@@ -77,21 +78,47 @@ public class ProtobufProcessInstanceReader {
     }
 
     public RuleFlowProcessInstance read(InputStream input) throws IOException {
-        LOGGER.debug("read process");
-        KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf;
+        return buildWorkflow(parse(input));
+    }
+
+    /**
+     * Reads only the header of the process instance (ids, state, business key, dates, error and SLA data).
+     * Node instances, variables and swimlanes are kept encoded until {@link #readContent()} is invoked.
+     */
+    public RuleFlowProcessInstance readHeader(InputStream input) throws IOException {
+        pendingContent = parse(input);
+        return buildHeader(pendingContent);
+    }
 
+    /**
+     * Decodes the part of the process instance skipped by {@link #readHeader(InputStream)}.
+     */
+    public RuleFlowProcessInstance readContent() {
+        if (pendingContent == null) {
+            throw new IllegalStateException("Process instance header has not been read");
+        }
+        KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf = pendingContent;
+        pendingContent = null;
+        return buildContent(processInstanceProtobuf);
+    }
+
+    private KogitoProcessInstanceProtobuf.ProcessInstance parse(InputStream input) throws IOException {
+        LOGGER.debug("read process");
         String format = this.context.get(MarshallerContextName.MARSHALLER_FORMAT);
         if (format != null && MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(format)) {
             KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
             JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields().merge(new InputStreamReader(input), builder);
-            processInstanceProtobuf = builder.build();
-        } else {
-            processInstanceProtobuf = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input);
+            return builder.build();
         }
-        return buildWorkflow(processInstanceProtobuf);
+        return KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input);
     }
 
     private RuleFlowProcessInstance buildWorkflow(KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf) {
+        buildHeader(processInstanceProtobuf);
+        return buildContent(processInstanceProtobuf);
+    }
+
+    private RuleFlowProcessInstance buildHeader(KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf) {
 
         RuleFlowProcessInstance processInstance = ruleFlowProcessInstance;
         processInstance.setProcessId(processInstanceProtobuf.getProcessId());
@@ -162,7 +189,12 @@ public class ProtobufProcessInstanceReader {
         if (processInstanceProtobuf.hasReferenceId()) {
             processInstance.setReferenceId(processInstanceProtobuf.getReferenceId());
         }
+        return processInstance;
+    }
 
+    private RuleFlowProcessInstance buildContent(KogitoProcessInstanceProtobuf.ProcessInstance processInstanceProtobuf) {
+
+        RuleFlowProcessInstance processInstance = ruleFlowProcessInstance;
         if (processInstanceProtobuf.getSwimlaneContextCount() > 0) {
             SwimlaneContextInstance swimlaneContextInstance = (SwimlaneContextInstance) processInstance.getContextInstance(SwimlaneContext.SWIMLANE_SCOPE);
             for (KogitoTypesProtobuf.SwimlaneContext _swimlane : processInstanceProtobuf.getSwimlaneContextList()) {
@@ -172,6 +204,9 @@ public class ProtobufProcessInstanceReader {
 
         WorkflowContext workflowContext = processInstanceProtobuf.getContext();
         buildWorkflowContext(processInstance, workflowContext);
+        if (Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_TRACK_VARIABLE_CHANGES))) {
+            ProtobufProcessInstanceDeltas.track(processInstance, workflowContext);
+        }
 
         KogitoProcessRuntime runtime = ((AbstractProcess<?>) context.get(MarshallerContextName.MARSHALLER_PROCESS)).getProcessRuntime();
         Arrays.stream(listeners).forEach(e -> e.afterUnmarshallProcess(runtime, processInstance));
@@ -134,7 +134,20 @@ public class ProtobufProcessInstanceWriter {
 
         instance.addAllSwimlaneContext(buildSwimlaneContexts((SwimlaneContextInstance) workFlow.getContextInstance(SwimlaneContext.SWIMLANE_SCOPE)));
 
-        instance.setContext(buildWorkflowContext(workFlow));
+        WorkflowContext workflowContext = buildWorkflowContext(workFlow);
+        instance.setContext(workflowContext);
+        if (Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_TRACK_VARIABLE_CHANGES))) {
+            if (Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_DELTA))) {
+                WorkflowContext delta = ProtobufProcessInstanceDeltas.diff((RuleFlowProcessInstance) workFlow, workflowContext);
+                if (delta != null) {
+                    instance.setContext(delta);
+                } else {
+                    // nothing to compare with, let the caller know a complete instance was written
+                    context.set(MarshallerContextName.MARSHALLER_DELTA, Boolean.FALSE);
+                }
+            }
+            ProtobufProcessInstanceDeltas.track((RuleFlowProcessInstance) workFlow, workflowContext);
+        }
 
         KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
 
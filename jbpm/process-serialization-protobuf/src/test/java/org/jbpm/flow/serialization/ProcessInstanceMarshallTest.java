@@ -62,6 +62,7 @@ import org.jbpm.workflow.core.node.EndNode;
 import org.jbpm.workflow.core.node.HumanTaskNode;
 import org.jbpm.workflow.core.node.StartNode;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -76,6 +77,7 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess.RULEFLOW_TYPE;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -241,6 +243,36 @@ public class ProcessInstanceMarshallTest {
                 .hasFieldOrPropertyWithValue("process", toMarshall.getProcess());
     }
 
+    @Test
+    public void testProcessInstanceHeaderMarshalling() throws Exception {
+        RuleFlowProcessInstance toMarshall = buildInstance(false);
+        ((VariableScopeInstance) toMarshall.getContextInstance(VariableScope.VARIABLE_SCOPE)).internalSetVariable("var", "hello");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(out);
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxOut.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        new ProtobufProcessInstanceWriter(ctxOut).writeProcessInstance(toMarshall, out);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        ProtobufMarshallerReaderContext ctxIn = new ProtobufMarshallerReaderContext(in);
+        ctxIn.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxIn.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        ProtobufProcessInstanceReader reader = new ProtobufProcessInstanceReader(ctxIn);
+
+        RuleFlowProcessInstance header = reader.readHeader(in);
+        assertThat(header)
+                .hasFieldOrPropertyWithValue("id", toMarshall.getId())
+                .hasFieldOrPropertyWithValue("startDate", toMarshall.getStartDate())
+                .hasFieldOrPropertyWithValue("description", toMarshall.getDescription())
+                .hasFieldOrPropertyWithValue("rootProcessInstanceId", toMarshall.getRootProcessInstanceId());
+
+        RuleFlowProcessInstance unmarshalled = reader.readContent();
+        assertThat(unmarshalled).isSameAs(header);
+        assertThat(((VariableScopeInstance) unmarshalled.getContextInstance(VariableScope.VARIABLE_SCOPE)).getVariable("var")).isEqualTo("hello");
+        assertThatIllegalStateException().isThrownBy(reader::readContent);
+    }
+
     @ParameterizedTest
     @MethodSource
     @NullSource
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.jbpm.flow.serialization.impl.DeflatePayloadCompressor;
+import org.jbpm.flow.serialization.impl.PayloadEnvelope;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.ConnectionImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.StartNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess.RULEFLOW_TYPE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProcessInstanceMarshallerServiceTest {
+
+    public static class TestModel implements Model {
+    }
+
+    private ProcessInstanceMarshallerService service;
+    private AbstractProcessInstance<TestModel> processInstance;
+    private VariableScopeInstance variableScope;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        WorkflowProcessImpl workflow = new WorkflowProcessImpl();
+        workflow.setId("processId");
+        workflow.setVersion("1.0");
+        workflow.setType(RULEFLOW_TYPE);
+        Node endNode = new EndNode();
+        endNode.setId(WorkflowElementIdentifierFactory.fromExternalFormat("end"));
+        Node startNode = new StartNode();
+        startNode.setId(WorkflowElementIdentifierFactory.fromExternalFormat("start"));
+        new ConnectionImpl(startNode, Node.CONNECTION_DEFAULT_TYPE, endNode, Node.CONNECTION_DEFAULT_TYPE);
+        workflow.addNode(startNode);
+        workflow.addNode(endNode);
+
+        AbstractProcess<TestModel> process = mock(AbstractProcess.class);
+        when(process.getProcessRuntime()).thenReturn(mock(KogitoProcessRuntime.class));
+        when(process.get()).thenReturn(workflow);
+
+        RuleFlowProcessInstance wpi = new RuleFlowProcessInstance();
+        wpi.setId("1");
+        wpi.setStartDate(new Date());
+        wpi.setProcess(workflow);
+        variableScope = new VariableScopeInstance();
+        wpi.setContextInstance(VariableScope.VARIABLE_SCOPE, variableScope);
+        variableScope.internalSetVariable("name", "john");
+        variableScope.internalSetVariable("age", 30);
+
+        processInstance = new AbstractProcessInstance<>(process, new TestModel(), wpi) {
+        };
+        service = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+    }
+
+    @Test
+    public void testMarshallIntoCallerTargets() {
+        byte[] expected = service.marshallProcessInstance(processInstance);
+        assertThat(expected).isNotEmpty();
+        // the pooled buffer is reset between calls of the same thread
+        assertThat(service.marshallProcessInstance(processInstance)).isEqualTo(expected);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.marshallProcessInstance(processInstance, output);
+        assertThat(output.toByteArray()).isEqualTo(expected);
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 10);
+        buffer.position(10);
+        assertThat(service.marshallProcessInstance(processInstance, buffer)).isEqualTo(expected.length);
+        assertThat(Arrays.copyOfRange(buffer.array(), 10, buffer.position())).isEqualTo(expected);
+    }
+
+    @Test
+    public void testMarshallIntoSmallByteBuffer() {
+        assertThatExceptionOfType(BufferOverflowException.class).isThrownBy(() -> service.marshallProcessInstance(processInstance, ByteBuffer.allocate(1)));
+        assertThat(service.marshallProcessInstance(processInstance)).isNotEmpty();
+    }
+
+    @Test
+    public void testCompressedPayloads() {
+        byte[] plain = service.marshallProcessInstance(processInstance);
+        ProcessInstanceMarshallerService compressing =
+                ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withCompression(DeflatePayloadCompressor.NAME, 0).build();
+
+        byte[] compressed = compressing.marshallProcessInstance(processInstance);
+        assertThat(PayloadEnvelope.isEnvelope(plain)).isFalse();
+        assertThat(PayloadEnvelope.isEnvelope(compressed)).isTrue();
+        assertThat(PayloadEnvelope.unwrap(compressed, Map.of((byte) 1, new DeflatePayloadCompressor()))).isEqualTo(plain);
+        assertThat(PayloadEnvelope.unwrap(plain, Map.of())).isSameAs(plain);
+
+        ByteBuffer buffer = ByteBuffer.allocate(compressed.length);
+        assertThat(compressing.marshallProcessInstance(processInstance, buffer)).isEqualTo(compressed.length);
+        assertThat(buffer.array()).isEqualTo(compressed);
+
+        // both services read compressed and uncompressed payloads
+        assertThat(service.mergeProcessInstanceDeltas(compressed, List.of())).isEqualTo(compressing.mergeProcessInstanceDeltas(plain, List.of()));
+    }
+
+    @Test
+    public void testCompressionThreshold() {
+        byte[] plain = service.marshallProcessInstance(processInstance);
+        ProcessInstanceMarshallerService compressing =
+                ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withCompression(DeflatePayloadCompressor.NAME, plain.length + 1).build();
+        assertThat(compressing.marshallProcessInstance(processInstance)).isEqualTo(plain);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ProcessInstanceMarshallerService.newBuilder().withCompression("unknown", 0).build());
+    }
+
+    @Test
+    public void testMarshallDelta() throws Exception {
+        ProcessInstanceMarshallerService deltaService =
+                ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withVariableChangeTracking().build();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> service.marshallProcessInstanceDelta(processInstance));
+        // nothing was written yet, so there is nothing to compare with
+        assertThat(deltaService.marshallProcessInstanceDelta(processInstance)).isEmpty();
+
+        byte[] snapshot = deltaService.marshallProcessInstance(processInstance);
+        variableScope.internalSetVariable("name", "mary");
+        byte[] delta = deltaService.marshallProcessInstanceDelta(processInstance).orElseThrow();
+        assertThat(variableNames(delta)).containsExactly("name");
+
+        variableScope.internalSetVariable("age", null);
+        byte[] secondDelta = deltaService.marshallProcessInstanceDelta(processInstance).orElseThrow();
+        assertThat(variableNames(secondDelta)).containsExactly("age");
+
+        byte[] merged = deltaService.mergeProcessInstanceDeltas(snapshot, List.of(delta, secondDelta));
+        assertThat(variableNames(merged)).containsExactly("age", "name");
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(merged).getContext().getVariable(1))
+                .isEqualTo(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(delta).getContext().getVariable(0));
+    }
+
+    private static List<String> variableNames(byte[] data) throws Exception {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(data).getContext().getVariableList().stream().map(KogitoTypesProtobuf.Variable::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.MarshallerWriterContext;
+import org.jbpm.flow.serialization.NodeInstanceWriter;
+import org.jbpm.flow.serialization.ObjectMarshallerStrategy;
+import org.jbpm.flow.serialization.ObjectMarshallerStrategyHelper;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshaller;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.ruleflow.core.WorkflowElementIdentifierFactory;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.ConnectionImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.StartNode;
+import org.kie.kogito.Model;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess.RULEFLOW_TYPE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the allocation-per-call marshalling used before contexts were pooled with the pooled
+ * {@link ProcessInstanceMarshallerService} paths.
+ * <p>
+ * Run it from the test classpath, adding <code>-prof gc</code> to see the allocation rate:
+ * 
+ * <pre>
+ * java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main ProcessInstanceMarshallerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessInstanceMarshallerBenchmark {
+
+    @Param({ "1", "50" })
+    public int variables;
+
+    private ProcessInstanceMarshallerService service;
+    private ProtobufProcessInstanceMarshallerFactory factory;
+    private List<ObjectMarshallerStrategy> strategies;
+    private List<ProcessInstanceMarshallerListener> listeners;
+    private List<NodeInstanceWriter> writers;
+    private BenchmarkProcessInstance processInstance;
+    private ByteBuffer buffer;
+
+    public static class BenchmarkModel implements Model {
+    }
+
+    private static class BenchmarkProcessInstance extends AbstractProcessInstance<BenchmarkModel> {
+        BenchmarkProcessInstance(AbstractProcess<BenchmarkModel> process, RuleFlowProcessInstance wpi) {
+            super(process, new BenchmarkModel(), wpi);
+        }
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        WorkflowProcessImpl workflow = new WorkflowProcessImpl();
+        workflow.setId("processId");
+        workflow.setVersion("1.0");
+        workflow.setType(RULEFLOW_TYPE);
+
+        Node endNode = new EndNode();
+        endNode.setId(WorkflowElementIdentifierFactory.fromExternalFormat("end"));
+        Node startNode = new StartNode();
+        startNode.setId(WorkflowElementIdentifierFactory.fromExternalFormat("start"));
+        new ConnectionImpl(startNode, Node.CONNECTION_DEFAULT_TYPE, endNode, Node.CONNECTION_DEFAULT_TYPE);
+        workflow.addNode(startNode);
+        workflow.addNode(endNode);
+
+        AbstractProcess<BenchmarkModel> process = mock(AbstractProcess.class);
+        when(process.getProcessRuntime()).thenReturn(mock(KogitoProcessRuntime.class));
+        when(process.get()).thenReturn(workflow);
+
+        RuleFlowProcessInstance wpi = new RuleFlowProcessInstance();
+        wpi.setId("1");
+        wpi.setStartDate(new Date());
+        wpi.setProcess(workflow);
+        VariableScopeInstance variableScope = new VariableScopeInstance();
+        wpi.setContextInstance(VariableScope.VARIABLE_SCOPE, variableScope);
+        for (int i = 0; i < variables; i++) {
+            variableScope.internalSetVariable("var" + i, "value of variable " + i);
+        }
+        processInstance = new BenchmarkProcessInstance(process, wpi);
+
+        service = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        factory = new ProtobufProcessInstanceMarshallerFactory();
+        strategies = List.of(ObjectMarshallerStrategyHelper.defaultStrategies());
+        listeners = new ArrayList<>();
+        writers = new ArrayList<>();
+        ServiceLoader.load(NodeInstanceWriter.class).forEach(writers::add);
+        buffer = ByteBuffer.allocate(64 * 1024);
+    }
+
+    /**
+     * What every call used to do: fresh stream, context, arrays and marshaller, then a copy of the result.
+     */
+    @Benchmark
+    public byte[] unpooled() throws Exception {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            MarshallerWriterContext context = factory.newWriterContext(baos);
+            context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, writers.toArray(NodeInstanceWriter[]::new));
+            context.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategies.toArray(ObjectMarshallerStrategy[]::new));
+            new ProtobufProcessInstanceMarshaller().writeProcessInstance(context, processInstance);
+            return baos.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] pooled() {
+        return service.marshallProcessInstance(processInstance);
+    }
+
+    @Benchmark
+    public int pooledIntoByteBuffer() {
+        buffer.clear();
+        return service.marshallProcessInstance(processInstance, buffer);
+    }
+}
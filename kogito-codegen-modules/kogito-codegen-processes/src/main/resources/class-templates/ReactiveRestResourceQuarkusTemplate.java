@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -43,6 +44,7 @@ import jakarta.ws.rs.core.MediaType;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.Attachment;
@@ -82,15 +84,26 @@ public class $Type$ReactiveResource {
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                                   @QueryParam("limit") @DefaultValue("" + Integer.MAX_VALUE) int limit,
+                                                                   @QueryParam("after") String after,
+                                                                   @QueryParam("state") List<Integer> states,
+                                                                   @QueryParam("businessKeyPrefix") String businessKeyPrefix,
+                                                                   @QueryParam("startedAfter") String startedAfter) {
+        ProcessInstanceQuery query;
+        try {
+            query = ProcessInstanceQuery.builder().offset(offset).limit(limit).after(after).state(states).businessKeyPrefix(businessKeyPrefix).startedAfter(startedAfter).build();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return processService.getProcessInstanceOutputAsync(process, query);
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
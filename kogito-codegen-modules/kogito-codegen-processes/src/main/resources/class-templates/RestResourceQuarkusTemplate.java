@@ -24,6 +24,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -49,6 +50,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.TaskModel;
 import org.kie.kogito.auth.IdentityProviderFactory;
@@ -86,8 +88,19 @@ public class $Type$Resource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                  @QueryParam("limit") @DefaultValue("" + Integer.MAX_VALUE) int limit,
+                                                  @QueryParam("after") String after,
+                                                  @QueryParam("state") List<Integer> states,
+                                                  @QueryParam("businessKeyPrefix") String businessKeyPrefix,
+                                                  @QueryParam("startedAfter") String startedAfter) {
+        ProcessInstanceQuery query;
+        try {
+            query = ProcessInstanceQuery.builder().offset(offset).limit(limit).after(after).state(states).businessKeyPrefix(businessKeyPrefix).startedAfter(startedAfter).build();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return processService.getProcessInstanceOutput(process, query);
     }
 
     @GET
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.TaskModel;
 import org.kie.kogito.auth.IdentityProviderFactory;
@@ -82,8 +83,19 @@ public class $Type$Resource {
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                  @RequestParam(value = "limit", defaultValue = "" + Integer.MAX_VALUE) int limit,
+                                                  @RequestParam(value = "after", required = false) String after,
+                                                  @RequestParam(value = "state", required = false) List<Integer> states,
+                                                  @RequestParam(value = "businessKeyPrefix", required = false) String businessKeyPrefix,
+                                                  @RequestParam(value = "startedAfter", required = false) String startedAfter) {
+        ProcessInstanceQuery query;
+        try {
+            query = ProcessInstanceQuery.builder().offset(offset).limit(limit).after(after).state(states).businessKeyPrefix(businessKeyPrefix).startedAfter(startedAfter).build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return processService.getProcessInstanceOutput(process, query);
     }
 
     @GetMapping(value = "/schema", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -39,6 +39,7 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 
 import org.kie.kogito.auth.IdentityProviderFactory;
 import org.kie.kogito.usertask.UserTaskInstanceNotFoundException;
@@ -87,8 +88,11 @@ public class UserTasksResource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<UserTaskView> list(@QueryParam("user") String user, @QueryParam("group") List<String> groups) {
-        return userTaskService.list(identityProviderFactory.getOrImpersonateIdentity(user, groups));
+    public List<UserTaskView> list(@QueryParam("user") String user, @QueryParam("group") List<String> groups,
+            @QueryParam("state") List<String> states,
+            @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("" + Integer.MAX_VALUE) int limit) {
+        return userTaskService.list(identityProviderFactory.getOrImpersonateIdentity(user, groups), states, offset, limit);
     }
 
     @GET
@@ -92,8 +92,11 @@ public class UserTasksResource {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<UserTaskView> list(@RequestParam("user") String user, @RequestParam("group") List<String> groups) {
-        return userTaskService.list(identityProviderFactory.getOrImpersonateIdentity(user, groups));
+    public List<UserTaskView> list(@RequestParam("user") String user, @RequestParam("group") List<String> groups,
+            @RequestParam(value = "state", required = false) List<String> states,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "" + Integer.MAX_VALUE) int limit) {
+        return userTaskService.list(identityProviderFactory.getOrImpersonateIdentity(user, groups), states, offset, limit);
     }
 
     @GetMapping(value = "/{taskId}", produces = MediaType.APPLICATION_JSON_VALUE)
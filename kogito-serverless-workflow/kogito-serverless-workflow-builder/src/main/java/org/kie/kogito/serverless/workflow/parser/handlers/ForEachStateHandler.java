@@ -29,6 +29,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import io.serverlessworkflow.api.Workflow;
 import io.serverlessworkflow.api.states.ForEachState;
+import io.serverlessworkflow.api.states.ForEachState.Mode;
 
 import static org.jbpm.workflow.instance.node.ForEachNodeInstance.TEMP_OUTPUT_VAR;
 import static org.kie.kogito.serverless.workflow.parser.ServerlessWorkflowParser.DEFAULT_WORKFLOW_VAR;
@@ -43,10 +44,13 @@ public class ForEachStateHandler extends CompositeContextNodeHandler<ForEachStat
     @Override
     protected MakeNodeResult makeNode(RuleFlowNodeContainerFactory<?, ?> factory) {
         ForEachNodeFactory<?> result =
-                factory.forEachNode(parserContext.newId()).sequential(false).waitForCompletion(true).collectionExpression(state.getInputCollection())
+                factory.forEachNode(parserContext.newId()).sequential(state.getMode() == Mode.SEQUENTIAL).waitForCompletion(true).collectionExpression(state.getInputCollection())
                         .outputVariable(FOR_EACH_OUTPUT_VARIABLE, new ObjectDataType(JsonNode.class))
                         .metaData(Metadata.VARIABLE, DEFAULT_WORKFLOW_VAR)
                         .tempVariable(TEMP_OUTPUT_VAR, new ObjectDataType(JsonNode.class));
+        if (state.getBatchSize() != null && state.getBatchSize() > 0) {
+            result.batchSize(state.getBatchSize());
+        }
         if (state.getIterationParam() != null) {
             result.variable(state.getIterationParam(), new ObjectDataType(JsonNode.class));
         }
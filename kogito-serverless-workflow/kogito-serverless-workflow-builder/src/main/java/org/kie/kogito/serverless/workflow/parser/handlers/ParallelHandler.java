@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.serverless.workflow.parser.handlers;
 
+import java.util.Map;
+
 import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowNodeContainerFactory;
 import org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory;
@@ -41,6 +43,15 @@ import io.serverlessworkflow.api.states.ParallelState.CompletionType;
 
 public class ParallelHandler extends CompositeContextNodeHandler<ParallelState> {
 
+    /**
+     * Application property that enables concurrent execution of the branches of every parallel state
+     */
+    public static final String CONCURRENT_PROPERTY = "kogito.sw.parallel.concurrent";
+    /**
+     * State metadata key that enables or disables concurrent execution of the branches of a parallel state, overriding {@link #CONCURRENT_PROPERTY}
+     */
+    public static final String CONCURRENT_METADATA = "concurrent";
+
     protected ParallelHandler(ParallelState state, Workflow workflow, ParserContext parserContext) {
         super(state, workflow, parserContext);
     }
@@ -51,6 +62,10 @@ public class ParallelHandler extends CompositeContextNodeHandler<ParallelState>
     public MakeNodeResult makeNode(RuleFlowNodeContainerFactory<?, ?> factory) {
         SplitFactory<?> nodeFactory = factory.splitNode(parserContext.newId()).name(state.getName() + ServerlessWorkflowParser.NODE_START_NAME).type(Split.TYPE_AND);
         JoinFactory<?> connectionNode = factory.joinNode(parserContext.newId()).name(state.getName() + ServerlessWorkflowParser.NODE_END_NAME);
+        if (isConcurrent()) {
+            nodeFactory.metaData(Metadata.CONCURRENT_BRANCHES, true);
+            connectionNode.metaData(Metadata.CONCURRENT_BRANCHES, true);
+        }
         CompletionType completionType = state.getCompletionType();
         if (completionType == CompletionType.ALL_OF) {
             connectionNode.type(Join.TYPE_AND);
@@ -73,6 +88,13 @@ public class ParallelHandler extends CompositeContextNodeHandler<ParallelState>
         return new MakeNodeResult(nodeFactory, connectionNode);
     }
 
+    private boolean isConcurrent() {
+        Map<String, String> metadata = state.getMetadata();
+        String concurrent = metadata == null ? null : metadata.get(CONCURRENT_METADATA);
+        return concurrent != null ? Boolean.parseBoolean(concurrent)
+                : parserContext.getContext().getApplicationProperty(CONCURRENT_PROPERTY, Boolean.class).orElse(false);
+    }
+
     private String getName(Branch branch) {
         StringBuilder sb = new StringBuilder(state.getName());
         // when branch name will be made mandatory (0.9), this if can be removed
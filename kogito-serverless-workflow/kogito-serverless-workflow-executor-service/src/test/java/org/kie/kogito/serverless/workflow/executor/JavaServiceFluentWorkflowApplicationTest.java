@@ -18,20 +18,32 @@
  */
 package org.kie.kogito.serverless.workflow.executor;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.serverless.workflow.models.JsonNodeModel;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import io.serverlessworkflow.api.Workflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.serverless.workflow.fluent.ActionBuilder.call;
 import static org.kie.kogito.serverless.workflow.fluent.FunctionBuilder.java;
+import static org.kie.kogito.serverless.workflow.fluent.StateBuilder.forEach;
 import static org.kie.kogito.serverless.workflow.fluent.StateBuilder.parallel;
+import static org.kie.kogito.serverless.workflow.fluent.WorkflowBuilder.jsonArray;
 import static org.kie.kogito.serverless.workflow.fluent.WorkflowBuilder.jsonObject;
 import static org.kie.kogito.serverless.workflow.fluent.WorkflowBuilder.workflow;
 
@@ -45,6 +57,53 @@ public class JavaServiceFluentWorkflowApplicationTest {
         return one * two;
     }
 
+    private static final CyclicBarrier barrier = new CyclicBarrier(2);
+    private static final CountDownLatch never = new CountDownLatch(1);
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final AtomicInteger maxRunning = new AtomicInteger();
+
+    public int duplicateConcurrently(int number) {
+        awaitOtherBranch();
+        return number * 2;
+    }
+
+    public int multiplyConcurrently(int one, int two) {
+        awaitOtherBranch();
+        return one * two;
+    }
+
+    public int multiplySlowly(int one, int two) throws InterruptedException {
+        never.await(10, TimeUnit.SECONDS);
+        return one * two;
+    }
+
+    public int duplicateInBatch(int number) throws InterruptedException {
+        int current = running.incrementAndGet();
+        maxRunning.accumulateAndGet(current, Math::max);
+        try {
+            // lower numbers take longer, so iterations complete out of order
+            Thread.sleep(100L - number * 4L);
+            return number * 2;
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    public int duplicate(int number) {
+        return number * 2;
+    }
+
+    private static void awaitOtherBranch() {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException("Branches were not executed concurrently", e);
+        }
+    }
+
     @Test
     void testService() {
         final String DOUBLE = "double";
@@ -62,4 +121,74 @@ public class JavaServiceFluentWorkflowApplicationTest {
             assertThat(result.get("product").asInt()).isEqualTo(32);
         }
     }
+
+    @Test
+    void testConcurrentService() {
+        final String DOUBLE = "double";
+        final String PRODUCT = "product";
+        try (StaticWorkflowApplication application = StaticWorkflowApplication.create()) {
+            Workflow workflow = workflow("ConcurrentServiceTest").function(java(DOUBLE, this.getClass().getName(), "duplicateConcurrently"))
+                    .function(java(PRODUCT, this.getClass().getName(), "multiplyConcurrently"))
+                    .start(parallel().concurrent()
+                            .newBranch().action(call(DOUBLE, ".one").outputFilter(".double")).endBranch()
+                            .newBranch().action(call(PRODUCT, jsonObject().put("one", ".one").put("two", ".two")).outputFilter(".product")).endBranch())
+                    .end().build();
+            Process<JsonNodeModel> process = application.process(workflow);
+            JsonNode result = application.execute(process, Map.of("one", 4, "two", 8)).getWorkflowdata();
+            assertThat(result.get("double").asInt()).isEqualTo(8);
+            assertThat(result.get("product").asInt()).isEqualTo(32);
+        }
+    }
+
+    @Test
+    void testConcurrentServiceAtLeast() {
+        final String DOUBLE = "double";
+        final String PRODUCT = "product";
+        try (StaticWorkflowApplication application = StaticWorkflowApplication.create()) {
+            Workflow workflow = workflow("ConcurrentServiceAtLeastTest").function(java(DOUBLE, this.getClass().getName(), "duplicate"))
+                    .function(java(PRODUCT, this.getClass().getName(), "multiplySlowly"))
+                    .start(parallel().concurrent().atLeast(1)
+                            .newBranch().action(call(DOUBLE, ".one").outputFilter(".double")).endBranch()
+                            .newBranch().action(call(PRODUCT, jsonObject().put("one", ".one").put("two", ".two")).outputFilter(".product")).endBranch())
+                    .end().build();
+            Process<JsonNodeModel> process = application.process(workflow);
+            long start = System.currentTimeMillis();
+            JsonNode result = application.execute(process, Map.of("one", 4, "two", 8)).getWorkflowdata();
+            assertThat(System.currentTimeMillis() - start).isLessThan(TimeUnit.SECONDS.toMillis(10));
+            assertThat(result.get("double").asInt()).isEqualTo(8);
+            assertThat(result.has("product")).isFalse();
+        }
+    }
+
+    @Test
+    void testForEachBatch() {
+        final String DOUBLE = "double";
+        try (StaticWorkflowApplication application = StaticWorkflowApplication.create()) {
+            Workflow workflow = workflow("ForEachBatchTest").function(java(DOUBLE, this.getClass().getName(), "duplicateInBatch"))
+                    .start(forEach(".numbers").loopVar("item").batchSize(3).outputCollection(".result").action(call(DOUBLE, "$item")))
+                    .end().build();
+            List<Integer> numbers = IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList());
+            JsonNode result = application.execute(application.process(workflow), Map.of("numbers", numbers)).getWorkflowdata();
+            ArrayNode expected = jsonArray();
+            numbers.forEach(number -> expected.add(number * 2));
+            assertThat(result.get("result")).isEqualTo(expected);
+            assertThat(maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void testForEachBatchWithLongCollection() {
+        final String DOUBLE = "double";
+        try (StaticWorkflowApplication application = StaticWorkflowApplication.create()) {
+            Workflow workflow = workflow("ForEachLongBatchTest").function(java(DOUBLE, this.getClass().getName(), "duplicate"))
+                    .start(forEach(".numbers").loopVar("item").batchSize(8).outputCollection(".result").action(call(DOUBLE, "$item")))
+                    .end().build();
+            // iterations are created as the previous ones complete, so a long collection neither grows the stack nor the instance
+            List<Integer> numbers = IntStream.rangeClosed(1, 5000).boxed().collect(Collectors.toList());
+            JsonNode result = application.execute(application.process(workflow), Map.of("numbers", numbers)).getWorkflowdata();
+            ArrayNode expected = jsonArray();
+            numbers.forEach(number -> expected.add(number * 2));
+            assertThat(result.get("result")).isEqualTo(expected);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import java.util.List;
 import io.serverlessworkflow.api.actions.Action;
 import io.serverlessworkflow.api.states.DefaultState.Type;
 import io.serverlessworkflow.api.states.ForEachState;
+import io.serverlessworkflow.api.states.ForEachState.Mode;
 
 public class ForEachStateBuilder extends StateBuilder<ForEachStateBuilder, ForEachState> {
 
@@ -44,6 +45,16 @@ public class ForEachStateBuilder extends StateBuilder<ForEachStateBuilder, ForEa
         return this;
     }
 
+    public ForEachStateBuilder sequential() {
+        state.withMode(Mode.SEQUENTIAL);
+        return this;
+    }
+
+    public ForEachStateBuilder batchSize(int batchSize) {
+        state.withBatchSize(batchSize);
+        return this;
+    }
+
     public ForEachStateBuilder action(ActionBuilder builder) {
         builder.getFunction().ifPresent(functionDefinitions::add);
         builder.getEvent().ifPresent(eventDefinitions::add);
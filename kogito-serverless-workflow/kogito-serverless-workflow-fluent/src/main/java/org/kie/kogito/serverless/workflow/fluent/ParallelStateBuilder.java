@@ -19,7 +19,11 @@
 package org.kie.kogito.serverless.workflow.fluent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.kie.kogito.serverless.workflow.parser.handlers.ParallelHandler;
 
 import io.serverlessworkflow.api.branches.Branch;
 import io.serverlessworkflow.api.states.DefaultState.Type;
@@ -38,6 +42,16 @@ public class ParallelStateBuilder extends StateBuilder<ParallelStateBuilder, Par
         return this;
     }
 
+    public ParallelStateBuilder concurrent() {
+        Map<String, String> metadata = state.getMetadata();
+        if (metadata == null) {
+            metadata = new HashMap<>();
+            state.withMetadata(metadata);
+        }
+        metadata.put(ParallelHandler.CONCURRENT_METADATA, Boolean.TRUE.toString());
+        return this;
+    }
+
     private List<Branch> branches = new ArrayList<>();
 
     public BranchActionBuilder newBranch() {
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +31,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -88,12 +90,22 @@ public abstract class RPCWorkItemHandler extends WorkflowWorkItemHandler {
 
     @Override
     protected Object internalExecute(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return prepare(workItem, parameters).get();
+    }
+
+    @Override
+    protected Optional<Supplier<Object>> prepareConcurrent(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return Optional.of(prepare(workItem, parameters));
+    }
+
+    private Supplier<Object> prepare(KogitoWorkItem workItem, Map<String, Object> parameters) {
         Map<String, Object> metadata = workItem.getNodeInstance().getNode().getMetaData();
         String file = (String) metadata.get(FILE_PROP);
         String service = (String) metadata.get(SERVICE_PROP);
         String method = (String) metadata.get(METHOD_PROP);
-        return doCall(FileDescriptorHolder.get().descriptor().orElseThrow(() -> new IllegalStateException("Descriptor " + FileDescriptorHolder.DESCRIPTOR_PATH + " is not present")),
-                parameters, getChannel(file, service), file, service, method);
+        FileDescriptorSet fdSet = FileDescriptorHolder.get().descriptor().orElseThrow(() -> new IllegalStateException("Descriptor " + FileDescriptorHolder.DESCRIPTOR_PATH + " is not present"));
+        Channel channel = getChannel(file, service);
+        return () -> doCall(fdSet, parameters, channel, file, service, method);
     }
 
     protected abstract Channel getChannel(String file, String service);
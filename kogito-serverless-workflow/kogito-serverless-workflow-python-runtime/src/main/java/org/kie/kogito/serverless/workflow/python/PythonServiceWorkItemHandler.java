@@ -19,7 +19,10 @@
 package org.kie.kogito.serverless.workflow.python;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
 import org.kie.kogito.jackson.utils.JsonObjectUtils;
 import org.kie.kogito.serverless.workflow.ServiceWorkItemHandler;
 
@@ -42,6 +45,12 @@ public class PythonServiceWorkItemHandler extends ServiceWorkItemHandler {
         closeInterpreter();
     }
 
+    @Override
+    protected Optional<Supplier<Object>> prepareConcurrent(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        // python interpreter is bound to the workflow thread
+        return Optional.empty();
+    }
+
     @Override
     protected Object invoke(String moduleName, String methodName,
             Object parameters) {
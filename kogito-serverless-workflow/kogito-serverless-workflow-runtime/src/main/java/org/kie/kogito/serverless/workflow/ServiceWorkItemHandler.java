@@ -20,10 +20,14 @@ package org.kie.kogito.serverless.workflow;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import static org.kie.kogito.serverless.workflow.SWFConstants.CONTENT_DATA;
 import static org.kie.kogito.serverless.workflow.SWFConstants.MODEL_WORKFLOW_VAR;
 import static org.kie.kogito.serverless.workflow.SWFConstants.SERVICE_IMPL_KEY;
@@ -38,6 +42,15 @@ public abstract class ServiceWorkItemHandler extends WorkflowWorkItemHandler {
 
     @Override
     protected Object internalExecute(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return prepare(workItem, parameters, false).get();
+    }
+
+    @Override
+    protected Optional<Supplier<Object>> prepareConcurrent(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return Optional.of(prepare(workItem, parameters, true));
+    }
+
+    private Supplier<Object> prepare(KogitoWorkItem workItem, Map<String, Object> parameters, boolean detach) {
         String className = (String) parameters.remove(WORKITEM_INTERFACE);
         String methodName = (String) parameters.remove(WORKITEM_OPERATION);
         parameters.keySet().removeAll(keysToRemove);
@@ -45,12 +58,16 @@ public abstract class ServiceWorkItemHandler extends WorkflowWorkItemHandler {
         int size = parameters.size();
         if (size == 0) {
             arguments = workItem.getParameter(MODEL_WORKFLOW_VAR);
+            if (detach && arguments instanceof JsonNode) {
+                arguments = ((JsonNode) arguments).deepCopy();
+            }
         } else if (parameters.size() == 1 && parameters.containsKey(CONTENT_DATA)) {
             arguments = parameters.get(CONTENT_DATA);
         } else {
             arguments = parameters;
         }
-        return invoke(className, methodName, arguments);
+        Object invocationArguments = arguments;
+        return () -> invoke(className, methodName, invocationArguments);
     }
 
     protected abstract Object invoke(String className, String methodName, Object parameters);
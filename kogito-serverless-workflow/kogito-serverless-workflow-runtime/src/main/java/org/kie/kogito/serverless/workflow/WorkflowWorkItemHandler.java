@@ -22,7 +22,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.jbpm.workflow.instance.node.ConcurrentBranches;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
@@ -32,6 +34,8 @@ import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 public abstract class WorkflowWorkItemHandler extends DefaultKogitoWorkItemHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkflowWorkItemHandler.class);
@@ -42,8 +46,36 @@ public abstract class WorkflowWorkItemHandler extends DefaultKogitoWorkItemHandl
         parameters.remove(SWFConstants.MODEL_WORKFLOW_VAR);
         logger.debug("Workflow workitem {} will be invoked with parameters {}", workItem.getName(), parameters);
 
-        Map<String, Object> params = Collections.singletonMap("Result", JsonObjectUtils.fromValue(internalExecute(workItem, parameters)));
-        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), params));
+        if (ConcurrentBranches.isConcurrent(workItem)) {
+            // other branches merge their output into the workflow data while this invocation is running
+            Optional<Supplier<Object>> invocation = prepareConcurrent(workItem, detach(parameters));
+            if (invocation.isPresent() && ConcurrentBranches.submit(manager, workItem, () -> result(invocation.get().get()))) {
+                logger.debug("Workflow workitem {} will be executed concurrently with the other branches of the parallel state", workItem.getName());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), result(internalExecute(workItem, parameters))));
+    }
+
+    private static Map<String, Object> result(Object result) {
+        return Collections.singletonMap("Result", JsonObjectUtils.fromValue(result));
+    }
+
+    private static Map<String, Object> detach(Map<String, Object> parameters) {
+        parameters.replaceAll((key, value) -> value instanceof JsonNode ? ((JsonNode) value).deepCopy() : value);
+        return parameters;
+    }
+
+    /**
+     * Resolves, in the thread running the workflow, everything the invocation needs from the work item and the process
+     * instance, returning the invocation to be executed concurrently with the other branches of a parallel state.
+     * The returned invocation runs in another thread, so it must not access the work item nor the process instance.
+     *
+     * @param parameters work item parameters, detached from the workflow data
+     * @return empty if the handler must be invoked in the thread running the workflow, which is the default
+     */
+    protected Optional<Supplier<Object>> prepareConcurrent(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return Optional.empty();
     }
 
     protected abstract Object internalExecute(KogitoWorkItem workItem, Map<String, Object> parameters);
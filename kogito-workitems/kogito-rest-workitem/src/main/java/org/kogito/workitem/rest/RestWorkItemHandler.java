@@ -29,6 +29,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -43,7 +45,12 @@ import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.workitem.WorkItemExecutionException;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.services.uow.BaseWorkUnit;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.WorkUnit;
 import org.kogito.workitem.rest.auth.ApiKeyAuthDecorator;
 import org.kogito.workitem.rest.auth.AuthDecorator;
 import org.kogito.workitem.rest.auth.BasicAuthDecorator;
@@ -60,6 +67,8 @@ import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -90,11 +99,16 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     public static final String AUTH_METHOD = "AuthMethod";
 
     public static final String REQUEST_TIMEOUT_IN_MILLIS = "RequestTimeout";
+    public static final String ASYNC = "Async";
+    public static final String RETRIES = "Retries";
+    public static final String RETRY_DELAY_IN_MILLIS = "RetryDelay";
 
     public static final int DEFAULT_PORT = 80;
     public static final int DEFAULT_SSL_PORT = 443;
 
     private static final Logger logger = LoggerFactory.getLogger(RestWorkItemHandler.class);
+    private static final int UPDATE_RETRIES = 5;
+    private static final Duration UPDATE_RETRY_DELAY = Duration.ofMillis(100);
     private static final RestWorkItemHandlerResult DEFAULT_RESULT_HANDLER = new DefaultRestWorkItemHandlerResult();
     private static final RestWorkItemHandlerBodyBuilder DEFAULT_BODY_BUILDER = new DefaultWorkItemHandlerBodyBuilder();
     private static final ParamsDecorator DEFAULT_PARAMS_DECORATOR = new PrefixParamsDecorator();
@@ -184,15 +198,96 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         authDecorators.forEach(d -> d.decorate(workItem, parameters, request));
         paramsDecorator.decorate(workItem, parameters, request);
         Duration requestTimeout = getRequestTimeout(parameters);
+        if (isAsync(parameters)) {
+            int retries = getParam(parameters, RETRIES, Integer.class, 0);
+            Duration retryDelay = Duration.ofMillis(getParam(parameters, RETRY_DELAY_IN_MILLIS, Long.class, 0L));
+            // vertx unis are lazy, every subscription (including retries) sends the request again
+            Uni<HttpResponse<Buffer>> sender = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT) ? request.sendJson(bodyBuilder.apply(parameters)) : request.send();
+            sendAsync(workItem, sender, endPoint, requestTimeout, retries, retryDelay, response -> Collections.singletonMap(RESULT, resultHandler.apply(response, targetInfo)));
+            return Optional.empty();
+        }
         HttpResponse<Buffer> response = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
                 ? sendJson(request, bodyBuilder.apply(parameters), requestTimeout)
                 : send(request, requestTimeout);
+        checkStatusCode(response, endPoint);
+
+        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), Collections.singletonMap(RESULT, resultHandler.apply(response, targetInfo))));
+    }
+
+    private static void checkStatusCode(HttpResponse<Buffer> response, String endPoint) {
         int statusCode = response.statusCode();
         if (statusCode < 200 || statusCode >= 300) {
             throw new WorkItemExecutionException(Integer.toString(statusCode), "Request for endpoint " + endPoint + " failed with message: " + response.statusMessage());
         }
+    }
 
-        return Optional.of(this.workItemLifeCycle.newTransition("complete", workItem.getPhaseStatus(), Collections.singletonMap(RESULT, resultHandler.apply(response, targetInfo))));
+    private boolean isAsync(Map<String, Object> parameters) {
+        if (getParam(parameters, ASYNC, Boolean.class, false)) {
+            if (application != null) {
+                return true;
+            }
+            logger.warn("Application is not available, invoking endpoint synchronously");
+        }
+        return false;
+    }
+
+    /**
+     * Sends the request once the current unit of work is completed, so the work item is already stored when the
+     * response arrives. The work item is completed, or its failure handled, in a new unit of work that reloads the
+     * process instance. Timeout and retries are scheduled without blocking any thread while waiting for the response.
+     */
+    private void sendAsync(KogitoWorkItem workItem, Uni<HttpResponse<Buffer>> sender, String endPoint, Duration requestTimeout, int retries, Duration retryDelay,
+            Function<HttpResponse<Buffer>, Map<String, Object>> resultMapper) {
+        String processId = workItem.getProcessInstance().getProcessId();
+        String processInstanceId = workItem.getProcessInstanceStringId();
+        String workItemId = workItem.getStringId();
+        Uni<HttpResponse<Buffer>> uni = sender.invoke(response -> checkStatusCode(response, endPoint));
+        if (requestTimeout != null) {
+            uni = uni.ifNoItem().after(requestTimeout).fail();
+        }
+        if (retries > 0) {
+            uni = retryDelay.isZero() ? uni.onFailure().retry().atMost(retries) : uni.onFailure().retry().withBackOff(retryDelay).atMost(retries);
+        }
+        Uni<Map<String, Object>> result = uni.emitOn(Infrastructure.getDefaultWorkerPool()).map(resultMapper);
+        application.unitOfWorkManager().currentUnitOfWork().intercept(new BaseWorkUnit<>(result, r -> r.subscribe().with(
+                results -> updateProcessInstance(processId, processInstanceId, pi -> pi.completeWorkItem(workItemId, results), error -> failWorkItem(workItemId, error)),
+                error -> updateProcessInstance(processId, processInstanceId, failWorkItem(workItemId, error), null)), r -> {
+                }, WorkUnit.LOW_PRIORITY));
+    }
+
+    private static Consumer<ProcessInstance<?>> failWorkItem(String workItemId, Throwable error) {
+        return pi -> pi.updateWorkItem(workItemId, wi -> {
+            ((WorkItemNodeInstance) wi.getNodeInstance()).workItemFailed(error instanceof Exception ? (Exception) error : new RuntimeException(error));
+            return null;
+        });
+    }
+
+    /**
+     * Applies the response to the process instance, reloading it on every attempt, so an optimistic locking failure or a
+     * transient error does not discard the response. If every attempt fails, the fallback (if any) fails the work item
+     * with the last error, so the process error handling takes over instead of leaving the work item active.
+     */
+    private void updateProcessInstance(String processId, String processInstanceId, Consumer<ProcessInstance<?>> updater, Function<Throwable, Consumer<ProcessInstance<?>>> fallback) {
+        Uni.createFrom().item(() -> UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(),
+                () -> application.get(Processes.class).processById(processId).instances().findById(processInstanceId)
+                        .map(pi -> {
+                            updater.accept(pi);
+                            return true;
+                        }).orElse(false)))
+                .onFailure().invoke(e -> logger.debug("Error updating process instance {} with response, retrying", processInstanceId, e))
+                .onFailure().retry().withBackOff(UPDATE_RETRY_DELAY).atMost(UPDATE_RETRIES)
+                .subscribe().with(found -> {
+                    if (!found) {
+                        logger.warn("Process instance {} is not active anymore, discarding response", processInstanceId);
+                    }
+                }, error -> {
+                    if (fallback != null) {
+                        logger.warn("Error updating process instance {} with response, failing work item", processInstanceId, error);
+                        updateProcessInstance(processId, processInstanceId, fallback.apply(error), null);
+                    } else {
+                        logger.error("Error updating process instance {} with response, work item remains active", processInstanceId, error);
+                    }
+                });
     }
 
     private static HttpResponse<Buffer> sendJson(HttpRequest<Buffer> request, Object body, Duration requestTimeout) {
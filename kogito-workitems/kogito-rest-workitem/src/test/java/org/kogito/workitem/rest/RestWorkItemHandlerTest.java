@@ -34,10 +34,17 @@ import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.Application;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
 import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
@@ -51,6 +58,7 @@ import org.mockito.quality.Strictness;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -62,7 +70,11 @@ import static org.kogito.workitem.rest.RestWorkItemHandler.BODY_BUILDER;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -273,6 +285,86 @@ public class RestWorkItemHandlerTest {
 
     }
 
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testAsyncGetRestTaskHandler() {
+        Application application = mock(Application.class);
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        UnitOfWork currentUnitOfWork = mock(UnitOfWork.class);
+        Processes processes = mock(Processes.class);
+        org.kie.kogito.process.Process process = mock(org.kie.kogito.process.Process.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        org.kie.kogito.process.ProcessInstance processInstance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(currentUnitOfWork);
+        when(unitOfWorkManager.newUnitOfWork()).thenReturn(mock(UnitOfWork.class));
+        when(processes.processById("restProcess")).thenReturn(process);
+        when(process.instances()).thenReturn(instances);
+        when(instances.findById("1")).thenReturn(Optional.of(processInstance));
+        when(((ProcessInstance) workItem.getProcessInstance()).getProcessId()).thenReturn("restProcess");
+        workItem.setProcessInstanceId("1");
+        // first attempt fails, the retry succeeds
+        when(response.statusCode()).thenReturn(500, 200);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+        handler.setApplication(application);
+
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/25");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+        parameters.put(RestWorkItemHandler.RETRIES, 1);
+
+        assertThat(handler.transitionToPhase(manager, workItem, handler.startingTransition(parameters))).isEmpty();
+        verify(processInstance, never()).completeWorkItem(anyString(), any());
+
+        ArgumentCaptor<WorkUnit> workUnitCaptor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(currentUnitOfWork).intercept(workUnitCaptor.capture());
+        workUnitCaptor.getValue().perform();
+
+        verify(processInstance, timeout(5000)).completeWorkItem(eq("2"), bodyCaptor.capture());
+        assertThat(bodyCaptor.getValue().get(RestWorkItemHandler.RESULT)).isInstanceOf(ObjectNode.class);
+        verify(response, times(2)).statusCode();
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testAsyncResponseRetriedOnOptimisticLocking() {
+        Application application = mock(Application.class);
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        UnitOfWork currentUnitOfWork = mock(UnitOfWork.class);
+        Processes processes = mock(Processes.class);
+        org.kie.kogito.process.Process process = mock(org.kie.kogito.process.Process.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        org.kie.kogito.process.ProcessInstance processInstance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(currentUnitOfWork);
+        when(unitOfWorkManager.newUnitOfWork()).thenReturn(mock(UnitOfWork.class));
+        when(processes.processById("restProcess")).thenReturn(process);
+        when(process.instances()).thenReturn(instances);
+        when(instances.findById("1")).thenReturn(Optional.of(processInstance));
+        when(((ProcessInstance) workItem.getProcessInstance()).getProcessId()).thenReturn("restProcess");
+        workItem.setProcessInstanceId("1");
+        when(response.statusCode()).thenReturn(200);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+        // the instance is concurrently updated by another unit of work the first time the response is applied
+        doThrow(new ProcessInstanceOptimisticLockingException("1")).doNothing().when(processInstance).completeWorkItem(eq("2"), any());
+        handler.setApplication(application);
+
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/25");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+
+        assertThat(handler.transitionToPhase(manager, workItem, handler.startingTransition(parameters))).isEmpty();
+        ArgumentCaptor<WorkUnit> workUnitCaptor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(currentUnitOfWork).intercept(workUnitCaptor.capture());
+        workUnitCaptor.getValue().perform();
+
+        verify(processInstance, timeout(5000).times(2)).completeWorkItem(eq("2"), any());
+        verify(instances, times(2)).findById("1");
+        verify(processInstance, never()).updateWorkItem(anyString(), any());
+    }
+
     public void assertResult(Optional<WorkItemTransition> transition) {
         Map<String, Object> results = transition.get().data();
         assertThat(results).hasSize(1).containsKey(RestWorkItemHandler.RESULT);
@@ -35,11 +35,13 @@ import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 
 import io.quarkus.arc.lookup.LookupIfProperty;
+import io.quarkus.arc.lookup.LookupUnlessProperty;
 
 import jakarta.inject.Singleton;
 
 @Singleton
 @LookupIfProperty(name = "kogito.events.grouping", stringValue = "true")
+@LookupUnlessProperty(name = "kogito.events.outbox.enabled", stringValue = "true", lookupIfMissing = true)
 public class GroupingMessagingEventPublisher extends AbstractMessagingEventPublisher {
 
     @Override
@@ -53,6 +55,15 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
     @ConfigProperty(name = "kogito.events.grouping.compress", defaultValue = "false")
     private boolean compress;
 
+    @ConfigProperty(name = "kogito.events.outbox.enabled", defaultValue = "false")
+    boolean outbox;
+
+    // the outbox relay removes the events once they are published, so it must not get control back before the broker took them
+    @Override
+    protected boolean isAwaitingAcknowledgement() {
+        return outbox;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public void publish(Collection<DataEvent<?>> events) {
@@ -68,7 +79,12 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
         DataEvent<?> firstEvent = (DataEvent<?>) entry.getValue().iterator().next();
         URI source = firstEvent.getSource();
         if (firstEvent instanceof UserTaskInstanceDataEvent) {
-            publishToTopic(entry.getKey(), new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue()));
+            MultipleUserTaskInstanceDataEvent sent = new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue());
+            if (binary) {
+                sent.setDataContentType(MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE);
+                sent.setCompressed(compress);
+            }
+            publishToTopic(entry.getKey(), sent);
         } else if (firstEvent instanceof ProcessInstanceDataEvent) {
             MultipleProcessInstanceDataEvent sent = new MultipleProcessInstanceDataEvent(source, (Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>>) entry.getValue());
             if (binary) {
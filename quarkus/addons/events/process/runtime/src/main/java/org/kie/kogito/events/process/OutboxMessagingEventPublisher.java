@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.process;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.services.outbox.EventOutbox;
+import org.kie.kogito.services.outbox.EventOutboxRelay;
+import org.kie.kogito.services.outbox.OutboxEventPublisher;
+
+import io.quarkus.arc.lookup.LookupIfProperty;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Stores process and user task instance events in the {@link EventOutbox}, within the unit of work transaction when there is one, and
+ * relays them in the background to the messaging channels through {@link GroupingMessagingEventPublisher}.
+ */
+@Singleton
+@LookupIfProperty(name = "kogito.events.outbox.enabled", stringValue = "true")
+public class OutboxMessagingEventPublisher implements EventPublisher {
+
+    @Inject
+    Instance<EventOutbox> outbox;
+
+    @Inject
+    GroupingMessagingEventPublisher messagingPublisher;
+
+    @ConfigProperty(name = "kogito.events.outbox.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "kogito.events.outbox.interval", defaultValue = "PT1S")
+    Duration interval;
+
+    private OutboxEventPublisher publisher;
+    private EventOutboxRelay relay;
+
+    @PostConstruct
+    public void init() {
+        if (!outbox.isResolvable()) {
+            throw new IllegalStateException("kogito.events.outbox.enabled requires an event outbox, add a persistence addon that provides one, like kie-addons-quarkus-persistence-jdbc");
+        }
+        publisher = new OutboxEventPublisher(outbox.get(), messagingPublisher);
+        relay = new EventOutboxRelay(outbox.get(), messagingPublisher, batchSize, interval).start();
+    }
+
+    @PreDestroy
+    public void close() {
+        relay.close();
+    }
+
+    @Override
+    public void publish(DataEvent<?> event) {
+        publish(Collections.singletonList(event));
+    }
+
+    @Override
+    public void publish(Collection<DataEvent<?>> events) {
+        publisher.publish(events);
+    }
+}
@@ -28,6 +28,7 @@ import jakarta.inject.Singleton;
 
 @Singleton
 @LookupUnlessProperty(name = "kogito.events.grouping", stringValue = "true", lookupIfMissing = true)
+@LookupUnlessProperty(name = "kogito.events.outbox.enabled", stringValue = "true", lookupIfMissing = true)
 public class ReactiveMessagingEventPublisher extends AbstractMessagingEventPublisher {
 
     @Override
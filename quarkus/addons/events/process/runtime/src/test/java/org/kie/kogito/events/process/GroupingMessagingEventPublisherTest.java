@@ -131,6 +131,20 @@ public class GroupingMessagingEventPublisherTest {
         verify(processInstancesEventsEmitter).sendMessageAndForget(any());
     }
 
+    @Test
+    public void testGroupingMessagingEventPublisher_publishAwaitsAcknowledgementForOutbox() throws Exception {
+        DataEvent<String> event = mock(DataEvent.class);
+        when(event.getType()).thenReturn("ProcessInstanceErrorDataEvent");
+        when(decoratorProvider.decorate(any(Message.class))).thenReturn(decoratedMessage);
+        doThrow(new IllegalStateException("nacked")).when(processInstancesEventsEmitter).sendMessageAndAwait(any());
+
+        groupingMessagingEventPublisher.outbox = true;
+        groupingMessagingEventPublisher.init();
+
+        assertThrows(IllegalStateException.class, () -> groupingMessagingEventPublisher.publish(event));
+        verify(processInstancesEventsEmitter, never()).sendMessageAndForget(any());
+    }
+
     @Test
     public void testReactiveMessagingEventPublisher_publish() throws Exception {
         DataEvent<String> event = mock(DataEvent.class);
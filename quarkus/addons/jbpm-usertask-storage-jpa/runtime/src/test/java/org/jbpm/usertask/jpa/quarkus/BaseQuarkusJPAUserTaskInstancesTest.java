@@ -28,6 +28,7 @@ import org.assertj.core.api.Assertions;
 import org.jbpm.usertask.jpa.JPAUserTaskInstances;
 import org.jbpm.usertask.jpa.mapper.utils.TestUtils;
 import org.jbpm.usertask.jpa.model.UserTaskInstanceEntity;
+import org.jbpm.usertask.jpa.model.UserTaskInstanceSummary;
 import org.jbpm.usertask.jpa.quarkus.repository.QuarkusUserTaskJPAContext;
 import org.jbpm.usertask.jpa.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.kogito.auth.IdentityProviders;
 import org.kie.kogito.usertask.UserTaskInstance;
 import org.kie.kogito.usertask.impl.DefaultUserTaskInstance;
+import org.kie.kogito.usertask.lifecycle.UserTaskState;
 import org.kie.kogito.usertask.model.Attachment;
 import org.kie.kogito.usertask.model.Comment;
 import org.mockito.Mockito;
@@ -303,6 +305,46 @@ public abstract class BaseQuarkusJPAUserTaskInstancesTest {
                 .isFalse();
     }
 
+    @Test
+    public void testFindByIdentityPaginatedAndFilteredByState() {
+        List<UserTaskInstance> instances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DefaultUserTaskInstance instance = (DefaultUserTaskInstance) createUserTaskInstance();
+            if (i == 0) {
+                instance.setStatus(UserTaskState.of("Ready"));
+            }
+            userTaskInstances.create(instance);
+            instances.add(instance);
+        }
+
+        // matching several groups must not return the same task twice
+        List<UserTaskInstance> all = userTaskInstances.findByIdentity(IdentityProviders.of("Abraham", "Administrators", "Managers", "Simpson"));
+        Assertions.assertThat(all)
+                .extracting(UserTaskInstance::getId)
+                .containsExactlyElementsOf(instances.stream().map(UserTaskInstance::getId).sorted().toList());
+
+        List<UserTaskInstance> firstPage = userTaskInstances.findByIdentity(IdentityProviders.of("Homer"), null, 0, 2);
+        List<UserTaskInstance> secondPage = userTaskInstances.findByIdentity(IdentityProviders.of("Homer"), null, 2, 2);
+        Assertions.assertThat(firstPage).hasSize(2);
+        Assertions.assertThat(secondPage).hasSize(1);
+        Assertions.assertThat(firstPage.get(1).getId()).isLessThan(secondPage.get(0).getId());
+
+        Assertions.assertThat(userTaskInstances.findByIdentity(IdentityProviders.of("Homer"), Set.of("Ready"), 0, 10))
+                .extracting(UserTaskInstance::getId)
+                .containsExactly(instances.get(0).getId());
+
+        List<UserTaskInstanceSummary> summaries = userTaskInstances.findSummariesByIdentity(IdentityProviders.of("Liza"), Set.of("Complete"), 0, 10);
+        Assertions.assertThat(summaries)
+                .hasSize(2)
+                .allSatisfy(summary -> {
+                    Assertions.assertThat(summary.taskName()).isEqualTo("test-task");
+                    Assertions.assertThat(summary.actualOwner()).isEqualTo("Homer");
+                    Assertions.assertThat(summary.terminationType()).isEqualTo("COMPLETED");
+                });
+
+        instances.forEach(userTaskInstances::remove);
+    }
+
     @Test
     public void testFindByIdentityByUnknownUser() {
         UserTaskInstance instance = createUserTaskInstance();
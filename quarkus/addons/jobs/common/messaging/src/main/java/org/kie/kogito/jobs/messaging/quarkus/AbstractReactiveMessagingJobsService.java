@@ -19,19 +19,24 @@
 package org.kie.kogito.jobs.messaging.quarkus;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.JobsServiceException;
+import org.kie.kogito.jobs.management.BatchingJobsClient;
+import org.kie.kogito.jobs.management.JobOperation;
 import org.kie.kogito.jobs.service.api.Job;
 import org.kie.kogito.jobs.service.api.JobLookupId;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.event.JobCloudEvent;
 import org.kie.kogito.jobs.service.api.event.serialization.JobCloudEventSerializer;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +47,8 @@ import io.smallrye.reactive.messaging.providers.locals.ContextAwareMessage;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 
+import jakarta.annotation.PreDestroy;
+
 import static org.kie.kogito.jobs.api.JobCallbackResourceDef.buildCallbackPatternJob;
 import static org.kie.kogito.jobs.api.JobCallbackResourceDef.buildCallbackURI;
 
@@ -59,6 +66,8 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
 
     private ObjectMapper objectMapper;
 
+    private BatchingJobsClient batchingClient;
+
     protected AbstractReactiveMessagingJobsService() {
     }
 
@@ -71,27 +80,81 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
         this.serializer = new JobCloudEventSerializer(objectMapper);
     }
 
+    /**
+     * When a unit of work manager is given, the events are emitted together when the unit of work ends, without waiting for each
+     * acknowledgement, and the rejected ones are retried. Otherwise every event is emitted right away and a failure is thrown to the caller.
+     */
+    protected AbstractReactiveMessagingJobsService(URI serviceUrl,
+            ObjectMapper objectMapper,
+            Emitter<String> eventsEmitter,
+            UnitOfWorkManager unitOfWorkManager,
+            int maxAttempts,
+            Duration backoff) {
+        this(serviceUrl, objectMapper, eventsEmitter);
+        if (unitOfWorkManager != null) {
+            this.batchingClient = new BatchingJobsClient(this::send, unitOfWorkManager, maxAttempts, backoff);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (batchingClient != null) {
+            batchingClient.close();
+        }
+    }
+
     @Override
     public String scheduleJob(JobDescription description) {
         Job job = buildCallbackPatternJob(description, buildCallbackURI(description, serviceUrl.toString()), objectMapper);
         LOGGER.debug("scheduleProcessInstanceJob job: {}", job);
-        CreateJobEvent event = CreateJobEvent.builder()
-                .source(serviceUrl)
-                .job(job)
-                .build();
-        emitEvent(event);
+        if (batchingClient != null) {
+            batchingClient.schedule(job);
+        } else {
+            emitEvent(createEvent(job));
+        }
         return job.getId();
     }
 
     @Override
     public boolean cancelJob(String id) {
         LOGGER.debug("cancelJob, id: {}", id);
-        DeleteJobEvent event = DeleteJobEvent.builder()
+        if (batchingClient != null) {
+            batchingClient.cancel(id);
+        } else {
+            emitEvent(deleteEvent(id));
+        }
+        return true;
+    }
+
+    private CreateJobEvent createEvent(Job job) {
+        return CreateJobEvent.builder()
+                .source(serviceUrl)
+                .job(job)
+                .build();
+    }
+
+    private DeleteJobEvent deleteEvent(String id) {
+        return DeleteJobEvent.builder()
                 .source(serviceUrl)
                 .lookupId(JobLookupId.fromId(id))
                 .build();
-        emitEvent(event);
-        return true;
+    }
+
+    private CompletionStage<Void> send(JobOperation operation) {
+        JobCloudEvent<?> event = operation.isCancel() ? deleteEvent(operation.getId()) : createEvent(operation.getJob());
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        String json = serializer.serialize(event);
+        LOGGER.trace("JobCloudEvent json value: {}", json);
+        eventsEmitter.send(decorate(ContextAwareMessage.of(json)
+                .withAck(() -> {
+                    result.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                }).withNack(reason -> {
+                    result.completeExceptionally(new JobsServiceException("Error while emitting JobCloudEvent event to channel: " +
+                            KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL + ", event: " + event, reason));
+                    return CompletableFuture.completedFuture(null);
+                })));
+        return result;
     }
 
     protected Message<String> decorate(Message<String> message) {
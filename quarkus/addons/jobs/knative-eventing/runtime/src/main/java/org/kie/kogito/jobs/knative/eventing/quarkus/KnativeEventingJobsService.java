@@ -19,6 +19,7 @@
 package org.kie.kogito.jobs.knative.eventing.quarkus;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
@@ -27,10 +28,12 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 import org.kie.kogito.addon.quarkus.common.reactive.messaging.http.CloudEventHttpOutgoingDecorator;
 import org.kie.kogito.jobs.messaging.quarkus.AbstractReactiveMessagingJobsService;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -44,7 +47,14 @@ public class KnativeEventingJobsService extends AbstractReactiveMessagingJobsSer
     public KnativeEventingJobsService(
             @ConfigProperty(name = "kogito.service.url") URI serviceUrl,
             ObjectMapper objectMapper,
-            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) @OnOverflow(value = OnOverflow.Strategy.UNBOUNDED_BUFFER) Emitter<String> eventsEmitter) {
+            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) @OnOverflow(value = OnOverflow.Strategy.UNBOUNDED_BUFFER) Emitter<String> eventsEmitter,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.retry.max-attempts", defaultValue = "10") int maxAttempts,
+            @ConfigProperty(name = "kogito.jobs-service.retry.backoff", defaultValue = "PT1S") Duration backoff) {
+        super(serviceUrl, objectMapper, eventsEmitter, unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null, maxAttempts, backoff);
+    }
+
+    public KnativeEventingJobsService(URI serviceUrl, ObjectMapper objectMapper, Emitter<String> eventsEmitter) {
         super(serviceUrl, objectMapper, eventsEmitter);
     }
 
@@ -19,11 +19,19 @@
 package org.kie.kogito.jobs.management.quarkus;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsServiceException;
+import org.kie.kogito.jobs.management.BatchingJobsClient;
+import org.kie.kogito.jobs.management.JobOperation;
+import org.kie.kogito.jobs.management.JobOperationRejectedException;
 import org.kie.kogito.jobs.management.RestJobsService;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +45,7 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -54,15 +63,29 @@ public class VertxJobsService extends RestJobsService {
 
     private WebClient client;
 
+    private BatchingJobsClient batchingClient;
+
     @Inject
     public VertxJobsService(@ConfigProperty(name = "kogito.jobs-service.url") String jobServiceUrl,
             @ConfigProperty(name = "kogito.service.url") String callbackEndpoint,
             Vertx vertx,
             Instance<WebClient> providedWebClient,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.retry.max-attempts", defaultValue = "10") int maxAttempts,
+            @ConfigProperty(name = "kogito.jobs-service.retry.backoff", defaultValue = "PT1S") Duration backoff) {
         super(jobServiceUrl, callbackEndpoint, objectMapper);
         this.vertx = vertx;
         this.providedWebClient = providedWebClient;
+        this.batchingClient = new BatchingJobsClient(this::send, unitOfWorkManager != null && unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null, maxAttempts, backoff);
+    }
+
+    public VertxJobsService(String jobServiceUrl,
+            String callbackEndpoint,
+            Vertx vertx,
+            Instance<WebClient> providedWebClient,
+            ObjectMapper objectMapper) {
+        this(jobServiceUrl, callbackEndpoint, vertx, providedWebClient, objectMapper, null, BatchingJobsClient.DEFAULT_MAX_ATTEMPTS, BatchingJobsClient.DEFAULT_BACKOFF);
     }
 
     VertxJobsService() {
@@ -87,35 +110,62 @@ public class VertxJobsService extends RestJobsService {
         }
     }
 
+    @PreDestroy
+    void close() {
+        batchingClient.close();
+    }
+
     @Override
     public String scheduleJob(JobDescription description) {
         String callback = getCallbackEndpoint(description);
         LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
         final Job job = buildJob(description, callback);
-        client.post(JOBS_PATH).sendJson(job, res -> {
-            int status = res.result() != null ? res.result().statusCode() : 0;
-            if (res.succeeded() && status == 200) {
-                LOGGER.debug("Creating of the job {} done with status code {} ", job, status);
-            } else {
-                LOGGER.error("Scheduling of job {} failed with response code {}", job, status, res.cause());
-            }
-        });
+        batchingClient.schedule(job);
         return job.getId();
     }
 
     @Override
     public boolean cancelJob(String id) {
-        client.delete(JOBS_PATH + "/" + id).send(res -> {
-            if (res.succeeded() && (res.result().statusCode() == 200 || res.result().statusCode() == 404)) {
-                LOGGER.debug("Canceling of the job {} done with status code {} ", id, res.result().statusCode());
-            } else {
-                LOGGER.error("Canceling of job {} failed with response code {}", id, res.result().statusCode(), res.cause());
-            }
-        });
-
+        batchingClient.cancel(id);
         return true;
     }
 
+    private CompletionStage<Void> send(JobOperation operation) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (operation.isCancel()) {
+            String id = operation.getId();
+            client.delete(JOBS_PATH + "/" + id).send(res -> {
+                int status = res.result() != null ? res.result().statusCode() : 0;
+                if (res.succeeded() && (status == 200 || status == 404)) {
+                    LOGGER.debug("Canceling of the job {} done with status code {} ", id, status);
+                    result.complete(null);
+                } else if (isClientError(status)) {
+                    result.completeExceptionally(new JobOperationRejectedException("Canceling of job " + id + " was rejected with response code " + status));
+                } else {
+                    result.completeExceptionally(new JobsServiceException("Canceling of job " + id + " failed with response code " + status, res.cause()));
+                }
+            });
+        } else {
+            Job job = operation.getJob();
+            client.post(JOBS_PATH).sendJson(job, res -> {
+                int status = res.result() != null ? res.result().statusCode() : 0;
+                if (res.succeeded() && status == 200) {
+                    LOGGER.debug("Creating of the job {} done with status code {} ", job, status);
+                    result.complete(null);
+                } else if (isClientError(status)) {
+                    result.completeExceptionally(new JobOperationRejectedException("Scheduling of job " + job + " was rejected with response code " + status));
+                } else {
+                    result.completeExceptionally(new JobsServiceException("Scheduling of job " + job + " failed with response code " + status, res.cause()));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static boolean isClientError(int status) {
+        return status >= 400 && status < 500;
+    }
+
     private void configureMapper(ObjectMapper mapper) {
         mapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
         mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
@@ -19,14 +19,17 @@
 package org.kie.kogito.jobs.messaging.quarkus;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -38,7 +41,14 @@ public class ReactiveMessagingJobsService extends AbstractReactiveMessagingJobsS
     public ReactiveMessagingJobsService(
             @ConfigProperty(name = "kogito.service.url") URI serviceUrl,
             ObjectMapper objectMapper,
-            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) Emitter<String> eventsEmitter) {
+            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) Emitter<String> eventsEmitter,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.retry.max-attempts", defaultValue = "10") int maxAttempts,
+            @ConfigProperty(name = "kogito.jobs-service.retry.backoff", defaultValue = "PT1S") Duration backoff) {
+        super(serviceUrl, objectMapper, eventsEmitter, unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null, maxAttempts, backoff);
+    }
+
+    public ReactiveMessagingJobsService(URI serviceUrl, ObjectMapper objectMapper, Emitter<String> eventsEmitter) {
         super(serviceUrl, objectMapper, eventsEmitter);
     }
 
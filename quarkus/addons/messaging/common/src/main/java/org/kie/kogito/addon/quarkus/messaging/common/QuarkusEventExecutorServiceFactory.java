@@ -18,11 +18,18 @@
  */
 package org.kie.kogito.addon.quarkus.messaging.common;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.event.EventExecutorServiceFactory;
 import org.kie.kogito.event.KogitoEventStreams;
+import org.kie.kogito.event.StripedExecutorService;
 
 import io.quarkus.arc.DefaultBean;
 
@@ -39,11 +46,33 @@ public class QuarkusEventExecutorServiceFactory implements EventExecutorServiceF
     @ConfigProperty(name = KogitoEventStreams.QUEUE_SIZE_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_QUEUE_SIZE)
     int queueSize;
 
+    @ConfigProperty(name = KogitoEventStreams.THREADS_MODE_PROPERTY, defaultValue = KogitoEventStreams.SHARED_THREADS_MODE)
+    String mode;
+
     @Inject
     QuarkusEmitterController emitterStatus;
 
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, ExecutorService>> listeners = new ArrayList<>();
+
+    @Override
+    public synchronized ExecutorService getExecutorService(String channelName) {
+        ExecutorService executor = KogitoEventStreams.KEYED_THREADS_MODE.equalsIgnoreCase(mode)
+                ? new StripedExecutorService(numThreads, queueSize, KogitoEventStreams.THREAD_NAME, () -> emitterStatus.stop(channelName), () -> emitterStatus.resume(channelName))
+                : new QuarkusEventThreadPool(numThreads, queueSize, emitterStatus, channelName);
+        executors.put(channelName, executor);
+        listeners.forEach(listener -> listener.accept(channelName, executor));
+        return executor;
+    }
+
+    @Override
+    public Map<String, ExecutorService> getExecutorServices() {
+        return Collections.unmodifiableMap(executors);
+    }
+
     @Override
-    public ExecutorService getExecutorService(String channelName) {
-        return new QuarkusEventThreadPool(numThreads, queueSize, emitterStatus, channelName);
+    public synchronized void addExecutorServiceListener(BiConsumer<String, ExecutorService> listener) {
+        executors.forEach(listener);
+        listeners.add(listener);
     }
 }
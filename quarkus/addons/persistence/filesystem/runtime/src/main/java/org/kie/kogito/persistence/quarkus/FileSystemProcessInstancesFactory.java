@@ -21,6 +21,7 @@ package org.kie.kogito.persistence.quarkus;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.filesystem.AbstractProcessInstancesFactory;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -32,7 +33,16 @@ public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesF
     }
 
     @Inject
-    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path,
+            @ConfigProperty(name = "kogito.persistence.filesystem.log.enabled", defaultValue = "false") boolean segmentLog,
+            @ConfigProperty(name = "kogito.persistence.filesystem.log.segment-size", defaultValue = "67108864") int segmentSize,
+            @ConfigProperty(name = "kogito.persistence.filesystem.log.sync", defaultValue = "true") boolean sync) {
+        super(path, segmentLog, segmentSize, sync);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        super.close();
     }
 }
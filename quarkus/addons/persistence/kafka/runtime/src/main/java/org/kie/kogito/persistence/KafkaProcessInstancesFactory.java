@@ -18,11 +18,15 @@
  */
 package org.kie.kogito.persistence;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.kafka.KafkaProcessInstances;
 import org.kie.kogito.persistence.kafka.KafkaStreamsStateListener;
 import org.kie.kogito.process.Process;
@@ -43,15 +47,34 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
 
     KafkaStreamsStateListener stateListener;
     KafkaProducer<String, byte[]> producer;
+    boolean pipelined;
+    boolean transactional;
 
     @Inject
     public void setStateListener(KafkaStreamsStateListener stateListener) {
         this.stateListener = stateListener;
     }
 
+    public void setKafkaConfig(Map<String, Object> kafkaConfig) {
+        setKafkaConfig(kafkaConfig, false, Optional.empty());
+    }
+
+    /**
+     * @param pipelined if true, records are sent without waiting for the broker and acknowledged once per unit of work
+     * @param transactionalId if present, the records of a unit of work are written within a Kafka transaction. It must be unique for each application instance.
+     */
     @Inject
-    public void setKafkaConfig(@Identifier("default-kafka-broker") Map<String, Object> kafkaConfig) {
-        producer = new KafkaProducer<>(kafkaConfig, new StringSerializer(), new ByteArraySerializer());
+    public void setKafkaConfig(@Identifier("default-kafka-broker") Map<String, Object> kafkaConfig,
+            @ConfigProperty(name = "kogito.persistence.kafka.pipelined", defaultValue = "false") boolean pipelined,
+            @ConfigProperty(name = "kogito.persistence.kafka.transactional-id") Optional<String> transactionalId) {
+        Map<String, Object> producerConfig = new HashMap<>(kafkaConfig);
+        transactionalId.ifPresent(id -> producerConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, id));
+        this.pipelined = pipelined;
+        this.transactional = transactionalId.isPresent();
+        producer = new KafkaProducer<>(producerConfig, new StringSerializer(), new ByteArraySerializer());
+        if (transactional) {
+            producer.initTransactions();
+        }
     }
 
     @PreDestroy
@@ -66,7 +89,7 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Creating KafkaProcessInstances for process: {}", process.id());
             }
-            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer);
+            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer, pipelined, transactional);
             stateListener.addProcessInstances(pi);
             return pi;
         } catch (Exception ex) {
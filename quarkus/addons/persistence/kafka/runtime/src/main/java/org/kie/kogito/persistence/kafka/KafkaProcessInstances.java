@@ -18,17 +18,26 @@
  */
 package org.kie.kogito.persistence.kafka;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
@@ -38,24 +47,49 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.lang.String.format;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 
 public class KafkaProcessInstances implements MutableProcessInstances {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstances.class);
+    private static final int RECENT_IDS_SIZE = 10000;
+
     private Process<?> process;
     private KafkaProducer<String, byte[]> producer;
     private String topic;
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
+    private final boolean pipelined;
+    private final boolean transactional;
+    // ids created by this node, which might not be visible in the store yet
+    private final Set<String> recentIds = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_IDS_SIZE;
+        }
+    }));
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
+        this(process, producer, false, false);
+    }
+
+    /**
+     * @param pipelined if true, the records of a unit of work are sent together and their acknowledgements awaited once when the unit of work ends
+     * @param transactional if true, the producer has been initialized for transactions and every write is performed within a Kafka transaction
+     */
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, boolean pipelined, boolean transactional) {
         this.process = process;
         this.topic = topicName();
         this.producer = producer;
+        this.pipelined = pipelined;
+        this.transactional = transactional;
         setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
 
@@ -110,17 +144,91 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     }
 
     protected void sendKafkaRecord(String id, byte[] data) throws ExecutionException, InterruptedException {
-        producer.send(new ProducerRecord<>(topic, getKeyForProcessInstance(id), data)).get();
+        write(Collections.singletonList(newRecord(id, data)));
+    }
+
+    ProducerRecord<String, byte[]> newRecord(String id, byte[] data) {
+        return new ProducerRecord<>(topic, getKeyForProcessInstance(id), data);
+    }
+
+    byte[] marshall(ProcessInstance<?> instance) {
+        return marshaller.marshallProcessInstance(instance);
+    }
+
+    /**
+     * Sends all the records without waiting for each acknowledgement and then waits for all of them,
+     * so the cost of a write is one round trip no matter the number of records.
+     */
+    void write(List<ProducerRecord<String, byte[]>> records) throws ExecutionException, InterruptedException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (!transactional) {
+            awaitAll(sendAll(records));
+            return;
+        }
+        // transactions belong to the producer, which is shared by every process and thread
+        synchronized (producer) {
+            producer.beginTransaction();
+            try {
+                List<Future<RecordMetadata>> futures = sendAll(records);
+                producer.commitTransaction();
+                awaitAll(futures);
+            } catch (KafkaException e) {
+                abortTransaction();
+                throw e;
+            }
+        }
+    }
+
+    private List<Future<RecordMetadata>> sendAll(List<ProducerRecord<String, byte[]>> records) {
+        return records.stream().map(producer::send).toList();
+    }
+
+    private static void awaitAll(Collection<Future<RecordMetadata>> futures) throws ExecutionException, InterruptedException {
+        for (Future<RecordMetadata> future : futures) {
+            future.get();
+        }
+    }
+
+    private void abortTransaction() {
+        try {
+            producer.abortTransaction();
+        } catch (KafkaException e) {
+            LOGGER.warn("Unable to abort Kafka transaction", e);
+        }
+    }
+
+    /**
+     * Checks the ids recently created by this node before the store, since the store is updated asynchronously
+     * from the topic and might not contain the records written by the last units of work.
+     */
+    boolean isDuplicated(String id) {
+        return recentIds.contains(id) || getProcessInstanceById(id).isPresent();
+    }
+
+    void created(String id) {
+        recentIds.add(id);
+    }
+
+    void removed(String id) {
+        recentIds.remove(id);
+    }
+
+    @Override
+    public Optional<ProcessInstancesBatch> newBatch() {
+        return pipelined ? Optional.of(new KafkaProcessInstancesBatch(this)) : Optional.empty();
     }
 
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            if (getProcessInstanceById(id).isPresent()) {
+            if (isDuplicated(id)) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
             try {
                 sendKafkaRecord(id, marshaller.marshallProcessInstance(instance));
+                created(id);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
             }
@@ -144,6 +252,7 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     public void remove(String id) {
         try {
             sendKafkaRecord(id, null);
+            removed(id);
         } catch (Exception e) {
             throw new RuntimeException("Unable to remove process instance id: " + id, e);
         }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.kafka;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancesBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batch of operations for {@link KafkaProcessInstances}. Operations on the same instance are merged and, when the batch
+ * is flushed, all records are sent without waiting for the broker, which is waited for once for the whole batch.
+ */
+class KafkaProcessInstancesBatch implements ProcessInstancesBatch<Object> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstancesBatch.class);
+
+    private enum Operation {
+        CREATE,
+        UPDATE,
+        REMOVE
+    }
+
+    private static class Pending {
+        private Operation operation;
+        private ProcessInstance<Object> instance;
+        // whether the instance has been updated, so it must be disconnected once sent
+        private boolean updated;
+
+        private Pending(Operation operation, ProcessInstance<Object> instance) {
+            this.operation = operation;
+            this.instance = instance;
+        }
+    }
+
+    private final KafkaProcessInstances instances;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+
+    KafkaProcessInstancesBatch(KafkaProcessInstances instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<Object> instance) {
+        if (!instances.isActive(instance)) {
+            return;
+        }
+        Pending current = pending.get(id);
+        if (current == null ? instances.isDuplicated(id) : current.operation != Operation.REMOVE) {
+            throw new ProcessInstanceDuplicatedException(id);
+        }
+        pending.put(id, new Pending(Operation.CREATE, instance));
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<Object> instance) {
+        Pending current = pending.get(id);
+        if (current == null) {
+            current = new Pending(Operation.UPDATE, instance);
+            pending.put(id, current);
+        } else if (current.operation != Operation.REMOVE) {
+            // a created instance is sent with its latest state
+            current.instance = instance;
+        }
+        current.updated = true;
+    }
+
+    @Override
+    public void remove(String id) {
+        Pending current = pending.get(id);
+        if (current != null && current.operation == Operation.CREATE) {
+            pending.remove(id);
+        } else {
+            pending.put(id, new Pending(Operation.REMOVE, null));
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>();
+        List<String> created = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<ProcessInstance<Object>> updated = new ArrayList<>();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            String id = entry.getKey();
+            Pending operation = entry.getValue();
+            switch (operation.operation) {
+                case CREATE:
+                    if (instances.isActive(operation.instance)) {
+                        records.add(instances.newRecord(id, instances.marshall(operation.instance)));
+                        created.add(id);
+                        if (operation.updated) {
+                            updated.add(operation.instance);
+                        }
+                    }
+                    break;
+                case UPDATE:
+                    if (instances.isActive(operation.instance)) {
+                        records.add(instances.newRecord(id, instances.marshall(operation.instance)));
+                        updated.add(operation.instance);
+                    }
+                    break;
+                case REMOVE:
+                    records.add(instances.newRecord(id, null));
+                    removed.add(id);
+                    break;
+            }
+        }
+        pending.clear();
+        LOGGER.debug("Sending batch of {} records", records.size());
+        try {
+            instances.write(records);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while persisting process instances of process " + instances.getProcess().id(), e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to persist process instances of process " + instances.getProcess().id(), e.getCause());
+        }
+        created.forEach(instances::created);
+        removed.forEach(instances::removed);
+        updated.forEach(instances::disconnect);
+    }
+}
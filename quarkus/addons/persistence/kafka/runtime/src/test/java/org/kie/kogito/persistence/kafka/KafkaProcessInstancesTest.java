@@ -25,6 +25,7 @@ import java.util.function.Consumer;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
@@ -36,8 +37,10 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstancesBatch;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -49,9 +52,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -268,6 +273,94 @@ public class KafkaProcessInstancesTest {
         assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> instances.create(id, instance));
     }
 
+    @Test
+    public void testProcessInstancesCreateRecentDuplicate() {
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        instances.create(id, instance);
+
+        // the store has not received the record yet
+        assertThatExceptionOfType(ProcessInstanceDuplicatedException.class).isThrownBy(() -> instances.create(id, instance));
+    }
+
+    @Test
+    public void testProcessInstancesNoBatch() {
+        assertThat(instances.newBatch()).isEmpty();
+    }
+
+    @Test
+    public void testProcessInstancesPipelinedBatch() throws Exception {
+        instances = new KafkaProcessInstances(process, producer, true, true);
+        instances.setStore(store);
+        instances.setMarshaller(marshaller);
+        Future<?> future = mock(Future.class);
+        doReturn(future).when(producer).send(any());
+        AbstractProcessInstance created = mock(AbstractProcessInstance.class);
+        AbstractProcessInstance updated = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(any());
+        when(created.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        when(updated.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        String otherId = UUID.randomUUID().toString();
+
+        ProcessInstancesBatch batch = instances.newBatch().orElseThrow();
+        batch.create(id, created);
+        batch.update(id, created);
+        batch.update(otherId, updated);
+        verify(producer, never()).send(any());
+
+        batch.flush();
+
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        InOrder inOrder = inOrder(producer, future);
+        inOrder.verify(producer).beginTransaction();
+        inOrder.verify(producer, times(2)).send(captor.capture());
+        inOrder.verify(producer).commitTransaction();
+        inOrder.verify(future, times(2)).get();
+        assertThat(captor.getAllValues()).extracting(ProducerRecord::key).containsExactly(storedId, processId + "-" + otherId);
+        verify(updated).internalRemoveProcessInstance(any());
+        assertThatExceptionOfType(ProcessInstanceDuplicatedException.class).isThrownBy(() -> instances.newBatch().orElseThrow().create(id, created));
+    }
+
+    @Test
+    public void testProcessInstancesBatchCreateAndUpdate() {
+        instances = new KafkaProcessInstances(process, producer, true, true);
+        instances.setStore(store);
+        instances.setMarshaller(marshaller);
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+
+        ProcessInstancesBatch batch = instances.newBatch().orElseThrow();
+        batch.create(id, instance);
+        batch.update(id, instance);
+        batch.flush();
+
+        verify(producer).send(any());
+        // updated instances are disconnected, even if they were created in the same unit of work
+        verify(instance).internalRemoveProcessInstance(any());
+    }
+
+    @Test
+    public void testProcessInstancesPipelinedBatchException() {
+        instances = new KafkaProcessInstances(process, producer, true, true);
+        instances.setStore(store);
+        instances.setMarshaller(marshaller);
+        doThrow(new KafkaException()).when(producer).commitTransaction();
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+
+        ProcessInstancesBatch batch = instances.newBatch().orElseThrow();
+        batch.update(id, instance);
+
+        assertThatExceptionOfType(KafkaException.class).isThrownBy(batch::flush);
+        verify(producer).abortTransaction();
+        verify(instance, never()).internalRemoveProcessInstance(any());
+    }
+
     @Test
     public void testProcessInstancesCreateDuplicate() {
         when(store.get(storedId)).thenReturn(new byte[] {});
@@ -32,8 +32,11 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
     @Inject
     public PostgresqlProcessInstancesFactory(PgPool client,
             @ConfigProperty(name = "kogito.persistence.query.timeout.millis", defaultValue = "10000") Long queryTimeout,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(client, queryTimeout, lock);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.event.loop.blocking", defaultValue = "false") Boolean eventLoopBlocking,
+            @ConfigProperty(name = "kogito.persistence.compression", defaultValue = "none") String compression,
+            @ConfigProperty(name = "kogito.persistence.compression.threshold", defaultValue = "1024") int compressionThreshold) {
+        super(client, queryTimeout, lock, eventLoopBlocking, compression, compressionThreshold);
     }
 
     protected PostgresqlProcessInstancesFactory() {
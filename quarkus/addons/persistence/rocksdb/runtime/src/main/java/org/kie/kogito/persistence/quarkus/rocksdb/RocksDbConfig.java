@@ -18,6 +18,11 @@
  */
 package org.kie.kogito.persistence.quarkus.rocksdb;
 
+import java.util.Optional;
+
+import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory.Layout;
+import org.rocksdb.CompressionType;
+
 import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
@@ -34,4 +39,40 @@ public interface RocksDbConfig {
     @WithName("clean")
     @WithDefault("false")
     boolean destroyDB();
+
+    /**
+     * How process instances are stored, column-family can only be used for databases not written with the shared layout
+     */
+    @WithDefault("shared")
+    Layout layout();
+
+    /**
+     * Size in bytes of the LRU cache of uncompressed blocks, RocksDB default if not set
+     */
+    @WithName("block-cache-size")
+    Optional<Long> blockCacheSize();
+
+    /**
+     * Bits per key of the bloom filter used to skip blocks on lookups by id, zero to disable it
+     */
+    @WithName("bloom-filter-bits")
+    @WithDefault("10")
+    double bloomFilterBits();
+
+    /**
+     * Compression of the stored blocks, RocksDB default if not set
+     */
+    Optional<CompressionType> compression();
+
+    /**
+     * Size in bytes of each memtable, RocksDB default if not set
+     */
+    @WithName("write-buffer-size")
+    Optional<Long> writeBufferSize();
+
+    /**
+     * Maximum number of memtables kept in memory before writes are stalled, RocksDB default if not set
+     */
+    @WithName("max-write-buffer-number")
+    Optional<Integer> maxWriteBufferNumber();
 }
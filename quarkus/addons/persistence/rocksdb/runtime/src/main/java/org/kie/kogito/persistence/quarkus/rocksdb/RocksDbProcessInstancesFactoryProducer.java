@@ -20,6 +20,10 @@ package org.kie.kogito.persistence.quarkus.rocksdb;
 
 import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -37,6 +41,8 @@ public class RocksDbProcessInstancesFactoryProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(RocksDbProcessInstancesFactoryProducer.class);
     private Options options;
+    private Cache blockCache;
+    private BloomFilter bloomFilter;
     private RocksDBProcessInstancesFactory processInstancesFactory;
     @Inject
     RocksDbConfig config;
@@ -45,9 +51,22 @@ public class RocksDbProcessInstancesFactoryProducer {
     void init() throws RocksDBException {
         options = new Options();
         options.setCreateIfMissing(true);
+        config.compression().ifPresent(options::setCompressionType);
+        config.writeBufferSize().ifPresent(options::setWriteBufferSize);
+        config.maxWriteBufferNumber().ifPresent(options::setMaxWriteBufferNumber);
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        config.blockCacheSize().ifPresent(size -> {
+            blockCache = new LRUCache(size);
+            tableConfig.setBlockCache(blockCache);
+        });
+        if (config.bloomFilterBits() > 0) {
+            bloomFilter = new BloomFilter(config.bloomFilterBits());
+            tableConfig.setFilterPolicy(bloomFilter);
+        }
+        options.setTableFormatConfig(tableConfig);
         String dataDir = config.dataDir();
-        logger.info("Opening rocksdb in directory {}", dataDir);
-        processInstancesFactory = new RocksDBProcessInstancesFactory(options, dataDir);
+        logger.info("Opening rocksdb in directory {} with layout {}", dataDir, config.layout());
+        processInstancesFactory = new RocksDBProcessInstancesFactory(options, dataDir, config.layout());
     }
 
     @Produces
@@ -64,5 +83,11 @@ public class RocksDbProcessInstancesFactoryProducer {
             RocksDB.destroyDB(dataDir, options);
         }
         options.close();
+        if (blockCache != null) {
+            blockCache.close();
+        }
+        if (bloomFilter != null) {
+            bloomFilter.close();
+        }
     }
 }
@@ -18,15 +18,19 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.modelsupplier.ApplicationModelSupplier;
 
+import io.micrometer.core.instrument.Metrics;
 import io.quarkus.vertx.ConsumeEvent;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -38,16 +42,37 @@ public class QuarkusDecisionTracingCollector {
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_MAX_EVALUATIONS, DecisionTracingCollector.DEFAULT_EVALUATION_TTL);
+    }
+
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier,
+            final int maxEvaluations,
+            final Duration evaluationTtl) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, maxEvaluations, evaluationTtl);
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.maxEvaluations", defaultValue = "" + DecisionTracingCollector.DEFAULT_MAX_EVALUATIONS) int maxEvaluations,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.evaluationTtl", defaultValue = "PT5M") Duration evaluationTtl) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), maxEvaluations, evaluationTtl);
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        DecisionTracingMetrics.register(collector, Metrics.globalRegistry);
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
@@ -23,7 +23,9 @@ import java.lang.reflect.ParameterizedType;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.eclipse.microprofile.context.ThreadContext;
 import org.jbpm.process.instance.KogitoProcessContextImpl;
 import org.jbpm.util.ContextFactory;
 import org.jbpm.workflow.core.WorkflowProcess;
@@ -34,6 +36,8 @@ import org.kie.kogito.process.expr.ExpressionHandlerFactory;
 import org.kie.kogito.serverless.workflow.SWFConstants;
 import org.kie.kogito.serverless.workflow.WorkflowWorkItemHandler;
 
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
 import io.quarkus.restclient.runtime.RestClientBuilderFactory;
 
 import jakarta.ws.rs.WebApplicationException;
@@ -44,13 +48,30 @@ public abstract class OpenApiWorkItemHandler<T> extends WorkflowWorkItemHandler
 
     @Override
     protected Object internalExecute(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        return invoke(buildClient(workItem), parameters);
+    }
+
+    @Override
+    protected Optional<Supplier<Object>> prepareConcurrent(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        T ref = buildClient(workItem);
+        Supplier<Object> invocation = () -> invoke(ref, parameters);
+        // request context and security identity are propagated, so client filters work as in the workflow thread
+        InstanceHandle<ThreadContext> threadContext = Arc.container().instance(ThreadContext.class);
+        return Optional.of(threadContext.isAvailable() ? threadContext.get().contextualSupplier(invocation) : invocation);
+    }
+
+    private T buildClient(KogitoWorkItem workItem) {
         Class<T> clazz = getRestClass();
-        T ref = RestClientBuilderFactory.build(clazz, calculatedConfigKey(workItem)).register(new ClientRequestFilter() {
+        Map<String, String> headers = ProcessMeta.fromKogitoWorkItem(workItem).asMap();
+        return RestClientBuilderFactory.build(clazz, calculatedConfigKey(workItem)).register(new ClientRequestFilter() {
             @Override
             public void filter(ClientRequestContext requestContext) throws IOException {
-                ProcessMeta.fromKogitoWorkItem(workItem).asMap().forEach((k, v) -> requestContext.getHeaders().put(k, Collections.singletonList(v)));
+                headers.forEach((k, v) -> requestContext.getHeaders().put(k, Collections.singletonList(v)));
             }
         }).build(clazz);
+    }
+
+    private Object invoke(T ref, Map<String, Object> parameters) {
         try {
             return internalExecute(ref, parameters);
         } catch (WebApplicationException ex) {
@@ -20,6 +20,7 @@ package org.kie.kogito.quarkus.workflow;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.event.correlation.DefaultCorrelationService;
@@ -30,6 +31,8 @@ import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -64,9 +67,20 @@ public class KogitoBeanProducer {
 
     @DefaultBean
     @Produces
-    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, UnitOfWorkManager uowm, ScheduledExecutorService executor) {
+    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, UnitOfWorkManager uowm, ScheduledExecutorService executor,
+            Instance<JobStore> jobStore, @ConfigProperty(name = TimingWheelJobService.TIMING_WHEEL_PROPERTY, defaultValue = "false") boolean timingWheel,
+            @ConfigProperty(name = TimingWheelJobService.TICK_MS_PROPERTY, defaultValue = "" + TimingWheelJobService.DEFAULT_TICK_MS) long tickMs,
+            @ConfigProperty(name = TimingWheelJobService.WHEEL_SIZE_PROPERTY, defaultValue = "" + TimingWheelJobService.DEFAULT_WHEEL_SIZE) int wheelSize) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, processes.isResolvable() ? processes.get() : null, userTasks.isResolvable() ? userTasks.get() : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService(executor);
+        JobStore store = jobStore.isResolvable() ? jobStore.get() : null;
+        InMemoryJobService inMemoryJobService;
+        if (timingWheel) {
+            inMemoryJobService = new TimingWheelJobService(tickMs, wheelSize, store, InMemoryJobService.newFiringExecutor());
+        } else if (store != null) {
+            inMemoryJobService = new InMemoryJobService(executor, store, InMemoryJobService.newFiringExecutor());
+        } else {
+            inMemoryJobService = new InMemoryJobService(executor);
+        }
         inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
         return inMemoryJobService;
     }
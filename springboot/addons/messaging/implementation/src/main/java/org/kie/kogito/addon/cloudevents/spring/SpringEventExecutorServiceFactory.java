@@ -18,14 +18,21 @@
  */
 package org.kie.kogito.addon.cloudevents.spring;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import org.kie.kogito.event.EventExecutorServiceFactory;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.event.StripedExecutorService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
@@ -38,9 +45,32 @@ public class SpringEventExecutorServiceFactory implements EventExecutorServiceFa
     @Value("${" + KogitoEventStreams.QUEUE_SIZE_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_QUEUE_SIZE + "}}")
     int queueSize;
 
+    @Value("${" + KogitoEventStreams.THREADS_MODE_PROPERTY + ":" + KogitoEventStreams.SHARED_THREADS_MODE + "}")
+    String mode;
+
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, ExecutorService>> listeners = new ArrayList<>();
+
+    @Override
+    public synchronized ExecutorService getExecutorService(String channelName) {
+        // listener threads wait while the stripe of the event is full, running the event themselves would break the order
+        ExecutorService executor = KogitoEventStreams.KEYED_THREADS_MODE.equalsIgnoreCase(mode)
+                ? new StripedExecutorService(numThreads, queueSize, KogitoEventStreams.THREAD_NAME)
+                : new ThreadPoolExecutor(1, numThreads, 1L, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueSize), new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+        executors.put(channelName, executor);
+        listeners.forEach(listener -> listener.accept(channelName, executor));
+        return executor;
+    }
+
+    @Override
+    public Map<String, ExecutorService> getExecutorServices() {
+        return Collections.unmodifiableMap(executors);
+    }
+
     @Override
-    public ExecutorService getExecutorService(String channelName) {
-        return new ThreadPoolExecutor(1, numThreads, 1L, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueSize), new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME),
-                new ThreadPoolExecutor.CallerRunsPolicy());
+    public synchronized void addExecutorServiceListener(BiConsumer<String, ExecutorService> listener) {
+        executors.forEach(listener);
+        listeners.add(listener);
     }
 }
@@ -25,10 +25,12 @@ import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.event.EventExecutorServiceFactory;
 import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.impl.AbstractMessageConsumer;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 public abstract class SpringMessageConsumer<M extends Model, D> extends AbstractMessageConsumer<M, D> {
 
@@ -41,11 +43,14 @@ public abstract class SpringMessageConsumer<M extends Model, D> extends Abstract
     @Autowired
     EventExecutorServiceFactory factory;
 
+    @Value("${" + KogitoEventStreams.ORDERED_PROPERTY + ":" + KogitoEventStreams.DEFAULT_ORDERED + "}")
+    boolean ordered;
+
     private ExecutorService executor;
 
     protected void init(Process<M> process, String trigger, Class<D> objectClass, EventReceiver eventReceiver) {
         executor = factory.getExecutorService(trigger);
-        init(application, process, trigger, eventReceiver, objectClass, processService, executor, Collections.emptySet());
+        init(application, process, trigger, eventReceiver, objectClass, processService, executor, Collections.emptySet(), ordered);
     }
 
     public void close() {
@@ -25,8 +25,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
-    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path,
+            @Value("${kogito.persistence.filesystem.log.enabled:false}") boolean segmentLog,
+            @Value("${kogito.persistence.filesystem.log.segment-size:67108864}") int segmentSize,
+            @Value("${kogito.persistence.filesystem.log.sync:true}") boolean sync) {
+        super(path, segmentLog, segmentSize, sync);
     }
 
 }
@@ -30,8 +30,9 @@ public class InfinispanProcessInstancesFactory extends AbstractProcessInstancesF
     @Autowired
     public InfinispanProcessInstancesFactory(RemoteCacheManager cacheManager,
             @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
-            @Value("${kogito.persistence.infinispan.template:#{null}}") String templateName) {
-        super(cacheManager, lock, templateName);
+            @Value("${kogito.persistence.infinispan.template:#{null}}") String templateName,
+            @Value("${kogito.persistence.infinispan.indexed:false}") boolean indexed) {
+        super(cacheManager, lock, templateName, indexed);
     }
 
 }
@@ -32,8 +32,11 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
     @Autowired
     public PostgresqlProcessInstancesFactory(@Qualifier("kogito") PgPool client,
             @Value("${kogito.persistence.query.timeout.millis:10000}") Long queryTimeout,
-            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock) {
-        super(client, queryTimeout, lock);
+            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
+            @Value("${kogito.persistence.event.loop.blocking:false}") Boolean eventLoopBlocking,
+            @Value("${kogito.persistence.compression:none}") String compression,
+            @Value("${kogito.persistence.compression.threshold:1024}") int compressionThreshold) {
+        super(client, queryTimeout, lock, eventLoopBlocking, compression, compressionThreshold);
     }
 
     protected PostgresqlProcessInstancesFactory() {
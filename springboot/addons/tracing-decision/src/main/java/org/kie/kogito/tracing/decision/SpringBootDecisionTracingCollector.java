@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
 import org.kie.dmn.api.core.DMNModel;
@@ -33,7 +34,15 @@ public class SpringBootDecisionTracingCollector {
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_MAX_EVALUATIONS, DecisionTracingCollector.DEFAULT_EVALUATION_TTL);
+    }
+
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, DMNModel> modelSupplier,
+            final int maxEvaluations,
+            final Duration evaluationTtl) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, maxEvaluations, evaluationTtl);
     }
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
@@ -42,6 +51,18 @@ public class SpringBootDecisionTracingCollector {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            final int maxEvaluations,
+            final Duration evaluationTtl) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), maxEvaluations, evaluationTtl);
+    }
+
+    DecisionTracingCollector getCollector() {
+        return collector;
+    }
+
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -39,6 +40,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import io.micrometer.core.instrument.Metrics;
+
 @Configuration
 @EnableAsync
 public class SpringBootDecisionTracingConfiguration {
@@ -64,12 +67,14 @@ public class SpringBootDecisionTracingConfiguration {
             final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled) {
-        if (asyncEnabled) {
-            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application);
-        } else {
-            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application);
-        }
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled,
+            @Value(value = "${kogito.addon.tracing.decision.maxEvaluations:" + DecisionTracingCollector.DEFAULT_MAX_EVALUATIONS + "}") final int maxEvaluations,
+            @Value(value = "${kogito.addon.tracing.decision.evaluationTtl:PT5M}") final Duration evaluationTtl) {
+        SpringBootDecisionTracingCollector collector = asyncEnabled
+                ? new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application, maxEvaluations, evaluationTtl)
+                : new SpringBootDecisionTracingCollector(eventEmitter, configBean, application, maxEvaluations, evaluationTtl);
+        DecisionTracingMetrics.register(collector.getCollector(), Metrics.globalRegistry);
+        return collector;
     }
 
     /**
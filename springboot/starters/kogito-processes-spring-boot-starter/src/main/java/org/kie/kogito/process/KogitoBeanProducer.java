@@ -19,6 +19,7 @@
 package org.kie.kogito.process;
 
 import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
@@ -28,12 +29,16 @@ import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.usertask.UserTasks;
 import org.kogito.workitem.rest.RestWorkItemHandlerUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -59,9 +64,21 @@ public class KogitoBeanProducer {
 
     @Bean
     @ConditionalOnMissingBean(JobsService.class)
-    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, UnitOfWorkManager uowm) {
+    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, UnitOfWorkManager uowm, ObjectProvider<JobStore> jobStore,
+            @Value("${" + TimingWheelJobService.TIMING_WHEEL_PROPERTY + ":false}") boolean timingWheel,
+            @Value("${" + TimingWheelJobService.TICK_MS_PROPERTY + ":" + TimingWheelJobService.DEFAULT_TICK_MS + "}") long tickMs,
+            @Value("${" + TimingWheelJobService.WHEEL_SIZE_PROPERTY + ":" + TimingWheelJobService.DEFAULT_WHEEL_SIZE + "}") int wheelSize) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, !processes.isEmpty() ? processes.get(0) : null, !userTasks.isEmpty() ? userTasks.get(0) : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService();
+        JobStore store = jobStore.getIfAvailable();
+        InMemoryJobService inMemoryJobService;
+        if (timingWheel) {
+            inMemoryJobService = new TimingWheelJobService(tickMs, wheelSize, store, InMemoryJobService.newFiringExecutor());
+        } else if (store != null) {
+            inMemoryJobService = new InMemoryJobService(new ScheduledThreadPoolExecutor(Integer.parseInt(System.getProperty(InMemoryJobService.IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"))), store,
+                    InMemoryJobService.newFiringExecutor());
+        } else {
+            inMemoryJobService = new InMemoryJobService();
+        }
         inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
         return inMemoryJobService;
     }